@@ -59,6 +59,10 @@ public class OneDEvaluationStrategyImpl extends
 	/** The simulation length. */
 	private final long simulationLength;
 
+	/** The batch processor, reused across generations. */
+	private final XBatchProcessorImpl batchProcessor = XBatchProcessorImpl
+			.getInstance();
+
 	/**
 	 * Instantiates a new one d evaluation strategy impl.
 	 * 
@@ -96,7 +100,7 @@ public class OneDEvaluationStrategyImpl extends
 		OneDPopulationBatch<GeneMap> popBatch = new OneDPopulationBatch<GeneMap>(
 				getSimulationCount(), getSimulationLength(), population,
 				getGenomeDecoder(), fitnessFactory, worldFactory);
-		XBatchProcessorImpl.getInstance().start(popBatch, true);
+		batchProcessor.start(popBatch, true);
 		for (XId id : popBatch.getFitnessMap().keySet()) {
 			Genome<GeneMap> genome = population.get(id);
 			Fitness<?> fitness = popBatch.getFitnessMap().get(genome.getId());
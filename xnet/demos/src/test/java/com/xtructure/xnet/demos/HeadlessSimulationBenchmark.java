@@ -0,0 +1,169 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.xtructure.xnet.demos;
+
+import java.util.concurrent.CountDownLatch;
+
+import com.xtructure.xevolution.genetics.Genome;
+import com.xtructure.xevolution.genetics.GenomeDecoder;
+import com.xtructure.xneat.evolution.config.impl.NEATEvolutionConfigurationImpl;
+import com.xtructure.xneat.genetics.GeneMap;
+import com.xtructure.xnet.demos.life.LifeSim;
+import com.xtructure.xnet.demos.oned.OneDGenomeDecoderImpl;
+import com.xtructure.xnet.demos.oned.art.ARTGeneticsFactory;
+import com.xtructure.xnet.demos.oned.art.ARTGeneticsFactoryImpl;
+import com.xtructure.xnet.demos.oned.components.OneDCritter;
+import com.xtructure.xnet.demos.oned.components.OneDFitnessImpl.OneDFitnessFactory;
+import com.xtructure.xnet.demos.oned.components.OneDSimulation;
+import com.xtructure.xnet.demos.oned.components.OnedWorldImpl.WorldImplFactory;
+import com.xtructure.xsim.XSimulation;
+import com.xtructure.xsim.XSimulation.SimulationState;
+import com.xtructure.xsim.impl.AbstractXSimulationListener;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Compares running the life and 1D demo simulations on their own simulation
+ * threads (with a tick delay of zero) against running them to termination on
+ * the calling thread with {@link XSimulation#runToTermination()}.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class HeadlessSimulationBenchmark {
+	/** number of ticks each life simulation runs */
+	private static final long	LIFE_TICKS	= 100l;
+	/** number of ticks each 1D simulation runs */
+	private static final long	ONED_TICKS	= 2000l;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(HeadlessSimulationBenchmark.class.getSimpleName(), 10);
+		benchmark.measure("LifeSim.threaded", new Operation() {
+			@Override
+			public long execute() {
+				return runThreaded(newLifeSim());
+			}
+		});
+		benchmark.measure("LifeSim.headless", new Operation() {
+			@Override
+			public long execute() {
+				return newLifeSim().runToTermination().getTick();
+			}
+		});
+		final ARTGeneticsFactoryImpl geneticsFactory = new ARTGeneticsFactoryImpl(//
+				NEATEvolutionConfigurationImpl//
+						.builder(null)//
+						.setInputNodeCount(3)//
+						.setOutputNodeCount(2)//
+						.setBiasNodeCount(0)//
+						.setInitialConnectionProbability(0.75)//
+						.newInstance()//
+						.newFieldMap(),//
+				ARTGeneticsFactory.RANDOM_LINK_CONFIGURATION,//
+				ARTGeneticsFactory.RANDOM_NODE_CONFIGURATION);
+		final Genome<GeneMap> genome = geneticsFactory.createGenome(0);
+		final GenomeDecoder<GeneMap, OneDCritter> decoder = new OneDGenomeDecoderImpl(false);
+		benchmark.measure("OneDSimulation.threaded", new Operation() {
+			@Override
+			public long execute() {
+				return runThreaded(newOneDSimulation(decoder, genome));
+			}
+		});
+		benchmark.measure("OneDSimulation.headless", new Operation() {
+			@Override
+			public long execute() {
+				return newOneDSimulation(decoder, genome).runToTermination().getTick();
+			}
+		});
+		System.out.println(benchmark.getSink());
+	}
+
+	/**
+	 * Creates a new life simulation bounded by {@link #LIFE_TICKS}.
+	 * 
+	 * @return a new life simulation
+	 */
+	private static LifeSim newLifeSim() {
+		LifeSim sim = new LifeSim(XId.newId("life"), 20, 20);
+		sim.setTickDelay(0);
+		sim.setSimTickBound(LIFE_TICKS);
+		return sim;
+	}
+
+	/**
+	 * Creates a new 1D simulation for the critter decoded from the given
+	 * genome, bounded by {@link #ONED_TICKS}.
+	 * 
+	 * @param decoder
+	 *            the decoder with which to decode the critter
+	 * @param genome
+	 *            the genome of the critter
+	 * @return a new 1D simulation
+	 */
+	private static OneDSimulation newOneDSimulation(GenomeDecoder<GeneMap, OneDCritter> decoder, Genome<GeneMap> genome) {
+		return OneDSimulation.getSim(XId.newId("oned"), 0, 0,//
+				new OneDFitnessFactory().newInstance(XId.newId("fitness")),//
+				decoder.decode(genome),//
+				new WorldImplFactory(10.0, 1.0, 2.0, 0.0015).newInstance(XId.newId("world")))//
+				.setTickBound(ONED_TICKS);
+	}
+
+	/**
+	 * Runs the given simulation on its own thread and waits for it to finish.
+	 * 
+	 * @param sim
+	 *            the simulation to run
+	 * @return the final tick of the given simulation
+	 */
+	private static long runThreaded(XSimulation<?> sim) {
+		final CountDownLatch finished = new CountDownLatch(1);
+		sim.addListener(new AbstractXSimulationListener() {
+			@Override
+			public void simulationStateChanged(XSimulation<?> simulation, SimulationState state) {
+				if (SimulationState.FINISHED.equals(state)) {
+					finished.countDown();
+				}
+			}
+		});
+		sim.init();
+		sim.run();
+		try {
+			finished.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		// blocks until the simulation thread has completed its last tick
+		return sim.getTime().getTick();
+	}
+
+	private HeadlessSimulationBenchmark() {}
+}
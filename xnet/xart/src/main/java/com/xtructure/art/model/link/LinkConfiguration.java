@@ -36,9 +36,9 @@ import com.xtructure.xutil.Range;
 import com.xtructure.xutil.config.AbstractConfigurationBuilder;
 import com.xtructure.xutil.config.AbstractXConfiguration;
 import com.xtructure.xutil.config.BooleanXParameter;
-import com.xtructure.xutil.config.FieldMap;
-import com.xtructure.xutil.config.FieldMapImpl;
+import com.xtructure.xutil.config.FieldMapLayout;
 import com.xtructure.xutil.config.FloatXParameter;
+import com.xtructure.xutil.config.SlotFieldMap;
 import com.xtructure.xutil.config.XParameter;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.id.XIdObjectManagerImpl;
@@ -84,6 +84,9 @@ public final class LinkConfiguration extends AbstractXConfiguration<LinkConfigur
 				XML_BINDING, null);
 	}
 
+	/** The slots of the fields of this configuration, or null until first used. */
+	private volatile Slots											_slots	= null;
+
 	/**
 	 * Returns the manager of link configuration instances.
 	 * 
@@ -136,8 +139,58 @@ public final class LinkConfiguration extends AbstractXConfiguration<LinkConfigur
 
 	/** {@inheritDoc} */
 	@Override
-	public FieldMap newFieldMap() {
-		return new FieldMapImpl(this);
+	public SlotFieldMap newFieldMap() {
+		return getFieldMapLayout().newFieldMap();
+	}
+
+	/**
+	 * Returns the slots of the fields of this configuration that a link reads
+	 * on every calculation.
+	 * 
+	 * @return the slots of the fields of this configuration
+	 * @throws IllegalArgumentException
+	 *             if a field is nullable, and so has no primitive slot
+	 */
+	final Slots getSlots() {
+		Slots slots = _slots;
+		if (slots == null) {
+			_slots = slots = new Slots(getFieldMapLayout());
+		}
+		return slots;
+	}
+
+	/** The slots, in the field maps of a configuration, of the fields of a link. */
+	static final class Slots {
+		/** The float slot of capacity. */
+		final int	_capacity;
+		/** The float slot of capacity attack. */
+		final int	_capacityAttack;
+		/** The float slot of capacity decay. */
+		final int	_capacityDecay;
+		/** The float slot of strength. */
+		final int	_strength;
+		/** The float slot of strength attack. */
+		final int	_strengthAttack;
+		/** The float slot of strength decay. */
+		final int	_strengthDecay;
+		/** The boolean slot of inhibitory flag. */
+		final int	_inhibitoryFlag;
+
+		/**
+		 * Resolves the slots of the fields of a link in the given layout.
+		 * 
+		 * @param layout
+		 *            the layout of the field maps of a configuration
+		 */
+		private Slots(final FieldMapLayout layout) {
+			_capacity = layout.getFloatSlot(Link.CAPACITY_ID);
+			_capacityAttack = layout.getFloatSlot(Link.CAPACITY_ATTACK_ID);
+			_capacityDecay = layout.getFloatSlot(Link.CAPACITY_DECAY_ID);
+			_strength = layout.getFloatSlot(Link.STRENGTH_ID);
+			_strengthAttack = layout.getFloatSlot(Link.STRENGTH_ATTACK_ID);
+			_strengthDecay = layout.getFloatSlot(Link.STRENGTH_DECAY_ID);
+			_inhibitoryFlag = layout.getBooleanSlot(Link.INHIBITORY_FLAG_ID);
+		}
 	}
 
 	/** builder for {@link LinkConfiguration} */
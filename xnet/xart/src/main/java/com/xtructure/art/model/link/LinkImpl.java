@@ -25,7 +25,7 @@ import javolution.xml.XMLFormat;
 import javolution.xml.stream.XMLStreamException;
 
 import com.xtructure.xutil.XLogger;
-import com.xtructure.xutil.config.FieldMap;
+import com.xtructure.xutil.config.SlotFieldMap;
 import com.xtructure.xutil.id.AbstractXIdObject;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.xml.ReadAttributes;
@@ -59,7 +59,9 @@ public final class LinkImpl extends AbstractXIdObject implements Link {
 	/** This link's configuration. */
 	private final LinkConfiguration			_linkConfiguration;
 	/** This link's field map */
-	private final FieldMap					_fieldMap;
+	private final SlotFieldMap				_fieldMap;
+	/** The slots of this link's fields in its field map. */
+	private final LinkConfiguration.Slots	_slots;
 	/** The strength at the next update. */
 	private float							_nextStrength	= 0.0F;
 	/** The capacity at the next update. */
@@ -89,6 +91,7 @@ public final class LinkImpl extends AbstractXIdObject implements Link {
 		_targetId = targetId;
 		_linkConfiguration = config;
 		_fieldMap = config.newFieldMap();
+		_slots = config.getSlots();
 	}
 
 	/**
@@ -103,6 +106,15 @@ public final class LinkImpl extends AbstractXIdObject implements Link {
 		return _linkConfiguration;
 	}
 
+	/**
+	 * Returns the field map of this link.
+	 * 
+	 * @return the field map of this link
+	 */
+	public final SlotFieldMap getFieldMap() {
+		return _fieldMap;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public final XId getSourceId() {
@@ -207,28 +219,38 @@ public final class LinkImpl extends AbstractXIdObject implements Link {
 	/** {@inheritDoc} */
 	@Override
 	public final Float calculate(final Float sourceEnergy, final Float targetEnergy) {
-		LOGGER.trace("begin %s.calculate(%f, %f)", getClass().getSimpleName(), sourceEnergy, targetEnergy);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.calculate(%f, %f)", getClass().getSimpleName(), sourceEnergy, targetEnergy);
+		}
+		final float strength = _fieldMap.getFloat(_slots._strength);
+		final float capacity = _fieldMap.getFloat(_slots._capacity);
 		_nextStrength = (float) Math.min(Math.max(0.0,//
-				getStrength() //
-						- getStrengthDecay() * getStrength() * sourceEnergy //
-						+ getStrengthAttack() * getCapacity()), //
-				getCapacity());
-		_nextCapacity = getCapacity() //
-				- getCapacityDecay() * getCapacity() //
-				+ getCapacityAttack() * sourceEnergy * targetEnergy;
-		_outputEnergy = (isInhibitory() ? (-sourceEnergy * getStrength()) : (sourceEnergy * getStrength()));
-		LOGGER.trace("will return: %s", _outputEnergy);
-		LOGGER.trace("end %s.calculate()", getClass().getSimpleName());
+				strength //
+						- _fieldMap.getFloat(_slots._strengthDecay) * strength * sourceEnergy //
+						+ _fieldMap.getFloat(_slots._strengthAttack) * capacity), //
+				capacity);
+		_nextCapacity = capacity //
+				- _fieldMap.getFloat(_slots._capacityDecay) * capacity //
+				+ _fieldMap.getFloat(_slots._capacityAttack) * sourceEnergy * targetEnergy;
+		_outputEnergy = (_fieldMap.getBoolean(_slots._inhibitoryFlag) ? (-sourceEnergy * strength) : (sourceEnergy * strength));
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("will return: %s", _outputEnergy);
+			LOGGER.trace("end %s.calculate()", getClass().getSimpleName());
+		}
 		return _outputEnergy;
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final void update() {
-		LOGGER.trace("begin %s.update()", getClass().getSimpleName());
-		setCapacity(_nextCapacity);
-		setStrength(_nextStrength);
-		LOGGER.trace("end %s.update()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.update()", getClass().getSimpleName());
+		}
+		_fieldMap.setFloat(_slots._capacity, _nextCapacity);
+		_fieldMap.setFloat(_slots._strength, _nextStrength);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("end %s.update()", getClass().getSimpleName());
+		}
 	}
 
 	/** {@inheritDoc} */
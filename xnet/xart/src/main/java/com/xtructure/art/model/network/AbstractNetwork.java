@@ -21,6 +21,9 @@
  */
 package com.xtructure.art.model.network;
 
+import static com.xtructure.xutil.valid.ValidateUtils.isOfCompatibleType;
+import static com.xtructure.xutil.valid.ValidateUtils.validateState;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -90,6 +93,8 @@ public abstract class AbstractNetwork extends AbstractStandardXComponent impleme
 	protected final Map<XId, LinkInfo>	_links;
 	/** Foreign data passed to this component. */
 	private final Map<XId, List<Float>>	_foreignData;
+	/** The array kernel running this network, if it is enabled. */
+	private ArrayNetworkKernel			_kernel	= null;
 
 	/**
 	 * Creates a new {@link AbstractNetwork}
@@ -158,6 +163,102 @@ public abstract class AbstractNetwork extends AbstractStandardXComponent impleme
 			_nodes.get(link.getTargetId())._inputLinkIds.add(link.getId());
 		}
 		_links = Collections.unmodifiableMap(tmpLinks);
+		int index = 0;
+		for (final NodeInfo info : _nodes.values()) {
+			info._index = index++;
+		}
+		index = 0;
+		for (final LinkInfo info : _links.values()) {
+			info._index = index++;
+		}
+	}
+
+	/**
+	 * Returns an indication of whether this network is calculated and updated
+	 * by an array kernel.
+	 * 
+	 * @return <code>true</code> if the array kernel of this network is
+	 *         enabled; <code>false</code> otherwise
+	 * @see #setArrayKernelEnabled(boolean)
+	 */
+	public final boolean isArrayKernelEnabled() {
+		return _kernel != null;
+	}
+
+	/**
+	 * Enables or disables the array kernel of this network.
+	 * <p>
+	 * While the kernel is enabled, {@link #calculate()} and {@link #update()}
+	 * work on primitive copies of the parameters and state of this network's
+	 * nodes and links instead of on the nodes and links themselves, with the
+	 * same results. Enabling the kernel copies the current parameters and
+	 * state; parameters changed on a node or link while the kernel is enabled
+	 * are not seen until it is disabled and enabled again. The energies,
+	 * oscillation phases, strengths and capacities computed by the kernel are
+	 * written back to a node or link when it, or one of its fragments, is
+	 * requested from {@link #getData(XId)}, when this network is written to
+	 * XML, when {@link #synchronizeArrayKernel()} is called and when the
+	 * kernel is disabled.
+	 * </p>
+	 * 
+	 * @param enabled
+	 *            <code>true</code> to enable the kernel; <code>false</code> to
+	 *            disable it
+	 * @throws IllegalStateException
+	 *             if the kernel is to be enabled and a node of this network is
+	 *             not a {@link NodeImpl} or a link of this network is not a
+	 *             {@link LinkImpl}
+	 */
+	public final void setArrayKernelEnabled(final boolean enabled) {
+		LOGGER.trace("begin %s.setArrayKernelEnabled(%s)", getClass().getSimpleName(), enabled);
+		synchronizeArrayKernel();
+		_kernel = enabled ? compileArrayKernel() : null;
+		LOGGER.trace("end %s.setArrayKernelEnabled()", getClass().getSimpleName());
+	}
+
+	/**
+	 * Writes the state computed by the array kernel of this network, if it is
+	 * enabled, back to the nodes and links of this network.
+	 */
+	protected final void synchronizeArrayKernel() {
+		if (_kernel != null) {
+			_kernel.storeAll();
+			for (final LinkInfo info : _links.values()) {
+				info._outputEnergy = _kernel.getOutputEnergy(info._index);
+			}
+		}
+	}
+
+	/**
+	 * Creates an array kernel from the current parameters and state of the
+	 * nodes and links of this network.
+	 * 
+	 * @return a new array kernel for this network
+	 */
+	private ArrayNetworkKernel compileArrayKernel() {
+		final List<NodeImpl> nodes = new ArrayList<NodeImpl>(_nodes.size());
+		final List<LinkImpl> links = new ArrayList<LinkImpl>(_links.size());
+		final int[] linkSources = new int[_links.size()];
+		final int[] linkTargets = new int[_links.size()];
+		final int[][] inputLinks = new int[_nodes.size()][];
+		final List<List<Float>> foreignData = new ArrayList<List<Float>>(_nodes.size());
+		for (final NodeInfo info : _nodes.values()) {
+			validateState(String.format("node %s", info._node.getId()), info._node, isOfCompatibleType(NodeImpl.class));
+			nodes.add((NodeImpl) info._node);
+			inputLinks[info._index] = new int[info._inputLinkIds.size()];
+			int k = 0;
+			for (final XId linkId : info._inputLinkIds) {
+				inputLinks[info._index][k++] = _links.get(linkId)._index;
+			}
+			foreignData.add(_foreignData.get(info._node.getId()));
+		}
+		for (final LinkInfo info : _links.values()) {
+			validateState(String.format("link %s", info._link.getId()), info._link, isOfCompatibleType(LinkImpl.class));
+			links.add((LinkImpl) info._link);
+			linkSources[info._index] = _nodes.get(info._link.getSourceId())._index;
+			linkTargets[info._index] = _nodes.get(info._link.getTargetId())._index;
+		}
+		return new ArrayNetworkKernel(nodes, links, linkSources, linkTargets, inputLinks, foreignData);
 	}
 
 	/** {@inheritDoc} */
@@ -175,28 +276,63 @@ public abstract class AbstractNetwork extends AbstractStandardXComponent impleme
 	/** {@inheritDoc} */
 	@Override
 	public final Object getData(final XId partId) {
-		LOGGER.trace("begin %s.getData(%s)", getClass().getSimpleName(), partId);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.getData(%s)", getClass().getSimpleName(), partId);
+		}
 		Object rVal = null;
 		if (_nodes.containsKey(partId)) {
-			rVal = _nodes.get(partId).getNode();
+			rVal = synchronizeArrayKernel(_nodes.get(partId)).getNode();
 		} else if (_links.containsKey(partId)) {
-			rVal = _links.get(partId).getLink();
+			rVal = synchronizeArrayKernel(_links.get(partId)).getLink();
 		} else if (partId != null) {
 			final XId baseNodeId = Node.Fragment.getBaseId(partId);
 			if (baseNodeId != null) {
-				rVal = Node.Fragment.getInstance(partId).getValue(_nodes.get(baseNodeId)._node);
+				rVal = Node.Fragment.getInstance(partId).getValue(synchronizeArrayKernel(_nodes.get(baseNodeId))._node);
 			} else {
 				final XId baseLinkId = Link.Fragment.getBaseId(partId);
 				if (baseLinkId != null) {
-					rVal = Link.Fragment.getInstance(partId).getValue(_links.get(baseLinkId)._link);
+					rVal = Link.Fragment.getInstance(partId).getValue(synchronizeArrayKernel(_links.get(baseLinkId))._link);
 				}
 			}
 		}
-		LOGGER.trace("will return: %s", rVal);
-		LOGGER.trace("end %s.getData()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("will return: %s", rVal);
+			LOGGER.trace("end %s.getData()", getClass().getSimpleName());
+		}
 		return rVal;
 	}
 
+	/**
+	 * Writes the state computed by the array kernel of this network, if it is
+	 * enabled, back to the node in the given node info.
+	 * 
+	 * @param info
+	 *            the node info
+	 * @return the given node info
+	 */
+	private NodeInfo synchronizeArrayKernel(final NodeInfo info) {
+		if (_kernel != null) {
+			_kernel.storeNode(info._index);
+		}
+		return info;
+	}
+
+	/**
+	 * Writes the state computed by the array kernel of this network, if it is
+	 * enabled, back to the link in the given link info.
+	 * 
+	 * @param info
+	 *            the link info
+	 * @return the given link info
+	 */
+	private LinkInfo synchronizeArrayKernel(final LinkInfo info) {
+		if (_kernel != null) {
+			_kernel.storeLink(info._index);
+			info._outputEnergy = _kernel.getOutputEnergy(info._index);
+		}
+		return info;
+	}
+
 	/**
 	 * A pre-processing hook for {@link #prepare()}.
 	 * <p>
@@ -206,18 +342,31 @@ public abstract class AbstractNetwork extends AbstractStandardXComponent impleme
 	 */
 	@Override
 	protected void prepareBeforeHook() {
-		LOGGER.trace("begin %s.prepareBeforeHook()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.prepareBeforeHook()", getClass().getSimpleName());
+		}
 		// LOGGER.trace("clearing foreign data");
 		for (final XId nodeId : _foreignData.keySet()) {
 			_foreignData.get(nodeId).clear();
 		}
-		LOGGER.trace("end %s.prepareBeforeHook()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("end %s.prepareBeforeHook()", getClass().getSimpleName());
+		}
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final void calculate() {
-		LOGGER.trace("begin %s.calculate()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.calculate()", getClass().getSimpleName());
+		}
+		if (_kernel != null) {
+			_kernel.calculate();
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("end %s.calculate()", getClass().getSimpleName());
+			}
+			return;
+		}
 		// LOGGER.trace("calculating links");
 		for (final XId linkId : _links.keySet()) {
 			final LinkInfo info = _links.get(linkId);
@@ -237,13 +386,24 @@ public abstract class AbstractNetwork extends AbstractStandardXComponent impleme
 			}
 			info._node.calculate(linkEnergies);
 		}
-		LOGGER.trace("end %s.calculate()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("end %s.calculate()", getClass().getSimpleName());
+		}
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final void update() {
-		LOGGER.trace("begin %s.update()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.update()", getClass().getSimpleName());
+		}
+		if (_kernel != null) {
+			_kernel.update();
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("end %s.update()", getClass().getSimpleName());
+			}
+			return;
+		}
 		// LOGGER.trace("updating links");
 		for (final XId linkId : _links.keySet()) {
 			_links.get(linkId)._link.update();
@@ -252,15 +412,21 @@ public abstract class AbstractNetwork extends AbstractStandardXComponent impleme
 		for (final XId nodeId : _nodes.keySet()) {
 			_nodes.get(nodeId)._node.update();
 		}
-		LOGGER.trace("end %s.update()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("end %s.update()", getClass().getSimpleName());
+		}
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	protected final void addForeignData(final XId targetId, final XAddress sourceAddress, final Object data) {
-		LOGGER.trace("begin %s.addForeignData(%s, %s, %s)", getClass().getSimpleName(), targetId, sourceAddress, data);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.addForeignData(%s, %s, %s)", getClass().getSimpleName(), targetId, sourceAddress, data);
+		}
 		_foreignData.get(targetId).add(((Number) data).floatValue());
-		LOGGER.trace("end %s.addForeignData()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("end %s.addForeignData()", getClass().getSimpleName());
+		}
 	}
 
 	/** Information about a node. */
@@ -280,6 +446,9 @@ public abstract class AbstractNetwork extends AbstractStandardXComponent impleme
 		/** The ids of the input links into this node. */
 		private final Set<XId>	_inputLinkIds	= new HashSet<XId>();
 
+		/** The index of this node in calculation order. */
+		private int				_index;
+
 		/**
 		 * Creates new node information.
 		 * 
@@ -309,6 +478,9 @@ public abstract class AbstractNetwork extends AbstractStandardXComponent impleme
 		/** The output energy of this link. */
 		private Float	_outputEnergy	= null;
 
+		/** The index of this link in calculation order. */
+		private int		_index;
+
 		/**
 		 * Returns the output energy in this {@link LinkInfo}
 		 * 
@@ -353,6 +525,7 @@ public abstract class AbstractNetwork extends AbstractStandardXComponent impleme
 
 		@Override
 		protected void writeElements(T obj, OutputElement xml) throws XMLStreamException {
+			obj.synchronizeArrayKernel();
 			List<Node> nodes = new ArrayList<Node>(obj._nodes.size());
 			List<Link> links = new ArrayList<Link>(obj._links.size());
 			for (NodeInfo node : obj._nodes.values()) {
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xart.
+ *
+ * xart is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xart is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xart.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.art.model.network;
+
+import java.util.List;
+
+import com.xtructure.art.model.link.Link;
+import com.xtructure.art.model.link.LinkImpl;
+import com.xtructure.art.model.node.Node;
+import com.xtructure.art.model.node.NodeImpl;
+import com.xtructure.xutil.RandomUtil;
+import com.xtructure.xutil.Range;
+import com.xtructure.xutil.config.AbstractRangeXParameter;
+import com.xtructure.xutil.config.VettingStrategy;
+import com.xtructure.xutil.config.XField;
+
+/**
+ * A flattened execution kernel for the nodes and links of an
+ * {@link AbstractNetwork}.
+ * <p>
+ * A kernel copies the parameters and state of a network's nodes and links
+ * into primitive arrays, indexes the input links of each node in a single
+ * compressed row array, and computes {@link #calculate()} and
+ * {@link #update()} as loops over those arrays. The results, including the
+ * order in which random twitches and oscillations are drawn, are those of
+ * {@link NodeImpl#calculate(List)}, {@link LinkImpl#calculate(Float, Float)}
+ * and their <code>update()</code> methods.
+ * </p>
+ * <p>
+ * Node and link parameters are read once, when the kernel is created. Energies,
+ * oscillation phases, strengths and capacities are written back to the nodes
+ * and links only when {@link #storeNode(int)}, {@link #storeLink(int)} or
+ * {@link #storeAll()} is called, and only if they have changed since they
+ * were last written.
+ * </p>
+ * 
+ * @author Luis Guimbarda
+ */
+final class ArrayNetworkKernel {
+	/** the nodes of this kernel */
+	private final NodeImpl[]					_nodes;
+	/** the links of this kernel */
+	private final LinkImpl[]					_links;
+	/** the energy decays of the nodes */
+	private final float[]						_energyDecay;
+	/** the excitatory scales of the nodes */
+	private final float[]						_excitatoryScale;
+	/** the inhibitory scales of the nodes */
+	private final float[]						_inhibitoryScale;
+	/** the oscillation minimums of the nodes */
+	private final float[]						_oscillationMinimum;
+	/** the oscillation maximums of the nodes */
+	private final float[]						_oscillationMaximum;
+	/** the oscillation offsets of the nodes */
+	private final int[]							_oscillationOffset;
+	/** the oscillation periods of the nodes */
+	private final int[]							_oscillationPeriod;
+	/** the oscillation phases of the nodes */
+	private final int[]							_oscillationPhase;
+	/** the twitch minimums of the nodes */
+	private final float[]						_twitchMinimum;
+	/** the twitch maximums of the nodes */
+	private final float[]						_twitchMaximum;
+	/** the twitch probabilities of the nodes */
+	private final float[]						_twitchProbability;
+	/** the shifts of the nodes */
+	private final float[]						_shift;
+	/** the scales of the nodes */
+	private final float[]						_scale;
+	/** the invert flags of the nodes */
+	private final boolean[]						_invert;
+	/** the minimum energies of the inverting nodes */
+	private final float[]						_invertMinimum;
+	/** the maximum energies of the inverting nodes */
+	private final float[]						_invertMaximum;
+	/** the vetting strategies of the energies of the nodes */
+	private final VettingStrategy<Float>[]		_energyVetting;
+	/** the offsets of the delay lines of the nodes in {@link #_delayLines} */
+	private final int[]							_delayLineStart;
+	/** the lengths of the delay lines of the nodes */
+	private final int[]							_delayLineLength;
+	/** the offsets of the heads of the delay lines, relative to their starts */
+	private final int[]							_delayLineHead;
+	/** the delay lines of all nodes, each a circular buffer */
+	private final float[]						_delayLines;
+	/** the offsets of the input links of each node in {@link #_inputLinks} */
+	private final int[]							_inputStart;
+	/** the indices of the input links of each node */
+	private final int[]							_inputLinks;
+	/** the foreign data passed to each node */
+	private final List<List<Float>>				_foreignData;
+	/** the indices of the source nodes of the links */
+	private final int[]							_linkSource;
+	/** the indices of the target nodes of the links */
+	private final int[]							_linkTarget;
+	/** the strengths of the links */
+	private final float[]						_strength;
+	/** the strength attacks of the links */
+	private final float[]						_strengthAttack;
+	/** the strength decays of the links */
+	private final float[]						_strengthDecay;
+	/** the capacities of the links */
+	private final float[]						_capacity;
+	/** the capacity attacks of the links */
+	private final float[]						_capacityAttack;
+	/** the capacity decays of the links */
+	private final float[]						_capacityDecay;
+	/** the inhibitory flags of the links */
+	private final boolean[]						_inhibitory;
+	/** the strengths of the links at the next update */
+	private final float[]						_nextStrength;
+	/** the capacities of the links at the next update */
+	private final float[]						_nextCapacity;
+	/** the output energies of the links */
+	private final float[]						_outputEnergy;
+	/** the vetting strategies of the strengths of the links */
+	private final VettingStrategy<Float>[]		_strengthVetting;
+	/** the vetting strategies of the capacities of the links */
+	private final VettingStrategy<Float>[]		_capacityVetting;
+	/** the generation of the state in this kernel */
+	private long								_generation		= 0l;
+	/** the generation of the state last written back to each node */
+	private final long[]						_nodeGeneration;
+	/** the generation of the state last written back to each link */
+	private final long[]						_linkGeneration;
+
+	/**
+	 * Creates a new kernel.
+	 * 
+	 * @param nodes
+	 *            the nodes, in calculation order
+	 * @param links
+	 *            the links, in calculation order
+	 * @param linkSources
+	 *            the index in <code>nodes</code> of the source of each link
+	 * @param linkTargets
+	 *            the index in <code>nodes</code> of the target of each link
+	 * @param inputLinks
+	 *            the indices in <code>links</code> of the input links of each
+	 *            node, in summation order
+	 * @param foreignData
+	 *            the lists to which foreign data for each node is added
+	 */
+	@SuppressWarnings("unchecked")
+	ArrayNetworkKernel(//
+			final List<NodeImpl> nodes,//
+			final List<LinkImpl> links,//
+			final int[] linkSources,//
+			final int[] linkTargets,//
+			final int[][] inputLinks,//
+			final List<List<Float>> foreignData) {
+		final int nodeCount = nodes.size();
+		final int linkCount = links.size();
+		_nodes = nodes.toArray(new NodeImpl[nodeCount]);
+		_links = links.toArray(new LinkImpl[linkCount]);
+		_energyDecay = new float[nodeCount];
+		_excitatoryScale = new float[nodeCount];
+		_inhibitoryScale = new float[nodeCount];
+		_oscillationMinimum = new float[nodeCount];
+		_oscillationMaximum = new float[nodeCount];
+		_oscillationOffset = new int[nodeCount];
+		_oscillationPeriod = new int[nodeCount];
+		_oscillationPhase = new int[nodeCount];
+		_twitchMinimum = new float[nodeCount];
+		_twitchMaximum = new float[nodeCount];
+		_twitchProbability = new float[nodeCount];
+		_shift = new float[nodeCount];
+		_scale = new float[nodeCount];
+		_invert = new boolean[nodeCount];
+		_invertMinimum = new float[nodeCount];
+		_invertMaximum = new float[nodeCount];
+		_energyVetting = new VettingStrategy[nodeCount];
+		_delayLineStart = new int[nodeCount];
+		_delayLineLength = new int[nodeCount];
+		_delayLineHead = new int[nodeCount];
+		_inputStart = new int[nodeCount + 1];
+		_nodeGeneration = new long[nodeCount];
+		final float[][] delayLines = new float[nodeCount][];
+		int delayLineSize = 0;
+		int inputSize = 0;
+		for (int i = 0; i < nodeCount; i++) {
+			final NodeImpl node = _nodes[i];
+			_energyDecay[i] = node.getEnergyDecay();
+			_excitatoryScale[i] = node.getExcitatoryScale();
+			_inhibitoryScale[i] = node.getInhibitoryScale();
+			_oscillationMinimum[i] = node.getOscillationMinimum();
+			_oscillationMaximum[i] = node.getOscillationMaximum();
+			_oscillationOffset[i] = node.getOscillationOffset();
+			_oscillationPeriod[i] = node.getOscillationPeriod();
+			_oscillationPhase[i] = node.getOscillationPhase();
+			_twitchMinimum[i] = node.getTwitchMinimum();
+			_twitchMaximum[i] = node.getTwitchMaximum();
+			_twitchProbability[i] = node.getTwitchProbability();
+			_shift[i] = node.getShift();
+			_scale[i] = node.getScale();
+			_invert[i] = node.doesInvert();
+			final XField<Float> energyField = (XField<Float>) node.getFieldMap().getField(Node.ENERGY_ID);
+			_energyVetting[i] = energyField.getVettingStrategy();
+			if (_invert[i]) {
+				final Range<Float> range = ((AbstractRangeXParameter<Float>) energyField.getParameter()).getLifetimeRange();
+				_invertMinimum[i] = range.getMinimum();
+				_invertMaximum[i] = range.getMaximum();
+			}
+			delayLines[i] = node.getDelayLine();
+			_delayLineStart[i] = delayLineSize;
+			_delayLineLength[i] = delayLines[i].length;
+			delayLineSize += delayLines[i].length;
+			_inputStart[i] = inputSize;
+			inputSize += inputLinks[i].length;
+		}
+		_inputStart[nodeCount] = inputSize;
+		_delayLines = new float[delayLineSize];
+		_inputLinks = new int[inputSize];
+		for (int i = 0; i < nodeCount; i++) {
+			System.arraycopy(delayLines[i], 0, _delayLines, _delayLineStart[i], _delayLineLength[i]);
+			System.arraycopy(inputLinks[i], 0, _inputLinks, _inputStart[i], inputLinks[i].length);
+		}
+		_foreignData = foreignData;
+		_linkSource = linkSources.clone();
+		_linkTarget = linkTargets.clone();
+		_strength = new float[linkCount];
+		_strengthAttack = new float[linkCount];
+		_strengthDecay = new float[linkCount];
+		_capacity = new float[linkCount];
+		_capacityAttack = new float[linkCount];
+		_capacityDecay = new float[linkCount];
+		_inhibitory = new boolean[linkCount];
+		_nextStrength = new float[linkCount];
+		_nextCapacity = new float[linkCount];
+		_outputEnergy = new float[linkCount];
+		_strengthVetting = new VettingStrategy[linkCount];
+		_capacityVetting = new VettingStrategy[linkCount];
+		_linkGeneration = new long[linkCount];
+		for (int j = 0; j < linkCount; j++) {
+			final LinkImpl link = _links[j];
+			_strength[j] = link.getStrength();
+			_strengthAttack[j] = link.getStrengthAttack();
+			_strengthDecay[j] = link.getStrengthDecay();
+			_capacity[j] = link.getCapacity();
+			_capacityAttack[j] = link.getCapacityAttack();
+			_capacityDecay[j] = link.getCapacityDecay();
+			_inhibitory[j] = link.isInhibitory();
+			// an update before the next calculation leaves a link as it is
+			_nextStrength[j] = _strength[j];
+			_nextCapacity[j] = _capacity[j];
+			_outputEnergy[j] = link.getOutputEnergy();
+			_strengthVetting[j] = (VettingStrategy<Float>) link.getFieldMap().getField(Link.STRENGTH_ID).getVettingStrategy();
+			_capacityVetting[j] = (VettingStrategy<Float>) link.getFieldMap().getField(Link.CAPACITY_ID).getVettingStrategy();
+		}
+	}
+
+	/**
+	 * Returns the number of nodes in this kernel.
+	 * 
+	 * @return the number of nodes in this kernel
+	 */
+	int getNodeCount() {
+		return _nodes.length;
+	}
+
+	/**
+	 * Returns the number of links in this kernel.
+	 * 
+	 * @return the number of links in this kernel
+	 */
+	int getLinkCount() {
+		return _links.length;
+	}
+
+	/**
+	 * Returns the output energy of the link at the given index.
+	 * 
+	 * @param j
+	 *            the index of the link
+	 * @return the output energy of the link at the given index
+	 */
+	float getOutputEnergy(final int j) {
+		return _outputEnergy[j];
+	}
+
+	/** Calculates the new state of all links and nodes. */
+	void calculate() {
+		_generation++;
+		for (int j = 0; j < _links.length; j++) {
+			final int source = _linkSource[j];
+			final int target = _linkTarget[j];
+			final float sourceEnergy = _delayLines[slot(source, _delayLineLength[source] - 1)];
+			final float targetEnergy = _delayLines[slot(target, 1)];
+			final float strength = _strength[j];
+			final float capacity = _capacity[j];
+			_nextStrength[j] = (float) Math.min(Math.max(0.0,//
+					strength //
+							- _strengthDecay[j] * strength * sourceEnergy //
+							+ _strengthAttack[j] * capacity), //
+					capacity);
+			_nextCapacity[j] = capacity //
+					- _capacityDecay[j] * capacity //
+					+ _capacityAttack[j] * sourceEnergy * targetEnergy;
+			_outputEnergy[j] = (_inhibitory[j] ? (-sourceEnergy * strength) : (sourceEnergy * strength));
+		}
+		for (int i = 0; i < _nodes.length; i++) {
+			float excitatoryInput = 0.0F;
+			float inhibitoryInput = 0.0F;
+			for (int k = _inputStart[i]; k < _inputStart[i + 1]; k++) {
+				final float input = _outputEnergy[_inputLinks[k]];
+				if (input > 0.0F) {
+					excitatoryInput += input;
+				} else {
+					inhibitoryInput += input;
+				}
+			}
+			final List<Float> foreignData = _foreignData.get(i);
+			for (int k = 0; k < foreignData.size(); k++) {
+				final float input = foreignData.get(k);
+				if (input > 0.0F) {
+					excitatoryInput += input;
+				} else {
+					inhibitoryInput += input;
+				}
+			}
+			final float backEnergy = _delayLines[slot(i, 1)];
+			float nextEnergyValue = backEnergy;
+			nextEnergyValue -= backEnergy * _energyDecay[i];
+			nextEnergyValue += (_excitatoryScale[i] * excitatoryInput);
+			nextEnergyValue += (_inhibitoryScale[i] * inhibitoryInput);
+			nextEnergyValue += twitch(i);
+			nextEnergyValue += oscillation(i);
+			nextEnergyValue += _shift[i];
+			nextEnergyValue *= _scale[i];
+			if (_invert[i]) {
+				nextEnergyValue = _invertMaximum[i] - nextEnergyValue + _invertMinimum[i];
+			}
+			_delayLines[slot(i, 0)] = _energyVetting[i].vetValue(nextEnergyValue);
+		}
+	}
+
+	/** Installs the state calculated by {@link #calculate()}. */
+	void update() {
+		_generation++;
+		for (int j = 0; j < _links.length; j++) {
+			_capacity[j] = _capacityVetting[j].vetValue(_nextCapacity[j]);
+			_strength[j] = _strengthVetting[j].vetValue(_nextStrength[j]);
+		}
+		for (int i = 0; i < _nodes.length; i++) {
+			// stepping the head back moves every energy one slot toward the
+			// front; the calculated energy stays in the first slot
+			final float calculatedEnergy = _delayLines[slot(i, 0)];
+			_delayLineHead[i] = (_delayLineHead[i] == 0 ? _delayLineLength[i] : _delayLineHead[i]) - 1;
+			_delayLines[slot(i, 0)] = calculatedEnergy;
+		}
+	}
+
+	/**
+	 * Writes the state of the node at the given index back to the node, if it
+	 * has changed since it was last written.
+	 * 
+	 * @param i
+	 *            the index of the node
+	 */
+	void storeNode(final int i) {
+		if (_nodeGeneration[i] == _generation) {
+			return;
+		}
+		final float[] delayLine = new float[_delayLineLength[i]];
+		for (int k = 0; k < delayLine.length; k++) {
+			delayLine[k] = _delayLines[slot(i, k)];
+		}
+		_nodes[i].setDelayLine(delayLine);
+		_nodes[i].setOscillationPhase(_oscillationPhase[i]);
+		_nodeGeneration[i] = _generation;
+	}
+
+	/**
+	 * Writes the state of the link at the given index back to the link, if it
+	 * has changed since it was last written.
+	 * 
+	 * @param j
+	 *            the index of the link
+	 */
+	void storeLink(final int j) {
+		if (_linkGeneration[j] == _generation) {
+			return;
+		}
+		_links[j].setCapacity(_capacity[j]);
+		_links[j].setStrength(_strength[j]);
+		_linkGeneration[j] = _generation;
+	}
+
+	/** Writes the changed state of all nodes and links back to them. */
+	void storeAll() {
+		for (int i = 0; i < _nodes.length; i++) {
+			storeNode(i);
+		}
+		for (int j = 0; j < _links.length; j++) {
+			storeLink(j);
+		}
+	}
+
+	/**
+	 * Returns the index in {@link #_delayLines} of the given slot of the delay
+	 * line of the given node.
+	 * 
+	 * @param i
+	 *            the index of the node
+	 * @param k
+	 *            the slot, 0 being the calculated energy, 1 the back energy
+	 *            and the last the front energy
+	 * @return the index of the given slot
+	 */
+	private int slot(final int i, final int k) {
+		int offset = _delayLineHead[i] + k;
+		if (offset >= _delayLineLength[i]) {
+			offset -= _delayLineLength[i];
+		}
+		return _delayLineStart[i] + offset;
+	}
+
+	/**
+	 * Returns the twitch of the node at the given index, as
+	 * {@link NodeImpl} draws it.
+	 * 
+	 * @param i
+	 *            the index of the node
+	 * @return the twitch of the node at the given index
+	 */
+	private float twitch(final int i) {
+		if (RandomUtil.nextFloat() > _twitchProbability[i]) {
+			return 0.0F;
+		}
+		final float range = _twitchMaximum[i] - _twitchMinimum[i];
+		return RandomUtil.nextFloat() * range + _twitchMinimum[i];
+	}
+
+	/**
+	 * Returns the oscillation of the node at the given index, as
+	 * {@link NodeImpl} draws it, and advances its phase.
+	 * 
+	 * @param i
+	 *            the index of the node
+	 * @return the oscillation of the node at the given index
+	 */
+	private float oscillation(final int i) {
+		final int period = _oscillationPeriod[i];
+		if (period == 0) {
+			return 0.0f;
+		}
+		final float rVal;
+		final int oscillationPhase = _oscillationPhase[i] - _oscillationOffset[i];
+		if ((oscillationPhase < 0) || ((oscillationPhase % period) != 0)) {
+			rVal = 0.0F;
+		} else {
+			final float range = _oscillationMaximum[i] - _oscillationMinimum[i];
+			rVal = (RandomUtil.nextFloat() * range + _oscillationMinimum[i]);
+		}
+		_oscillationPhase[i]++;
+		return rVal;
+	}
+}
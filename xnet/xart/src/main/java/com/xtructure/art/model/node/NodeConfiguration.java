@@ -36,10 +36,10 @@ import com.xtructure.xutil.Range;
 import com.xtructure.xutil.config.AbstractConfigurationBuilder;
 import com.xtructure.xutil.config.AbstractXConfiguration;
 import com.xtructure.xutil.config.BooleanXParameter;
-import com.xtructure.xutil.config.FieldMap;
-import com.xtructure.xutil.config.FieldMapImpl;
+import com.xtructure.xutil.config.FieldMapLayout;
 import com.xtructure.xutil.config.FloatXParameter;
 import com.xtructure.xutil.config.IntegerXParameter;
+import com.xtructure.xutil.config.SlotFieldMap;
 import com.xtructure.xutil.config.XParameter;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.id.XIdObjectManagerImpl;
@@ -86,6 +86,9 @@ public class NodeConfiguration extends AbstractXConfiguration<NodeConfiguration>
 				XML_BINDING, null);
 	}
 
+	/** The slots of the fields of this configuration, or null until first used. */
+	private volatile Slots											_slots	= null;
+
 	/**
 	 * Returns the manager of node configuration instances.
 	 * 
@@ -138,8 +141,76 @@ public class NodeConfiguration extends AbstractXConfiguration<NodeConfiguration>
 
 	/** {@inheritDoc} */
 	@Override
-	public FieldMap newFieldMap() {
-		return new FieldMapImpl(this);
+	public SlotFieldMap newFieldMap() {
+		return getFieldMapLayout().newFieldMap();
+	}
+
+	/**
+	 * Returns the slots of the fields of this configuration that a node reads
+	 * on every calculation.
+	 * 
+	 * @return the slots of the fields of this configuration
+	 * @throws IllegalArgumentException
+	 *             if a field is nullable, and so has no primitive slot
+	 */
+	final Slots getSlots() {
+		Slots slots = _slots;
+		if (slots == null) {
+			_slots = slots = new Slots(getFieldMapLayout());
+		}
+		return slots;
+	}
+
+	/** The slots, in the field maps of a configuration, of the fields of a node. */
+	static final class Slots {
+		/** The float slot of energy decay. */
+		final int	_energyDecay;
+		/** The float slot of excitatory scale. */
+		final int	_excitatoryScale;
+		/** The float slot of inhibitory scale. */
+		final int	_inhibitoryScale;
+		/** The float slot of oscillation minimum. */
+		final int	_oscillationMinimum;
+		/** The float slot of oscillation maximum. */
+		final int	_oscillationMaximum;
+		/** The integer slot of oscillation offset. */
+		final int	_oscillationOffset;
+		/** The integer slot of oscillation period. */
+		final int	_oscillationPeriod;
+		/** The float slot of twitch minimum. */
+		final int	_twitchMinimum;
+		/** The float slot of twitch maximum. */
+		final int	_twitchMaximum;
+		/** The float slot of twitch probability. */
+		final int	_twitchProbability;
+		/** The float slot of shift. */
+		final int	_shift;
+		/** The float slot of scale. */
+		final int	_scale;
+		/** The boolean slot of invert flag. */
+		final int	_invertFlag;
+
+		/**
+		 * Resolves the slots of the fields of a node in the given layout.
+		 * 
+		 * @param layout
+		 *            the layout of the field maps of a configuration
+		 */
+		private Slots(final FieldMapLayout layout) {
+			_energyDecay = layout.getFloatSlot(Node.ENERGY_DECAY_ID);
+			_excitatoryScale = layout.getFloatSlot(Node.EXCITATORY_SCALE_ID);
+			_inhibitoryScale = layout.getFloatSlot(Node.INHIBITORY_SCALE_ID);
+			_oscillationMinimum = layout.getFloatSlot(Node.OSCILLATION_MINIMUM_ID);
+			_oscillationMaximum = layout.getFloatSlot(Node.OSCILLATION_MAXIMUM_ID);
+			_oscillationOffset = layout.getIntegerSlot(Node.OSCILLATION_OFFSET_ID);
+			_oscillationPeriod = layout.getIntegerSlot(Node.OSCILLATION_PERIOD_ID);
+			_twitchMinimum = layout.getFloatSlot(Node.TWITCH_MINIMUM_ID);
+			_twitchMaximum = layout.getFloatSlot(Node.TWITCH_MAXIMUM_ID);
+			_twitchProbability = layout.getFloatSlot(Node.TWITCH_PROBABILITY_ID);
+			_shift = layout.getFloatSlot(Node.SHIFT_ID);
+			_scale = layout.getFloatSlot(Node.SCALE_ID);
+			_invertFlag = layout.getBooleanSlot(Node.INVERT_FLAG_ID);
+		}
 	}
 
 	/** the builder for {@link NodeConfiguration} */
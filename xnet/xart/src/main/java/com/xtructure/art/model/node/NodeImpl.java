@@ -21,7 +21,11 @@
  */
 package com.xtructure.art.model.node;
 
-import java.util.LinkedList;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.util.Arrays;
 import java.util.List;
 
 import javolution.xml.XMLBinding;
@@ -32,8 +36,8 @@ import com.xtructure.xutil.RandomUtil;
 import com.xtructure.xutil.Range;
 import com.xtructure.xutil.XLogger;
 import com.xtructure.xutil.config.AbstractRangeXParameter;
-import com.xtructure.xutil.config.FieldMap;
-import com.xtructure.xutil.config.FloatXParameter;
+import com.xtructure.xutil.config.SlotFieldMap;
+import com.xtructure.xutil.config.XField;
 import com.xtructure.xutil.id.AbstractXIdObject;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.xml.ReadAttributes;
@@ -65,9 +69,20 @@ public final class NodeImpl extends AbstractXIdObject implements Node {
 	/** This node's configuration. */
 	private NodeConfiguration						_nodeConfiguration;
 	/** This node's field map */
-	private final FieldMap							_fieldMap;
-	/** A queue of internal energies. */
-	private final LinkedList<FloatXParameter.Field>	_energyQueue	= new LinkedList<FloatXParameter.Field>();
+	private final SlotFieldMap						_fieldMap;
+	/** The slots of this node's fields in its field map. */
+	private final NodeConfiguration.Slots			_slots;
+	/** The field by which energies entering the delay line are vetted. */
+	private final XField<Float>						_energyField;
+	/**
+	 * The delay line of internal energies, a circular buffer starting at
+	 * {@link #_delayLineHead}.
+	 */
+	private final float[]							_delayLine;
+	/** The index in the delay line of the energy being calculated. */
+	private int										_delayLineHead	= 0;
+	/** The front and back energies, or null if they may have changed. */
+	private Energies								_energies		= null;
 	/** The oscillation phase of this node. */
 	private int										_oscillationPhase;
 
@@ -83,11 +98,12 @@ public final class NodeImpl extends AbstractXIdObject implements Node {
 		super(id);
 		_nodeConfiguration = nodeConfiguration;
 		_fieldMap = nodeConfiguration.newFieldMap();
-		for (int i = -1; i <= getDelay(); i++) {
-			_energyQueue.add(//
-					new FloatXParameter.Field(//
-							(FloatXParameter.Field) _fieldMap.getField(ENERGY_ID)));
-		}
+		_slots = nodeConfiguration.getSlots();
+		@SuppressWarnings("unchecked")
+		final XField<Float> energyField = (XField<Float>) _fieldMap.getField(ENERGY_ID);
+		_energyField = energyField;
+		_delayLine = new float[getDelay() + 2];
+		Arrays.fill(_delayLine, vetEnergy(_energyField.getValue()));
 	}
 
 	/**
@@ -103,13 +119,85 @@ public final class NodeImpl extends AbstractXIdObject implements Node {
 		return rVal;
 	}
 
+	/**
+	 * Returns the field map of this node.
+	 * 
+	 * @return the field map of this node
+	 */
+	public final SlotFieldMap getFieldMap() {
+		return _fieldMap;
+	}
+
+	/**
+	 * Returns the energies in the delay line of this node, from the energy
+	 * calculated by the last call to {@link #calculate(List)} through the back
+	 * energy to the front energy.
+	 * <p>
+	 * The length of the delay line is fixed when this node is created.
+	 * </p>
+	 * 
+	 * @return a new array holding the energies in the delay line of this node
+	 */
+	public final float[] getDelayLine() {
+		final float[] rVal = new float[_delayLine.length];
+		for (int i = 0; i < rVal.length; i++) {
+			rVal[i] = _delayLine[slot(i)];
+		}
+		return rVal;
+	}
+
+	/**
+	 * Sets the energies in the delay line of this node, in the order returned
+	 * by {@link #getDelayLine()}.
+	 * 
+	 * @param energies
+	 *            the energies to set
+	 * @throws IllegalArgumentException
+	 *             if the given array is <code>null</code> or its length is not
+	 *             that of the delay line of this node
+	 */
+	public final void setDelayLine(final float[] energies) {
+		validateArg("energies", energies, isNotNull());
+		validateArg("energies.length", energies.length, isEqualTo(_delayLine.length));
+		for (int i = 0; i < energies.length; i++) {
+			_delayLine[slot(i)] = vetEnergy(energies[i]);
+		}
+		_energies = null;
+	}
+
+	/**
+	 * Returns the number of calculations since this node's oscillation began.
+	 * 
+	 * @return the oscillation phase of this node
+	 */
+	public final int getOscillationPhase() {
+		return _oscillationPhase;
+	}
+
+	/**
+	 * Sets the number of calculations since this node's oscillation began.
+	 * 
+	 * @param oscillationPhase
+	 *            the oscillation phase to set
+	 */
+	public final void setOscillationPhase(final int oscillationPhase) {
+		_oscillationPhase = oscillationPhase;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public final Energies getEnergies() {
 		LOGGER.trace("begin %s.getEnergies()", getClass().getSimpleName());
-		Energies rVal = new Energies( //
-				_energyQueue.getLast().getValue(), //
-				_energyQueue.get(1).getValue());
+		if (_energies == null) {
+			final Float frontEnergy = frontEnergy();
+			final float backEnergy = backEnergy();
+			// equal energies share one box, since Energies.toString compares
+			// them by identity
+			_energies = new Energies( //
+					frontEnergy, //
+					(Float.floatToIntBits(backEnergy) == Float.floatToIntBits(frontEnergy)) ? frontEnergy : backEnergy);
+		}
+		Energies rVal = _energies;
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.getEnergies()", getClass().getSimpleName());
 		return rVal;
@@ -258,7 +346,9 @@ public final class NodeImpl extends AbstractXIdObject implements Node {
 	/** {@inheritDoc} */
 	@Override
 	public final void calculate(final List<Float> linkInputs) {
-		LOGGER.trace("begin %s.calculate(%s)", getClass().getSimpleName(), linkInputs);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.calculate(%s)", getClass().getSimpleName(), linkInputs);
+		}
 		float excitatoryInput = 0.0F;
 		float inhibitoryInput = 0.0F;
 		for (final Float input : linkInputs) {
@@ -269,36 +359,44 @@ public final class NodeImpl extends AbstractXIdObject implements Node {
 			}
 		}
 		// next energy is current (back) energy...
-		float nextEnergyValue = getEnergies().getBackEnergy();
+		final float backEnergy = backEnergy();
+		float nextEnergyValue = backEnergy;
 		// decay
-		nextEnergyValue -= getEnergies().getBackEnergy() * getEnergyDecay();
+		nextEnergyValue -= backEnergy * _fieldMap.getFloat(_slots._energyDecay);
 		// plus inputs...
-		nextEnergyValue += (getExcitatoryScale() * excitatoryInput);
-		nextEnergyValue += (getInhibitoryScale() * inhibitoryInput);
+		nextEnergyValue += (_fieldMap.getFloat(_slots._excitatoryScale) * excitatoryInput);
+		nextEnergyValue += (_fieldMap.getFloat(_slots._inhibitoryScale) * inhibitoryInput);
 		// plus twitch / oscillation
 		nextEnergyValue += twitch();
 		nextEnergyValue += oscillation();
 		// shifted, scaled, inverted
-		nextEnergyValue += getShift();
-		nextEnergyValue *= getScale();
-		if (doesInvert()) {
-			final Range<Float> range = ((AbstractRangeXParameter<Float>) (_energyQueue.getFirst().getParameter())).getLifetimeRange();
+		nextEnergyValue += _fieldMap.getFloat(_slots._shift);
+		nextEnergyValue *= _fieldMap.getFloat(_slots._scale);
+		if (_fieldMap.getBoolean(_slots._invertFlag)) {
+			final Range<Float> range = ((AbstractRangeXParameter<Float>) (_energyField.getParameter())).getLifetimeRange();
 			nextEnergyValue = range.getMaximum() - nextEnergyValue + range.getMinimum();
 		}
-		_energyQueue.get(0).setValue(nextEnergyValue);
-		LOGGER.trace("end %s.calculate()", getClass().getSimpleName());
+		_delayLine[_delayLineHead] = vetEnergy(nextEnergyValue);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("end %s.calculate()", getClass().getSimpleName());
+		}
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public final void update() {
-		LOGGER.trace("begin %s.update()", getClass().getSimpleName());
-		// bubble values forward
-		for (int i = (_energyQueue.size() - 1); i > 0; i--) {
-			_energyQueue.get(i).setValue( //
-					_energyQueue.get(i - 1).getValue());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.update()", getClass().getSimpleName());
+		}
+		// step the head back, moving every energy one slot toward the front,
+		// and keep the calculated energy in the new head
+		final float calculatedEnergy = _delayLine[_delayLineHead];
+		_delayLineHead = (_delayLineHead == 0 ? _delayLine.length : _delayLineHead) - 1;
+		_delayLine[_delayLineHead] = calculatedEnergy;
+		_energies = null;
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("end %s.update()", getClass().getSimpleName());
 		}
-		LOGGER.trace("end %s.update()", getClass().getSimpleName());
 	}
 
 	/** {@inheritDoc} */
@@ -320,20 +418,67 @@ public final class NodeImpl extends AbstractXIdObject implements Node {
 				getDelay(), getShift(), getScale(), doesInvert());
 	}
 
+	/**
+	 * Returns the index in the delay line of the given slot.
+	 * 
+	 * @param k
+	 *            the slot, 0 being the energy being calculated, 1 the back
+	 *            energy and the last the front energy
+	 * @return the index in the delay line of the given slot
+	 */
+	private final int slot(final int k) {
+		final int index = _delayLineHead + k;
+		return (index >= _delayLine.length) ? index - _delayLine.length : index;
+	}
+
+	/**
+	 * Returns the energy at the front of this node.
+	 * 
+	 * @return the energy at the front of this node
+	 */
+	private final float frontEnergy() {
+		return _delayLine[slot(_delayLine.length - 1)];
+	}
+
+	/**
+	 * Returns the energy at the back of this node.
+	 * 
+	 * @return the energy at the back of this node
+	 */
+	private final float backEnergy() {
+		return _delayLine[slot(1)];
+	}
+
+	/**
+	 * Vets the given energy as the energy field of this node would.
+	 * 
+	 * @param energy
+	 *            the energy to vet
+	 * @return the vetted energy
+	 */
+	private final float vetEnergy(final Float energy) {
+		return _energyField.getVettingStrategy().vetValue(energy);
+	}
+
 	/**
 	 * Returns the twitch for this node.
 	 * 
 	 * @return the twitch for this node
 	 */
 	private final float twitch() {
-		LOGGER.trace("begin %s.twitch()", getClass().getSimpleName());
-		if (RandomUtil.nextFloat() > getTwitchProbability()) {
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.twitch()", getClass().getSimpleName());
+		}
+		if (RandomUtil.nextFloat() > _fieldMap.getFloat(_slots._twitchProbability)) {
 			return 0.0F;
 		}
-		final float range = getTwitchMaximum() - getTwitchMinimum();
-		final float rVal = RandomUtil.nextFloat() * range + getTwitchMinimum();
-		LOGGER.trace("will return: %s", rVal);
-		LOGGER.trace("end %s.twitch()", getClass().getSimpleName());
+		final float twitchMinimum = _fieldMap.getFloat(_slots._twitchMinimum);
+		final float range = _fieldMap.getFloat(_slots._twitchMaximum) - twitchMinimum;
+		final float rVal = RandomUtil.nextFloat() * range + twitchMinimum;
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("will return: %s", rVal);
+			LOGGER.trace("end %s.twitch()", getClass().getSimpleName());
+		}
 		return rVal;
 	}
 
@@ -343,21 +488,27 @@ public final class NodeImpl extends AbstractXIdObject implements Node {
 	 * @return the oscillation for this node
 	 */
 	private final float oscillation() {
-		LOGGER.trace("begin %s.oscillation()", getClass().getSimpleName());
-		if (getOscillationPeriod() == 0) {
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.oscillation()", getClass().getSimpleName());
+		}
+		final int oscillationPeriod = _fieldMap.getInteger(_slots._oscillationPeriod);
+		if (oscillationPeriod == 0) {
 			return 0.0f;
 		}
 		final float rVal;
-		int oscillationPhase = _oscillationPhase - getOscillationOffset();
-		if ((oscillationPhase < 0) || ((oscillationPhase % getOscillationPeriod()) != 0)) {
+		int oscillationPhase = _oscillationPhase - _fieldMap.getInteger(_slots._oscillationOffset);
+		if ((oscillationPhase < 0) || ((oscillationPhase % oscillationPeriod) != 0)) {
 			rVal = 0.0F;
 		} else {
-			final float range = getOscillationMaximum() - getOscillationMinimum();
-			rVal = (RandomUtil.nextFloat() * range + getOscillationMinimum());
+			final float oscillationMinimum = _fieldMap.getFloat(_slots._oscillationMinimum);
+			final float range = _fieldMap.getFloat(_slots._oscillationMaximum) - oscillationMinimum;
+			rVal = (RandomUtil.nextFloat() * range + oscillationMinimum);
 		}
 		_oscillationPhase++;
-		LOGGER.trace("will return: %s", rVal);
-		LOGGER.trace("end %s.twitch()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("will return: %s", rVal);
+			LOGGER.trace("end %s.twitch()", getClass().getSimpleName());
+		}
 		return rVal;
 	}
 
@@ -375,9 +526,12 @@ public final class NodeImpl extends AbstractXIdObject implements Node {
 	@Override
 	public Energies setEnergies(Energies e) {
 		LOGGER.trace("begin %s.setEnergies(%s)", getClass().getSimpleName(), e);
-		Energies rVal = new Energies(//
-				_energyQueue.getFirst().setValue(e.getFrontEnergy()),//
-				_energyQueue.getLast().setValue(e.getBackEnergy()));
+		final float frontEnergy = vetEnergy(e.getFrontEnergy());
+		final float backEnergy = vetEnergy(e.getBackEnergy());
+		_delayLine[slot(0)] = frontEnergy;
+		_delayLine[slot(_delayLine.length - 1)] = backEnergy;
+		_energies = null;
+		Energies rVal = new Energies(frontEnergy, backEnergy);
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.setEnergies()", getClass().getSimpleName());
 		return rVal;
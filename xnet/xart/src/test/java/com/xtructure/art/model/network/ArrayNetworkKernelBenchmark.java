@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xart.
+ *
+ * xart is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xart is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xart.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.art.model.network;
+
+import com.xtructure.art.model.link.Link;
+import com.xtructure.art.model.link.LinkConfiguration;
+import com.xtructure.art.model.link.LinkImpl;
+import com.xtructure.art.model.node.Node;
+import com.xtructure.art.model.node.NodeConfiguration;
+import com.xtructure.art.model.node.NodeImpl;
+import com.xtructure.xutil.RandomUtil;
+import com.xtructure.xutil.coll.SetBuilder;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Compares a calculate/update tick of a randomly connected network run on its
+ * nodes and links against the same tick run by its array kernel.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class ArrayNetworkKernelBenchmark {
+	/** number of nodes in the benchmarked networks */
+	private static final int	NODES		= 200;
+	/** number of input links per node in the benchmarked networks */
+	private static final int	FAN_IN		= 10;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(ArrayNetworkKernelBenchmark.class.getSimpleName(), 1);
+		final DummyNetwork objectNet = newNetwork();
+		final DummyNetwork kernelNet = newNetwork();
+		kernelNet.setArrayKernelEnabled(true);
+		benchmark.measure("objectModel", new Operation() {
+			@Override
+			public long execute() {
+				objectNet.calculate();
+				objectNet.update();
+				return 0l;
+			}
+		});
+		benchmark.measure("arrayKernel", new Operation() {
+			@Override
+			public long execute() {
+				kernelNet.calculate();
+				kernelNet.update();
+				return 0l;
+			}
+		});
+		System.out.println(benchmark.getSink());
+	}
+
+	/**
+	 * Creates a randomly connected network.
+	 * 
+	 * @return a new network
+	 */
+	private static DummyNetwork newNetwork() {
+		RandomUtil.setThreadSeed(11l);
+		SetBuilder<Node> nodes = new SetBuilder<Node>();
+		SetBuilder<Link> links = new SetBuilder<Link>();
+		for (int i = 0; i < NODES; i++) {
+			nodes.add(new NodeImpl(XId.newId("node", i), NodeConfiguration.DEFAULT_CONFIGURATION));
+			for (int j = 0; j < FAN_IN; j++) {
+				links.add(new LinkImpl(XId.newId("link", i, j),//
+						XId.newId("node", RandomUtil.nextInteger(NODES)), XId.newId("node", i),//
+						LinkConfiguration.DEFAULT_CONFIGURATION));
+			}
+		}
+		RandomUtil.clearThreadSeed();
+		return new DummyNetwork(XId.newId("network"), nodes.newImmutableInstance(), links.newImmutableInstance());
+	}
+
+	private ArrayNetworkKernelBenchmark() {}
+}
@@ -23,9 +23,11 @@ package com.xtructure.art.model.network;
 
 import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
 import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
 
+import java.util.Arrays;
 import java.util.Set;
 
 import org.testng.annotations.DataProvider;
@@ -37,6 +39,7 @@ import com.xtructure.art.model.link.LinkImpl;
 import com.xtructure.art.model.node.Node;
 import com.xtructure.art.model.node.NodeConfiguration;
 import com.xtructure.art.model.node.NodeImpl;
+import com.xtructure.xutil.RandomUtil;
 import com.xtructure.xutil.Range;
 import com.xtructure.xutil.coll.SetBuilder;
 import com.xtructure.xutil.coll.XIdObjectTransform;
@@ -58,6 +61,11 @@ public final class UTestAbstractNetwork {
 	private static final Set<Node>				NODES;
 	private static final Set<Link>				LINKS;
 	private static final Object[][]				VALID_CONSTRUCTOR_ARGS;
+	private static final int					KERNEL_TEST_NODE_COUNT	= 5;
+	private static final int					KERNEL_TEST_TICKS		= 40;
+	private static final NodeConfiguration		KERNEL_TEST_NODE_CONFIG;
+	private static final LinkConfiguration		KERNEL_TEST_EXCITATORY_CONFIG;
+	private static final LinkConfiguration		KERNEL_TEST_INHIBITORY_CONFIG;
 	static {
 		NETWORK_ID = XId.newId("testNetworkId");
 		SRC_NODE_ID = XId.newId("testSourceNodeId");
@@ -77,6 +85,24 @@ public final class UTestAbstractNetwork {
 		LINKS = new SetBuilder<Link>()//
 				.add(new LinkImpl(LINK_ID, SRC_NODE_ID, TGT_NODE_ID, linkConfig))//
 				.newImmutableInstance();
+		KERNEL_TEST_NODE_CONFIG = NodeConfiguration.builder()//
+				.setEnergy(Range.getInstance(0.0f, 2.0f), Range.getInstance(0.0f, 1.0f))//
+				.setDelay(Range.getInstance(0, 3), Range.getInstance(0, 3))//
+				.setTwitchProbability(Range.getInstance(0.0f, 1.0f), Range.getInstance(0.2f))//
+				.setTwitchMinimum(Range.getInstance(0.0f, 1.0f), Range.getInstance(0.1f))//
+				.setTwitchMaximum(Range.getInstance(0.0f, 1.0f), Range.getInstance(0.3f))//
+				.setOscillationPeriod(Range.getInstance(0, 10), Range.getInstance(0, 4))//
+				.setOscillationOffset(Range.getInstance(0, 10), Range.getInstance(0, 2))//
+				.setOscillationMinimum(Range.getInstance(0.0f, 1.0f), Range.getInstance(0.2f))//
+				.setOscillationMaximum(Range.getInstance(0.0f, 1.0f), Range.getInstance(0.5f))//
+				.setInvertFlag(Range.FULL_BOOLEAN_RANGE, Range.FULL_BOOLEAN_RANGE)//
+				.newInstance();
+		KERNEL_TEST_EXCITATORY_CONFIG = LinkConfiguration.builder()//
+				.setInhibitoryFlag(Range.FALSE_BOOLEAN_RANGE, Range.FALSE_BOOLEAN_RANGE)//
+				.newInstance();
+		KERNEL_TEST_INHIBITORY_CONFIG = LinkConfiguration.builder()//
+				.setInhibitoryFlag(Range.TRUE_BOOLEAN_RANGE, Range.TRUE_BOOLEAN_RANGE)//
+				.newInstance();
 		VALID_CONSTRUCTOR_ARGS = TestUtils.crossData(//
 				TestUtils.createData(//
 						NETWORK_ID,//
@@ -227,6 +253,81 @@ public final class UTestAbstractNetwork {
 				finalTgtEnergy, isEqualTo(expectedTgtEnergy));
 	}
 
+	public void arrayKernelMatchesObjectModel() {
+		DummyNetwork objectNet = newKernelTestNetwork();
+		DummyNetwork kernelNet = newKernelTestNetwork();
+		kernelNet.setArrayKernelEnabled(true);
+		RandomUtil.setThreadSeed(23l);
+		String[] expected = runKernelTestNetwork(objectNet);
+		RandomUtil.clearThreadSeed();
+		RandomUtil.setThreadSeed(23l);
+		String[] actual = runKernelTestNetwork(kernelNet);
+		RandomUtil.clearThreadSeed();
+		assertThat("",//
+				Arrays.asList(actual), isEqualTo(Arrays.asList(expected)));
+	}
+
+	public void disablingArrayKernelWritesBackState() {
+		DummyNetwork objectNet = newKernelTestNetwork();
+		DummyNetwork kernelNet = newKernelTestNetwork();
+		kernelNet.setArrayKernelEnabled(true);
+		RandomUtil.setThreadSeed(29l);
+		runKernelTestNetwork(objectNet);
+		String expected = describe(objectNet);
+		RandomUtil.clearThreadSeed();
+		RandomUtil.setThreadSeed(29l);
+		runKernelTestNetwork(kernelNet);
+		RandomUtil.clearThreadSeed();
+		kernelNet.setArrayKernelEnabled(false);
+		assertThat("",//
+				kernelNet.isArrayKernelEnabled(), isFalse());
+		assertThat("",//
+				describe(kernelNet), isEqualTo(expected));
+	}
+
+	private static DummyNetwork newKernelTestNetwork() {
+		RandomUtil.setThreadSeed(17l);
+		SetBuilder<Node> nodes = new SetBuilder<Node>();
+		SetBuilder<Link> links = new SetBuilder<Link>();
+		for (int i = 0; i < KERNEL_TEST_NODE_COUNT; i++) {
+			nodes.add(new NodeImpl(XId.newId("kernelNode", i), KERNEL_TEST_NODE_CONFIG));
+			for (int j = 0; j < KERNEL_TEST_NODE_COUNT; j++) {
+				if ((i + j) % 3 != 0) {
+					links.add(new LinkImpl(XId.newId("kernelLink", i, j),//
+							XId.newId("kernelNode", i), XId.newId("kernelNode", j),//
+							((i + j) % 3 == 1) ? KERNEL_TEST_EXCITATORY_CONFIG : KERNEL_TEST_INHIBITORY_CONFIG));
+				}
+			}
+		}
+		RandomUtil.clearThreadSeed();
+		return new DummyNetwork(NETWORK_ID, nodes.newImmutableInstance(), links.newImmutableInstance());
+	}
+
+	private static String[] runKernelTestNetwork(DummyNetwork net) {
+		String[] rVal = new String[KERNEL_TEST_TICKS];
+		for (int tick = 0; tick < KERNEL_TEST_TICKS; tick++) {
+			net.prepareBeforeHook();
+			net.addForeignData(XId.newId("kernelNode", tick % KERNEL_TEST_NODE_COUNT), null, 0.25f);
+			net.calculate();
+			net.update();
+			rVal[tick] = describe(net);
+		}
+		return rVal;
+	}
+
+	private static String describe(DummyNetwork net) {
+		StringBuilder sb = new StringBuilder();
+		for (XId nodeId : net.getNodeIds()) {
+			NodeImpl node = (NodeImpl) net.getData(nodeId);
+			sb.append(Arrays.toString(node.getDelayLine())).append(node.getOscillationPhase());
+		}
+		for (XId linkId : net.getLinkIds()) {
+			Link link = (Link) net.getData(linkId);
+			sb.append(link.getStrength()).append(link.getCapacity());
+		}
+		return sb.toString();
+	}
+
 	@DataProvider
 	public Object[][] validConstructorArgs() {
 		return VALID_CONSTRUCTOR_ARGS;
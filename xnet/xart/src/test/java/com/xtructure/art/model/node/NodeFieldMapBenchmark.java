@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xart.
+ *
+ * xart is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xart is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xart.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.art.model.node;
+
+import com.xtructure.xutil.config.FieldMap;
+import com.xtructure.xutil.config.FieldMapImpl;
+import com.xtructure.xutil.config.SlotFieldMap;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Compares reading the float fields of a node through a {@link FieldMapImpl},
+ * through the id-based methods of a {@link SlotFieldMap}, and through the
+ * slots of a {@link SlotFieldMap}, and measures the creation of each kind of
+ * map.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class NodeFieldMapBenchmark {
+	/** number of reads per iteration */
+	private static final int	READS	= 1000;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(NodeFieldMapBenchmark.class.getSimpleName(), READS);
+		final NodeConfiguration configuration = NodeConfiguration.DEFAULT_CONFIGURATION;
+		final FieldMap fieldMap = new FieldMapImpl(configuration);
+		final SlotFieldMap slotFieldMap = configuration.newFieldMap();
+		final int energyDecaySlot = configuration.getFieldMapLayout().getFloatSlot(Node.ENERGY_DECAY_ID);
+		final int scaleSlot = configuration.getFieldMapLayout().getFloatSlot(Node.SCALE_ID);
+		benchmark.measure("FieldMapImpl.get(XValId)", new Operation() {
+			@Override
+			public long execute() {
+				float sum = 0.0F;
+				for (int i = 0; i < READS; i++) {
+					sum += fieldMap.get(Node.ENERGY_DECAY_ID) * fieldMap.get(Node.SCALE_ID);
+				}
+				return Float.floatToRawIntBits(sum);
+			}
+		});
+		benchmark.measure("SlotFieldMap.get(XValId)", new Operation() {
+			@Override
+			public long execute() {
+				float sum = 0.0F;
+				for (int i = 0; i < READS; i++) {
+					sum += slotFieldMap.get(Node.ENERGY_DECAY_ID) * slotFieldMap.get(Node.SCALE_ID);
+				}
+				return Float.floatToRawIntBits(sum);
+			}
+		});
+		benchmark.measure("SlotFieldMap.getFloat(int)", new Operation() {
+			@Override
+			public long execute() {
+				float sum = 0.0F;
+				for (int i = 0; i < READS; i++) {
+					sum += slotFieldMap.getFloat(energyDecaySlot) * slotFieldMap.getFloat(scaleSlot);
+				}
+				return Float.floatToRawIntBits(sum);
+			}
+		});
+		MicroBenchmark creation = new MicroBenchmark(NodeFieldMapBenchmark.class.getSimpleName() + " (creation)", 1);
+		creation.measure("new FieldMapImpl", new Operation() {
+			@Override
+			public long execute() {
+				return new FieldMapImpl(configuration).getFieldIds().size();
+			}
+		});
+		creation.measure("newFieldMap", new Operation() {
+			@Override
+			public long execute() {
+				return configuration.newFieldMap().getFieldIds().size();
+			}
+		});
+		System.out.println(benchmark.getSink() + creation.getSink());
+	}
+
+	private NodeFieldMapBenchmark() {}
+}
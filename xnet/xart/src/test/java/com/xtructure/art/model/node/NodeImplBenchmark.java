@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xart.
+ *
+ * xart is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xart is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xart.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.art.model.node;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.xtructure.xutil.Range;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Measures a calculate/update tick of a single node, followed by a read of its
+ * energies, as the delay of the node grows.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class NodeImplBenchmark {
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(NodeImplBenchmark.class.getSimpleName(), 1);
+		final List<Float> inputs = Arrays.asList(0.5f, -0.25f);
+		for (int delay : new int[] { 1, 16, 128, 1024 }) {
+			final NodeImpl node = new NodeImpl(NodeImpl.DEFAULT_ID, NodeConfiguration.builder()//
+					.setTemplate(NodeConfiguration.DEFAULT_CONFIGURATION)//
+					.setDelay(Range.getInstance(delay, delay), null)//
+					.newInstance());
+			benchmark.measure(String.format("delay=%d", delay), new Operation() {
+				@Override
+				public long execute() {
+					node.calculate(inputs);
+					node.update();
+					return Float.floatToRawIntBits(node.getEnergies().getFrontEnergy());
+				}
+			});
+		}
+		System.out.println(benchmark.getSink());
+	}
+
+	private NodeImplBenchmark() {}
+}
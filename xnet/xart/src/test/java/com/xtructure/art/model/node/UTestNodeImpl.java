@@ -24,6 +24,8 @@ package com.xtructure.art.model.node;
 import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
 import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotSameAs;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
 import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
 
 import java.util.Arrays;
@@ -47,6 +49,7 @@ public class UTestNodeImpl {
 	private static final XId				NODE_ID;
 	private static final NodeConfiguration	TEST_CONFIG;
 	private static final NodeConfiguration	COVER_CONFIG;
+	private static final NodeConfiguration	DELAY_CONFIG;
 	private static final Object[][]			INPUTS;
 	private static final Object[][]			VALID_IDS;
 	static {
@@ -84,6 +87,10 @@ public class UTestNodeImpl {
 				.setOscillationPeriod(oneInteger, null)//
 				.setTwitchProbability(zeroFloat, null)//
 				.newInstance();
+		DELAY_CONFIG = NodeConfiguration.builder()//
+				.setTemplate(TEST_CONFIG)//
+				.setDelay(Range.getInstance(3, 3), null)//
+				.newInstance();
 		INPUTS = TestUtils.createData(//
 				Collections.<Float> emptyList(),//
 				Arrays.asList(0.0f),//
@@ -207,6 +214,53 @@ public class UTestNodeImpl {
 		}
 	}
 
+	public final void frontEnergyLagsBackEnergyByDelay() {
+		NodeImpl node = new NodeImpl(NODE_ID, DELAY_CONFIG);
+		int delay = node.getDelay();
+		Float[] backEnergies = new Float[10];
+		for (int i = 0; i < backEnergies.length; i++) {
+			node.calculate(Arrays.asList((float) i));
+			node.update();
+			backEnergies[i] = node.getEnergies().getBackEnergy();
+			if (i >= delay) {
+				assertThat("",//
+						node.getEnergies().getFrontEnergy(), isEqualTo(backEnergies[i - delay]));
+			}
+		}
+	}
+
+	public final void getEnergiesReturnsSameInstanceUntilUpdated() {
+		NodeImpl node = new NodeImpl(NODE_ID, TEST_CONFIG);
+		Energies energies = node.getEnergies();
+		node.calculate(Arrays.asList(1.0f));
+		assertThat("",//
+				node.getEnergies(), isSameAs(energies));
+		node.update();
+		assertThat("",//
+				node.getEnergies(), isNotSameAs(energies));
+	}
+
+	public final void setDelayLineRestoresDelayLine() {
+		NodeImpl node = new NodeImpl(NODE_ID, DELAY_CONFIG);
+		for (int i = 0; i < 3; i++) {
+			node.calculate(Arrays.asList((float) i));
+			node.update();
+		}
+		float[] delayLine = node.getDelayLine();
+		Energies energies = node.getEnergies();
+		NodeImpl copy = new NodeImpl(NODE_ID, DELAY_CONFIG);
+		copy.setDelayLine(delayLine);
+		assertThat("",//
+				Arrays.equals(copy.getDelayLine(), delayLine), isTrue());
+		assertThat("",//
+				copy.getEnergies(), isEqualTo(energies));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public final void setDelayLineWithWrongLengthThrowsException() {
+		new NodeImpl(NODE_ID, DELAY_CONFIG).setDelayLine(new float[1]);
+	}
+
 	@SuppressWarnings("unchecked")
 	private static Float calculate(List<Float> list, final NodeImpl node) {
 		Float nextEnergy = node.getEnergies().getBackEnergy() * node.getEnergyDecay();
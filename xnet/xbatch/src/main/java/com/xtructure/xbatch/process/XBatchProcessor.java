@@ -21,6 +21,8 @@
  */
 package com.xtructure.xbatch.process;
 
+import java.util.concurrent.Future;
+
 import com.xtructure.xbatch.batch.XBatch;
 
 /**
@@ -38,4 +40,14 @@ public interface XBatchProcessor {
 	 *            simulations.
 	 */
 	public void start(XBatch batch, boolean blocking);
+
+	/**
+	 * Submit the given batch for processing and return immediately.
+	 * 
+	 * @param batch
+	 *            the batch from which simulations are processed
+	 * @return a handle on the processing of the batch, the value of which is
+	 *         the number of simulations run
+	 */
+	public Future<Integer> submit(XBatch batch);
 }
@@ -25,20 +25,37 @@ import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThan;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
 
-import java.util.concurrent.locks.Condition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.xtructure.xbatch.batch.XBatch;
 import com.xtructure.xbatch.process.XBatchProcessor;
 import com.xtructure.xsim.XSimulation;
-import com.xtructure.xsim.XSimulation.SimulationState;
-import com.xtructure.xsim.impl.AbstractXSimulationListener;
+import com.xtructure.xutil.DaemonExecutors;
 import com.xtructure.xutil.RuntimeDuration;
 import com.xtructure.xutil.XLogger;
 import com.xtructure.xutil.format.RuntimeTextFormat;
 
 /**
+ * An {@link XBatchProcessor} backed by a long-lived pool of worker threads.
+ * <p>
+ * Each batch is consumed by one {@link SimConsumer} per worker. Consumers pull
+ * simulations from the batch until it is exhausted and run each one to
+ * termination on the worker thread (see {@link XSimulation#runToTermination()}
+ * ), so no simulation thread is started. All state is per processor (and per
+ * batch), so processors in the same JVM do not contend. Idle workers time out,
+ * so an unused processor holds no threads.
+ * </p>
+ * 
  * @author Luis Guimbarda
  * 
  */
@@ -47,19 +64,10 @@ public final class XBatchProcessorImpl implements XBatchProcessor {
 	private static final XLogger			LOGGER	= XLogger.getInstance(XBatchProcessorImpl.class);
 	/** default number of sim threads to use */
 	private static final int				DEFAULT_MAX_THREADS;
-	/** lock used while checking for more simulations in the batch */
-	private static final Lock				BATCH_LOCK;
-	/** lock used while running the processor and blocking */
-	private static final Lock				RUNNING_LOCK;
-	/** condition used to block while processing the batch */
-	private static final Condition			FINISHED_RUNNING;
 	/** text formatter for runtime durations */
 	private static final RuntimeTextFormat	RTF;
 	static {
 		DEFAULT_MAX_THREADS = Runtime.getRuntime().availableProcessors();
-		BATCH_LOCK = new ReentrantLock();
-		RUNNING_LOCK = new ReentrantLock();
-		FINISHED_RUNNING = RUNNING_LOCK.newCondition();
 		RTF = RuntimeTextFormat.getInstance();
 	}
 
@@ -81,13 +89,11 @@ public final class XBatchProcessorImpl implements XBatchProcessor {
 	}
 
 	/** number of consumer threads with which to consume batch simulations */
-	private final int			numThreads;
-	/** an array of threads to consume batch simulations */
-	private SimConsumerThread[]	simThreads;
-	/** a counter for running threads */
-	private int					runningThreads;
-	/** */
-	XBatch						batch;
+	private final int					numThreads;
+	/** the pool of worker threads running the consumers */
+	private final ThreadPoolExecutor	executor;
+	/** total nanoseconds spent running simulations */
+	private final AtomicLong			busyNanos;
 
 	/**
 	 * Creates a new XBatchProcessor object.
@@ -99,23 +105,24 @@ public final class XBatchProcessorImpl implements XBatchProcessor {
 	private XBatchProcessorImpl(int maxThreads) {
 		validateArg("maxThreads", maxThreads, isGreaterThan(0));
 		this.numThreads = maxThreads;
-		this.simThreads = null;
-		this.runningThreads = 0;
-		this.batch = null;
+		this.executor = DaemonExecutors.newFixedThreadPool("xbatch", maxThreads);
+		this.busyNanos = new AtomicLong(0l);
 	}
 
 	/**
-	 * Creates the array of SimConsumerThreads.
+	 * @return the number of consumer threads with which this processor
+	 *         consumes batch simulations
 	 */
-	private void buildSimThreads() {
-		LOGGER.trace("begin %s.buildSimThreads()", getClass().getSimpleName());
-
-		this.simThreads = new SimConsumerThread[numThreads];
-		for (int i = 0; i < numThreads; i++) {
-			this.simThreads[i] = new SimConsumerThread(this);
-		}
+	public int getThreadCount() {
+		return numThreads;
+	}
 
-		LOGGER.trace("begin %s.buildSimThreads()", getClass().getSimpleName());
+	/**
+	 * @return the total number of nanoseconds the consumer threads of this
+	 *         processor have spent running simulations
+	 */
+	public long getBusyNanos() {
+		return busyNanos.get();
 	}
 
 	/*
@@ -130,134 +137,177 @@ public final class XBatchProcessorImpl implements XBatchProcessor {
 		LOGGER.trace("begin %s.start(%s, %s)", getClass().getSimpleName(), batch, blocking);
 
 		validateArg("batch", batch, isNotNull());
-		buildSimThreads();
-		this.batch = batch;
-		RUNNING_LOCK.lock();
-		try {
-			for (SimConsumerThread simThread : simThreads) {
-				simThread.start();
-			}
-			if (blocking) {
-				FINISHED_RUNNING.await();
-			}
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		} finally {
-			RUNNING_LOCK.unlock();
+		Future<Integer> future = submit(batch);
+		if (blocking) {
+			await(future);
 		}
 
 		LOGGER.trace("end %s.start()", getClass().getSimpleName());
 	}
 
-	/** Individual thread to consume batch simulations */
-	static final class SimConsumerThread implements Runnable {
-		private final Lock					simLock;
-		private final Condition				simFinished;
-		private final Thread				thread;
-		private final XBatchProcessorImpl	processor;
+	/**
+	 * Waits for the batch of the given handle to finish, rethrowing any
+	 * exception thrown while processing it.
+	 * 
+	 * @param future
+	 *            the handle on the processing of a batch
+	 * @return the number of simulations run
+	 */
+	static int await(Future<Integer> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while processing batch", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException("batch processing failed", e.getCause());
+		}
+	}
 
-		private XSimulation<?>				sim	= null;
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xbatch.process.XBatchProcessor#submit(com.xtructure.xbatch
+	 * .batch.XBatch)
+	 */
+	@Override
+	public Future<Integer> submit(XBatch batch) {
+		LOGGER.trace("begin %s.submit(%s)", getClass().getSimpleName(), batch);
 
-		public SimConsumerThread(XBatchProcessorImpl processor) {
-			this.simLock = new ReentrantLock();
-			this.simFinished = simLock.newCondition();
-			this.thread = new Thread(this);
-			this.processor = processor;
+		validateArg("batch", batch, isNotNull());
+		Lock batchLock = new ReentrantLock();
+		long batchStartTime = System.currentTimeMillis();
+		List<Future<Integer>> consumers = new ArrayList<Future<Integer>>(numThreads);
+		for (int i = 0; i < numThreads; i++) {
+			consumers.add(executor.submit(new SimConsumer(batch, batchLock, batchStartTime, busyNanos)));
 		}
+		BatchFuture rval = new BatchFuture(consumers);
 
-		public void start() {
-			LOGGER.trace("begin %s.start()", getClass().getSimpleName());
+		LOGGER.trace("will return: %s", rval);
+		LOGGER.trace("end %s.submit()", getClass().getSimpleName());
+		return rval;
+	}
 
-			RUNNING_LOCK.lock();
-			try {
-				processor.runningThreads++;
-				thread.start();
-			} finally {
-				RUNNING_LOCK.unlock();
-			}
+	/** Consumes batch simulations on a worker thread */
+	static final class SimConsumer implements Callable<Integer> {
+		private final XBatch		batch;
+		private final Lock			batchLock;
+		private final long			batchStartTime;
+		private final AtomicLong	busyNanos;
 
-			LOGGER.trace("end %s.start()", getClass().getSimpleName());
+		public SimConsumer(XBatch batch, Lock batchLock, long batchStartTime, AtomicLong busyNanos) {
+			this.batch = batch;
+			this.batchLock = batchLock;
+			this.batchStartTime = batchStartTime;
+			this.busyNanos = busyNanos;
 		}
 
 		@Override
-		public void run() {
-			LOGGER.trace("begin %s.run()", getClass().getSimpleName());
+		public Integer call() {
+			LOGGER.trace("begin %s.call()", getClass().getSimpleName());
 
-			final long batchStartTime = System.currentTimeMillis();
-			while (true) {
+			int simCount = 0;
+			while (!Thread.currentThread().isInterrupted()) {
 				// keep grabbing simulations until there are no more
-				BATCH_LOCK.lock();
+				final XSimulation<?> sim;
+				batchLock.lock();
 				try {
-					if (processor.batch.hasMoreSimulations()) {
-						sim = processor.batch.getNextSimulation();
-					} else {
+					if (!batch.hasMoreSimulations()) {
 						break;
 					}
+					sim = batch.getNextSimulation();
 				} finally {
-					BATCH_LOCK.unlock();
+					batchLock.unlock();
 				}
 
-				// notify simFinished condition when simulation finished
-				// output sim start and finish runtime to console
-				sim.addListener(new AbstractXSimulationListener() {
-					private long	simStartTime	= 0;
+				// run simulation, output sim start and finish runtime to
+				// console
+				LOGGER.info("%s started (remaining: %d)",//
+						sim.getId().toString(),//
+						batch.remaining());
+				long simStartTime = System.currentTimeMillis();
+				long simStartNanos = System.nanoTime();
+				sim.runToTermination();
+				busyNanos.addAndGet(System.nanoTime() - simStartNanos);
+				long currentTime = System.currentTimeMillis();
+				LOGGER.info("%s finished (simTime: %s, batchTime: %s)",//
+						sim.getId().toString(),//
+						RTF.format(new RuntimeDuration(simStartTime, currentTime)),//
+						RTF.format(new RuntimeDuration(batchStartTime, currentTime)));
+				simCount++;
+			}
 
-					@Override
-					public void simulationStateChanged(XSimulation<?> sim, SimulationState state) {
-						LOGGER.trace("begin %s.simulationStateChanged()", getClass().getSimpleName());
+			LOGGER.trace("will return: %d", simCount);
+			LOGGER.trace("end %s.call()", getClass().getSimpleName());
+			return simCount;
+		}
+	}
 
-						if (SimulationState.RUNNING.equals(state)) {
-							LOGGER.info("%s started (remaining: %d)",//
-									sim.getId().toString(),//
-									processor.batch.remaining());
-							simStartTime = System.currentTimeMillis();
-						}
-						if (SimulationState.FINISHED.equals(state)) {
-							long currentTime = System.currentTimeMillis();
-							LOGGER.info("%s finished (simTime: %s, batchTime: %s)",//
-									sim.getId().toString(),//
-									RTF.format(new RuntimeDuration(simStartTime, currentTime)),//
-									RTF.format(new RuntimeDuration(batchStartTime, currentTime)));
-						}
-						simLock.lock();
-						try {
-							if (SimulationState.FINISHED.equals(state)) {
-								simFinished.signalAll();
-							}
-						} finally {
-							simLock.unlock();
-						}
+	/**
+	 * The handle on the processing of a batch, which is done when every
+	 * consumer of the batch is done. The value is the total number of
+	 * simulations run.
+	 */
+	static final class BatchFuture implements Future<Integer> {
+		private final List<Future<Integer>>	consumers;
 
-						LOGGER.trace("end %s.simulationStateChanged()", getClass().getSimpleName());
-					}
-				});
+		public BatchFuture(List<Future<Integer>> consumers) {
+			this.consumers = consumers;
+		}
 
-				// run simulation
-				simLock.lock();
-				sim.init();
-				sim.run();
-				try {
-					simFinished.await();
-				} catch (InterruptedException e) {
-					e.printStackTrace();
-				} finally {
-					simLock.unlock();
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = false;
+			for (Future<Integer> consumer : consumers) {
+				cancelled |= consumer.cancel(mayInterruptIfRunning);
+			}
+			return cancelled;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			for (Future<Integer> consumer : consumers) {
+				if (consumer.isCancelled()) {
+					return true;
 				}
 			}
-			// no more simulations. if this is that last running simThread,
-			// notify FINISHED_RUNNING condition
-			RUNNING_LOCK.lock();
-			try {
-				processor.runningThreads--;
-				if (processor.runningThreads == 0) {
-					// this is the last running thread
-					FINISHED_RUNNING.signalAll();
+			return false;
+		}
+
+		@Override
+		public boolean isDone() {
+			for (Future<Integer> consumer : consumers) {
+				if (!consumer.isDone()) {
+					return false;
 				}
-			} finally {
-				RUNNING_LOCK.unlock();
 			}
+			return true;
+		}
 
-			LOGGER.trace("end %s.run()", getClass().getSimpleName());
+		@Override
+		public Integer get() throws InterruptedException, ExecutionException {
+			int simCount = 0;
+			for (Future<Integer> consumer : consumers) {
+				simCount += consumer.get();
+			}
+			return simCount;
+		}
+
+		@Override
+		public Integer get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			long deadline = System.nanoTime() + unit.toNanos(timeout);
+			int simCount = 0;
+			for (Future<Integer> consumer : consumers) {
+				simCount += consumer.get(Math.max(0l, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			}
+			return simCount;
 		}
 	}
 }
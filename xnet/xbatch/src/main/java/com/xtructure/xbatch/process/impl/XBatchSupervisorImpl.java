@@ -21,6 +21,16 @@
  */
 package com.xtructure.xbatch.process.impl;
 
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThan;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import com.xtructure.xbatch.batch.StrictXBatchGenerator;
 import com.xtructure.xbatch.batch.XBatch;
 import com.xtructure.xbatch.batch.XBatchGenerator;
 import com.xtructure.xbatch.process.XBatchSupervisor;
@@ -28,6 +38,23 @@ import com.xtructure.xutil.XLogger;
 import com.xtructure.xutil.valid.Condition;
 
 /**
+ * An {@link XBatchSupervisor} that keeps up to a given number of batches in
+ * flight on its processor.
+ * <p>
+ * With an in-flight window greater than one, the next batch is generated and
+ * submitted while the current one is still running, so its simulations start
+ * on workers freed by the stragglers of the current batch. Batches are always
+ * passed to {@link XBatchGenerator#updateGenerator(XBatch)} in the order in
+ * which they were generated, and all generator calls are made on the thread
+ * that calls {@link #start(XBatchGenerator)}. Generators that must see every
+ * batch updated before generating the next implement
+ * {@link StrictXBatchGenerator}, and are run with a window of one.
+ * </p>
+ * <p>
+ * Each run records the latency of each batch (from submission to completion)
+ * and the utilization of the processor's threads.
+ * </p>
+ * 
  * @author Luis Guimbarda
  * 
  */
@@ -40,16 +67,36 @@ public class XBatchSupervisorImpl implements XBatchSupervisor {
 	 *            the batch processor for the new supervisor.
 	 * @param terminalCondition
 	 *            the terminal condition for the new supervisor.
-	 * @return a new XBatchSupervisor
+	 * @return a new XBatchSupervisor that runs one batch at a time
 	 */
 	public static final XBatchSupervisorImpl getInstance(XBatchProcessorImpl batchProcessor, Condition terminalCondition) {
-		return new XBatchSupervisorImpl(batchProcessor, terminalCondition);
+		return new XBatchSupervisorImpl(batchProcessor, terminalCondition, 1);
+	}
+
+	/**
+	 * @param batchProcessor
+	 *            the batch processor for the new supervisor.
+	 * @param terminalCondition
+	 *            the terminal condition for the new supervisor.
+	 * @param inFlightWindow
+	 *            the maximum number of batches the new supervisor keeps in
+	 *            flight
+	 * @return a new XBatchSupervisor
+	 */
+	public static final XBatchSupervisorImpl getInstance(XBatchProcessorImpl batchProcessor, Condition terminalCondition, int inFlightWindow) {
+		return new XBatchSupervisorImpl(batchProcessor, terminalCondition, inFlightWindow);
 	}
 
 	/** this supervisor's batch processor */
 	private final XBatchProcessorImpl	batchProcessor;
 	/** this supervisor's terminal condition */
 	private final Condition				terminalCondition;
+	/** the maximum number of batches this supervisor keeps in flight */
+	private final int					inFlightWindow;
+	/** latencies, in milliseconds, of the batches of the last run */
+	private List<Long>					batchLatencies;
+	/** utilization of the processor's threads during the last run */
+	private double						utilization;
 
 	/**
 	 * Creates a new XBatchSupervisor with the given generator.
@@ -58,10 +105,40 @@ public class XBatchSupervisorImpl implements XBatchSupervisor {
 	 *            the batch processor for the new supervisor.
 	 * @param terminalCondition
 	 *            the terminal condition for the new supervisor.
+	 * @param inFlightWindow
+	 *            the maximum number of batches the new supervisor keeps in
+	 *            flight
 	 */
-	private XBatchSupervisorImpl(XBatchProcessorImpl batchProcessor, Condition terminalCondition) {
+	private XBatchSupervisorImpl(XBatchProcessorImpl batchProcessor, Condition terminalCondition, int inFlightWindow) {
+		validateArg("inFlightWindow", inFlightWindow, isGreaterThan(0));
 		this.batchProcessor = batchProcessor;
 		this.terminalCondition = terminalCondition;
+		this.inFlightWindow = inFlightWindow;
+		this.batchLatencies = Collections.emptyList();
+		this.utilization = 0.0;
+	}
+
+	/**
+	 * @return the maximum number of batches this supervisor keeps in flight
+	 */
+	public int getInFlightWindow() {
+		return inFlightWindow;
+	}
+
+	/**
+	 * @return the latencies, in milliseconds, of the batches of the last run,
+	 *         in the order in which they were generated
+	 */
+	public List<Long> getBatchLatencies() {
+		return batchLatencies;
+	}
+
+	/**
+	 * @return the fraction of the last run's wall time during which the
+	 *         processor's threads were running simulations
+	 */
+	public double getUtilization() {
+		return utilization;
 	}
 
 	/*
@@ -75,12 +152,45 @@ public class XBatchSupervisorImpl implements XBatchSupervisor {
 	public void start(XBatchGenerator batchGenerator) {
 		LOGGER.trace("begin %s.start(%s)", getClass().getSimpleName(), batchGenerator);
 
-		while (!terminalCondition.isSatisfiedBy(batchGenerator)) {
-			XBatch batch = batchGenerator.generateBatch();
-			batchProcessor.start(batch, true);
-			batchGenerator.updateGenerator(batch);
+		final int window = (batchGenerator instanceof StrictXBatchGenerator) ? 1 : inFlightWindow;
+		final List<Long> latencies = new ArrayList<Long>();
+		final LinkedList<InFlightBatch> inFlight = new LinkedList<InFlightBatch>();
+		final long startNanos = System.nanoTime();
+		final long startBusyNanos = batchProcessor.getBusyNanos();
+		while (true) {
+			while (inFlight.size() < window && !terminalCondition.isSatisfiedBy(batchGenerator)) {
+				XBatch batch = batchGenerator.generateBatch();
+				inFlight.add(new InFlightBatch(batch, batchProcessor.submit(batch)));
+			}
+			if (inFlight.isEmpty()) {
+				break;
+			}
+			InFlightBatch head = inFlight.removeFirst();
+			XBatchProcessorImpl.await(head.future);
+			long latency = (System.nanoTime() - head.submitNanos) / 1000000l;
+			latencies.add(latency);
+			LOGGER.info("batch %d finished (latency: %d ms, in flight: %d)", latencies.size(), latency, inFlight.size());
+			batchGenerator.updateGenerator(head.batch);
 		}
+		final long elapsedNanos = System.nanoTime() - startNanos;
+		batchLatencies = Collections.unmodifiableList(latencies);
+		utilization = elapsedNanos == 0l ? 0.0 : //
+				(batchProcessor.getBusyNanos() - startBusyNanos) / ((double) elapsedNanos * batchProcessor.getThreadCount());
+		LOGGER.info("%d batches finished (utilization: %.3f)", latencies.size(), utilization);
 
 		LOGGER.trace("end %s.start()", getClass().getSimpleName());
 	}
+
+	/** A submitted batch and its completion handle */
+	private static final class InFlightBatch {
+		private final XBatch			batch;
+		private final Future<Integer>	future;
+		private final long				submitNanos;
+
+		private InFlightBatch(XBatch batch, Future<Integer> future) {
+			this.batch = batch;
+			this.future = future;
+			this.submitNanos = System.nanoTime();
+		}
+	}
 }
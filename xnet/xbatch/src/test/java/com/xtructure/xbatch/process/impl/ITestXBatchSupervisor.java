@@ -26,6 +26,7 @@ import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
 
 import org.testng.annotations.Test;
 
+import com.xtructure.xbatch.batch.StrictXBatchGenerator;
 import com.xtructure.xbatch.batch.XBatch;
 import com.xtructure.xbatch.batch.XBatchGenerator;
 import com.xtructure.xsim.XSimulation;
@@ -57,8 +58,52 @@ public class ITestXBatchSupervisor {
 				batchGen.batchesGenerated, isEqualTo(10));
 	}
 
-	static final class TestBatchGenerator implements XBatchGenerator {
+	public void testPipelinedSupervisorRunSuccessful() {
+		TestBatchGenerator batchGen = new TestBatchGenerator();
+		XBatchSupervisorImpl supervisor = XBatchSupervisorImpl.getInstance(//
+				XBatchProcessorImpl.getInstance(2),//
+				new TestBatchGenerator.TestTerminalCondition(10),//
+				3);
+
+		supervisor.start(batchGen);
+		assertThat("",//
+				batchGen.batchesGenerated, isEqualTo(10));
+		assertThat("",//
+				batchGen.batchesUpdated, isEqualTo(10));
+		assertThat("",//
+				batchGen.maxInFlight, isEqualTo(3));
+		assertThat("",//
+				supervisor.getBatchLatencies().size(), isEqualTo(10));
+	}
+
+	public void testStrictGeneratorIsNotPipelined() {
+		TestBatchGenerator batchGen = new StrictTestBatchGenerator();
+		XBatchSupervisorImpl supervisor = XBatchSupervisorImpl.getInstance(//
+				XBatchProcessorImpl.getInstance(2),//
+				new TestBatchGenerator.TestTerminalCondition(10),//
+				3);
+
+		supervisor.start(batchGen);
+		assertThat("",//
+				batchGen.batchesGenerated, isEqualTo(10));
+		assertThat("",//
+				batchGen.maxInFlight, isEqualTo(1));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void getInstanceOnNonPositiveWindowThrowsException() {
+		XBatchSupervisorImpl.getInstance(//
+				XBatchProcessorImpl.getInstance(1),//
+				new TestBatchGenerator.TestTerminalCondition(10),//
+				0);
+	}
+
+	static final class StrictTestBatchGenerator extends TestBatchGenerator implements StrictXBatchGenerator {}
+
+	static class TestBatchGenerator implements XBatchGenerator {
 		private int	batchesGenerated;
+		private int	batchesUpdated;
+		private int	maxInFlight;
 
 		public TestBatchGenerator() {
 			batchesGenerated = 0;
@@ -67,6 +112,7 @@ public class ITestXBatchSupervisor {
 		@Override
 		public XBatch generateBatch() {
 			batchesGenerated++;
+			maxInFlight = Math.max(maxInFlight, batchesGenerated - batchesUpdated);
 			return new XBatch() {
 				@Override
 				public XSimulation<?> getNextSimulation() {
@@ -88,6 +134,8 @@ public class ITestXBatchSupervisor {
 		@Override
 		public void reset() {
 			batchesGenerated = 0;
+			batchesUpdated = 0;
+			maxInFlight = 0;
 		}
 
 		static final class TestTerminalCondition implements Condition {
@@ -104,6 +152,8 @@ public class ITestXBatchSupervisor {
 		}
 
 		@Override
-		public void updateGenerator(XBatch batch) {}
+		public void updateGenerator(XBatch batch) {
+			batchesUpdated++;
+		}
 	}
 }
@@ -22,11 +22,18 @@
 package com.xtructure.xbatch.process.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.testng.annotations.Test;
 
 import com.xtructure.xbatch.batch.XBatch;
+import com.xtructure.xbatch.process.impl.UTestXBatchProcessor_SimConsumer.TestBatch;
 import com.xtructure.xsim.XSimulation;
 
 /**
@@ -59,6 +66,41 @@ public class UTestXBatchProcessor {
 		XBatchProcessorImpl.getInstance(1).start(new DummyBatch(), false);
 	}
 
+	public final void submitRunsEverySimulation() throws InterruptedException, ExecutionException {
+		TestBatch batch = new TestBatch(20, 10);
+		Future<Integer> future = XBatchProcessorImpl.getInstance(4).submit(batch);
+		assertThat("",//
+				future.get(), isEqualTo(20));
+		assertThat("",//
+				future.isDone(), isTrue());
+		assertThat("",//
+				batch.hasMoreSimulations(), isFalse());
+	}
+
+	public final void processorIsReusable() {
+		XBatchProcessorImpl processor = XBatchProcessorImpl.getInstance(2);
+		for (int i = 0; i < 3; i++) {
+			TestBatch batch = new TestBatch(5, 10);
+			processor.start(batch, true);
+			assertThat("",//
+					batch.hasMoreSimulations(), isFalse());
+		}
+	}
+
+	public final void processorsDoNotBlockEachOther() throws InterruptedException, ExecutionException {
+		TestBatch batch1 = new TestBatch(10, 10);
+		TestBatch batch2 = new TestBatch(10, 10);
+		Future<Integer> future1 = XBatchProcessorImpl.getInstance(2).submit(batch1);
+		Future<Integer> future2 = XBatchProcessorImpl.getInstance(2).submit(batch2);
+		assertThat("",//
+				future1.get() + future2.get(), isEqualTo(20));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public final void submitOnNullThrowsException() {
+		XBatchProcessorImpl.getInstance(1).submit(null);
+	}
+
 	static final class DummyBatch implements XBatch {
 		@Override
 		public XSimulation<?> getNextSimulation() {
@@ -22,10 +22,12 @@
 package com.xtructure.xbatch.process.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -42,21 +44,20 @@ import com.xtructure.xutil.id.XId;
  * 
  */
 @Test(groups = { "unit:xbatch", "xbatch.process" })
-public class UTestXBatchProcessor_SimThread {
+public class UTestXBatchProcessor_SimConsumer {
 
 	public final void constructorSucceeds() {
 		assertThat("",//
-				new XBatchProcessorImpl.SimConsumerThread(XBatchProcessorImpl.getInstance()), isNotNull());
+				new XBatchProcessorImpl.SimConsumer(new TestBatch(1, 1), new ReentrantLock(), 0l, new AtomicLong(0l)), isNotNull());
 	}
 
 	public final void runSuccessfullyConsumesAllBatchedSimulations() {
 		TestBatch batch = new TestBatch(20, 100);
 		assertThat(batch.toString(),//
 				batch.hasMoreSimulations(), isTrue());
-		XBatchProcessorImpl proc = XBatchProcessorImpl.getInstance();
-		proc.batch = batch;
-		XBatchProcessorImpl.SimConsumerThread consumerThread = new XBatchProcessorImpl.SimConsumerThread(proc);
-		consumerThread.run();
+		XBatchProcessorImpl.SimConsumer consumer = new XBatchProcessorImpl.SimConsumer(batch, new ReentrantLock(), 0l, new AtomicLong(0l));
+		assertThat(batch.toString(),//
+				consumer.call(), isEqualTo(20));
 		assertThat(batch.toString(),//
 				batch.hasMoreSimulations(), isFalse());
 	}
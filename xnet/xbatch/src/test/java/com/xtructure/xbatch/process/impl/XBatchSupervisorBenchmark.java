@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xbatch.
+ *
+ * xbatch is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xbatch is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xbatch.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xbatch.process.impl;
+
+import java.util.Random;
+
+import com.xtructure.xbatch.batch.XBatch;
+import com.xtructure.xbatch.batch.XBatchGenerator;
+import com.xtructure.xsim.XSimulation;
+import com.xtructure.xsim.impl.AbstractStandardXSimulation;
+import com.xtructure.xsim.impl.TickXTerminator;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+import com.xtructure.xutil.valid.Condition;
+
+/**
+ * Compares running a sequence of batches, each with a slow generation step and
+ * a straggler simulation, through {@link XBatchSupervisorImpl} with in-flight
+ * windows of one (strictly alternating generation and processing), two and
+ * four. The utilization of the processor's threads is printed for each.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class XBatchSupervisorBenchmark {
+	/** number of batches in each run */
+	private static final int	BATCH_COUNT			= 8;
+	/** number of simulations in each batch */
+	private static final int	SIMS_PER_BATCH		= 16;
+	/** number of ticks a typical simulation runs */
+	private static final long	TICKS				= 2000l;
+	/** number of ticks the straggler simulation of each batch runs */
+	private static final long	STRAGGLER_TICKS		= 8 * TICKS;
+	/** number of milliseconds spent generating each batch */
+	private static final long	GENERATION_MILLIS	= 20l;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(XBatchSupervisorBenchmark.class.getSimpleName(), BATCH_COUNT);
+		final XBatchProcessorImpl processor = XBatchProcessorImpl.getInstance();
+		for (final int window : new int[] { 1, 2, 4 }) {
+			final XBatchSupervisorImpl supervisor = XBatchSupervisorImpl.getInstance(processor, new BatchCountCondition(), window);
+			benchmark.measure(String.format("XBatchSupervisorImpl[window=%d]", window), new Operation() {
+				@Override
+				public long execute() {
+					supervisor.start(new StragglerBatchGenerator());
+					return supervisor.getBatchLatencies().size();
+				}
+			});
+			System.out.println(String.format("window=%d utilization: %.3f", window, supervisor.getUtilization()));
+		}
+		System.out.println(benchmark.getSink());
+	}
+
+	/** Generates batches with one straggler, after a fixed generation delay */
+	private static final class StragglerBatchGenerator implements XBatchGenerator {
+		private final Random	random	= new Random(0l);
+		private int				batchesGenerated;
+
+		@Override
+		public XBatch generateBatch() {
+			try {
+				Thread.sleep(GENERATION_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			batchesGenerated++;
+			return new StragglerBatch(random.nextInt(SIMS_PER_BATCH));
+		}
+
+		@Override
+		public void updateGenerator(XBatch batch) {}
+
+		@Override
+		public void reset() {
+			batchesGenerated = 0;
+		}
+	}
+
+	/** Terminates once {@link #BATCH_COUNT} batches have been generated */
+	private static final class BatchCountCondition implements Condition {
+		@Override
+		public boolean isSatisfiedBy(Object obj) {
+			return ((StragglerBatchGenerator) obj).batchesGenerated >= BATCH_COUNT;
+		}
+	}
+
+	/** A batch of tick-bounded simulations, one of which is a straggler */
+	private static final class StragglerBatch implements XBatch {
+		private final int	stragglerIndex;
+		private int			nextIndex;
+
+		private StragglerBatch(int stragglerIndex) {
+			this.stragglerIndex = stragglerIndex;
+		}
+
+		@Override
+		public synchronized XSimulation<?> getNextSimulation() {
+			AbstractStandardXSimulation sim = new AbstractStandardXSimulation(XId.newId("SIM" + nextIndex)) {};
+			sim.addComponent(TickXTerminator.getInstance(XId.newId("TERM" + nextIndex), sim,//
+					nextIndex == stragglerIndex ? STRAGGLER_TICKS : TICKS));
+			nextIndex++;
+			return sim;
+		}
+
+		@Override
+		public synchronized boolean hasMoreSimulations() {
+			return nextIndex < SIMS_PER_BATCH;
+		}
+
+		@Override
+		public synchronized int remaining() {
+			return SIMS_PER_BATCH - nextIndex;
+		}
+	}
+
+	private XBatchSupervisorBenchmark() {}
+}
@@ -43,6 +43,9 @@ public interface EvolutionConfiguration extends XConfiguration {
 	/** The Constant TERMINATION_CONDITION_ID. */
 	public static final XValId<Condition>	TERMINATION_CONDITION_ID			= XValId.newId("terminationCondition", Condition.class);
 	
+	/** The Constant EVALUATION_THREAD_COUNT_ID. */
+	public static final XValId<Integer>		EVALUATION_THREAD_COUNT_ID			= XValId.newId("evaluationThreadCount", Integer.class);
+	
 	/** The Constant POPULATION_SIZE_DESCRIPTION. */
 	public static final String				POPULATION_SIZE_DESCRIPTION			= "the number of genomes in the population";
 	
@@ -52,6 +55,9 @@ public interface EvolutionConfiguration extends XConfiguration {
 	/** The Constant TERMINATION_CONDITION_DESCRIPTION. */
 	public static final String				TERMINATION_CONDITION_DESCRIPTION	= "the condition which, when satisfied, indicates the end of evolution";
 	
+	/** The Constant EVALUATION_THREAD_COUNT_DESCRIPTION. */
+	public static final String				EVALUATION_THREAD_COUNT_DESCRIPTION	= "the number of threads evaluating genomes concurrently";
+	
 	/** The Constant POPULATION_SIZE_DEFAULT. */
 	public static final int					POPULATION_SIZE_DEFAULT				= 100;
 	
@@ -60,6 +66,9 @@ public interface EvolutionConfiguration extends XConfiguration {
 	
 	/** The Constant TERMINATION_CONDITION_DEFAULT. */
 	public static final Condition			TERMINATION_CONDITION_DEFAULT		= isNothing();
+	
+	/** The Constant EVALUATION_THREAD_COUNT_DEFAULT. */
+	public static final int					EVALUATION_THREAD_COUNT_DEFAULT		= 1;
 
 	/*
 	 * (non-Javadoc)
@@ -52,6 +52,13 @@ public interface EvolutionFieldMap extends FieldMap {
 	 */
 	public Condition terminationCondition();
 
+	/**
+	 * Evaluation thread count.
+	 *
+	 * @return the int
+	 */
+	public int evaluationThreadCount();
+
 	/**
 	 * Sets the population size.
 	 *
@@ -72,4 +79,11 @@ public interface EvolutionFieldMap extends FieldMap {
 	 * @param terminationCondition the new termination condition
 	 */
 	public void setTerminationCondition(Condition terminationCondition);
+
+	/**
+	 * Sets the evaluation thread count.
+	 *
+	 * @param evaluationThreadCount the new evaluation thread count
+	 */
+	public void setEvaluationThreadCount(int evaluationThreadCount);
 }
@@ -56,6 +56,10 @@ public abstract class AbstractEvolutionConfiguration<S extends AbstractEvolution
 			return setConditionXParameter(TERMINATION_CONDITION_ID, TERMINATION_CONDITION_DESCRIPTION, false, true, terminationCondition);
 		}
 
+		public B setEvaluationThreadCount(int evaluationThreadCount) {
+			return setIntegerXParameter(EVALUATION_THREAD_COUNT_ID, EVALUATION_THREAD_COUNT_DESCRIPTION, false, true, evaluationThreadCount);
+		}
+
 		@Override
 		protected void setRemainingToDefaults() {
 			if (!isSet(POPULATION_SIZE_ID)) {
@@ -67,6 +71,9 @@ public abstract class AbstractEvolutionConfiguration<S extends AbstractEvolution
 			if (!isSet(TERMINATION_CONDITION_ID)) {
 				setTerminationCondition(TERMINATION_CONDITION_DEFAULT);
 			}
+			if (!isSet(EVALUATION_THREAD_COUNT_ID)) {
+				setEvaluationThreadCount(EVALUATION_THREAD_COUNT_DEFAULT);
+			}
 		}
 	}
 }
@@ -54,6 +54,11 @@ public abstract class AbstractEvolutionFieldMap extends FieldMapImpl implements
 		return get(EvolutionConfiguration.TERMINATION_CONDITION_ID);
 	}
 
+	@Override
+	public int evaluationThreadCount() {
+		return get(EvolutionConfiguration.EVALUATION_THREAD_COUNT_ID);
+	}
+
 	@Override
 	public void setPopulationSize(int populationSize) {
 		set(EvolutionConfiguration.POPULATION_SIZE_ID, populationSize);
@@ -68,4 +73,9 @@ public abstract class AbstractEvolutionFieldMap extends FieldMapImpl implements
 	public void setTerminationCondition(Condition terminationCondition) {
 		set(EvolutionConfiguration.TERMINATION_CONDITION_ID, terminationCondition);
 	}
+
+	@Override
+	public void setEvaluationThreadCount(int evaluationThreadCount) {
+		set(EvolutionConfiguration.EVALUATION_THREAD_COUNT_ID, evaluationThreadCount);
+	}
 }
@@ -114,7 +114,8 @@ public class EvolutionConfigurationImpl extends AbstractEvolutionConfiguration<E
 			for (XParameter<?> parameter : collectParameters(readElements,//
 					POPULATION_SIZE_ID,//
 					MUTATION_PROBABILITY_ID,//
-					TERMINATION_CONDITION_ID)) {
+					TERMINATION_CONDITION_ID,//
+					EVALUATION_THREAD_COUNT_ID)) {
 				builder.addParameter(parameter);
 			}
 			return builder.newInstance();
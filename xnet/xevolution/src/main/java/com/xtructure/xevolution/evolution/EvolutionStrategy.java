@@ -27,6 +27,8 @@ import com.xtructure.xevolution.config.EvolutionConfiguration;
 import com.xtructure.xevolution.config.EvolutionFieldMap;
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.Population;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
+import com.xtructure.xevolution.genetics.SnapshotWriter;
 
 /**
  * The {@link EvolutionStrategy} interface describes the methods used at the
@@ -42,7 +44,8 @@ import com.xtructure.xevolution.genetics.Population;
  * <P>
  * At the end of initialization and each epoch, a report is made of the state of
  * the population at that time, which may include writing files to the give
- * output directory.
+ * output directory, either synchronously or in the background by a
+ * {@link SnapshotWriter}.
  * 
  * @author Luis Guimbarda
  * 
@@ -135,4 +138,42 @@ public interface EvolutionStrategy<D, T> extends EvolutionObject {
 	 *         each epoch.
 	 */
 	public File getOutputDir();
+
+	/**
+	 * Gets the {@link SnapshotFormat} in which the population being evolved
+	 * will be written to the output directory.
+	 * 
+	 * @return the {@link SnapshotFormat} in which the population being evolved
+	 *         will be written to the output directory.
+	 */
+	public SnapshotFormat getSnapshotFormat();
+
+	/**
+	 * Sets the {@link SnapshotFormat} in which the population being evolved
+	 * will be written to the output directory.
+	 * 
+	 * @param snapshotFormat
+	 *            the {@link SnapshotFormat} in which the population being
+	 *            evolved will be written to the output directory.
+	 */
+	public void setSnapshotFormat(SnapshotFormat snapshotFormat);
+
+	/**
+	 * Gets the {@link SnapshotWriter} with which the population being evolved
+	 * is written to the output directory in the background.
+	 * 
+	 * @return the {@link SnapshotWriter} with which the population being
+	 *         evolved is written, or null if it is written synchronously.
+	 */
+	public SnapshotWriter getSnapshotWriter();
+
+	/**
+	 * Sets the {@link SnapshotWriter} with which the population being evolved
+	 * is written to the output directory in the background.
+	 * 
+	 * @param snapshotWriter
+	 *            the {@link SnapshotWriter} with which the population being
+	 *            evolved is written, or null to write it synchronously.
+	 */
+	public void setSnapshotWriter(SnapshotWriter snapshotWriter);
 }
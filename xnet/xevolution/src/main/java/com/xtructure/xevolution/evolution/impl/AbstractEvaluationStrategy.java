@@ -21,15 +21,43 @@
  */
 package com.xtructure.xevolution.evolution.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.xtructure.xevolution.config.EvolutionFieldMap;
 import com.xtructure.xevolution.evolution.EvaluationStrategy;
 import com.xtructure.xevolution.evolution.EvolutionStrategy;
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.GenomeDecoder;
 import com.xtructure.xevolution.genetics.Population;
+import com.xtructure.xutil.DaemonExecutors;
+import com.xtructure.xutil.RandomUtil;
+import com.xtructure.xutil.id.XId;
 
 /**
  * {@link AbstractEvaluationStrategy} implements the getters for
  * {@link EvaluationStrategy}s.
+ * <P>
+ * Genomes are evaluated one at a time unless this strategy was created with an
+ * {@link EvolutionFieldMap} whose evaluation thread count is greater than one,
+ * in which case they are simulated concurrently on that many threads. Each
+ * simulation, concurrent or not, draws from {@link RandomUtil} a stream
+ * seeded from the id of its genome and one value of the shared stream, so
+ * given the seed of {@link RandomUtil} each genome's fitness is the same
+ * whatever the thread count or scheduling. {@link #simulate(Genome)} must then be safe to call
+ * from several threads at once for different genomes.
+ * <P>
+ * A genome whose simulation throws keeps its previous fitness; the exception
+ * is recorded in {@link #getFailures()} and the remaining genomes are still
+ * evaluated.
  * 
  * @author Luis Guimbarda
  * 
@@ -39,18 +67,46 @@ import com.xtructure.xevolution.genetics.Population;
  *            phenotype of {@link Genome}s
  */
 public abstract class AbstractEvaluationStrategy<D, T> extends AbstractEvolutionObject implements EvaluationStrategy<D, T> {
+	/** odd multiplier spreading genome id hashes over per-genome seeds */
+	private static final long				SEED_MULTIPLIER		= 0x9E3779B97F4A7C15l;
 	/** {@link GenomeDecoder} used by this {@link EvolutionStrategy} */
-	private final GenomeDecoder<D, T>	genomeDecoder;
+	private final GenomeDecoder<D, T>		genomeDecoder;
+	/** {@link EvolutionFieldMap} giving the evaluation thread count, or null */
+	private final EvolutionFieldMap			evolutionFieldMap;
+	/** failures of the last population evaluation, by genome id */
+	private final Map<XId, Throwable>		failures			= new ConcurrentHashMap<XId, Throwable>();
+	/** executor running concurrent simulations */
+	private ExecutorService					executor			= null;
+	/** number of threads of the executor */
+	private int								executorThreadCount	= 0;
 
 	/**
-	 * Creates a new {@link AbstractEvolutionStrategy}.
+	 * Creates a new {@link AbstractEvolutionStrategy} that evaluates genomes
+	 * one at a time.
 	 * 
 	 * @param genomeDecoder
 	 *            the {@link GenomeDecoder} used by this
 	 *            {@link AbstractEvolutionStrategy}
 	 */
 	public AbstractEvaluationStrategy(GenomeDecoder<D, T> genomeDecoder) {
+		this(genomeDecoder, null);
+	}
+
+	/**
+	 * Creates a new {@link AbstractEvolutionStrategy} that evaluates genomes on
+	 * the number of threads given by the evaluation thread count of the given
+	 * {@link EvolutionFieldMap}.
+	 * 
+	 * @param genomeDecoder
+	 *            the {@link GenomeDecoder} used by this
+	 *            {@link AbstractEvolutionStrategy}
+	 * @param evolutionFieldMap
+	 *            the {@link EvolutionFieldMap} giving the evaluation thread
+	 *            count; if null, genomes are evaluated one at a time
+	 */
+	public AbstractEvaluationStrategy(GenomeDecoder<D, T> genomeDecoder, EvolutionFieldMap evolutionFieldMap) {
 		this.genomeDecoder = genomeDecoder;
+		this.evolutionFieldMap = evolutionFieldMap;
 	}
 
 	/*
@@ -63,6 +119,25 @@ public abstract class AbstractEvaluationStrategy<D, T> extends AbstractEvolution
 		return genomeDecoder;
 	}
 
+	/**
+	 * Returns the number of threads on which genomes are evaluated.
+	 * 
+	 * @return the number of threads on which genomes are evaluated
+	 */
+	public int getEvaluationThreadCount() {
+		return evolutionFieldMap == null ? 1 : Math.max(1, evolutionFieldMap.evaluationThreadCount());
+	}
+
+	/**
+	 * Returns the exceptions thrown while simulating genomes during the last
+	 * call to {@link #evaluatePopulation(Population)}, by genome id.
+	 * 
+	 * @return the failures of the last population evaluation
+	 */
+	public Map<XId, Throwable> getFailures() {
+		return Collections.unmodifiableMap(new HashMap<XId, Throwable>(failures));
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -72,8 +147,84 @@ public abstract class AbstractEvaluationStrategy<D, T> extends AbstractEvolution
 	 */
 	@Override
 	public void evaluatePopulation(Population<D> population) {
-		for (Genome<D> genome : population) {
+		failures.clear();
+		int threadCount = getEvaluationThreadCount();
+		final long baseSeed = ((long) RandomUtil.nextInteger() << 32) ^ (RandomUtil.nextInteger() & 0xffffffffl);
+		if (threadCount <= 1) {
+			for (Genome<D> genome : population) {
+				evaluateGenome(genome, baseSeed);
+			}
+			return;
+		}
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+		for (final Genome<D> genome : population) {
+			tasks.add(new Callable<Object>() {
+				@Override
+				public Object call() {
+					evaluateGenome(genome, baseSeed);
+					return null;
+				}
+			});
+		}
+		List<Future<Object>> futures;
+		try {
+			futures = getExecutor(threadCount).invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while evaluating population", e);
+		}
+		for (Future<Object> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted while evaluating population", e);
+			} catch (ExecutionException e) {
+				// only errors escape evaluateGenome
+				throw (Error) e.getCause();
+			}
+		}
+	}
+
+	/**
+	 * Simulates the given genome on a {@link RandomUtil} stream seeded from the
+	 * given base seed and the genome's id, and sets its fitness, recording any
+	 * exception thrown by the simulation as a failure.
+	 * 
+	 * @param genome
+	 *            the genome to evaluate
+	 * @param baseSeed
+	 *            the seed drawn for this population evaluation
+	 */
+	private void evaluateGenome(Genome<D> genome, long baseSeed) {
+		RandomUtil.setThreadSeed(baseSeed + genome.getId().hashCode() * SEED_MULTIPLIER);
+		try {
 			genome.setFitness(simulate(genome));
+		} catch (Exception e) {
+			failures.put(genome.getId(), e);
+			getLogger().warn("simulation of %s failed: %s", genome.getId(), e);
+		} finally {
+			RandomUtil.clearThreadSeed();
+		}
+	}
+
+	/**
+	 * Returns the executor running simulations on the given number of threads,
+	 * replacing the current one if its thread count differs. Its threads
+	 * terminate when idle, so it needn't be shut down.
+	 * 
+	 * @param threadCount
+	 *            the number of evaluation threads
+	 * @return the executor running simulations
+	 */
+	private synchronized ExecutorService getExecutor(int threadCount) {
+		if (executor == null || executorThreadCount != threadCount) {
+			if (executor != null) {
+				executor.shutdown();
+			}
+			executor = DaemonExecutors.newFixedThreadPool("evaluation", threadCount);
+			executorThreadCount = threadCount;
 		}
+		return executor;
 	}
 }
@@ -45,9 +45,14 @@ import com.xtructure.xevolution.evolution.SurvivalFilter;
 import com.xtructure.xevolution.genetics.GeneticsFactory;
 import com.xtructure.xevolution.genetics.GenomeDecoder;
 import com.xtructure.xevolution.genetics.Population;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
+import com.xtructure.xevolution.genetics.SnapshotWriter;
+import com.xtructure.xevolution.genetics.SnapshotWriter.BackPressure;
 import com.xtructure.xutil.WormField;
 import com.xtructure.xutil.opt.BooleanXOption;
+import com.xtructure.xutil.opt.EnumXOption;
 import com.xtructure.xutil.opt.FileXOption;
+import com.xtructure.xutil.opt.IntegerXOption;
 import com.xtructure.xutil.opt.XOption;
 import com.xtructure.xutil.xml.XmlReader;
 
@@ -58,9 +63,13 @@ import com.xtructure.xutil.xml.XmlReader;
  * @param <T>
  */
 public abstract class AbstractEvolutionExperiment<D, T> implements EvolutionExperiment<D, T> {
-	protected static final String	PARAMETERS_FILE_OPTION	= "parametersFile";
-	protected static final String	OUTPUT_DIR_OPTION		= "outputDir";
-	protected static final String	HELP_OPTION				= "help";
+	protected static final String	PARAMETERS_FILE_OPTION		= "parametersFile";
+	protected static final String	OUTPUT_DIR_OPTION			= "outputDir";
+	protected static final String	HELP_OPTION					= "help";
+	protected static final String	SNAPSHOT_FORMAT_OPTION		= "snapshotFormat";
+	protected static final String	SNAPSHOT_QUEUE_OPTION		= "snapshotQueue";
+	protected static final String	BACK_PRESSURE_OPTION		= "backPressure";
+	protected static final String	SNAPSHOT_INTERVAL_OPTION	= "snapshotInterval";
 	private final Options			options;
 
 	public AbstractEvolutionExperiment(Collection<? extends XOption<?>> options) {
@@ -71,6 +80,10 @@ public abstract class AbstractEvolutionExperiment<D, T> implements EvolutionExpe
 		this.options.addOption(new FileXOption(PARAMETERS_FILE_OPTION, "p", "parametersFile", "xml file containing the evolution parameters"));
 		this.options.addOption(new FileXOption(OUTPUT_DIR_OPTION, "o", "outputDir", "directory to which output is written"));
 		this.options.addOption(new BooleanXOption(HELP_OPTION, "h", "help", "prints usage"));
+		this.options.addOption(new EnumXOption<SnapshotFormat>(SNAPSHOT_FORMAT_OPTION, "sf", "snapshotFormat", "format in which populations are written (xml, binary or compressed_binary)", SnapshotFormat.class));
+		this.options.addOption(new IntegerXOption(SNAPSHOT_QUEUE_OPTION, "sq", "snapshotQueue", "number of populations queued to be written in the background (0 writes them synchronously)"));
+		this.options.addOption(new EnumXOption<BackPressure>(BACK_PRESSURE_OPTION, "bp", "backPressure", "what is done when the snapshot queue is full (block, drop_intermediate or every_nth)", BackPressure.class));
+		this.options.addOption(new IntegerXOption(SNAPSHOT_INTERVAL_OPTION, "si", "snapshotInterval", "number of generations between populations written, for every_nth back pressure"));
 		BasicConfigurator.configure();
 	}
 
@@ -139,6 +152,24 @@ public abstract class AbstractEvolutionExperiment<D, T> implements EvolutionExpe
 		return outputDir;
 	}
 
+	protected SnapshotFormat createSnapshotFormat() {
+		SnapshotFormat snapshotFormat = (SnapshotFormat) (getOption(SNAPSHOT_FORMAT_OPTION).hasValue() ? getOption(SNAPSHOT_FORMAT_OPTION).processValue() : null);
+		return snapshotFormat == null ? SnapshotFormat.XML : snapshotFormat;
+	}
+
+	protected SnapshotWriter createSnapshotWriter() {
+		Integer capacity = (Integer) (getOption(SNAPSHOT_QUEUE_OPTION).hasValue() ? getOption(SNAPSHOT_QUEUE_OPTION).processValue() : null);
+		BackPressure backPressure = (BackPressure) (getOption(BACK_PRESSURE_OPTION).hasValue() ? getOption(BACK_PRESSURE_OPTION).processValue() : null);
+		Integer interval = (Integer) (getOption(SNAPSHOT_INTERVAL_OPTION).hasValue() ? getOption(SNAPSHOT_INTERVAL_OPTION).processValue() : null);
+		if (capacity != null && capacity == 0) {
+			return null;
+		}
+		return new SnapshotWriter(//
+				capacity == null ? SnapshotWriter.DEFAULT_CAPACITY : capacity,//
+				backPressure == null ? BackPressure.BLOCK : backPressure,//
+				interval == null ? 1 : interval);
+	}
+
 	protected abstract GenomeDecoder<D, T> createGenomeDecoder();
 
 	protected abstract GeneticsFactory<D> createGeneticsFactory();
@@ -157,8 +188,8 @@ public abstract class AbstractEvolutionExperiment<D, T> implements EvolutionExpe
 		}
 		File populationFile = null;
 		long mod = Long.MIN_VALUE;
-		for (File file : getOutputDir().listFiles()) {
-			if (file.lastModified() > mod && file.getName().endsWith(".xml")) {
+		for (File file : getOutputDir().listFiles(SnapshotFormat.FILE_FILTER)) {
+			if (file.lastModified() > mod) {
 				mod = file.lastModified();
 				populationFile = file;
 			}
@@ -166,7 +197,7 @@ public abstract class AbstractEvolutionExperiment<D, T> implements EvolutionExpe
 		if (populationFile == null) {
 			return getGeneticsFactory().createPopulation(idNumber);
 		}
-		return XmlReader.read(populationFile);
+		return SnapshotFormat.readSnapshot(populationFile);
 	}
 
 	private final WormField<EvaluationStrategy<D, T>>	evaluationStrategy		= new WormField<EvaluationStrategy<D, T>>();
@@ -198,7 +229,10 @@ public abstract class AbstractEvolutionExperiment<D, T> implements EvolutionExpe
 	@Override
 	public EvolutionStrategy<D, T> getEvolutionStrategy() {
 		if (!evolutionStrategy.isInitialized()) {
-			evolutionStrategy.initValue(createEvolutionStrategy());
+			EvolutionStrategy<D, T> strategy = createEvolutionStrategy();
+			strategy.setSnapshotFormat(createSnapshotFormat());
+			strategy.setSnapshotWriter(createSnapshotWriter());
+			evolutionStrategy.initValue(strategy);
 		}
 		return evolutionStrategy.getValue();
 	}
@@ -21,12 +21,13 @@
  */
 package com.xtructure.xevolution.evolution.impl;
 
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
 import java.io.File;
 import java.io.IOException;
 import java.util.Set;
 
-import javolution.xml.stream.XMLStreamException;
-
 import com.xtructure.xevolution.config.EvolutionFieldMap;
 import com.xtructure.xevolution.evolution.EvaluationStrategy;
 import com.xtructure.xevolution.evolution.EvolutionStrategy;
@@ -34,6 +35,8 @@ import com.xtructure.xevolution.evolution.ReproductionStrategy;
 import com.xtructure.xevolution.evolution.SurvivalFilter;
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.Population;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
+import com.xtructure.xevolution.genetics.SnapshotWriter;
 
 /**
  * {@link AbstractEvolutionStrategy} implements the {@link EvolutionStrategy}
@@ -54,7 +57,14 @@ import com.xtructure.xevolution.genetics.Population;
  * <P>
  * At the end of initialization and each epoch, a report is made of the state of
  * the population at that time, which may include writing files to the give
- * output directory.
+ * output directory. If a {@link SnapshotWriter} is set, the files are written
+ * in the background, and any still pending when evolution terminates are
+ * written before {@link #start(Population)} returns.
+ * <P>
+ * {@link #start(Population)} switches the population to incremental
+ * statistics (see {@link Population#setIncrementalStats(boolean)}) before the
+ * first evaluation, so that refreshing them at the end of each generation does
+ * not rescan the population, and restores the previous mode when it returns.
  * <P>
  * Subclasses may override this basic evolutionary behavior.
  * 
@@ -76,6 +86,10 @@ public abstract class AbstractEvolutionStrategy<D, T> extends AbstractEvolutionO
 	private final SurvivalFilter			survivalFilter;
 	/** output directory to which reports are to be written */
 	private final File						outputDir;
+	/** format in which the population is written to the output directory */
+	private SnapshotFormat					snapshotFormat;
+	/** writes the population in the background, or null to write it here */
+	private SnapshotWriter					snapshotWriter;
 
 	/**
 	 * Creates a new {@link AbstractEvolutionStrategy}
@@ -105,6 +119,7 @@ public abstract class AbstractEvolutionStrategy<D, T> extends AbstractEvolutionO
 		this.evaluationStrategy = evaluationStrategy;
 		this.survivalFilter = survivalFilter;
 		this.outputDir = outputDir;
+		this.snapshotFormat = SnapshotFormat.XML;
 	}
 
 	/*
@@ -118,10 +133,18 @@ public abstract class AbstractEvolutionStrategy<D, T> extends AbstractEvolutionO
 	public void start(Population<D> population) {
 		getLogger().trace("begin %s.start()", getClass().getSimpleName());
 
-		initialize(population);
-		while (!getEvolutionFieldMap().terminationCondition().isSatisfiedBy(this)//
-				&& !getEvolutionFieldMap().terminationCondition().isSatisfiedBy(population)) {
-			epoch(population);
+		boolean incrementalStats = population.isIncrementalStats();
+		try {
+			population.setIncrementalStats(true);
+			initialize(population);
+			while (!getEvolutionFieldMap().terminationCondition().isSatisfiedBy(this)//
+					&& !getEvolutionFieldMap().terminationCondition().isSatisfiedBy(population)) {
+				epoch(population);
+			}
+			finishReports(population);
+		} finally {
+			population.setIncrementalStats(incrementalStats);
+			closeReports();
 		}
 
 		getLogger().trace("end %s.start()", getClass().getSimpleName());
@@ -143,17 +166,52 @@ public abstract class AbstractEvolutionStrategy<D, T> extends AbstractEvolutionO
 		getLogger().info("fitness : " + population.getHighestGenomeByAttribute(Genome.FITNESS_ATTRIBUTE_ID).getFitness());
 		if (getOutputDir() != null) {
 			try {
-				population.write(outputDir);
+				if (getSnapshotWriter() != null) {
+					getSnapshotWriter().write(population, outputDir, getSnapshotFormat());
+				} else {
+					population.write(outputDir, getSnapshotFormat());
+				}
 			} catch (IOException e) {
 				e.printStackTrace();
-			} catch (XMLStreamException e) {
-				e.printStackTrace();
 			}
 		}
 
 		getLogger().trace("end %s.report()", getClass().getSimpleName());
 	}
 
+	/**
+	 * Completes the reports once evolution has terminated, writing the given
+	 * population if the {@link SnapshotWriter} skipped its last generation, and
+	 * waiting for all pending snapshots to be written.
+	 * 
+	 * @param population
+	 *            the population whose evolution has terminated
+	 */
+	protected void finishReports(Population<D> population) {
+		if (getOutputDir() != null && getSnapshotWriter() != null) {
+			try {
+				getSnapshotWriter().finish(population, outputDir, getSnapshotFormat());
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Waits for all pending snapshots to be written and stops the
+	 * {@link SnapshotWriter}'s background thread, whether or not evolution
+	 * terminated normally.
+	 */
+	protected void closeReports() {
+		if (getSnapshotWriter() != null) {
+			try {
+				getSnapshotWriter().close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
 	/**
 	 * Refreshes the given populations statistics and validates it.
 	 * 
@@ -221,6 +279,53 @@ public abstract class AbstractEvolutionStrategy<D, T> extends AbstractEvolutionO
 		return outputDir;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xevolution.evolution.EvolutionStrategy#getSnapshotFormat()
+	 */
+	@Override
+	public SnapshotFormat getSnapshotFormat() {
+		return snapshotFormat;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xevolution.evolution.EvolutionStrategy#setSnapshotFormat
+	 * (com.xtructure.xevolution.genetics.SnapshotFormat)
+	 */
+	@Override
+	public void setSnapshotFormat(SnapshotFormat snapshotFormat) {
+		validateArg("snapshotFormat", snapshotFormat, isNotNull());
+		this.snapshotFormat = snapshotFormat;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xevolution.evolution.EvolutionStrategy#getSnapshotWriter()
+	 */
+	@Override
+	public SnapshotWriter getSnapshotWriter() {
+		return snapshotWriter;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xevolution.evolution.EvolutionStrategy#setSnapshotWriter
+	 * (com.xtructure.xevolution.genetics.SnapshotWriter)
+	 */
+	@Override
+	public void setSnapshotWriter(SnapshotWriter snapshotWriter) {
+		this.snapshotWriter = snapshotWriter;
+	}
+
 	/**
 	 * Evolves the given {@link Population} via mutation or crossover,
 	 * reevaluates it, and performs any other processing.
@@ -41,6 +41,7 @@ import com.xtructure.xevolution.operator.OperatorSelecter;
 import com.xtructure.xevolution.operator.impl.CopyCrossoverOperator;
 import com.xtructure.xevolution.operator.impl.CopyMutateOperator;
 import com.xtructure.xutil.RandomUtil;
+import com.xtructure.xutil.RouletteSampler;
 import com.xtructure.xutil.id.XId;
 
 /**
@@ -236,22 +237,18 @@ public abstract class AbstractReproductionStrategy<D> extends AbstractEvolutionO
 		for (int i = 0; i < ids.length; i++) {
 			weights[i] = population.get(ids[i]).getAttribute(Genome.FITNESS_ATTRIBUTE_ID);
 		}
-		boolean normalized = RandomUtil.normalizeWeights(weights);
+		RouletteSampler sampler = new RouletteSampler(weights);
 		// create children
 		Set<Genome<D>> children = new HashSet<Genome<D>>();
-		int index = 0;
 		while (children.size() < count) {
 			Genome<D> child = null;
 			boolean doMutate = RandomUtil.eventOccurs(getEvolutionFieldMap().mutationProbability());
 			if (doMutate) {
-				index = normalized ? RandomUtil.rouletteSelect(index, weights) : RandomUtil.nextInteger(ids.length);
-				Genome<D> genome = population.get(ids[index]);
+				Genome<D> genome = population.get(ids[sampler.select()]);
 				child = mutate(idNumber, genome);
 			} else {
-				index = normalized ? RandomUtil.rouletteSelect(index, weights) : RandomUtil.nextInteger(ids.length);
-				Genome<D> genome1 = population.get(ids[index]);
-				index = normalized ? RandomUtil.rouletteSelect(index, weights) : RandomUtil.nextInteger(ids.length);
-				Genome<D> genome2 = population.get(ids[index]);
+				Genome<D> genome1 = population.get(ids[sampler.select()]);
+				Genome<D> genome2 = population.get(ids[sampler.select()]);
 				child = crossover(idNumber, genome1, genome2);
 			}
 			if (child == null) {
@@ -105,6 +105,26 @@ public interface GeneticsObject extends XIdObject, EvolutionObject {
 	 */
 	public <V> V setAttribute(XValId<V> valueId, V value);
 
+	/**
+	 * Adds the given {@link AttributeListener} to those notified when an
+	 * attribute of this {@link GeneticsObject} is set, via
+	 * {@link #setAttribute(XValId, Object)} or the map returned by
+	 * {@link #getAttributes()}.
+	 * 
+	 * @param listener
+	 *            the listener to add
+	 */
+	public void addAttributeListener(AttributeListener listener);
+
+	/**
+	 * Removes the given {@link AttributeListener} from those notified when an
+	 * attribute of this {@link GeneticsObject} is set.
+	 * 
+	 * @param listener
+	 *            the listener to remove
+	 */
+	public void removeAttributeListener(AttributeListener listener);
+
 	/**
 	 * Checks the state of this {@link GeneticsObject}, throwing an
 	 * {@link IllegalStateException} if something is wrong.
@@ -114,6 +134,23 @@ public interface GeneticsObject extends XIdObject, EvolutionObject {
 	 */
 	public void validate() throws IllegalStateException;
 
+	/** listener notified when attributes of a {@link GeneticsObject} are set */
+	public static interface AttributeListener {
+		/**
+		 * Called after an attribute of the given {@link GeneticsObject} is set.
+		 * 
+		 * @param object
+		 *            the {@link GeneticsObject} whose attribute was set
+		 * @param valueId
+		 *            the {@link XValId} of the attribute
+		 * @param oldValue
+		 *            the previous value of the attribute, may be null
+		 * @param newValue
+		 *            the new value of the attribute, may be null
+		 */
+		public void attributeSet(GeneticsObject object, XValId<?> valueId, Object oldValue, Object newValue);
+	}
+
 	/** comparator for sorting {@link GeneticsObject}s by attribute */
 	public static final class ByAttribute<T extends GeneticsObject, V extends Comparable<V>> implements Comparator<T> {
 		private final boolean	descending;
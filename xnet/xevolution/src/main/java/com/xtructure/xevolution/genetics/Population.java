@@ -53,6 +53,28 @@ public interface Population<D> extends GeneticsObject, Collection<Genome<D>> {
 	 */
 	public void refreshStats();
 
+	/**
+	 * Sets whether this population's statistics are updated as {@link Genome}s
+	 * are added or removed and as their attributes are set, rather than
+	 * recomputed from scratch by {@link #refreshStats()}. In either case, the
+	 * statistics reported by the getters are those published by the last call
+	 * to {@link #refreshStats()}.
+	 * 
+	 * @param incrementalStats
+	 *            true to update statistics incrementally, false to recompute
+	 *            them on each call to {@link #refreshStats()}
+	 */
+	public void setIncrementalStats(boolean incrementalStats);
+
+	/**
+	 * Returns true if this population's statistics are updated incrementally.
+	 * 
+	 * @return true if this population's statistics are updated incrementally,
+	 *         false otherwise
+	 * @see #setIncrementalStats(boolean)
+	 */
+	public boolean isIncrementalStats();
+
 	/**
 	 * Returns the {@link Genome} in this population with the given id.
 	 * 
@@ -171,4 +193,17 @@ public interface Population<D> extends GeneticsObject, Collection<Genome<D>> {
 	 * @throws XMLStreamException
 	 */
 	public void write(File outputDir) throws IOException, XMLStreamException;
+
+	/**
+	 * Writes this {@link Population} to file in the given output directory, in
+	 * the given {@link SnapshotFormat}.
+	 * 
+	 * @param outputDir
+	 *            the directory to which this {@link Population} is written.
+	 * @param format
+	 *            the {@link SnapshotFormat} in which this {@link Population}
+	 *            is written
+	 * @throws IOException
+	 */
+	public void write(File outputDir, SnapshotFormat format) throws IOException;
 }
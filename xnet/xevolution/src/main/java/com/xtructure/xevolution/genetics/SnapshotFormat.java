@@ -0,0 +1,319 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xevolution.
+ *
+ * xevolution is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xevolution is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xevolution.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xevolution.genetics;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import javolution.xml.stream.XMLStreamException;
+
+import com.xtructure.xutil.bin.BinaryReader;
+import com.xtructure.xutil.bin.BinaryWriter;
+import com.xtructure.xutil.xml.XmlReader;
+import com.xtructure.xutil.xml.XmlWriter;
+
+/**
+ * {@link SnapshotFormat} enumerates the file formats in which a
+ * {@link Population} snapshot can be written. A snapshot's format is
+ * identified by the extension of its file, so snapshots of all formats can be
+ * read back without knowing in advance how they were written.
+ * 
+ * @author Luis Guimbarda
+ * 
+ */
+public enum SnapshotFormat {
+	/** the xml format, as written by {@link XmlWriter} */
+	XML(".xml") {
+		@Override
+		public void write(File file, Object obj) throws IOException {
+			try {
+				XmlWriter.write(file, obj);
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		@Override
+		public <V> V read(File file) throws IOException {
+			try {
+				return XmlReader.<V> read(file);
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		/**
+		 * Encodes the given object in the binary format, which is much
+		 * cheaper than xml and can be translated to xml later by
+		 * {@link #write(File, byte[])}. Objects without a binary format are
+		 * encoded as xml text instead.
+		 */
+		@Override
+		public byte[] encode(Object obj) throws IOException {
+			try {
+				return BinaryWriter.write(obj, false);
+			} catch (IOException e) {
+				String xml = XmlWriter.write(obj);
+				if (xml == null) {
+					throw new IOException("unable to write xml for " + obj);
+				}
+				return xml.getBytes();
+			}
+		}
+
+		@Override
+		public void write(File file, byte[] encoded) throws IOException {
+			if (BinaryReader.isBinary(encoded)) {
+				// typed as Object, so this calls write(File, Object)
+				Object obj = BinaryReader.read(encoded);
+				write(file, obj);
+			} else {
+				writeBytes(file, encoded, false);
+			}
+		}
+	},
+	/** the binary format, as written by {@link BinaryWriter} */
+	BINARY(".bin") {
+		@Override
+		public void write(File file, Object obj) throws IOException {
+			BinaryWriter.write(file, obj, false);
+		}
+
+		@Override
+		public void write(File file, byte[] encoded) throws IOException {
+			writeBytes(file, encoded, false);
+		}
+	},
+	/** the binary format, as written by {@link BinaryWriter}, gzipped */
+	COMPRESSED_BINARY(".bin.gz") {
+		@Override
+		public void write(File file, Object obj) throws IOException {
+			BinaryWriter.write(file, obj, true);
+		}
+
+		@Override
+		public void write(File file, byte[] encoded) throws IOException {
+			writeBytes(file, encoded, true);
+		}
+	};
+
+	/** accepts files with the extension of any {@link SnapshotFormat} */
+	public static final FileFilter	FILE_FILTER	= new FileFilter() {
+													@Override
+													public boolean accept(File file) {
+														return file.isFile() && forFile(file) != null;
+													}
+												};
+
+	/**
+	 * Returns the {@link SnapshotFormat} of the given file, as identified by
+	 * its extension.
+	 * 
+	 * @param file
+	 *            the file in question
+	 * @return the {@link SnapshotFormat} of the given file, or null if its
+	 *         extension is not that of any {@link SnapshotFormat}
+	 */
+	public static SnapshotFormat forFile(File file) {
+		String name = file.getName().toLowerCase(Locale.ENGLISH);
+		for (SnapshotFormat format : values()) {
+			if (name.endsWith(format.extension)) {
+				return format;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the object in the given file, in the {@link SnapshotFormat}
+	 * identified by its extension.
+	 * 
+	 * @param file
+	 *            the file to read
+	 * @return the object in the given file
+	 * @throws IOException
+	 *             if the extension of the given file is not that of any
+	 *             {@link SnapshotFormat}, or if the file could not be read
+	 */
+	public static <V> V readSnapshot(File file) throws IOException {
+		SnapshotFormat format = forFile(file);
+		if (format == null) {
+			throw new IOException("unrecognized snapshot format: " + file);
+		}
+		return format.<V> read(file);
+	}
+
+	/**
+	 * Returns the name of the given snapshot file without the extension of
+	 * its {@link SnapshotFormat}.
+	 * 
+	 * @param file
+	 *            the snapshot file
+	 * @return the name of the given snapshot file without its extension
+	 */
+	public static String getBaseName(File file) {
+		String name = file.getName();
+		SnapshotFormat format = forFile(file);
+		return format == null ? name : name.substring(0, name.length() - format.extension.length());
+	}
+
+	/**
+	 * Converts the given snapshot file to the given {@link SnapshotFormat},
+	 * writing the result alongside it.
+	 * 
+	 * @param file
+	 *            the snapshot file to convert
+	 * @param format
+	 *            the {@link SnapshotFormat} to which the snapshot is
+	 *            converted
+	 * @return the converted file
+	 * @throws IOException
+	 *             if the given file could not be read, or the converted file
+	 *             could not be written
+	 */
+	public static File convert(File file, SnapshotFormat format) throws IOException {
+		File converted = format.getFile(file.getAbsoluteFile().getParentFile(), getBaseName(file));
+		// typed as Object, so this calls write(File, Object)
+		Object obj = readSnapshot(file);
+		format.write(converted, obj);
+		return converted;
+	}
+
+	/**
+	 * Writes the given bytes to the given file, optionally gzipped.
+	 * 
+	 * @param file
+	 *            the file to write
+	 * @param bytes
+	 *            the bytes to write
+	 * @param compress
+	 *            whether the bytes are gzipped
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	private static void writeBytes(File file, byte[] bytes, boolean compress) throws IOException {
+		OutputStream out = null;
+		try {
+			out = new FileOutputStream(file);
+			if (compress) {
+				out = new GZIPOutputStream(out);
+			}
+			out.write(bytes);
+		} finally {
+			if (out != null) {
+				out.close();
+			}
+		}
+	}
+
+	/** the file extension of this {@link SnapshotFormat} */
+	private final String	extension;
+
+	private SnapshotFormat(String extension) {
+		this.extension = extension;
+	}
+
+	/**
+	 * Returns the file extension of this {@link SnapshotFormat}.
+	 * 
+	 * @return the file extension of this {@link SnapshotFormat}
+	 */
+	public String getExtension() {
+		return extension;
+	}
+
+	/**
+	 * Returns the file in the given directory with the given base name and the
+	 * extension of this {@link SnapshotFormat}.
+	 * 
+	 * @param dir
+	 *            the directory of the file
+	 * @param baseName
+	 *            the name of the file, without extension
+	 * @return the file in the given directory with the given base name and
+	 *         the extension of this {@link SnapshotFormat}
+	 */
+	public File getFile(File dir, String baseName) {
+		return new File(dir, baseName + extension);
+	}
+
+	/**
+	 * Writes the given object to the given file in this
+	 * {@link SnapshotFormat}.
+	 * 
+	 * @param file
+	 *            the file to write
+	 * @param obj
+	 *            the object to write
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	public abstract void write(File file, Object obj) throws IOException;
+
+	/**
+	 * Encodes the given object in memory, so that it can be written later by
+	 * {@link #write(File, byte[])} even if the object has changed in the
+	 * meantime. By default, objects are encoded in the uncompressed binary
+	 * format.
+	 * 
+	 * @param obj
+	 *            the object to encode
+	 * @return the encoded object
+	 * @throws IOException
+	 *             if the object could not be encoded
+	 */
+	public byte[] encode(Object obj) throws IOException {
+		return BinaryWriter.write(obj, false);
+	}
+
+	/**
+	 * Writes an object encoded by {@link #encode(Object)} to the given file in
+	 * this {@link SnapshotFormat}.
+	 * 
+	 * @param file
+	 *            the file to write
+	 * @param encoded
+	 *            the object, as encoded by {@link #encode(Object)}
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	public abstract void write(File file, byte[] encoded) throws IOException;
+
+	/**
+	 * Reads the object in the given file, which is assumed to be in this
+	 * {@link SnapshotFormat}.
+	 * 
+	 * @param file
+	 *            the file to read
+	 * @return the object in the given file
+	 * @throws IOException
+	 *             if the file could not be read
+	 */
+	public <V> V read(File file) throws IOException {
+		return BinaryReader.<V> read(file);
+	}
+}
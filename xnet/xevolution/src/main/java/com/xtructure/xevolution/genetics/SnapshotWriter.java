@@ -0,0 +1,416 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xevolution.
+ *
+ * xevolution is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xevolution is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xevolution.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xevolution.genetics;
+
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThan;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link SnapshotWriter} writes {@link Population} snapshots on a dedicated
+ * background thread, so that evolution doesn't wait on the disk each
+ * generation.
+ * <P>
+ * When a population is given to
+ * {@link #write(Population, File, SnapshotFormat)}, it is encoded in memory by
+ * {@link SnapshotFormat#encode(Object)} on the calling thread, so the
+ * population may go on evolving while the snapshot is queued. The background thread writes each snapshot to a temporary file which
+ * is then renamed, exactly as {@link Population#write(File, SnapshotFormat)}
+ * does, so a snapshot file is never seen half written.
+ * <P>
+ * The queue of pending snapshots is bounded. What happens when it is full is
+ * determined by the {@link BackPressure} of this {@link SnapshotWriter}.
+ * <P>
+ * {@link SnapshotWriter} is meant to be fed by a single evolution thread. The
+ * background thread is started by the first write and stopped by
+ * {@link #close()} or {@link #finish(Population, File, SnapshotFormat)}, which
+ * wait for all pending snapshots to be written. A failure to write a snapshot
+ * is thrown by the next call to any of these methods.
+ * 
+ * @author Luis Guimbarda
+ * 
+ */
+public final class SnapshotWriter {
+	/**
+	 * {@link BackPressure} enumerates what a {@link SnapshotWriter} does with a
+	 * population it is given while its queue is full.
+	 */
+	public enum BackPressure {
+		/**
+		 * waits until there is room in the queue, so every generation is
+		 * written
+		 */
+		BLOCK,
+		/**
+		 * discards the oldest queued snapshot to make room, so the latest
+		 * generation is always written, but intermediate ones may not be
+		 */
+		DROP_INTERMEDIATE,
+		/**
+		 * only writes every Nth generation and the last, waiting until there is
+		 * room in the queue
+		 */
+		EVERY_NTH;
+	}
+
+	/** the default number of snapshots that may be queued */
+	public static final int					DEFAULT_CAPACITY	= 2;
+	/** the number of the next snapshot writer thread */
+	private static final AtomicInteger		NEXT_THREAD_NUM		= new AtomicInteger(0);
+	/** queued to stop the background thread */
+	private static final Snapshot			STOP				= new Snapshot(null, null, null, null);
+	/** the maximum number of queued snapshots */
+	private final int						capacity;
+	/** what is done with a population given while the queue is full */
+	private final BackPressure				backPressure;
+	/** the number of generations between snapshots, for EVERY_NTH */
+	private final int						interval;
+	/** the queued snapshots */
+	private final BlockingQueue<Snapshot>	queue;
+	/** guards the counts and failure below, and is notified as they change */
+	private final Object					progress			= new Object();
+	/** the number of snapshots queued */
+	private long							queuedCount			= 0l;
+	/** the number of queued snapshots since written, dropped or failed */
+	private long							doneCount			= 0l;
+	/** the number of queued snapshots dropped */
+	private long							droppedCount		= 0l;
+	/** the first failure to write a snapshot since last thrown */
+	private IOException						failure				= null;
+	/** the age of the last population queued */
+	private long							lastAge				= -1l;
+	/** the background thread, or null if not started */
+	private Thread							thread				= null;
+
+	/**
+	 * Creates a new {@link SnapshotWriter}
+	 * 
+	 * @param capacity
+	 *            the maximum number of snapshots queued
+	 * @param backPressure
+	 *            what is done with a population given while the queue is full
+	 *            (with EVERY_NTH, every generation is written)
+	 * @throws IllegalArgumentException
+	 *             if capacity is not positive, or backPressure is null
+	 */
+	public SnapshotWriter(int capacity, BackPressure backPressure) {
+		this(capacity, backPressure, 1);
+	}
+
+	/**
+	 * Creates a new {@link SnapshotWriter}
+	 * 
+	 * @param capacity
+	 *            the maximum number of snapshots queued
+	 * @param backPressure
+	 *            what is done with a population given while the queue is full
+	 * @param interval
+	 *            the number of generations between snapshots, if backPressure
+	 *            is EVERY_NTH; ignored otherwise
+	 * @throws IllegalArgumentException
+	 *             if capacity or interval is not positive, or backPressure is
+	 *             null
+	 */
+	public SnapshotWriter(int capacity, BackPressure backPressure, int interval) {
+		validateArg("capacity", capacity, isGreaterThan(0));
+		validateArg("backPressure", backPressure, isNotNull());
+		validateArg("interval", interval, isGreaterThan(0));
+		this.capacity = capacity;
+		this.backPressure = backPressure;
+		this.interval = backPressure == BackPressure.EVERY_NTH ? interval : 1;
+		this.queue = new ArrayBlockingQueue<Snapshot>(capacity);
+	}
+
+	/**
+	 * Returns the maximum number of snapshots queued by this
+	 * {@link SnapshotWriter}.
+	 * 
+	 * @return the maximum number of snapshots queued
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns what this {@link SnapshotWriter} does with a population given
+	 * while its queue is full.
+	 * 
+	 * @return the {@link BackPressure} of this {@link SnapshotWriter}
+	 */
+	public BackPressure getBackPressure() {
+		return backPressure;
+	}
+
+	/**
+	 * Returns the number of generations between snapshots written by this
+	 * {@link SnapshotWriter}.
+	 * 
+	 * @return the number of generations between snapshots
+	 */
+	public int getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Returns the number of queued snapshots dropped to make room for later
+	 * ones.
+	 * 
+	 * @return the number of queued snapshots dropped
+	 */
+	public long getDroppedCount() {
+		synchronized (progress) {
+			return droppedCount;
+		}
+	}
+
+	/**
+	 * Queues a snapshot of the given {@link Population}, to be written to the
+	 * given output directory in the given {@link SnapshotFormat}. The
+	 * population is encoded before this method returns. Depending on the
+	 * {@link BackPressure} of this {@link SnapshotWriter}, this method may wait
+	 * for room in the queue, drop the oldest queued snapshot, or skip the
+	 * population altogether.
+	 * 
+	 * @param population
+	 *            the population to write
+	 * @param outputDir
+	 *            the directory to which the population is written
+	 * @param format
+	 *            the {@link SnapshotFormat} in which the population is written
+	 * @return true if a snapshot of the population was queued, false if the
+	 *         population was skipped
+	 * @throws IOException
+	 *             if the population could not be encoded, an earlier snapshot
+	 *             could not be written, or the calling thread was interrupted
+	 */
+	public synchronized boolean write(Population<?> population, File outputDir, SnapshotFormat format) throws IOException {
+		checkFailure();
+		if (population.getAge() % interval != 0) {
+			return false;
+		}
+		enqueue(population, outputDir, format);
+		return true;
+	}
+
+	/**
+	 * Queues a snapshot of the given {@link Population}, the last generation
+	 * to be written, unless it has already been queued, and then closes this
+	 * {@link SnapshotWriter}. This ensures the last generation is written even
+	 * if it would otherwise be skipped.
+	 * 
+	 * @param population
+	 *            the population to write
+	 * @param outputDir
+	 *            the directory to which the population is written
+	 * @param format
+	 *            the {@link SnapshotFormat} in which the population is written
+	 * @throws IOException
+	 *             if the population could not be encoded, a snapshot could not
+	 *             be written, or the calling thread was interrupted
+	 * @see #close()
+	 */
+	public synchronized void finish(Population<?> population, File outputDir, SnapshotFormat format) throws IOException {
+		try {
+			if (population.getAge() != lastAge) {
+				enqueue(population, outputDir, format);
+			}
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Waits until every queued snapshot has been written or dropped.
+	 * 
+	 * @throws IOException
+	 *             if a snapshot could not be written, or the calling thread
+	 *             was interrupted
+	 */
+	public void flush() throws IOException {
+		synchronized (progress) {
+			try {
+				while (doneCount < queuedCount) {
+					progress.wait();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("interrupted while flushing snapshots");
+			}
+		}
+		checkFailure();
+	}
+
+	/**
+	 * Waits until every queued snapshot has been written or dropped, and stops
+	 * the background thread. A later write starts a new one.
+	 * 
+	 * @throws IOException
+	 *             if a snapshot could not be written, or the calling thread
+	 *             was interrupted
+	 */
+	public synchronized void close() throws IOException {
+		if (thread != null) {
+			try {
+				queue.put(STOP);
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("interrupted while closing snapshot writer");
+			}
+			thread = null;
+		}
+		flush();
+	}
+
+	/**
+	 * Encodes the given population and queues it, according to the
+	 * {@link BackPressure} of this {@link SnapshotWriter}.
+	 */
+	private void enqueue(Population<?> population, File outputDir, SnapshotFormat format) throws IOException {
+		Snapshot snapshot = new Snapshot(outputDir, "Population" + population.getAge(), format, format.encode(population));
+		lastAge = population.getAge();
+		synchronized (progress) {
+			queuedCount++;
+		}
+		if (thread == null) {
+			thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					writeQueued();
+				}
+			}, "snapshot-writer-" + NEXT_THREAD_NUM.getAndIncrement());
+			thread.setDaemon(true);
+			thread.start();
+		}
+		if (backPressure == BackPressure.DROP_INTERMEDIATE) {
+			while (!queue.offer(snapshot)) {
+				if (queue.poll() != null) {
+					synchronized (progress) {
+						droppedCount++;
+						doneCount++;
+						progress.notifyAll();
+					}
+				}
+			}
+		} else {
+			try {
+				queue.put(snapshot);
+			} catch (InterruptedException e) {
+				synchronized (progress) {
+					doneCount++;
+					progress.notifyAll();
+				}
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("interrupted while queueing snapshot");
+			}
+		}
+	}
+
+	/**
+	 * Writes queued snapshots on the background thread until told to stop.
+	 */
+	private void writeQueued() {
+		while (true) {
+			Snapshot snapshot;
+			try {
+				snapshot = queue.take();
+			} catch (InterruptedException e) {
+				return;
+			}
+			if (snapshot == STOP) {
+				return;
+			}
+			IOException exception = null;
+			try {
+				snapshot.write();
+			} catch (IOException e) {
+				exception = e;
+			} catch (RuntimeException e) {
+				exception = new IOException(e);
+			}
+			synchronized (progress) {
+				if (exception != null && failure == null) {
+					failure = exception;
+				}
+				doneCount++;
+				progress.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Throws, once, the first failure to write a snapshot since the last one
+	 * thrown.
+	 */
+	private void checkFailure() throws IOException {
+		IOException e;
+		synchronized (progress) {
+			e = failure;
+			failure = null;
+		}
+		if (e != null) {
+			throw e;
+		}
+	}
+
+	/** an encoded population, and where it is to be written */
+	private static final class Snapshot {
+		/** the directory to which the population is written */
+		private final File				outputDir;
+		/** the name of the snapshot file, without extension */
+		private final String			baseName;
+		/** the format in which the population is written */
+		private final SnapshotFormat	format;
+		/** the population, as encoded by the format */
+		private final byte[]			encoded;
+
+		private Snapshot(File outputDir, String baseName, SnapshotFormat format, byte[] encoded) {
+			this.outputDir = outputDir;
+			this.baseName = baseName;
+			this.format = format;
+			this.encoded = encoded;
+		}
+
+		/**
+		 * Writes this snapshot to a temporary file, then renames it.
+		 */
+		private void write() throws IOException {
+			File temp = new File(outputDir, baseName + ".tmp");
+			try {
+				format.write(temp, encoded);
+				File file = format.getFile(outputDir, baseName);
+				if (!temp.renameTo(file)) {
+					throw new IOException(String.format("could not rename %s to %s", temp, file));
+				}
+			} finally {
+				temp.delete();
+			}
+		}
+	}
+}
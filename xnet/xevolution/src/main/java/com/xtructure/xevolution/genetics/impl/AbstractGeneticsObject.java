@@ -21,11 +21,18 @@
  */
 package com.xtructure.xevolution.genetics.impl;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import javolution.xml.stream.XMLStreamException;
 
 import com.xtructure.xevolution.genetics.GeneticsObject;
 import com.xtructure.xutil.ValueMap;
 import com.xtructure.xutil.XLogger;
+import com.xtructure.xutil.bin.BinaryFormat;
+import com.xtructure.xutil.bin.BinaryInput;
+import com.xtructure.xutil.bin.BinaryOutput;
 import com.xtructure.xutil.id.AbstractXIdObject;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.id.XValId;
@@ -41,7 +48,9 @@ import com.xtructure.xutil.xml.XmlUnit.Element;
  */
 public abstract class AbstractGeneticsObject extends AbstractXIdObject implements GeneticsObject {
 	/** the attributes for this {@link GeneticsObject} */
-	private final ValueMap	attributes	= new ValueMap();
+	private final ValueMap					attributes			= new AttributeMap();
+	/** the listeners notified when attributes are set */
+	private final List<AttributeListener>	attributeListeners	= new CopyOnWriteArrayList<AttributeListener>();
 
 	/**
 	 * Creates a new {@link AbstractGeneticsObject}
@@ -100,7 +109,9 @@ public abstract class AbstractGeneticsObject extends AbstractXIdObject implement
 	 */
 	@Override
 	public void incrementAge() {
-		setAttribute(AGE_ATTRIBUTE_ID, getAge() + 1);
+		synchronized (this) {
+			setAttribute(AGE_ATTRIBUTE_ID, getAge() + 1);
+		}
 	}
 
 	/*
@@ -129,6 +140,55 @@ public abstract class AbstractGeneticsObject extends AbstractXIdObject implement
 		return rVal;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xevolution.genetics.GeneticsObject#addAttributeListener(
+	 * com.xtructure.xevolution.genetics.GeneticsObject.AttributeListener)
+	 */
+	@Override
+	public void addAttributeListener(AttributeListener listener) {
+		attributeListeners.add(listener);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xevolution.genetics.GeneticsObject#removeAttributeListener
+	 * (com.xtructure.xevolution.genetics.GeneticsObject.AttributeListener)
+	 */
+	@Override
+	public void removeAttributeListener(AttributeListener listener) {
+		attributeListeners.remove(listener);
+	}
+
+	/**
+	 * attribute map notifying the {@link AttributeListener}s of this object of
+	 * every value set, whether through {@link #setAttribute(XValId, Object)}
+	 * or directly on the map returned by {@link #getAttributes()}
+	 */
+	private final class AttributeMap extends ValueMap {
+		@Override
+		public <V> V set(XValId<V> valueId, V value) {
+			V oldValue = super.set(valueId, value);
+			for (AttributeListener listener : attributeListeners) {
+				listener.attributeSet(AbstractGeneticsObject.this, valueId, oldValue, value);
+			}
+			return oldValue;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void setAll(ValueMap map) {
+			ValueMap values = new ValueMap(map);
+			for (XValId<?> valueId : values.keySet()) {
+				set((XValId<Object>) valueId, values.get(valueId));
+			}
+		}
+	}
+
 	/** xml format for {@link AbstractGeneticsObject}s */
 	protected static abstract class AbstractXmlFormat<O extends AbstractGeneticsObject> extends AbstractXIdObject.AbstractXmlFormat<O> {
 		protected static final Element<ValueMap>	ATTRIBUTES_ELEMENT	= XmlUnit.newElement("attributes", ValueMap.class);
@@ -145,4 +205,79 @@ public abstract class AbstractGeneticsObject extends AbstractXIdObject implement
 			}
 		}
 	}
+
+	/**
+	 * binary format for {@link AbstractGeneticsObject}s, writing the id of the
+	 * object, then its data, then its attributes
+	 */
+	protected static abstract class AbstractBinaryFormat<O extends AbstractGeneticsObject> extends BinaryFormat<O> {
+		protected AbstractBinaryFormat(Class<O> cls) {
+			super(cls);
+		}
+
+		@Override
+		public void write(O obj, BinaryOutput out) throws IOException {
+			writeId(obj.getId(), out);
+			writeData(obj, out);
+			out.writeValueMap(obj.getAttributes());
+		}
+
+		@Override
+		public O read(BinaryInput in) throws IOException {
+			O obj = newInstance(readId(in), in);
+			obj.getAttributes().setAll(in.readValueMap());
+			return obj;
+		}
+
+		/**
+		 * Writes the id of an object.
+		 * 
+		 * @param id
+		 *            the id to write
+		 * @param out
+		 *            the {@link BinaryOutput} to which the id is written
+		 * @throws IOException
+		 */
+		protected void writeId(XId id, BinaryOutput out) throws IOException {
+			out.writeXId(id);
+		}
+
+		/**
+		 * Reads the id of an object written by
+		 * {@link #writeId(XId, BinaryOutput)}.
+		 * 
+		 * @param in
+		 *            the {@link BinaryInput} from which the id is read
+		 * @return the id read
+		 * @throws IOException
+		 */
+		protected XId readId(BinaryInput in) throws IOException {
+			return in.readXId();
+		}
+
+		/**
+		 * Writes whatever, other than its id and attributes, is needed to
+		 * recreate the given object.
+		 * 
+		 * @param obj
+		 *            the object being written
+		 * @param out
+		 *            the {@link BinaryOutput} to which the data is written
+		 * @throws IOException
+		 */
+		protected abstract void writeData(O obj, BinaryOutput out) throws IOException;
+
+		/**
+		 * Creates a new instance with the given id, from the data written by
+		 * {@link #writeData(AbstractGeneticsObject, BinaryOutput)}.
+		 * 
+		 * @param id
+		 *            the id of the new instance
+		 * @param in
+		 *            the {@link BinaryInput} from which the data is read
+		 * @return the new instance
+		 * @throws IOException
+		 */
+		protected abstract O newInstance(XId id, BinaryInput in) throws IOException;
+	}
 }
@@ -146,7 +146,9 @@ public abstract class AbstractGenome<D> extends AbstractGeneticsObject implement
 	 */
 	@Override
 	public void incrementEvaluationCount() {
-		setAttribute(EVAL_COUNT_ATTRIBUTE_ID, getEvaluationCount() + 1);
+		synchronized (this) {
+			setAttribute(EVAL_COUNT_ATTRIBUTE_ID, getEvaluationCount() + 1);
+		}
 	}
 
 	/*
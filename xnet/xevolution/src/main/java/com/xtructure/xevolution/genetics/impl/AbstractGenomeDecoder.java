@@ -22,6 +22,7 @@
 package com.xtructure.xevolution.genetics.impl;
 
 import com.xtructure.xevolution.evolution.impl.AbstractEvolutionObject;
+import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.GenomeDecoder;
 
 /**
@@ -31,5 +32,51 @@ import com.xtructure.xevolution.genetics.GenomeDecoder;
  * @param <T>
  */
 public abstract class AbstractGenomeDecoder<D, T> extends AbstractEvolutionObject implements GenomeDecoder<D, T> {
-	// nothing
+	/**
+	 * Returns a new {@link CachingGenomeDecoder} that keeps up to the given
+	 * number of the phenotypes decoded by this decoder, and hands out new trial
+	 * instances of them.
+	 * 
+	 * @param capacity
+	 *            the maximum number of phenotypes to cache
+	 * @return a new {@link CachingGenomeDecoder} wrapping this decoder
+	 * @throws IllegalArgumentException
+	 *             if capacity is not positive
+	 */
+	public CachingGenomeDecoder<D, T> withCache(int capacity) {
+		return new CachingGenomeDecoder<D, T>(this, capacity);
+	}
+
+	/**
+	 * Returns a new instance of the given phenotype, previously returned by
+	 * {@link #decode(Genome)}, in the state in which it was decoded. The given
+	 * phenotype must not be modified.
+	 * <P>
+	 * Phenotypes of this decoder are not reusable by default, in which case
+	 * this method returns null and {@link CachingGenomeDecoder} decodes each
+	 * genome anew.
+	 * 
+	 * @param phenotype
+	 *            the phenotype to copy
+	 * @return a new instance of the given phenotype, or null if phenotypes of
+	 *         this decoder cannot be reused
+	 */
+	protected T newTrialInstance(T phenotype) {
+		return null;
+	}
+
+	/**
+	 * Returns the version of the given genome data. A phenotype cached for a
+	 * genome is discarded once the version of the genome's data changes.
+	 * <P>
+	 * Genome data is assumed not to change by default, so this method returns
+	 * 0.
+	 * 
+	 * @param data
+	 *            the genome data
+	 * @return the version of the given genome data
+	 */
+	protected long getDataVersion(D data) {
+		return 0L;
+	}
 }
@@ -29,7 +29,6 @@ import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
 import static com.xtructure.xutil.valid.ValidateUtils.validateState;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -50,14 +49,16 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
 
 import com.xtructure.xevolution.genetics.GeneticsObject;
+import com.xtructure.xevolution.genetics.GeneticsObject.AttributeListener;
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.Population;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
 import com.xtructure.xutil.ValueMap;
-import com.xtructure.xutil.ValueType;
+import com.xtructure.xutil.bin.BinaryInput;
+import com.xtructure.xutil.bin.BinaryOutput;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.id.XValId;
 import com.xtructure.xutil.xml.XmlUnit.Element;
-import com.xtructure.xutil.xml.XmlWriter;
 
 /**
  * {@link AbstractPopulation} implements the getters for the {@link Population}
@@ -69,6 +70,15 @@ import com.xtructure.xutil.xml.XmlWriter;
  * not belong to the current population), and the average of those attributes
  * from among those genomes currently in the population.
  * <P>
+ * The statistics are computed in a single pass over the population by
+ * {@link #refreshStats()}. Alternatively, in incremental mode (see
+ * {@link #setIncrementalStats(boolean)}), they are maintained as genomes are
+ * added and removed and as their attributes are set, via
+ * {@link Genome#setAttribute(XValId, Object)} or
+ * {@link Genome#getAttributes()}, so that {@link #refreshStats()} only has to
+ * publish them; a population-wide scan is then needed only for an attribute
+ * whose highest or lowest genome was removed or lost its standing.
+ * <P>
  * The implementation of validate ensures that the statistics lowest/highest
  * genome statistics point to genomes currently present in the population, and
  * that the population keys genomes by their own id.
@@ -111,6 +121,15 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 	 * {@link Genome}s in this {@link Population} with such attribute
 	 */
 	protected final Map<XValId<?>, Double>		averageAttributes;
+	/**
+	 * map from numeric attribute {@link XValId} to the running statistics of
+	 * that attribute over the {@link Genome}s in this {@link Population}
+	 */
+	private final Map<XValId<?>, AttributeStats>	attributeStats;
+	/** listener updating attribute statistics in incremental mode */
+	private final AttributeListener				attributeListener;
+	/** whether attribute statistics are maintained incrementally */
+	private boolean								incrementalStats;
 
 	/**
 	 * Creates a new {@link AbstractPopulation}.
@@ -136,6 +155,15 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 		this.lowestGenomes = new HashMap<XValId<?>, Genome<D>>();
 		this.highestEverGenomes = new HashMap<XValId<?>, Genome<D>>();
 		this.lowestEverGenomes = new HashMap<XValId<?>, Genome<D>>();
+		this.attributeStats = new HashMap<XValId<?>, AttributeStats>();
+		this.attributeListener = new AttributeListener() {
+			@SuppressWarnings("unchecked")
+			@Override
+			public void attributeSet(GeneticsObject object, XValId<?> valueId, Object oldValue, Object newValue) {
+				genomeAttributeSet((Genome<D>) object, valueId, oldValue, newValue);
+			}
+		};
+		this.incrementalStats = false;
 		setAttribute(AGE_ATTRIBUTE_ID, 0l);
 		setAttribute(AGE_LI_ATTRIBUTE_ID, 0l);
 		setAttribute(GENOME_NUM_ATTRIBUTE_ID, 0);
@@ -153,7 +181,13 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 		int genomeIdNumber = getGenomeIdNumber();
 		genomeIdNumber = Math.max(genome.getId().getInstanceNum() + 1, genomeIdNumber);
 		boolean changed = !contains(genome);
-		genomes.put(genome.getId(), genome);
+		Genome<D> previous = genomes.put(genome.getId(), genome);
+		if (previous != genome) {
+			if (previous != null) {
+				genomeRemoved(previous);
+			}
+			genomeAdded(genome);
+		}
 		setAttribute(GENOME_NUM_ATTRIBUTE_ID, genomeIdNumber);
 		getLogger().trace("will return: %s", changed);
 		getLogger().trace("end %s.add()", getClass().getSimpleName());
@@ -186,7 +220,13 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 	@Override
 	public void clear() {
 		getLogger().trace("begin %s.clear()", getClass().getSimpleName());
+		for (Genome<D> genome : genomes.values()) {
+			genome.removeAttributeListener(attributeListener);
+		}
 		genomes.clear();
+		synchronized (attributeStats) {
+			attributeStats.clear();
+		}
 		getLogger().trace("end %s.clear()", getClass().getSimpleName());
 	}
 
@@ -240,7 +280,26 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 	@Override
 	public Iterator<Genome<D>> iterator() {
 		getLogger().trace("begin %s.iterator()", getClass().getSimpleName());
-		Iterator<Genome<D>> rVal = genomes.values().iterator();
+		final Iterator<Genome<D>> iter = genomes.values().iterator();
+		Iterator<Genome<D>> rVal = new Iterator<Genome<D>>() {
+			private Genome<D>	last	= null;
+
+			@Override
+			public boolean hasNext() {
+				return iter.hasNext();
+			}
+
+			@Override
+			public Genome<D> next() {
+				return last = iter.next();
+			}
+
+			@Override
+			public void remove() {
+				iter.remove();
+				genomeRemoved(last);
+			}
+		};
 		getLogger().trace("will return: %s", rVal);
 		getLogger().trace("end %s.iterator()", getClass().getSimpleName());
 		return rVal;
@@ -254,7 +313,23 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 	@Override
 	public boolean remove(Object o) {
 		getLogger().trace("begin %s.remove(%s)", getClass().getSimpleName(), o);
-		boolean rVal = o instanceof XId ? genomes.remove(o) != null : genomes.values().remove(o);
+		boolean rVal = false;
+		if (o instanceof XId) {
+			Genome<D> genome = genomes.remove(o);
+			if (genome != null) {
+				genomeRemoved(genome);
+				rVal = true;
+			}
+		} else if (o != null) {
+			Iterator<Genome<D>> iter = iterator();
+			while (iter.hasNext()) {
+				if (o.equals(iter.next())) {
+					iter.remove();
+					rVal = true;
+					break;
+				}
+			}
+		}
 		getLogger().trace("will return: %s", rVal);
 		getLogger().trace("end %s.remove()", getClass().getSimpleName());
 		return rVal;
@@ -268,7 +343,14 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 	@Override
 	public boolean removeAll(Collection<?> c) {
 		getLogger().trace("begin %s.removeAll(%s)", getClass().getSimpleName(), c);
-		boolean rVal = genomes.values().removeAll(c);
+		boolean rVal = false;
+		Iterator<Genome<D>> iter = iterator();
+		while (iter.hasNext()) {
+			if (c.contains(iter.next())) {
+				iter.remove();
+				rVal = true;
+			}
+		}
 		getLogger().trace("will return: %s", rVal);
 		getLogger().trace("end %s.removeAll()", getClass().getSimpleName());
 		return rVal;
@@ -282,7 +364,14 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 	@Override
 	public boolean retainAll(Collection<?> c) {
 		getLogger().trace("begin %s.retainAll(%s)", getClass().getSimpleName(), c);
-		boolean rVal = genomes.values().retainAll(c);
+		boolean rVal = false;
+		Iterator<Genome<D>> iter = iterator();
+		while (iter.hasNext()) {
+			if (!c.contains(iter.next())) {
+				iter.remove();
+				rVal = true;
+			}
+		}
 		getLogger().trace("will return: %s", rVal);
 		getLogger().trace("end %s.retainAll()", getClass().getSimpleName());
 		return rVal;
@@ -539,103 +628,374 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 		if (isEmpty()) {
 			return;
 		}
-		// calculate averages
-		List<Genome<D>> genomes = new ArrayList<Genome<D>>(this);
-		ValueMap accMap = new ValueMap();
-		for (Genome<D> genome : genomes) {
-			ValueMap measures = genome.getAttributes();
-			for (@SuppressWarnings("rawtypes")
-			XValId id : measures.keySet()) {
-				updateAccMap(id, accMap, genome);
+		synchronized (attributeStats) {
+			if (!incrementalStats) {
+				rebuildStats();
+			}
+			averageAttributes.clear();
+			highestGenomes.clear();
+			lowestGenomes.clear();
+			for (XValId<?> valueId : attributeStats.keySet()) {
+				AttributeStats stats = attributeStats.get(valueId);
+				if (stats.dirty) {
+					rebuildStats(valueId, stats);
+				}
+				averageAttributes.put(valueId, stats.sum / size());
+				Genome<D> genome = stats.highest;
+				@SuppressWarnings({ "rawtypes" })
+				Comparator<Genome<?>> byMeasure = new GeneticsObject.ByAttribute(valueId, true);
+				if (highestEverGenomes.get(valueId) == null || byMeasure.compare(genome, highestEverGenomes.get(valueId)) < 0) {
+					highestEverGenomes.put(valueId, genome);
+					if (Genome.FITNESS_ATTRIBUTE_ID.equals(valueId)) {
+						setAttribute(AGE_LI_ATTRIBUTE_ID, getAge());
+					}
+				}
+				highestGenomes.put(valueId, genome);
+				// genomes without the attribute are lower than those with it
+				genome = stats.count < size() ? getLastGenomeWithout(valueId) : stats.lowest;
+				if (lowestEverGenomes.get(valueId) == null || byMeasure.compare(genome, lowestEverGenomes.get(valueId)) > 0) {
+					lowestEverGenomes.put(valueId, genome);
+				}
+				lowestGenomes.put(valueId, genome);
 			}
 		}
-		averageAttributes.clear();
-		for (@SuppressWarnings("rawtypes")
-		XValId valueId : accMap.keySet()) {
-			if (Number.class.isAssignableFrom(valueId.getType())) {
-				double average = ((Number) accMap.get(valueId)).doubleValue() / size();
-				averageAttributes.put(valueId, average);
-			}
-		}
-		// get low/high genomes by measure
-		highestGenomes.clear();
-		lowestGenomes.clear();
-		for (XValId<?> valueId : averageAttributes.keySet()) {
-			@SuppressWarnings({ "rawtypes" })
-			Comparator<Genome<?>> byMeasure = new GeneticsObject.ByAttribute(valueId, true);
-			Collections.sort(genomes, byMeasure);
-			Genome<D> genome = genomes.get(0);
-			if (highestEverGenomes.get(valueId) == null || byMeasure.compare(genome, highestEverGenomes.get(valueId)) < 0) {
-				highestEverGenomes.put(valueId, genome);
-				if (Genome.FITNESS_ATTRIBUTE_ID.equals(valueId)) {
-					setAttribute(AGE_LI_ATTRIBUTE_ID, getAge());
+		getLogger().trace("end %s.refreshStats()", getClass().getSimpleName());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xevolution.genetics.Population#setIncrementalStats(boolean)
+	 */
+	@Override
+	public void setIncrementalStats(boolean incrementalStats) {
+		synchronized (attributeStats) {
+			if (this.incrementalStats == incrementalStats) {
+				return;
+			}
+			this.incrementalStats = incrementalStats;
+			for (Genome<D> genome : genomes.values()) {
+				if (incrementalStats) {
+					genome.addAttributeListener(attributeListener);
+				} else {
+					genome.removeAttributeListener(attributeListener);
 				}
 			}
-			highestGenomes.put(valueId, genome);
-			genome = genomes.get(genomes.size() - 1);
-			if (lowestEverGenomes.get(valueId) == null || byMeasure.compare(genome, lowestEverGenomes.get(valueId)) > 0) {
-				lowestEverGenomes.put(valueId, genome);
+			if (incrementalStats) {
+				rebuildStats();
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.xtructure.xevolution.genetics.Population#isIncrementalStats()
+	 */
+	@Override
+	public boolean isIncrementalStats() {
+		synchronized (attributeStats) {
+			return incrementalStats;
+		}
+	}
+
+	/**
+	 * Recomputes the statistics of all numeric attributes in a single pass
+	 * over the {@link Genome}s in this {@link Population}.
+	 */
+	private void rebuildStats() {
+		attributeStats.clear();
+		for (Genome<D> genome : genomes.values()) {
+			include(genome);
+		}
+	}
+
+	/**
+	 * Recomputes the given statistics of the attribute with the given
+	 * {@link XValId} by scanning the {@link Genome}s in this
+	 * {@link Population}.
+	 * 
+	 * @param valueId
+	 *            the id of the attribute
+	 * @param stats
+	 *            the statistics of the attribute
+	 */
+	private void rebuildStats(XValId<?> valueId, AttributeStats stats) {
+		stats.clear();
+		for (Genome<D> genome : genomes.values()) {
+			Object value = genome.getAttribute(valueId);
+			if (value != null) {
+				stats.include(genome, value);
 			}
-			lowestGenomes.put(valueId, genome);
 		}
-		getLogger().trace("end %s.refreshStats()", getClass().getSimpleName());
 	}
 
 	/**
-	 * Adds the attribute in the given {@link Genome} with the given
-	 * {@link XValId} to the corresponding value in the accumulation map.
+	 * Returns the {@link Genome} with the greatest id among those without the
+	 * attribute with the given {@link XValId}.
 	 * 
-	 * @param <V>
-	 *            the type of the attribute
 	 * @param valueId
 	 *            the id of the attribute
-	 * @param accMap
-	 *            the accumulation map
+	 * @return the last {@link Genome} without the attribute, or null if there
+	 *         is none
+	 */
+	private Genome<D> getLastGenomeWithout(XValId<?> valueId) {
+		Genome<D> rVal = null;
+		for (Genome<D> genome : genomes.values()) {
+			if (genome.getAttribute(valueId) == null) {
+				rVal = genome;
+			}
+		}
+		return rVal;
+	}
+
+	/**
+	 * Adds the numeric attributes of the given {@link Genome} to the
+	 * attribute statistics.
+	 * 
 	 * @param genome
-	 *            the {@link Genome} from which to get the attribute
-	 */
-	private <V extends Comparable<V>> void updateAccMap(XValId<V> valueId, ValueMap accMap, Genome<D> genome) {
-		getLogger().trace("begin %s.updateAccMap(%s, %s, %s)", getClass().getSimpleName(), valueId, accMap, genome);
-		if (Number.class.isAssignableFrom(valueId.getType())) {
-			if (accMap.get(valueId) == null) {
-				accMap.set(//
-						valueId,//
-						genome.getAttribute(valueId));
-			} else {
-				Number acc = (Number) accMap.get(valueId);
-				Number nxt = (Number) genome.getAttribute(valueId);
-				Number sum = null;
-				ValueType type = ValueType.getValueType(valueId.getType());
-				if (type != null) {
-					switch (type) {
-						case DOUBLE:
-							sum = acc.doubleValue() + nxt.doubleValue();
-							break;
-						case FLOAT:
-							sum = acc.floatValue() + nxt.floatValue();
-							break;
-						case LONG:
-							sum = acc.longValue() + nxt.longValue();
-							break;
-						case INTEGER:
-							sum = acc.intValue() + nxt.intValue();
-							break;
-						case SHORT:
-							sum = acc.shortValue() + nxt.shortValue();
-							break;
-						case BYTE:
-							sum = acc.byteValue() + nxt.byteValue();
-							break;
-						default:
-							break;
+	 *            the {@link Genome} to include
+	 */
+	private void include(Genome<D> genome) {
+		ValueMap attributes = genome.getAttributes();
+		for (XValId<?> valueId : attributes.keySet()) {
+			if (Number.class.isAssignableFrom(valueId.getType())) {
+				Object value = attributes.get(valueId);
+				if (value != null) {
+					AttributeStats stats = attributeStats.get(valueId);
+					if (stats == null) {
+						stats = new AttributeStats();
+						attributeStats.put(valueId, stats);
 					}
-					@SuppressWarnings("unchecked")
-					V v = (V) sum;
-					accMap.set(valueId, v);
+					stats.include(genome, value);
 				}
 			}
 		}
-		getLogger().trace("end %s.updateAccMap()", getClass().getSimpleName());
+	}
+
+	/**
+	 * Updates the attribute statistics for the given {@link Genome} having been
+	 * added to this {@link Population}, if they are maintained incrementally.
+	 * 
+	 * @param genome
+	 *            the added {@link Genome}
+	 */
+	private void genomeAdded(Genome<D> genome) {
+		synchronized (attributeStats) {
+			if (incrementalStats) {
+				genome.addAttributeListener(attributeListener);
+				include(genome);
+			}
+		}
+	}
+
+	/**
+	 * Updates the attribute statistics for the given {@link Genome} having been
+	 * removed from this {@link Population}, if they are maintained
+	 * incrementally.
+	 * 
+	 * @param genome
+	 *            the removed {@link Genome}
+	 */
+	private void genomeRemoved(Genome<D> genome) {
+		synchronized (attributeStats) {
+			if (incrementalStats) {
+				genome.removeAttributeListener(attributeListener);
+				ValueMap attributes = genome.getAttributes();
+				for (XValId<?> valueId : attributes.keySet()) {
+					AttributeStats stats = attributeStats.get(valueId);
+					Object value = attributes.get(valueId);
+					if (stats != null && value != null) {
+						stats.exclude(genome, value);
+						if (stats.count == 0) {
+							attributeStats.remove(valueId);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates the attribute statistics for an attribute of the given
+	 * {@link Genome} having been set, if they are maintained incrementally.
+	 * 
+	 * @param genome
+	 *            the {@link Genome} whose attribute was set
+	 * @param valueId
+	 *            the id of the attribute
+	 * @param oldValue
+	 *            the previous value of the attribute
+	 * @param newValue
+	 *            the new value of the attribute
+	 */
+	private void genomeAttributeSet(Genome<D> genome, XValId<?> valueId, Object oldValue, Object newValue) {
+		if (!Number.class.isAssignableFrom(valueId.getType())) {
+			return;
+		}
+		synchronized (attributeStats) {
+			if (!incrementalStats || genomes.get(genome.getId()) != genome) {
+				return;
+			}
+			AttributeStats stats = attributeStats.get(valueId);
+			if (stats == null) {
+				stats = new AttributeStats();
+				attributeStats.put(valueId, stats);
+			}
+			if (oldValue != null && newValue != null) {
+				stats.replace(genome, oldValue, newValue);
+			} else if (oldValue != null) {
+				stats.exclude(genome, oldValue);
+			} else if (newValue != null) {
+				stats.include(genome, newValue);
+			}
+			if (stats.count == 0) {
+				attributeStats.remove(valueId);
+			}
+		}
+	}
+
+	/**
+	 * The sum, count, and highest and lowest {@link Genome}s of a numeric
+	 * attribute over the {@link Genome}s having that attribute. Ties between
+	 * attribute values are broken by {@link Genome} id, consistently with
+	 * {@link GeneticsObject.ByAttribute}.
+	 */
+	private final class AttributeStats {
+		/** sum of the attribute values */
+		private double				sum;
+		/** number of attribute values */
+		private int					count;
+		/** the {@link Genome} with the highest attribute value */
+		private Genome<D>			highest;
+		/** the highest attribute value */
+		private Comparable<Object>	highestValue;
+		/** the {@link Genome} with the lowest attribute value */
+		private Genome<D>			lowest;
+		/** the lowest attribute value */
+		private Comparable<Object>	lowestValue;
+		/**
+		 * true if the highest or lowest {@link Genome} is unknown and must be
+		 * found by scanning the {@link Population}
+		 */
+		private boolean				dirty;
+
+		/**
+		 * Resets these statistics to those of no values.
+		 */
+		private void clear() {
+			sum = 0.0;
+			count = 0;
+			highest = null;
+			highestValue = null;
+			lowest = null;
+			lowestValue = null;
+			dirty = false;
+		}
+
+		/**
+		 * Adds the given value of the given {@link Genome} to these statistics.
+		 * 
+		 * @param genome
+		 *            the {@link Genome} having the value
+		 * @param value
+		 *            the value to add
+		 */
+		@SuppressWarnings("unchecked")
+		private void include(Genome<D> genome, Object value) {
+			sum += ((Number) value).doubleValue();
+			count++;
+			if (dirty) {
+				return;
+			}
+			Comparable<Object> v = (Comparable<Object>) value;
+			if (highest == null || compare(v, genome, highestValue, highest) > 0) {
+				highest = genome;
+				highestValue = v;
+			}
+			if (lowest == null || compare(v, genome, lowestValue, lowest) < 0) {
+				lowest = genome;
+				lowestValue = v;
+			}
+		}
+
+		/**
+		 * Removes the given value of the given {@link Genome} from these
+		 * statistics.
+		 * 
+		 * @param genome
+		 *            the {@link Genome} having the value
+		 * @param value
+		 *            the value to remove
+		 */
+		private void exclude(Genome<D> genome, Object value) {
+			sum -= ((Number) value).doubleValue();
+			count--;
+			if (genome == highest || genome == lowest) {
+				dirty = true;
+			}
+		}
+
+		/**
+		 * Replaces the given old value of the given {@link Genome} with the
+		 * given new value in these statistics.
+		 * 
+		 * @param genome
+		 *            the {@link Genome} having the value
+		 * @param oldValue
+		 *            the value to remove
+		 * @param newValue
+		 *            the value to add
+		 */
+		@SuppressWarnings("unchecked")
+		private void replace(Genome<D> genome, Object oldValue, Object newValue) {
+			sum += ((Number) newValue).doubleValue() - ((Number) oldValue).doubleValue();
+			if (dirty) {
+				return;
+			}
+			Comparable<Object> v = (Comparable<Object>) newValue;
+			if (genome == highest) {
+				if (v.compareTo(highestValue) >= 0) {
+					highestValue = v;
+				} else {
+					dirty = true;
+				}
+			} else if (compare(v, genome, highestValue, highest) > 0) {
+				highest = genome;
+				highestValue = v;
+			}
+			if (genome == lowest) {
+				if (v.compareTo(lowestValue) <= 0) {
+					lowestValue = v;
+				} else {
+					dirty = true;
+				}
+			} else if (compare(v, genome, lowestValue, lowest) < 0) {
+				lowest = genome;
+				lowestValue = v;
+			}
+		}
+
+		/**
+		 * Compares the given values, breaking ties so that the {@link Genome}
+		 * with the lesser id is the greater.
+		 * 
+		 * @param value1
+		 *            the first value
+		 * @param genome1
+		 *            the {@link Genome} having the first value
+		 * @param value2
+		 *            the second value
+		 * @param genome2
+		 *            the {@link Genome} having the second value
+		 * @return a negative integer, zero, or a positive integer as the first
+		 *         value is less than, equal to, or greater than the second
+		 */
+		private int compare(Comparable<Object> value1, Genome<D> genome1, Comparable<Object> value2, Genome<D> genome2) {
+			int rVal = value1.compareTo(value2);
+			return rVal != 0 ? rVal : genome2.getId().compareTo(genome1.getId());
+		}
 	}
 
 	/*
@@ -645,17 +1005,26 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 	 */
 	@Override
 	public void write(File outputDir) throws IOException, XMLStreamException {
+		write(outputDir, SnapshotFormat.XML);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.xtructure.xevolution.genetics.Population#write(java.io.File,
+	 * com.xtructure.xevolution.genetics.SnapshotFormat)
+	 */
+	@Override
+	public void write(File outputDir, SnapshotFormat format) throws IOException {
 		String filename = "Population" + getAge();
 		File temp = new File(outputDir, filename + ".tmp");
-		FileWriter out = null;
 		try {
-			out = new FileWriter(temp);
-			XmlWriter.write(out, this);
-			temp.renameTo(new File(outputDir, filename + ".xml"));
-		} finally {
-			if (out != null) {
-				out.close();
+			format.write(temp, this);
+			File file = format.getFile(outputDir, filename);
+			if (!temp.renameTo(file)) {
+				throw new IOException(String.format("could not rename %s to %s", temp, file));
 			}
+		} finally {
 			temp.delete();
 		}
 	}
@@ -751,4 +1120,39 @@ public abstract class AbstractPopulation<D> extends AbstractGeneticsObject imple
 			}
 		}
 	}
+
+	/** binary format for {@link AbstractPopulation} */
+	protected static abstract class AbstractBinaryFormat<D, P extends AbstractPopulation<D>> extends AbstractGeneticsObject.AbstractBinaryFormat<P> {
+		protected AbstractBinaryFormat(Class<P> cls) {
+			super(cls);
+		}
+
+		@Override
+		protected void writeData(P obj, BinaryOutput out) throws IOException {
+			ArrayList<Genome<D>> genomes = new ArrayList<Genome<D>>(obj);
+			Collections.sort(genomes);
+			out.writeVarInt(genomes.size());
+			for (Genome<D> genome : genomes) {
+				out.writeObject(genome);
+			}
+		}
+
+		/**
+		 * Reads the genomes written by
+		 * {@link #writeData(AbstractPopulation, BinaryOutput)}.
+		 * 
+		 * @param in
+		 *            the {@link BinaryInput} from which the genomes are read
+		 * @return the genomes read
+		 * @throws IOException
+		 */
+		protected List<Genome<D>> readGenomes(BinaryInput in) throws IOException {
+			int size = in.readVarInt();
+			List<Genome<D>> genomes = new ArrayList<Genome<D>>(size);
+			for (int i = 0; i < size; i++) {
+				genomes.add(in.<Genome<D>> readObject());
+			}
+			return genomes;
+		}
+	}
 }
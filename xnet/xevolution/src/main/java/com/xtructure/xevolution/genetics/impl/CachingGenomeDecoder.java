@@ -0,0 +1,248 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xevolution.
+ *
+ * xevolution is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xevolution is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xevolution.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xevolution.genetics.impl;
+
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThan;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.xtructure.xevolution.genetics.Genome;
+import com.xtructure.xutil.id.XId;
+
+/**
+ * {@link CachingGenomeDecoder} decodes genomes with another
+ * {@link AbstractGenomeDecoder}, and keeps the most recently used phenotypes
+ * so that a genome simulated repeatedly, in several trials or over several
+ * generations, is only decoded once. Each call to {@link #decode(Genome)}
+ * returns a new trial instance of the cached phenotype, created by
+ * {@link AbstractGenomeDecoder#newTrialInstance(Object)}, so trials never
+ * share state.
+ * <P>
+ * Phenotypes are cached by genome id, and are only reused for the same genome
+ * with the same data at the same version. When the cache is full, the least
+ * recently used phenotype is evicted.
+ * 
+ * @author Luis Guimbarda
+ * 
+ * @param <D>
+ *            type of data used in {@link Genome}
+ * @param <T>
+ *            phenotype of {@link Genome}
+ */
+public final class CachingGenomeDecoder<D, T> extends AbstractGenomeDecoder<D, T> {
+	/** the decoder of genomes missing from the cache */
+	private final AbstractGenomeDecoder<D, T>	decoder;
+	/** the maximum number of cached phenotypes */
+	private final int							capacity;
+	/** the cached phenotypes, by genome id, in access order */
+	private final Map<XId, CacheEntry<D, T>>	cache;
+	/** the number of decodes served from the cache */
+	private long								hitCount	= 0l;
+	/** the number of decodes that decoded the genome */
+	private long								missCount	= 0l;
+
+	/**
+	 * Creates a new {@link CachingGenomeDecoder}
+	 * 
+	 * @param decoder
+	 *            the decoder of genomes missing from the cache
+	 * @param capacity
+	 *            the maximum number of phenotypes to cache
+	 * @throws IllegalArgumentException
+	 *             if decoder is null or capacity is not positive
+	 */
+	public CachingGenomeDecoder(AbstractGenomeDecoder<D, T> decoder, final int capacity) {
+		validateArg("decoder", decoder, isNotNull());
+		validateArg("capacity", capacity, isGreaterThan(0));
+		this.decoder = decoder;
+		this.capacity = capacity;
+		this.cache = new LinkedHashMap<XId, CacheEntry<D, T>>(16, 0.75f, true) {
+			private static final long	serialVersionUID	= 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<XId, CacheEntry<D, T>> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Returns the decoder of genomes missing from the cache.
+	 * 
+	 * @return the decoder of genomes missing from the cache
+	 */
+	public AbstractGenomeDecoder<D, T> getDecoder() {
+		return decoder;
+	}
+
+	/**
+	 * Returns the maximum number of phenotypes this decoder caches.
+	 * 
+	 * @return the maximum number of phenotypes this decoder caches
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of phenotypes currently cached.
+	 * 
+	 * @return the number of phenotypes currently cached
+	 */
+	public synchronized int getSize() {
+		return cache.size();
+	}
+
+	/**
+	 * Returns the number of decodes served from the cache.
+	 * 
+	 * @return the number of decodes served from the cache
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the number of decodes that decoded the genome.
+	 * 
+	 * @return the number of decodes that decoded the genome
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Discards all cached phenotypes. The hit and miss counts are kept.
+	 */
+	public synchronized void clear() {
+		cache.clear();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xevolution.genetics.GenomeDecoder#decode(com.xtructure.
+	 * xevolution.genetics.Genome)
+	 */
+	@Override
+	public T decode(Genome<D> genome) {
+		getLogger().trace("begin %s.decode(%s)", getClass().getSimpleName(), genome);
+		D data = genome.getData();
+		long version = decoder.getDataVersion(data);
+		CacheEntry<D, T> entry;
+		synchronized (this) {
+			entry = cache.get(genome.getId());
+			if (entry != null && entry.isFor(genome, data, version)) {
+				hitCount++;
+			} else {
+				entry = null;
+				missCount++;
+			}
+		}
+		T rVal;
+		if (entry != null) {
+			rVal = decoder.newTrialInstance(entry.phenotype);
+		} else {
+			T phenotype = decoder.decode(genome);
+			rVal = decoder.newTrialInstance(phenotype);
+			if (rVal == null) {
+				rVal = phenotype;
+			} else {
+				synchronized (this) {
+					cache.put(genome.getId(), new CacheEntry<D, T>(genome, data, version, phenotype));
+				}
+			}
+		}
+		getLogger().trace("will return: %s", rVal);
+		getLogger().trace("end %s.decode()", getClass().getSimpleName());
+		return rVal;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xevolution.genetics.impl.AbstractGenomeDecoder#newTrialInstance
+	 * (java.lang.Object)
+	 */
+	@Override
+	protected T newTrialInstance(T phenotype) {
+		return decoder.newTrialInstance(phenotype);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.xtructure.xevolution.genetics.impl.AbstractGenomeDecoder#getDataVersion
+	 * (java.lang.Object)
+	 */
+	@Override
+	protected long getDataVersion(D data) {
+		return decoder.getDataVersion(data);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public synchronized String toString() {
+		return String.format("%s(%s, %d/%d cached, %d hits, %d misses)", //
+				getClass().getSimpleName(), decoder, cache.size(), capacity, hitCount, missCount);
+	}
+
+	/**
+	 * A cached phenotype, with the genome and data version it was decoded
+	 * from.
+	 */
+	private static final class CacheEntry<D, T> {
+		/** the genome the phenotype was decoded from */
+		private final Genome<D>	genome;
+		/** the data of the genome when the phenotype was decoded */
+		private final D			data;
+		/** the version of the data when the phenotype was decoded */
+		private final long		version;
+		/** the phenotype, never handed out */
+		private final T			phenotype;
+
+		private CacheEntry(Genome<D> genome, D data, long version, T phenotype) {
+			this.genome = genome;
+			this.data = data;
+			this.version = version;
+			this.phenotype = phenotype;
+		}
+
+		/**
+		 * Returns true if this entry was decoded from the given genome, data
+		 * and version.
+		 */
+		private boolean isFor(Genome<D> genome, D data, long version) {
+			return this.genome == genome && this.data == data && this.version == version;
+		}
+	}
+}
@@ -21,10 +21,15 @@
  */
 package com.xtructure.xevolution.genetics.impl;
 
+import java.io.IOException;
+
 import javolution.xml.stream.XMLStreamException;
 
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xutil.ValueMap;
+import com.xtructure.xutil.bin.BinaryFormat;
+import com.xtructure.xutil.bin.BinaryInput;
+import com.xtructure.xutil.bin.BinaryOutput;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.xml.ReadAttributes;
 import com.xtructure.xutil.xml.ReadElements;
@@ -41,7 +46,9 @@ import com.xtructure.xutil.xml.XmlUnit.Element;
  */
 public final class GenomeImpl extends AbstractGenome<String> {
 	/** */
-	public static final XmlFormat<GenomeImpl>	XML_FORMAT	= new GenomeImplXmlFormat();
+	public static final XmlFormat<GenomeImpl>		XML_FORMAT		= new GenomeImplXmlFormat();
+	/** */
+	public static final BinaryFormat<GenomeImpl>	BINARY_FORMAT	= new GenomeImplBinaryFormat();
 
 	/**
 	 * Creates a new {@link GenomeImpl}.
@@ -92,4 +99,20 @@ public final class GenomeImpl extends AbstractGenome<String> {
 			return genome;
 		}
 	}
+
+	private static final class GenomeImplBinaryFormat extends AbstractBinaryFormat<GenomeImpl> {
+		protected GenomeImplBinaryFormat() {
+			super(GenomeImpl.class);
+		}
+
+		@Override
+		protected void writeData(GenomeImpl obj, BinaryOutput out) throws IOException {
+			out.writeString(obj.getData());
+		}
+
+		@Override
+		protected GenomeImpl newInstance(XId id, BinaryInput in) throws IOException {
+			return new GenomeImpl(id.getInstanceNum(), in.readString());
+		}
+	}
 }
@@ -21,6 +21,7 @@
  */
 package com.xtructure.xevolution.genetics.impl;
 
+import java.io.IOException;
 import java.util.List;
 
 import javolution.xml.stream.XMLStreamException;
@@ -28,6 +29,8 @@ import javolution.xml.stream.XMLStreamException;
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.Population;
 import com.xtructure.xutil.ValueMap;
+import com.xtructure.xutil.bin.BinaryFormat;
+import com.xtructure.xutil.bin.BinaryInput;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.xml.ReadAttributes;
 import com.xtructure.xutil.xml.ReadElements;
@@ -46,7 +49,9 @@ import com.xtructure.xutil.xml.XmlUnit.Element;
  */
 public class PopulationImpl extends AbstractPopulation<String> {
 	/** */
-	public static final XmlFormat<PopulationImpl>	XML_FORMAT	= new PopulationImplXmlFormat();
+	public static final XmlFormat<PopulationImpl>		XML_FORMAT		= new PopulationImplXmlFormat();
+	/** */
+	public static final BinaryFormat<PopulationImpl>	BINARY_FORMAT	= new PopulationImplBinaryFormat();
 
 	/**
 	 * Creates a new {@link PopulationImpl}.
@@ -84,4 +89,17 @@ public class PopulationImpl extends AbstractPopulation<String> {
 			return pop;
 		}
 	}
+
+	private static final class PopulationImplBinaryFormat extends AbstractBinaryFormat<String, PopulationImpl> {
+		protected PopulationImplBinaryFormat() {
+			super(PopulationImpl.class);
+		}
+
+		@Override
+		protected PopulationImpl newInstance(XId id, BinaryInput in) throws IOException {
+			PopulationImpl pop = new PopulationImpl(id.getInstanceNum());
+			pop.addAll(readGenomes(in));
+			return pop;
+		}
+	}
 }
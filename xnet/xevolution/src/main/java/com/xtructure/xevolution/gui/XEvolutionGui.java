@@ -52,6 +52,7 @@ import org.json.simple.JSONArray;
 import com.xtructure.xevolution.evolution.EvolutionStrategy;
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.Population;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
 import com.xtructure.xevolution.gui.components.GenealogyPanel;
 import com.xtructure.xevolution.gui.components.GenomePanel;
 import com.xtructure.xevolution.gui.components.Graph;
@@ -91,11 +92,11 @@ public class XEvolutionGui {
 	private static final ReentrantLock popLock = new ReentrantLock();
 
 	/**
-	 * The Constant POPULATION_FILE_PATTERN. {@link Pattern} for population xml
-	 * files
+	 * The Constant POPULATION_FILE_PATTERN. {@link Pattern} for population
+	 * snapshot files
 	 */
 	private static final Pattern POPULATION_FILE_PATTERN = Pattern
-			.compile("^\\D*(\\d+)\\.xml$");
+			.compile("^\\D*(\\d+)\\.(xml|bin|bin\\.gz)$");
 
 	/** number of times to try and read population xml files before giving up. */
 	private static final int RETRIES = 5;
@@ -307,7 +308,7 @@ public class XEvolutionGui {
 							@Override
 							public boolean accept(File pathname) {
 								return pathname.lastModified() > newest
-										&& pathname.getName().endsWith(".xml");
+										&& SnapshotFormat.forFile(pathname) != null;
 							}
 						});
 						if (newFiles.length == 0) {
@@ -37,15 +37,14 @@ import java.util.Map;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 
-import javolution.xml.stream.XMLStreamException;
 
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.Population;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
 import com.xtructure.xevolution.gui.VisualizeData;
 import com.xtructure.xevolution.gui.XEvolutionGui;
 import com.xtructure.xevolution.tool.data.DataTracker;
 import com.xtructure.xutil.id.XId;
-import com.xtructure.xutil.xml.XmlReader;
 
 /**
  * {@link GuiListener} is an {@link ActionListener} and {@link MouseListener}
@@ -189,14 +188,11 @@ public class GuiListener implements ActionListener, MouseListener {
 				genome = cache.get(id);
 				if (genome == null) {
 					try {
-						Population<Genome<?>> population = XmlReader.read((File) genealogyPanel.getTableData()[selectedRow][5]);
+						Population<Genome<?>> population = SnapshotFormat.readSnapshot((File) genealogyPanel.getTableData()[selectedRow][5]);
 						genome = population.get(id);
 					} catch (IOException e1) {
 						e1.printStackTrace();
 						return null;
-					} catch (XMLStreamException e1) {
-						e1.printStackTrace();
-						return null;
 					}
 					cache.put(id, genome);
 				}
@@ -36,14 +36,13 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.border.TitledBorder;
 
-import javolution.xml.stream.XMLStreamException;
 
 import com.xtructure.xevolution.evolution.EvolutionStrategy;
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.Population;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
 import com.xtructure.xevolution.gui.XEvolutionGui;
 import com.xtructure.xutil.id.XValId;
-import com.xtructure.xutil.xml.XmlReader;
 
 /**
  * The {@link PopulationPanel} holds the populations list and population data in
@@ -131,14 +130,12 @@ public class PopulationPanel extends JPanel {
 		popLock.lock();
 		try {
 			File populationFile = ((AliasedPopulationFile) comboBox.getSelectedItem()).getPopulationFile();
-			population = XmlReader.read(populationFile);
+			population = SnapshotFormat.readSnapshot(populationFile);
 			if (population == null) {
 				return;
 			}
 			population.refreshStats();
 			dataPanel.setLabels(population);
-		} catch (XMLStreamException e1) {
-			e1.printStackTrace();
 		} catch (IOException e1) {
 			e1.printStackTrace();
 		} catch (Exception e1) {
@@ -35,6 +35,7 @@ import org.json.simple.parser.ParseException;
 
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.Population;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
 import com.xtructure.xevolution.tool.DataXIdObject;
 import com.xtructure.xevolution.tool.DataXIdObject.DataXIdObjectFactory;
 import com.xtructure.xevolution.tool.GenealogyData;
@@ -44,7 +45,6 @@ import com.xtructure.xevolution.tool.PopulationData.PopulationDataFactory;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.id.XIdObjectManager;
 import com.xtructure.xutil.id.XIdObjectManagerImpl;
-import com.xtructure.xutil.xml.XmlReader;
 
 /**
  * The Class DataTracker.
@@ -156,7 +156,12 @@ public final class DataTracker<P extends PopulationData<P>, G extends GenealogyD
 	 * read
 	 */
 	public Population<?> processPopulation(File populationFile) {
-		Population<?> population = XmlReader.read(populationFile, (Population<?>) null);
+		Population<?> population = null;
+		try {
+			population = SnapshotFormat.readSnapshot(populationFile);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
 		if (population != null) {
 			population.refreshStats();
 			PopulationData<?> popData = populationDataFactory.getOrCreateInstance(population, populationDataManager);
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xevolution.
+ *
+ * xevolution is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xevolution is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xevolution.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xevolution.tool.impl;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.cli.HelpFormatter;
+
+import com.xtructure.xevolution.evolution.EvolutionExperiment;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
+import com.xtructure.xevolution.tool.XEvoTool;
+import com.xtructure.xutil.opt.BooleanXOption;
+import com.xtructure.xutil.opt.EnumXOption;
+import com.xtructure.xutil.opt.FileXOption;
+import com.xtructure.xutil.opt.XOption;
+
+/**
+ * ConvertPopulationsTool is an XEvoTool which converts the population files
+ * dumped by an {@link EvolutionExperiment} from one {@link SnapshotFormat} to
+ * another, e.g. compact binary snapshots to xml for inspection. Converted files
+ * are written alongside the originals.
+ * <P>
+ * The tool accepts the following command line arguments:
+ * <dl>
+ * <dt> <code>-p --populations</code>
+ * <dd>(required) The population file to convert, or a directory containing the
+ * population files to convert.
+ * <dt> <code>-f --format</code>
+ * <dd>(required) The {@link SnapshotFormat} to which population files are
+ * converted: xml, binary or compressed_binary. Population files already in
+ * this format are skipped.
+ * <dt> <code>-r --remove</code>
+ * <dd>Delete each population file once it has been converted.
+ * <dt><code>-v --verbose</code>
+ * <dd>Print trace messages to standard out.
+ * <dt><code>-h --help</code>
+ * <dd>Print usage.
+ * </dl>
+ * 
+ * @author Luis Guimbarda
+ * 
+ */
+public class ConvertPopulationsTool extends XEvoTool {
+	/** name of the Populations option */
+	public static final String	POPULATIONS	= "Populations";
+	/** name of the Format option */
+	public static final String	FORMAT		= "Format";
+	/** name of the Remove option */
+	public static final String	REMOVE		= "Remove";
+	/** name of the Verbose option */
+	public static final String	VERBOSE		= "Verbose";
+	/** name of the Help option */
+	public static final String	HELP		= "Help";
+
+	/**
+	 * Creates a new {@link ConvertPopulationsTool}.
+	 */
+	public ConvertPopulationsTool() {
+		super("convertPopulations",//
+				new BooleanXOption(HELP, "h", "help", "print usage"),//
+				new BooleanXOption(VERBOSE, "v", "verbose", "print progess"),//
+				new BooleanXOption(REMOVE, "r", "remove", "delete population files once converted"),//
+				new FileXOption(POPULATIONS, "p", "populations", "population file, or directory containing population files"),//
+				new EnumXOption<SnapshotFormat>(FORMAT, "f", "format", "format to which population files are converted (xml, binary or compressed_binary)", SnapshotFormat.class));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.xtructure.xevolution.tool.XEvoTool#launch(java.lang.String[])
+	 */
+	@Override
+	public void launch(String[] args) {
+		try {
+			XOption.parseArgs(getOptions(), args);
+		} catch (org.apache.commons.cli.ParseException e) {
+			e.printStackTrace();
+			new HelpFormatter().printHelp(getClass().getSimpleName(), getOptions(), true);
+			return;
+		}
+		// process help option
+		if ((Boolean) getOption(HELP).processValue()) {
+			new HelpFormatter().printHelp(getClass().getSimpleName(), getOptions(), true);
+			return;
+		}
+		// get options
+		FileXOption populationsOption = getOption(POPULATIONS);
+		EnumXOption<SnapshotFormat> formatOption = getOption(FORMAT);
+		boolean remove = (Boolean) getOption(REMOVE).processValue();
+		boolean verbose = (Boolean) getOption(VERBOSE).processValue();
+		File populations = populationsOption.hasValue() ? populationsOption.processValue() : null;
+		SnapshotFormat format = null;
+		try {
+			format = formatOption.processValue();
+		} catch (IllegalArgumentException e) {
+			System.out.printf("unrecognized format : %s\n", formatOption.getValue());
+		}
+		// check for required args
+		if (populations == null || format == null) {
+			System.out.printf("%s and %s are required\n", POPULATIONS, FORMAT);
+			System.out.printf("%s : %s\n", POPULATIONS, populations);
+			System.out.printf("%s : %s\n", FORMAT, format);
+			new HelpFormatter().printHelp(getClass().getSimpleName(), getOptions(), true);
+			return;
+		}
+		// convert population files
+		File[] files = populations.isDirectory() ? populations.listFiles(SnapshotFormat.FILE_FILTER) : new File[] { populations };
+		for (File file : files) {
+			if (SnapshotFormat.forFile(file) == format) {
+				continue;
+			}
+			if (verbose) {
+				System.out.println("Converting population : " + file.getName());
+			}
+			try {
+				SnapshotFormat.convert(file, format);
+				if (remove) {
+					file.delete();
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+}
@@ -39,6 +39,7 @@ import java.util.regex.Pattern;
 import org.apache.commons.cli.HelpFormatter;
 
 import com.xtructure.xevolution.evolution.EvolutionExperiment;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
 import com.xtructure.xevolution.tool.XEvoTool;
 import com.xtructure.xevolution.tool.data.DataTracker;
 import com.xtructure.xutil.opt.BooleanXOption;
@@ -82,8 +83,8 @@ public class ReadPopulationsTool extends XEvoTool {
 	private static final int			RETRIES					= 5;
 	/** {@link Lock} for accessing population files */
 	private static final ReentrantLock	popLock					= new ReentrantLock();
-	/** {@link Pattern} for population xml files */
-	private static final Pattern		POPULATION_FILE_PATTERN	= Pattern.compile("^\\D*(\\d+)\\.xml$");
+	/** {@link Pattern} for population snapshot files */
+	private static final Pattern		POPULATION_FILE_PATTERN	= Pattern.compile("^\\D*(\\d+)\\.(xml|bin|bin\\.gz)$");
 	/** name of the Population Directory option */
 	public static final String			POPULATION_DIRECTORY	= "Population Directory";
 	/** name of the Data Directory option */
@@ -189,7 +190,7 @@ public class ReadPopulationsTool extends XEvoTool {
 						File[] newFiles = populationDir.listFiles(new FileFilter() {
 							@Override
 							public boolean accept(File pathname) {
-								return pathname.lastModified() > latest && pathname.getName().endsWith(".xml");
+								return pathname.lastModified() > latest && SnapshotFormat.forFile(pathname) != null;
 							}
 						});
 						if (newFiles.length == 0) {
@@ -43,7 +43,8 @@ public class DummyEvolutionStrategy extends AbstractEvolutionStrategy<String, St
 				null);
 	}
 
-	private String	trace	= "";
+	private String	trace							= "";
+	private boolean	incrementalStatsOnInitialize	= false;
 
 	/**
 	 * @return the trace
@@ -52,6 +53,14 @@ public class DummyEvolutionStrategy extends AbstractEvolutionStrategy<String, St
 		return trace;
 	}
 
+	/**
+	 * @return whether the population kept incremental statistics when
+	 *         initialized
+	 */
+	public boolean isIncrementalStatsOnInitialize() {
+		return incrementalStatsOnInitialize;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -74,6 +83,7 @@ public class DummyEvolutionStrategy extends AbstractEvolutionStrategy<String, St
 	@Override
 	public void initialize(Population<String> population) {
 		trace += "i";
+		incrementalStatsOnInitialize = population.isIncrementalStats();
 		super.initialize(population);
 	}
 
@@ -22,13 +22,26 @@
 package com.xtructure.xevolution.evolution.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.containsKey;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThanOrEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.testng.annotations.Test;
 
+import com.xtructure.xevolution.config.EvolutionFieldMap;
+import com.xtructure.xevolution.config.impl.EvolutionConfigurationImpl;
+import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.GenomeDecoder;
 import com.xtructure.xevolution.genetics.impl.DummyGenomeDecoder;
+import com.xtructure.xevolution.genetics.impl.GenomeImpl;
+import com.xtructure.xevolution.genetics.impl.PopulationImpl;
+import com.xtructure.xutil.RandomUtil;
+import com.xtructure.xutil.id.XId;
 
 /**
  * @author Luis Guimbarda
@@ -48,4 +61,109 @@ public class UTestAbstractEvaluationStrategy {
 				new DummyEvaluationStrategy(genomeDecoder).getGenomeDecoder(),//
 				isSameAs(genomeDecoder));
 	}
+
+	public void getEvaluationThreadCountReturnsExpectedValue() {
+		assertThat("",//
+				new DummyEvaluationStrategy(new DummyGenomeDecoder()).getEvaluationThreadCount(),//
+				isEqualTo(1));
+		assertThat("",//
+				new RandomEvaluationStrategy(newFieldMap(4), null).getEvaluationThreadCount(),//
+				isEqualTo(4));
+	}
+
+	public void evaluatePopulationSetsFitnessOfEveryGenome() {
+		for (int threadCount : new int[] { 1, 4 }) {
+			PopulationImpl population = newPopulation(20);
+			new RandomEvaluationStrategy(newFieldMap(threadCount), null).evaluatePopulation(population);
+			for (Genome<String> genome : population) {
+				assertThat("",//
+						genome.getFitness(),//
+						isGreaterThanOrEqualTo(1.0));
+			}
+		}
+	}
+
+	public void evaluatePopulationIsReproducibleAcrossThreadCounts() {
+		PopulationImpl population = newPopulation(20);
+		RandomUtil.setSeed(42l);
+		new RandomEvaluationStrategy(newFieldMap(4), null).evaluatePopulation(population);
+		Map<XId, Double> expected = new HashMap<XId, Double>();
+		for (Genome<String> genome : population) {
+			expected.put(genome.getId(), genome.getFitness());
+		}
+		RandomUtil.setSeed(42l);
+		new RandomEvaluationStrategy(newFieldMap(2), null).evaluatePopulation(population);
+		for (Genome<String> genome : population) {
+			assertThat("",//
+					genome.getFitness(),//
+					isEqualTo(expected.get(genome.getId())));
+		}
+	}
+
+	public void evaluatePopulationIsReproducibleOnOneThread() {
+		PopulationImpl population = newPopulation(20);
+		RandomUtil.setSeed(42l);
+		new RandomEvaluationStrategy(newFieldMap(1), null).evaluatePopulation(population);
+		Map<XId, Double> expected = new HashMap<XId, Double>();
+		for (Genome<String> genome : population) {
+			expected.put(genome.getId(), genome.getFitness());
+		}
+		RandomUtil.setSeed(42l);
+		new RandomEvaluationStrategy(newFieldMap(4), null).evaluatePopulation(population);
+		for (Genome<String> genome : population) {
+			assertThat("",//
+					genome.getFitness(),//
+					isEqualTo(expected.get(genome.getId())));
+		}
+	}
+
+	public void evaluatePopulationRecordsFailures() {
+		PopulationImpl population = newPopulation(10);
+		XId failingId = population.iterator().next().getId();
+		RandomEvaluationStrategy evaluationStrategy = new RandomEvaluationStrategy(newFieldMap(4), failingId);
+		evaluationStrategy.evaluatePopulation(population);
+		assertThat("",//
+				evaluationStrategy.getFailures().size(),//
+				isEqualTo(1));
+		assertThat("",//
+				evaluationStrategy.getFailures(),//
+				containsKey(failingId));
+		for (Genome<String> genome : population) {
+			assertThat("",//
+					genome.getFitness(),//
+					genome.getId().equals(failingId) ? isEqualTo(0.0) : isGreaterThanOrEqualTo(1.0));
+		}
+	}
+
+	private static EvolutionFieldMap newFieldMap(int threadCount) {
+		return EvolutionConfigurationImpl.builder()//
+				.setEvaluationThreadCount(threadCount)//
+				.newInstance()//
+				.newFieldMap();
+	}
+
+	private static PopulationImpl newPopulation(int size) {
+		PopulationImpl population = new PopulationImpl(0);
+		for (int i = 0; i < size; i++) {
+			population.add(new GenomeImpl(i, "genome" + i));
+		}
+		return population;
+	}
+
+	private static final class RandomEvaluationStrategy extends AbstractEvaluationStrategy<String, String> {
+		private final XId	failingId;
+
+		private RandomEvaluationStrategy(EvolutionFieldMap evolutionFieldMap, XId failingId) {
+			super(new DummyGenomeDecoder(), evolutionFieldMap);
+			this.failingId = failingId;
+		}
+
+		@Override
+		public double simulate(Genome<String> genome) {
+			if (genome.getId().equals(failingId)) {
+				throw new IllegalStateException("failing genome");
+			}
+			return 1.0 + RandomUtil.nextDouble();
+		}
+	}
 }
@@ -23,9 +23,11 @@ package com.xtructure.xevolution.evolution.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
 import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.isNull;
 import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
 
 import org.testng.annotations.Test;
 
@@ -144,6 +146,8 @@ public class UTestAbstractEvolutionStrategy {
 				EVOLUTION_STRATEGY.getSurvivalFilter(), isSameAs(SURVIVAL_FILTER));
 		assertThat("",//
 				EVOLUTION_STRATEGY.getOutputDir(), isNull());
+		assertThat("",//
+				EVOLUTION_STRATEGY.getSnapshotWriter(), isNull());
 	}
 
 	public void startBehavesAsExpected() {
@@ -153,5 +157,9 @@ public class UTestAbstractEvolutionStrategy {
 		EVOLUTION_STRATEGY.start(population);
 		assertThat("",//
 				EVOLUTION_STRATEGY.getTrace(), isEqualTo("ieeeeeeeeee"));
+		assertThat("",//
+				EVOLUTION_STRATEGY.isIncrementalStatsOnInitialize(), isTrue());
+		assertThat("",//
+				population.isIncrementalStats(), isFalse());
 	}
 }
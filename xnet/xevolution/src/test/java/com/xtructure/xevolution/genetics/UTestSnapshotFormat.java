@@ -0,0 +1,209 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xevolution.
+ *
+ * xevolution is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xevolution is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xevolution.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xevolution.genetics;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
+import static com.xtructure.xutil.valid.ValidateUtils.isNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+import org.testng.annotations.Test;
+
+import com.xtructure.xevolution.genetics.impl.DummyGenome;
+import com.xtructure.xevolution.genetics.impl.DummyPopulation;
+import com.xtructure.xevolution.genetics.impl.GenomeImpl;
+import com.xtructure.xevolution.genetics.impl.PopulationImpl;
+import com.xtructure.xutil.bin.BinaryReader;
+import com.xtructure.xutil.xml.XmlWriter;
+
+/**
+ * @author Luis Guimbarda
+ * 
+ */
+@Test(groups = { "unit:xevolution" })
+public class UTestSnapshotFormat {
+	private static PopulationImpl newPopulation() {
+		PopulationImpl population = new PopulationImpl(0);
+		for (int i = 0; i < 3; i++) {
+			GenomeImpl genome = new GenomeImpl(i, "asdf" + i);
+			genome.setAttribute(Genome.FITNESS_ATTRIBUTE_ID, (double) i);
+			population.add(genome);
+		}
+		population.refreshStats();
+		return population;
+	}
+
+	public void forFileReturnsFormatByExtension() {
+		for (SnapshotFormat format : SnapshotFormat.values()) {
+			assertThat("",//
+					SnapshotFormat.forFile(format.getFile(new File("."), "Population0")), isSameAs(format));
+		}
+		assertThat("",//
+				SnapshotFormat.forFile(new File("Population0.BIN.GZ")), isSameAs(SnapshotFormat.COMPRESSED_BINARY));
+		assertThat("",//
+				SnapshotFormat.forFile(new File("Population0.tmp")), isNull());
+	}
+
+	public void getBaseNameStripsExtension() {
+		for (SnapshotFormat format : SnapshotFormat.values()) {
+			assertThat("",//
+					SnapshotFormat.getBaseName(format.getFile(new File("."), "Population0")), isEqualTo("Population0"));
+		}
+		assertThat("",//
+				SnapshotFormat.getBaseName(new File("Population0.tmp")), isEqualTo("Population0.tmp"));
+	}
+
+	public void writeAndReadBehaveAsExpected() throws IOException {
+		PopulationImpl population = newPopulation();
+		String expected = XmlWriter.write(population);
+		for (SnapshotFormat format : SnapshotFormat.values()) {
+			File file = format.getFile(new File("."), UUID.randomUUID().toString());
+			try {
+				format.write(file, population);
+				assertThat("",//
+						SnapshotFormat.FILE_FILTER.accept(file), isTrue());
+				PopulationImpl pop = format.read(file);
+				assertThat("",//
+						XmlWriter.write(pop), isEqualTo(expected));
+				pop = SnapshotFormat.readSnapshot(file);
+				assertThat("",//
+						XmlWriter.write(pop), isEqualTo(expected));
+			} finally {
+				file.delete();
+			}
+		}
+	}
+
+	public void writePopulationRenamesTempFile() throws IOException {
+		PopulationImpl population = newPopulation();
+		File outputDir = new File(".");
+		for (SnapshotFormat format : SnapshotFormat.values()) {
+			File file = format.getFile(outputDir, "Population" + population.getAge());
+			try {
+				assertThat("",//
+						file.exists(), isFalse());
+				population.write(outputDir, format);
+				assertThat("",//
+						file.exists(), isTrue());
+				assertThat("",//
+						new File(outputDir, "Population" + population.getAge() + ".tmp").exists(), isFalse());
+			} finally {
+				file.delete();
+			}
+		}
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void writePopulationThrowsExceptionOnFailedRename() throws IOException {
+		PopulationImpl population = newPopulation();
+		File outputDir = new File(".");
+		// a non-empty directory in place of the snapshot blocks the rename
+		File file = SnapshotFormat.BINARY.getFile(outputDir, "Population" + population.getAge());
+		File blocker = new File(file, "blocker");
+		blocker.mkdirs();
+		try {
+			population.write(outputDir, SnapshotFormat.BINARY);
+		} finally {
+			blocker.delete();
+			file.delete();
+		}
+	}
+
+	public void convertWritesEquivalentFile() throws IOException {
+		PopulationImpl population = newPopulation();
+		String expected = XmlWriter.write(population);
+		String baseName = UUID.randomUUID().toString();
+		for (SnapshotFormat from : SnapshotFormat.values()) {
+			for (SnapshotFormat to : SnapshotFormat.values()) {
+				File file = from.getFile(new File("."), baseName);
+				File converted = null;
+				try {
+					from.write(file, population);
+					converted = SnapshotFormat.convert(file, to);
+					assertThat("",//
+							converted.getName(), isEqualTo(baseName + to.getExtension()));
+					PopulationImpl pop = SnapshotFormat.readSnapshot(converted);
+					assertThat("",//
+							XmlWriter.write(pop), isEqualTo(expected));
+				} finally {
+					file.delete();
+					if (converted != null) {
+						converted.delete();
+					}
+				}
+			}
+		}
+	}
+
+	public void writeEncodedIsUnaffectedByLaterChanges() throws IOException {
+		for (SnapshotFormat format : SnapshotFormat.values()) {
+			PopulationImpl population = newPopulation();
+			String expected = XmlWriter.write(population);
+			byte[] encoded = format.encode(population);
+			population.add(new GenomeImpl(3, "asdf3"));
+			population.incrementAge();
+			File file = format.getFile(new File("."), UUID.randomUUID().toString());
+			try {
+				format.write(file, encoded);
+				PopulationImpl pop = format.read(file);
+				assertThat("",//
+						XmlWriter.write(pop), isEqualTo(expected));
+			} finally {
+				file.delete();
+			}
+		}
+	}
+
+	public void encodeXmlWithoutBinaryFormatEncodesXml() throws IOException {
+		DummyPopulation population = new DummyPopulation(0);
+		population.add(new DummyGenome(0, "asdf"));
+		String expected = XmlWriter.write(population);
+		byte[] encoded = SnapshotFormat.XML.encode(population);
+		assertThat("",//
+				BinaryReader.isBinary(encoded), isFalse());
+		File file = SnapshotFormat.XML.getFile(new File("."), UUID.randomUUID().toString());
+		try {
+			SnapshotFormat.XML.write(file, encoded);
+			DummyPopulation pop = SnapshotFormat.XML.read(file);
+			assertThat("",//
+					XmlWriter.write(pop), isEqualTo(expected));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void readSnapshotThrowsExceptionOnUnrecognizedExtension() throws IOException {
+		SnapshotFormat.readSnapshot(new File("Population0.tmp"));
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void readThrowsExceptionOnMissingFile() throws IOException {
+		SnapshotFormat.BINARY.read(new File(UUID.randomUUID().toString()));
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xevolution.
+ *
+ * xevolution is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xevolution is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xevolution.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xevolution.genetics;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.xtructure.xevolution.genetics.SnapshotWriter.BackPressure;
+import com.xtructure.xevolution.genetics.impl.GenomeImpl;
+import com.xtructure.xevolution.genetics.impl.PopulationImpl;
+import com.xtructure.xutil.xml.XmlWriter;
+
+/**
+ * @author Luis Guimbarda
+ * 
+ */
+@Test(groups = { "unit:xevolution" })
+public class UTestSnapshotWriter {
+	private static PopulationImpl newPopulation() {
+		PopulationImpl population = new PopulationImpl(0);
+		for (int i = 0; i < 3; i++) {
+			GenomeImpl genome = new GenomeImpl(i, "asdf" + i);
+			genome.setAttribute(Genome.FITNESS_ATTRIBUTE_ID, (double) i);
+			population.add(genome);
+		}
+		population.refreshStats();
+		return population;
+	}
+
+	private static File newOutputDir() throws IOException {
+		File dir = File.createTempFile("snapshots", "");
+		dir.delete();
+		dir.mkdirs();
+		return dir;
+	}
+
+	private static void delete(File dir) {
+		for (File file : dir.listFiles()) {
+			file.delete();
+		}
+		dir.delete();
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void constructorWithNonPositiveCapacityThrowsException() {
+		new SnapshotWriter(0, BackPressure.BLOCK);
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void constructorWithNullBackPressureThrowsException() {
+		new SnapshotWriter(1, null);
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void constructorWithNonPositiveIntervalThrowsException() {
+		new SnapshotWriter(1, BackPressure.EVERY_NTH, 0);
+	}
+
+	public void gettersReturnExpectedValues() {
+		SnapshotWriter writer = new SnapshotWriter(3, BackPressure.EVERY_NTH, 5);
+		assertThat("",//
+				writer.getCapacity(), isEqualTo(3));
+		assertThat("",//
+				writer.getBackPressure(), isSameAs(BackPressure.EVERY_NTH));
+		assertThat("",//
+				writer.getInterval(), isEqualTo(5));
+		assertThat("",//
+				writer.getDroppedCount(), isEqualTo(0l));
+		assertThat("",//
+				new SnapshotWriter(3, BackPressure.BLOCK, 5).getInterval(), isEqualTo(1));
+	}
+
+	public void blockWritesEveryGeneration() throws IOException {
+		for (SnapshotFormat format : SnapshotFormat.values()) {
+			File dir = newOutputDir();
+			try {
+				SnapshotWriter writer = new SnapshotWriter(1, BackPressure.BLOCK);
+				PopulationImpl population = newPopulation();
+				List<String> expected = new ArrayList<String>();
+				for (int i = 0; i < 5; i++) {
+					expected.add(XmlWriter.write(population));
+					assertThat("",//
+							writer.write(population, dir, format), isTrue());
+					population.add(new GenomeImpl(3 + i, "qwer" + i));
+					population.incrementAge();
+				}
+				writer.close();
+				assertThat("",//
+						dir.listFiles().length, isEqualTo(5));
+				for (int i = 0; i < 5; i++) {
+					PopulationImpl pop = SnapshotFormat.readSnapshot(format.getFile(dir, "Population" + i));
+					assertThat("",//
+							XmlWriter.write(pop), isEqualTo(expected.get(i)));
+				}
+			} finally {
+				delete(dir);
+			}
+		}
+	}
+
+	public void dropIntermediateWritesLastGeneration() throws IOException {
+		File dir = newOutputDir();
+		try {
+			SnapshotWriter writer = new SnapshotWriter(1, BackPressure.DROP_INTERMEDIATE);
+			PopulationImpl population = newPopulation();
+			for (int i = 0; i < 20; i++) {
+				assertThat("",//
+						writer.write(population, dir, SnapshotFormat.COMPRESSED_BINARY), isTrue());
+				population.incrementAge();
+			}
+			writer.close();
+			assertThat("",//
+					SnapshotFormat.COMPRESSED_BINARY.getFile(dir, "Population19").exists(), isTrue());
+			assertThat("",//
+					dir.listFiles().length + writer.getDroppedCount(), isEqualTo(20l));
+		} finally {
+			delete(dir);
+		}
+	}
+
+	public void everyNthWritesEveryNthAndLastGeneration() throws IOException {
+		File dir = newOutputDir();
+		try {
+			SnapshotWriter writer = new SnapshotWriter(2, BackPressure.EVERY_NTH, 3);
+			PopulationImpl population = newPopulation();
+			for (int i = 0; i < 8; i++) {
+				assertThat("",//
+						writer.write(population, dir, SnapshotFormat.BINARY), isEqualTo(i % 3 == 0));
+				if (i < 7) {
+					population.incrementAge();
+				}
+			}
+			writer.finish(population, dir, SnapshotFormat.BINARY);
+			assertThat("",//
+					dir.listFiles().length, isEqualTo(4));
+			for (int i : new int[] { 0, 3, 6, 7 }) {
+				assertThat("",//
+						SnapshotFormat.BINARY.getFile(dir, "Population" + i).exists(), isTrue());
+			}
+		} finally {
+			delete(dir);
+		}
+	}
+
+	public void writeAfterCloseRestartsWriter() throws IOException {
+		File dir = newOutputDir();
+		try {
+			SnapshotWriter writer = new SnapshotWriter(1, BackPressure.BLOCK);
+			PopulationImpl population = newPopulation();
+			writer.write(population, dir, SnapshotFormat.BINARY);
+			writer.close();
+			population.incrementAge();
+			writer.write(population, dir, SnapshotFormat.BINARY);
+			writer.flush();
+			assertThat("",//
+					SnapshotFormat.BINARY.getFile(dir, "Population1").exists(), isTrue());
+			writer.close();
+			assertThat("",//
+					new File(dir, "Population1.tmp").exists(), isFalse());
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void closeThrowsExceptionOnFailedWrite() throws IOException {
+		File dir = newOutputDir();
+		try {
+			SnapshotWriter writer = new SnapshotWriter(1, BackPressure.BLOCK);
+			writer.write(newPopulation(), new File(dir, "missing"), SnapshotFormat.BINARY);
+			writer.close();
+		} finally {
+			delete(dir);
+		}
+	}
+}
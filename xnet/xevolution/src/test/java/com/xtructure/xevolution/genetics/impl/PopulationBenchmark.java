@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xevolution.
+ *
+ * xevolution is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xevolution is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xevolution.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xevolution.genetics.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.LogManager;
+
+import com.xtructure.xutil.XLogger;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Measures genome lookups on a shared population from several threads. Each
+ * lookup fetches the population's logger three times, so it compares the
+ * synchronized log4j hierarchy lookup that backed every getLogger() call
+ * against the cached handles now returned by {@link XLogger}.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class PopulationBenchmark {
+	/** number of genomes in the population */
+	private static final int	GENOMES	= 1000;
+
+	/** number of lookups per iteration */
+	private static final int	CALLS	= 100000;
+
+	/** number of threads for the contended measurements */
+	private static final int	THREADS	= 4;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		final DummyPopulation population = new DummyPopulation(0);
+		for (int i = 0; i < GENOMES; i++) {
+			population.add(new DummyGenome(i, "genome" + i));
+		}
+		final List<XId> ids = new ArrayList<XId>(population.keySet());
+		final String name = DummyPopulation.class.getName();
+		MicroBenchmark benchmark = new MicroBenchmark(PopulationBenchmark.class.getSimpleName(), CALLS);
+		Operation log4jLookup = new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				for (int i = 0; i < CALLS; i++) {
+					sum += LogManager.getLogger(name).hashCode() & 1;
+				}
+				return sum;
+			}
+		};
+		Operation cachedLookup = new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				for (int i = 0; i < CALLS; i++) {
+					sum += XLogger.getInstance(name).hashCode() & 1;
+				}
+				return sum;
+			}
+		};
+		Operation populationGet = new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				for (int i = 0; i < CALLS; i++) {
+					sum += population.get(ids.get(i % GENOMES)).getData().length();
+				}
+				return sum;
+			}
+		};
+		benchmark.measure("log4jLookup", log4jLookup);
+		benchmark.measure("log4jLookup", THREADS, log4jLookup);
+		benchmark.measure("cachedLookup", cachedLookup);
+		benchmark.measure("cachedLookup", THREADS, cachedLookup);
+		benchmark.measure("populationGet", populationGet);
+		benchmark.measure("populationGet", THREADS, populationGet);
+		System.out.println(benchmark.getSink());
+	}
+
+	private PopulationBenchmark() {}
+}
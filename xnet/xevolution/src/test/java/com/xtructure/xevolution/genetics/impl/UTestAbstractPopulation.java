@@ -28,11 +28,13 @@ import static com.xtructure.xutil.valid.ValidateUtils.hasSize;
 import static com.xtructure.xutil.valid.ValidateUtils.isEmpty;
 import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
+import static com.xtructure.xutil.valid.ValidateUtils.isLessThan;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.isNull;
 import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
 import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -46,6 +48,7 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
 import org.testng.annotations.Test;
 
+import com.xtructure.xevolution.genetics.GeneticsObject;
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.Population;
 import com.xtructure.xutil.RandomUtil;
@@ -419,6 +422,106 @@ public class UTestAbstractPopulation {
 		return sb.toString();
 	}
 
+	public void refreshStatsMatchesSortedGenomes() {
+		DummyPopulation population = new DummyPopulation(0);
+		for (int i = 0; i < 50; i++) {
+			population.add(newRandomGenome(i));
+		}
+		population.refreshStats();
+		assertStatsMatchSortedGenomes(population);
+	}
+
+	public void incrementalStatsBehaveAsExpected() {
+		DummyPopulation population = new DummyPopulation(0);
+		assertThat("",//
+				population.isIncrementalStats(), isFalse());
+		for (int i = 0; i < 20; i++) {
+			population.add(newRandomGenome(i));
+		}
+		population.setIncrementalStats(true);
+		assertThat("",//
+				population.isIncrementalStats(), isTrue());
+		for (int i = 20; i < 50; i++) {
+			population.add(newRandomGenome(i));
+		}
+		population.refreshStats();
+		assertStatsMatchSortedGenomes(population);
+		for (int round = 0; round < 10; round++) {
+			for (Genome<String> genome : population) {
+				genome.setFitness(RandomUtil.nextInteger(10));
+				if (RandomUtil.eventOccurs(0.5)) {
+					genome.setAttribute(INTEGER_ID, RandomUtil.nextInteger(10));
+				}
+			}
+			population.remove(population.getHighestGenomeByAttribute(Genome.FITNESS_ATTRIBUTE_ID));
+			population.remove(population.getLowestGenomeByAttribute(INTEGER_ID).getId());
+			population.iterator().next().markForDeath();
+			population.removeDeadGenomes();
+			population.add(newRandomGenome(100 + round));
+			population.refreshStats();
+			assertStatsMatchSortedGenomes(population);
+		}
+		Genome<String> removed = population.iterator().next();
+		population.remove(removed);
+		population.setIncrementalStats(false);
+		removed.setFitness(100.0);
+		population.refreshStats();
+		assertStatsMatchSortedGenomes(population);
+	}
+
+	public void incrementalStatsFollowDirectAttributeWrites() {
+		DummyPopulation population = new DummyPopulation(0);
+		for (int i = 0; i < 20; i++) {
+			population.add(newRandomGenome(i));
+		}
+		population.setIncrementalStats(true);
+		population.refreshStats();
+		Genome<String> genome = population.iterator().next();
+		genome.getAttributes().set(Genome.FITNESS_ATTRIBUTE_ID, 100.0);
+		population.refreshStats();
+		assertStatsMatchSortedGenomes(population);
+		assertThat("",//
+				population.getHighestGenomeByAttribute(Genome.FITNESS_ATTRIBUTE_ID), isSameAs(genome));
+		ValueMap values = new ValueMap();
+		values.set(Genome.FITNESS_ATTRIBUTE_ID, -100.0);
+		values.set(INTEGER_ID, 100);
+		genome.getAttributes().setAll(values);
+		population.refreshStats();
+		assertStatsMatchSortedGenomes(population);
+		assertThat("",//
+				population.getLowestGenomeByAttribute(Genome.FITNESS_ATTRIBUTE_ID), isSameAs(genome));
+		assertThat("",//
+				population.getHighestGenomeByAttribute(INTEGER_ID), isSameAs(genome));
+	}
+
+	private static Genome<String> newRandomGenome(int idNumber) {
+		Genome<String> genome = new GenomeImpl(idNumber, "");
+		genome.setFitness(RandomUtil.nextInteger(10));
+		if (RandomUtil.eventOccurs(0.8)) {
+			genome.setAttribute(INTEGER_ID, RandomUtil.nextInteger(10));
+		}
+		return genome;
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static void assertStatsMatchSortedGenomes(DummyPopulation population) {
+		List<Genome<String>> genomes = new ArrayList<Genome<String>>(population);
+		for (XValId<?> valueId : Arrays.<XValId<?>> asList(Genome.FITNESS_ATTRIBUTE_ID, INTEGER_ID)) {
+			Collections.sort(genomes, new GeneticsObject.ByAttribute(valueId, true));
+			double sum = 0.0;
+			for (Genome<String> genome : genomes) {
+				Number value = (Number) genome.getAttribute(valueId);
+				sum += value == null ? 0.0 : value.doubleValue();
+			}
+			assertThat("",//
+					population.getHighestGenomeByAttribute(valueId), isSameAs(genomes.get(0)));
+			assertThat("",//
+					population.getLowestGenomeByAttribute(valueId), isSameAs(genomes.get(genomes.size() - 1)));
+			assertThat("",//
+					Math.abs(population.getAverageGenomeAttribute(valueId) - sum / genomes.size()), isLessThan(1e-9));
+		}
+	}
+
 	public void removeBehavesAsExpected() {
 		DummyPopulation pop = new DummyPopulation(1);
 		Genome<String> genome0 = new DummyGenome(RandomUtil.nextInteger(100), "data");
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xevolution.
+ *
+ * xevolution is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xevolution is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xevolution.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xevolution.genetics.impl;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotSameAs;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
+
+import org.testng.annotations.Test;
+
+import com.xtructure.xevolution.genetics.Genome;
+
+/**
+ * @author Luis Guimbarda
+ * 
+ */
+@Test(groups = { "unit:xevolution" })
+public class UTestCachingGenomeDecoder {
+	public void constructorThrowsExceptionForNonPositiveCapacity() {
+		try {
+			new StringBuilderDecoder(true).withCache(0);
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		throw new AssertionError();
+	}
+
+	public void decodeReturnsNewTrialInstancesOfCachedPhenotype() {
+		StringBuilderDecoder decoder = new StringBuilderDecoder(true);
+		CachingGenomeDecoder<String, StringBuilder> cachingDecoder = decoder.withCache(2);
+		Genome<String> genome = new DummyGenome(0, "data");
+		StringBuilder first = cachingDecoder.decode(genome);
+		first.append("-modified");
+		StringBuilder second = cachingDecoder.decode(genome);
+		assertThat("",//
+				second, isNotSameAs(first));
+		assertThat("",//
+				second.toString(), isEqualTo("data"));
+		assertThat("",//
+				decoder.decodeCount, isEqualTo(1));
+		assertThat("",//
+				cachingDecoder.getMissCount(), isEqualTo(1l));
+		assertThat("",//
+				cachingDecoder.getHitCount(), isEqualTo(1l));
+	}
+
+	public void decodeEvictsLeastRecentlyUsedPhenotype() {
+		StringBuilderDecoder decoder = new StringBuilderDecoder(true);
+		CachingGenomeDecoder<String, StringBuilder> cachingDecoder = decoder.withCache(2);
+		Genome<String> genome0 = new DummyGenome(0, "0");
+		Genome<String> genome1 = new DummyGenome(1, "1");
+		Genome<String> genome2 = new DummyGenome(2, "2");
+		cachingDecoder.decode(genome0);
+		cachingDecoder.decode(genome1);
+		cachingDecoder.decode(genome0);
+		cachingDecoder.decode(genome2);
+		assertThat("",//
+				cachingDecoder.getSize(), isEqualTo(2));
+		cachingDecoder.decode(genome0);
+		assertThat("",//
+				cachingDecoder.getHitCount(), isEqualTo(2l));
+		cachingDecoder.decode(genome1);
+		assertThat("",//
+				cachingDecoder.getMissCount(), isEqualTo(4l));
+		assertThat("",//
+				decoder.decodeCount, isEqualTo(4));
+	}
+
+	public void decodeIgnoresCachedPhenotypeOfOtherGenomeWithSameId() {
+		StringBuilderDecoder decoder = new StringBuilderDecoder(true);
+		CachingGenomeDecoder<String, StringBuilder> cachingDecoder = decoder.withCache(2);
+		cachingDecoder.decode(new DummyGenome(0, "old"));
+		assertThat("",//
+				cachingDecoder.decode(new DummyGenome(0, "new")).toString(), isEqualTo("new"));
+		assertThat("",//
+				cachingDecoder.getHitCount(), isEqualTo(0l));
+	}
+
+	public void decodeFollowsDataVersion() {
+		StringBuilderDecoder decoder = new StringBuilderDecoder(true);
+		CachingGenomeDecoder<String, StringBuilder> cachingDecoder = decoder.withCache(2);
+		Genome<String> genome = new DummyGenome(0, "data");
+		cachingDecoder.decode(genome);
+		decoder.version++;
+		cachingDecoder.decode(genome);
+		assertThat("",//
+				cachingDecoder.getMissCount(), isEqualTo(2l));
+		cachingDecoder.decode(genome);
+		assertThat("",//
+				cachingDecoder.getHitCount(), isEqualTo(1l));
+	}
+
+	public void decodeDoesNotCacheUnreusablePhenotypes() {
+		StringBuilderDecoder decoder = new StringBuilderDecoder(false);
+		CachingGenomeDecoder<String, StringBuilder> cachingDecoder = decoder.withCache(2);
+		Genome<String> genome = new DummyGenome(0, "data");
+		StringBuilder first = cachingDecoder.decode(genome);
+		StringBuilder second = cachingDecoder.decode(genome);
+		assertThat("",//
+				second, isNotSameAs(first));
+		assertThat("",//
+				cachingDecoder.getSize(), isEqualTo(0));
+		assertThat("",//
+				decoder.decodeCount, isEqualTo(2));
+		assertThat("",//
+				cachingDecoder.getDecoder(), isSameAs(decoder));
+	}
+
+	private static final class StringBuilderDecoder extends AbstractGenomeDecoder<String, StringBuilder> {
+		private final boolean	reusable;
+		private int				decodeCount	= 0;
+		private long			version		= 0l;
+
+		private StringBuilderDecoder(boolean reusable) {
+			this.reusable = reusable;
+		}
+
+		@Override
+		public StringBuilder decode(Genome<String> genome) {
+			decodeCount++;
+			return new StringBuilder(genome.getData());
+		}
+
+		@Override
+		protected StringBuilder newTrialInstance(StringBuilder phenotype) {
+			return reusable ? new StringBuilder(phenotype) : null;
+		}
+
+		@Override
+		protected long getDataVersion(String data) {
+			return version;
+		}
+	}
+}
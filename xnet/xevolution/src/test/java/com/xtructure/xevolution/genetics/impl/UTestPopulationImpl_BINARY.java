@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xevolution.
+ *
+ * xevolution is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xevolution is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xevolution.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xevolution.genetics.impl;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.xtructure.xevolution.genetics.Genome;
+import com.xtructure.xutil.test.AbstractBinaryFormatTest;
+import com.xtructure.xutil.test.TestUtils;
+
+/**
+ * @author Luis Guimbarda
+ * 
+ */
+@Test(groups = { "binary:xevolution" })
+public class UTestPopulationImpl_BINARY extends AbstractBinaryFormatTest<PopulationImpl> {
+	private static final Object[][]	INSTANCES;
+	static {
+		PopulationImpl pop = new PopulationImpl(0);
+		for (int i = 0; i < 10; i++) {
+			GenomeImpl genome = new GenomeImpl(i, "asdf" + i);
+			genome.setAttribute(Genome.FITNESS_ATTRIBUTE_ID, (double) i);
+			pop.add(genome);
+		}
+		pop.incrementAge();
+		pop.refreshStats();
+		INSTANCES = TestUtils.createData(new PopulationImpl(1), pop);
+	}
+
+	public UTestPopulationImpl_BINARY() {
+		super(null);
+	}
+
+	@DataProvider
+	@Override
+	protected Object[][] instances() {
+		return INSTANCES;
+	}
+}
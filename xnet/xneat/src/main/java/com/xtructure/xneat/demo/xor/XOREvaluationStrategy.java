@@ -22,10 +22,12 @@
 package com.xtructure.xneat.demo.xor;
 
 import java.util.Arrays;
+import java.util.List;
 
 import com.xtructure.xevolution.evolution.EvaluationStrategy;
 import com.xtructure.xevolution.evolution.impl.AbstractEvaluationStrategy;
 import com.xtructure.xevolution.genetics.Genome;
+import com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap;
 import com.xtructure.xneat.genetics.GeneMap;
 import com.xtructure.xneat.genetics.impl.NEATGenomeDecoder;
 import com.xtructure.xneat.network.NeuralNetwork;
@@ -49,7 +51,7 @@ public class XOREvaluationStrategy extends AbstractEvaluationStrategy<GeneMap, N
 	}
 
 	/** */
-	private static final XOREvaluationStrategy	INSTANCE		= new XOREvaluationStrategy();
+	private static final XOREvaluationStrategy	INSTANCE		= new XOREvaluationStrategy(NEATGenomeDecoder.getInstance(), null);
 	/** get all outputs exactly right */
 	private static final double					CORRECT_BONUS	= Inputs.values().length;
 
@@ -57,8 +59,20 @@ public class XOREvaluationStrategy extends AbstractEvaluationStrategy<GeneMap, N
 		return INSTANCE;
 	}
 
-	private XOREvaluationStrategy() {
-		super(NEATGenomeDecoder.getInstance());
+	/**
+	 * Creates a new {@link XOREvaluationStrategy} whose genome decoder and
+	 * evaluation thread count are selected by the given field map.
+	 * 
+	 * @param fieldMap
+	 *            the {@link NEATEvolutionFieldMap} of the evolution
+	 * @return a new {@link XOREvaluationStrategy}
+	 */
+	public static XOREvaluationStrategy newInstance(NEATEvolutionFieldMap fieldMap) {
+		return new XOREvaluationStrategy(NEATGenomeDecoder.getInstance(fieldMap), fieldMap);
+	}
+
+	private XOREvaluationStrategy(NEATGenomeDecoder genomeDecoder, NEATEvolutionFieldMap fieldMap) {
+		super(genomeDecoder, fieldMap);
 	}
 
 	/*
@@ -86,13 +100,19 @@ public class XOREvaluationStrategy extends AbstractEvaluationStrategy<GeneMap, N
 		// indicates that the network outputs correctly on all inputs
 		boolean passed = true;
 		// shuffle inputs so network learns function and not output sequence
-		for (Inputs input : RandomUtil.shuffle(Arrays.asList(Inputs.values()))) {
-			double[] outputs = runNetwork(network, input.inputs);
-			if (outputs == null) {
-				// network didn't settle
-				return 0.0;
-			}
-			switch (input) {
+		List<Inputs> inputs = RandomUtil.shuffle(Arrays.asList(Inputs.values()));
+		double[][] inputSignals = new double[inputs.size()][];
+		for (int i = 0; i < inputSignals.length; i++) {
+			inputSignals[i] = inputs.get(i).inputs;
+		}
+		double[][] outputSignals = new double[inputSignals.length][1];
+		if (network.relaxNetwork(inputSignals, outputSignals, null, 10, 0.01) < inputSignals.length) {
+			// network didn't settle
+			return 0.0;
+		}
+		for (int i = 0; i < inputSignals.length; i++) {
+			double[] outputs = outputSignals[i];
+			switch (inputs.get(i)) {
 				case TT:
 				case FF: {
 					// inputs same => 0.0 output
@@ -111,14 +131,4 @@ public class XOREvaluationStrategy extends AbstractEvaluationStrategy<GeneMap, N
 		}
 		return fitness + (passed ? CORRECT_BONUS : 0.0);
 	}
-
-	private double[] runNetwork(NeuralNetwork network, double[] inputSignals) {
-		network.clearSignals();
-		network.setInputSignals(inputSignals);
-		if (!network.relaxNetwork(10, 0.01)) {
-			return null;
-		} else {
-			return network.getOutputSignals();
-		}
-	}
 }
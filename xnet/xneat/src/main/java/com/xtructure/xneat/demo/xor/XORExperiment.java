@@ -99,7 +99,7 @@ public class XORExperiment extends AbstractNEATEvolutionExperiment<GeneMap, Neur
 
 	@Override
 	protected GenomeDecoder<GeneMap, NeuralNetwork> createGenomeDecoder() {
-		return NEATGenomeDecoder.getInstance();
+		return NEATGenomeDecoder.getInstance(getEvolutionFieldMap());
 	}
 
 	@Override
@@ -148,7 +148,7 @@ public class XORExperiment extends AbstractNEATEvolutionExperiment<GeneMap, Neur
 
 	@Override
 	protected EvaluationStrategy<GeneMap, NeuralNetwork> createEvaluationStrategy() {
-		return XOREvaluationStrategy.getInstance();
+		return XOREvaluationStrategy.newInstance(getEvolutionFieldMap());
 	}
 
 	@Override
@@ -97,7 +97,7 @@ public class XORMain {
 				crossoverOperatorSelecter,//
 				mutateOperatorSelecter);
 		// create evaluationStrategy
-		EvaluationStrategy<GeneMap, NeuralNetwork> evaluationStrategy = XOREvaluationStrategy.getInstance();
+		EvaluationStrategy<GeneMap, NeuralNetwork> evaluationStrategy = XOREvaluationStrategy.newInstance(evolutionFieldMap);
 		// create survival filter
 		NEATSurvivalFilterImpl survivalFilter = new NEATSurvivalFilterImpl(evolutionFieldMap);
 		// create speciation strategy
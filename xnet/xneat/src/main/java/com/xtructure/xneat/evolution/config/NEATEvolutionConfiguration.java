@@ -41,6 +41,8 @@ public interface NEATEvolutionConfiguration extends EvolutionConfiguration {
 	public static final XValId<Double>	COMPATIBILITY_WEIGHT_DELTA_COEFFICIENT_ID			= XValId.newId("compatibilityWeightDeltaCoefficient", Double.class);
 	public static final XValId<Double>	COMPATIBILITY_DISJOUNT_COEFFICIENT_ID				= XValId.newId("compatibilityDisjointCoefficient", Double.class);
 	public static final XValId<Double>	COMPATIBILITY_EXCESS_COEFFICIENT_ID					= XValId.newId("compatibilityExcessCoefficient", Double.class);
+	public static final XValId<Boolean>	FEED_FORWARD_ACTIVATION_ID							= XValId.newId("feedForwardActivation", Boolean.class);
+	public static final XValId<Integer>	SPECIATION_THREAD_COUNT_ID							= XValId.newId("speciationThreadCount", Integer.class);
 	public static final String			INPUT_NODE_COUNT_DESCRIPTION						= "number of input nodes in phenotype networks";
 	public static final String			OUTPUT_NODE_COUNT_DESCRIPTION						= "number of output nodes in phenotype networks";
 	public static final String			BIAS_NODE_COUNT_DESCRIPTION							= "number of bias nodes in phenotype networks";
@@ -53,6 +55,8 @@ public interface NEATEvolutionConfiguration extends EvolutionConfiguration {
 	public static final String			COMPATIBILITY_WEIGHT_DELTA_COEFFICIENT_DESCRIPTION	= "gene weight delta coefficient for calculating genome compatibility";
 	public static final String			COMPATIBILITY_DISJOUNT_COEFFICIENT_DESCRIPTION		= "disjoint gene coefficient for calculating genome compatibility";
 	public static final String			COMPATIBILITY_EXCESS_COEFFICIENT_DESCRIPTION		= "excess gene coefficient for calculating genome compatibility";
+	public static final String			FEED_FORWARD_ACTIVATION_DESCRIPTION					= "whether acyclic phenotype networks are activated once in topological order";
+	public static final String			SPECIATION_THREAD_COUNT_DESCRIPTION					= "the number of threads searching for the closest species of genomes concurrently";
 	public static final int				INPUT_NODE_COUNT_DEFAULT							= 1;
 	public static final int				OUTPUT_NODE_COUNT_DEFAULT							= 1;
 	public static final int				BIAS_NODE_COUNT_DEFAULT								= 1;
@@ -65,6 +69,8 @@ public interface NEATEvolutionConfiguration extends EvolutionConfiguration {
 	public static final double			COMPATIBILITY_WEIGHT_DELTA_COEFFICIENT_DEFAULT		= 0.1;
 	public static final double			COMPATIBILITY_DISJOUNT_COEFFICIENT_DEFAULT			= 1.0;
 	public static final double			COMPATIBILITY_EXCESS_COEFFICIENT_DEFAULT			= 1.0;
+	public static final boolean			FEED_FORWARD_ACTIVATION_DEFAULT						= false;
+	public static final int				SPECIATION_THREAD_COUNT_DEFAULT						= 1;
 
 	/*
 	 * (non-Javadoc)
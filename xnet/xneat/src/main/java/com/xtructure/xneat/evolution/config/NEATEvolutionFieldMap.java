@@ -114,6 +114,21 @@ public interface NEATEvolutionFieldMap extends EvolutionFieldMap {
 	 */
 	public long speciesDropoffAge();
 
+	/**
+	 * Feed forward activation.
+	 *
+	 * @return true if acyclic phenotypes should be activated in a single
+	 *         topologically ordered pass, false otherwise
+	 */
+	public boolean feedForwardActivation();
+
+	/**
+	 * Speciation thread count.
+	 *
+	 * @return the int
+	 */
+	public int speciationThreadCount();
+
 	/**
 	 * Sets the compatibility weight delta coefficient.
 	 *
@@ -197,4 +212,18 @@ public interface NEATEvolutionFieldMap extends EvolutionFieldMap {
 	 * @param age the new species dropoff age
 	 */
 	public void setSpeciesDropoffAge(long age);
+
+	/**
+	 * Sets the feed forward activation flag.
+	 *
+	 * @param feedForward the new feed forward activation flag
+	 */
+	public void setFeedForwardActivation(boolean feedForward);
+
+	/**
+	 * Sets the speciation thread count.
+	 *
+	 * @param speciationThreadCount the new speciation thread count
+	 */
+	public void setSpeciationThreadCount(int speciationThreadCount);
 }
@@ -25,6 +25,7 @@ import java.util.Collection;
 
 import com.xtructure.xevolution.config.impl.AbstractEvolutionConfiguration;
 import com.xtructure.xneat.evolution.config.NEATEvolutionConfiguration;
+import com.xtructure.xutil.Range;
 import com.xtructure.xutil.config.XParameter;
 import com.xtructure.xutil.id.XId;
 
@@ -115,6 +116,18 @@ public abstract class AbstractNEATEvolutionConfiguration<S extends AbstractNEATE
 					false, true, compatibilityExcessCoefficient);
 		}
 
+		public B setFeedForwardActivation(boolean feedForwardActivation) {
+			return setBooleanXParameter(//
+					FEED_FORWARD_ACTIVATION_ID, FEED_FORWARD_ACTIVATION_DESCRIPTION,//
+					false, true, Range.FULL_BOOLEAN_RANGE, Range.getInstance(feedForwardActivation));
+		}
+
+		public B setSpeciationThreadCount(int speciationThreadCount) {
+			return setIntegerXParameter(//
+					SPECIATION_THREAD_COUNT_ID, SPECIATION_THREAD_COUNT_DESCRIPTION,//
+					false, true, speciationThreadCount);
+		}
+
 		@Override
 		protected void setRemainingToDefaults() {
 			super.setRemainingToDefaults();
@@ -154,6 +167,12 @@ public abstract class AbstractNEATEvolutionConfiguration<S extends AbstractNEATE
 			if (!isSet(COMPATIBILITY_EXCESS_COEFFICIENT_ID)) {
 				setCompatibilityExcessCoefficient(COMPATIBILITY_EXCESS_COEFFICIENT_DEFAULT);
 			}
+			if (!isSet(FEED_FORWARD_ACTIVATION_ID)) {
+				setFeedForwardActivation(FEED_FORWARD_ACTIVATION_DEFAULT);
+			}
+			if (!isSet(SPECIATION_THREAD_COUNT_ID)) {
+				setSpeciationThreadCount(SPECIATION_THREAD_COUNT_DEFAULT);
+			}
 		}
 	}
 }
@@ -121,6 +121,22 @@ public abstract class AbstractNEATEvolutionFieldMap extends AbstractEvolutionFie
 		return get(NEATEvolutionConfiguration.SPECIES_DROPOFF_AGE_ID);
 	}
 
+	/* (non-Javadoc)
+	 * @see com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap#feedForwardActivation()
+	 */
+	@Override
+	public boolean feedForwardActivation() {
+		return get(NEATEvolutionConfiguration.FEED_FORWARD_ACTIVATION_ID);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap#speciationThreadCount()
+	 */
+	@Override
+	public int speciationThreadCount() {
+		return get(NEATEvolutionConfiguration.SPECIATION_THREAD_COUNT_ID);
+	}
+
 	/* (non-Javadoc)
 	 * @see com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap#targetSpeciesCountMax()
 	 */
@@ -232,4 +248,20 @@ public abstract class AbstractNEATEvolutionFieldMap extends AbstractEvolutionFie
 	public void setSpeciesDropoffAge(long age) {
 		set(NEATEvolutionConfiguration.SPECIES_DROPOFF_AGE_ID, age);
 	}
+
+	/* (non-Javadoc)
+	 * @see com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap#setFeedForwardActivation(boolean)
+	 */
+	@Override
+	public void setFeedForwardActivation(boolean feedForward) {
+		set(NEATEvolutionConfiguration.FEED_FORWARD_ACTIVATION_ID, feedForward);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap#setSpeciationThreadCount(int)
+	 */
+	@Override
+	public void setSpeciationThreadCount(int speciationThreadCount) {
+		set(NEATEvolutionConfiguration.SPECIATION_THREAD_COUNT_ID, speciationThreadCount);
+	}
 }
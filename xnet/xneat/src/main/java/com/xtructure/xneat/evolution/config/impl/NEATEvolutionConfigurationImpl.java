@@ -28,6 +28,7 @@ import javolution.xml.stream.XMLStreamException;
 
 import com.xtructure.xneat.evolution.config.NEATEvolutionConfiguration;
 import com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap;
+import com.xtructure.xutil.config.BooleanXParameter;
 import com.xtructure.xutil.config.ConditionXParameter;
 import com.xtructure.xutil.config.DoubleXParameter;
 import com.xtructure.xutil.config.IntegerXParameter;
@@ -48,6 +49,7 @@ public class NEATEvolutionConfigurationImpl extends AbstractNEATEvolutionConfigu
 																									.add(DoubleXParameter.class)//
 																									.add(LongXParameter.class)//
 																									.add(ConditionXParameter.class)//
+																									.add(BooleanXParameter.class)//
 																									.newInstance();
 	public static final NEATEvolutionConfigurationImpl				DEFAULT_CONFIGURATION	= XmlReader.read(//
 																									NEATEvolutionConfigurationImpl.class//
@@ -111,11 +113,12 @@ public class NEATEvolutionConfigurationImpl extends AbstractNEATEvolutionConfigu
 			XId id = readAttributes.getValue(ID_ATTRIBUTE);
 			Builder builder = new Builder(id);
 			for (XParameter<?> parameter : collectParameters(readElements,//
-					POPULATION_SIZE_ID, MUTATION_PROBABILITY_ID, TERMINATION_CONDITION_ID,//
+					POPULATION_SIZE_ID, MUTATION_PROBABILITY_ID, TERMINATION_CONDITION_ID, EVALUATION_THREAD_COUNT_ID,//
 					INPUT_NODE_COUNT_ID, OUTPUT_NODE_COUNT_ID, BIAS_NODE_COUNT_ID,//
 					INITIAL_CONNECTION_PROBABILITY_ID, TARGET_SPECIES_COUNT_MIN_ID, TARGET_SPECIES_COUNT_MAX_ID,//
 					ELITE_PROPORTION_ID, INTERSPECIES_CROSSOVER_PROBABILITY_ID, SPECIES_DROPOFF_AGE_ID,//
-					COMPATIBILITY_WEIGHT_DELTA_COEFFICIENT_ID, COMPATIBILITY_DISJOUNT_COEFFICIENT_ID, COMPATIBILITY_EXCESS_COEFFICIENT_ID)) {
+					COMPATIBILITY_WEIGHT_DELTA_COEFFICIENT_ID, COMPATIBILITY_DISJOUNT_COEFFICIENT_ID, COMPATIBILITY_EXCESS_COEFFICIENT_ID,//
+					FEED_FORWARD_ACTIVATION_ID, SPECIATION_THREAD_COUNT_ID)) {
 				builder.addParameter(parameter);
 			}
 			return builder.newInstance();
@@ -21,15 +21,16 @@
  */
 package com.xtructure.xneat.evolution.impl;
 
-import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
-import static com.xtructure.xutil.valid.ValidateUtils.validateState;
-
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.Population;
@@ -39,7 +40,7 @@ import com.xtructure.xneat.genetics.GeneMap;
 import com.xtructure.xneat.genetics.Innovation;
 import com.xtructure.xneat.genetics.NEATGenome;
 import com.xtructure.xneat.genetics.NEATPopulation;
-import com.xtructure.xneat.genetics.link.LinkGene;
+import com.xtructure.xutil.DaemonExecutors;
 import com.xtructure.xutil.id.XId;
 
 /**
@@ -67,17 +68,34 @@ import com.xtructure.xutil.id.XId;
  * <li>the sum of those products is the compatibility of the two {@link GeneMap}
  * s.
  * </ol>
+ * <P>
+ * If the {@link NEATEvolutionFieldMap#speciationThreadCount()} is greater
+ * than one, genomes are placed in two phases. First, the representatives of
+ * the species are frozen and the closest of them to each genome is searched
+ * for concurrently. Then, in iteration order, genomes are added to the
+ * species found for them, and genomes that matched no species are placed
+ * among the species created in this second phase, as they would be
+ * sequentially. {@link #speciate(Population)} seeds the frozen species with
+ * the representatives of the previous species, and removes those that end up
+ * empty. The resulting species don't depend on the thread count, but may
+ * differ from those of a sequential pass.
  * 
  * @author Luis Guimbarda
  * 
  */
 public class NEATSpeciationStrategyImpl extends AbstractNEATSpeciationStrategy<GeneMap> {
 	/** factor by which to change the compatibility threshold delta */
-	private static final double	COMP_THRESH_DELTA_ACCELERATION			= 1.05;
+	private static final double			COMP_THRESH_DELTA_ACCELERATION			= 1.05;
+	/** number of concurrent search tasks per speciation thread */
+	private static final int			TASKS_PER_THREAD						= 4;
 	/** indicates that the compatibility threshold is being adjusted */
-	private boolean				speciationThresholdAdjustmentInProgress	= false;
+	private boolean						speciationThresholdAdjustmentInProgress	= false;
 	/** the amount by which to shift the compatibility threshold */
-	private double				compatibilityThresholdDelta				= 0.0;
+	private double						compatibilityThresholdDelta				= 0.0;
+	/** executor running concurrent closest species searches */
+	private ExecutorService				executor								= null;
+	/** number of threads of the executor */
+	private int							executorThreadCount						= 0;
 
 	/**
 	 * Creates a new {@link NEATSpeciationStrategyImpl}
@@ -94,15 +112,28 @@ public class NEATSpeciationStrategyImpl extends AbstractNEATSpeciationStrategy<G
 	public void speciate(Population<GeneMap> population) {
 		getLogger().trace("start %s.speciate(%s)", getClass().getSimpleName(), population);
 		NEATPopulation<GeneMap> pop = (NEATPopulation<GeneMap>) population;
-		pop.clearSpecies();
-		if (!pop.isEmpty()) {
-			// add genomes to closest species
-			for (Genome<GeneMap> genome : population) {
-				XId speciesId = findClosestSpecies(genome, pop, pop.getAttribute(NEATPopulation.COMPATIBILITY_THRESHOLD_ATTRIBUTE_ID));
-				if (speciesId == null) {
-					speciesId = pop.newSpecies();
+		int threadCount = getSpeciationThreadCount();
+		if (threadCount <= 1) {
+			pop.clearSpecies();
+			if (!pop.isEmpty()) {
+				// add genomes to closest species
+				placeGenomes(population, pop, new HashMap<XId, Genome<GeneMap>>());
+			}
+		} else {
+			// seed new species with the previous representatives
+			Collection<Genome<GeneMap>> previous = getRepresentatives(pop).values();
+			pop.clearSpecies();
+			if (!pop.isEmpty()) {
+				Map<XId, Genome<GeneMap>> representatives = new HashMap<XId, Genome<GeneMap>>();
+				for (Genome<GeneMap> representative : previous) {
+					representatives.put(pop.newSpecies(), representative);
+				}
+				placeGenomesConcurrently(new ArrayList<Genome<GeneMap>>(population), pop, representatives, threadCount);
+				for (XId speciesId : representatives.keySet()) {
+					if (pop.getSpecies(speciesId).isEmpty()) {
+						pop.removeSpecies(speciesId);
+					}
 				}
-				pop.addToSpecies((NEATGenome<GeneMap>) genome, speciesId);
 			}
 		}
 		getLogger().trace("end %s.speciate()", getClass().getSimpleName());
@@ -114,12 +145,11 @@ public class NEATSpeciationStrategyImpl extends AbstractNEATSpeciationStrategy<G
 		population.addAll(children);
 		NEATPopulation<GeneMap> pop = (NEATPopulation<GeneMap>) population;
 		// place the children with their closest species
-		for (Genome<GeneMap> genome : children) {
-			XId speciesId = findClosestSpecies(genome, pop, pop.getAttribute(NEATPopulation.COMPATIBILITY_THRESHOLD_ATTRIBUTE_ID));
-			if (speciesId == null) {
-				speciesId = pop.newSpecies();
-			}
-			pop.addToSpecies((NEATGenome<GeneMap>) genome, speciesId);
+		int threadCount = getSpeciationThreadCount();
+		if (threadCount <= 1) {
+			placeGenomes(children, pop, getRepresentatives(pop));
+		} else {
+			placeGenomesConcurrently(new ArrayList<Genome<GeneMap>>(children), pop, getRepresentatives(pop), threadCount);
 		}
 		getLogger().trace("end %s.speciateChildren()", getClass().getSimpleName());
 	}
@@ -182,7 +212,215 @@ public class NEATSpeciationStrategyImpl extends AbstractNEATSpeciationStrategy<G
 		getLogger().trace("end %s.respeciate()", getClass().getSimpleName());
 	}
 
-	private static final double	BOOL_VAL	= 10.0;
+	/**
+	 * Adds each of the given genomes to its closest species in the given
+	 * population, creating a new species for it if none is compatible. The
+	 * given map of species representatives is kept up to date as genomes are
+	 * added.
+	 * 
+	 * @param genomes
+	 *            the genomes to place
+	 * @param population
+	 *            the population containing the species
+	 * @param representatives
+	 *            map from species id to the fittest genome in that species
+	 */
+	private void placeGenomes(Iterable<Genome<GeneMap>> genomes, NEATPopulation<GeneMap> population, Map<XId, Genome<GeneMap>> representatives) {
+		double compatibilityThreshold = population.getAttribute(NEATPopulation.COMPATIBILITY_THRESHOLD_ATTRIBUTE_ID);
+		for (Genome<GeneMap> genome : genomes) {
+			XId speciesId = findClosestSpecies(genome, population, representatives, compatibilityThreshold);
+			if (speciesId == null) {
+				speciesId = population.newSpecies();
+			}
+			population.addToSpecies((NEATGenome<GeneMap>) genome, speciesId);
+			Genome<GeneMap> representative = representatives.get(speciesId);
+			if (representative == null || Genome.BY_FITNESS_DESC.compare(genome, representative) < 0) {
+				representatives.put(speciesId, genome);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of threads on which closest species are searched for.
+	 * 
+	 * @return the number of threads on which closest species are searched for
+	 */
+	public int getSpeciationThreadCount() {
+		return Math.max(1, getEvolutionFieldMap().speciationThreadCount());
+	}
+
+	/**
+	 * Adds each of the given genomes to its closest species in the given
+	 * population, searching the species whose representatives are given
+	 * concurrently on the given number of threads. Genomes compatible with none
+	 * of them are then placed one at a time among the species created for
+	 * such genomes.
+	 * 
+	 * @param genomes
+	 *            the genomes to place
+	 * @param population
+	 *            the population containing the species
+	 * @param representatives
+	 *            map from species id to the fittest genome in that species
+	 * @param threadCount
+	 *            the number of threads on which to search
+	 */
+	private void placeGenomesConcurrently(final List<Genome<GeneMap>> genomes, NEATPopulation<GeneMap> population, Map<XId, Genome<GeneMap>> representatives, int threadCount) {
+		final double compatibilityThreshold = population.getAttribute(NEATPopulation.COMPATIBILITY_THRESHOLD_ATTRIBUTE_ID);
+		// freeze the representatives, in the order species are searched
+		final List<XId> speciesIds = new ArrayList<XId>();
+		final List<Genome<GeneMap>> frozen = new ArrayList<Genome<GeneMap>>();
+		for (XId speciesId : population.getSpeciesIds()) {
+			Genome<GeneMap> representative = representatives.get(speciesId);
+			if (representative != null) {
+				speciesIds.add(speciesId);
+				frozen.add(representative);
+			}
+		}
+		// first phase: search the frozen species concurrently
+		final int[] closest = new int[genomes.size()];
+		int taskCount = Math.min(genomes.size(), threadCount * TASKS_PER_THREAD);
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(taskCount);
+		for (int t = 0; t < taskCount; t++) {
+			final int from = (int) ((long) genomes.size() * t / taskCount);
+			final int to = (int) ((long) genomes.size() * (t + 1) / taskCount);
+			tasks.add(new Callable<Object>() {
+				@Override
+				public Object call() {
+					for (int i = from; i < to; i++) {
+						closest[i] = findClosestRepresentative(genomes.get(i), frozen, compatibilityThreshold);
+					}
+					return null;
+				}
+			});
+		}
+		invokeAll(tasks, threadCount);
+		// second phase: add genomes to species in iteration order
+		Map<XId, Genome<GeneMap>> newRepresentatives = new HashMap<XId, Genome<GeneMap>>();
+		for (int i = 0; i < closest.length; i++) {
+			Genome<GeneMap> genome = genomes.get(i);
+			if (closest[i] >= 0) {
+				population.addToSpecies((NEATGenome<GeneMap>) genome, speciesIds.get(closest[i]));
+				continue;
+			}
+			XId speciesId = findClosestSpecies(genome, population, newRepresentatives, compatibilityThreshold);
+			if (speciesId == null) {
+				speciesId = population.newSpecies();
+			}
+			population.addToSpecies((NEATGenome<GeneMap>) genome, speciesId);
+			Genome<GeneMap> representative = newRepresentatives.get(speciesId);
+			if (representative == null || Genome.BY_FITNESS_DESC.compare(genome, representative) < 0) {
+				newRepresentatives.put(speciesId, genome);
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the representative among the given ones whose
+	 * compatibility with the given genome is most below the compatibility
+	 * threshold.
+	 * 
+	 * @param genome
+	 *            the genome to compare
+	 * @param representatives
+	 *            the representatives to compare with
+	 * @param compatibilityThreshold
+	 *            the threshold for compatibility, below which a genome is
+	 *            considered compatible with a species
+	 * @return the index of the most compatible representative, or -1 if none
+	 *         is compatible
+	 */
+	private int findClosestRepresentative(Genome<GeneMap> genome, List<Genome<GeneMap>> representatives, double compatibilityThreshold) {
+		int best = -1;
+		double bestCompatibility = compatibilityThreshold;
+		for (int i = 0; i < representatives.size(); i++) {
+			double compatibility = getCompatability(genome, representatives.get(i));
+			if (compatibility < bestCompatibility) {
+				best = i;
+				bestCompatibility = compatibility;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Runs the given tasks on the given number of threads and waits for them
+	 * to complete, rethrowing the first exception thrown by any of them.
+	 * 
+	 * @param tasks
+	 *            the tasks to run
+	 * @param threadCount
+	 *            the number of speciation threads
+	 */
+	private void invokeAll(List<Callable<Object>> tasks, int threadCount) {
+		List<Future<Object>> futures;
+		try {
+			futures = getExecutor(threadCount).invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while speciating population", e);
+		}
+		for (Future<Object> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted while speciating population", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw new IllegalStateException("speciation task failed", e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Returns the executor running closest species searches on the given
+	 * number of threads, replacing the current one if its thread count
+	 * differs. Its threads terminate when idle, so it needn't be shut down.
+	 * 
+	 * @param threadCount
+	 *            the number of speciation threads
+	 * @return the executor running closest species searches
+	 */
+	private synchronized ExecutorService getExecutor(int threadCount) {
+		if (executor == null || executorThreadCount != threadCount) {
+			if (executor != null) {
+				executor.shutdown();
+			}
+			executor = DaemonExecutors.newFixedThreadPool("speciation", threadCount);
+			executorThreadCount = threadCount;
+		}
+		return executor;
+	}
+
+	/**
+	 * Returns a map from the id of each non-empty species in the given
+	 * population to its fittest genome.
+	 * 
+	 * @param population
+	 *            the population containing the species
+	 * @return map from species id to the fittest genome in that species
+	 */
+	private Map<XId, Genome<GeneMap>> getRepresentatives(NEATPopulation<GeneMap> population) {
+		Map<XId, Genome<GeneMap>> representatives = new HashMap<XId, Genome<GeneMap>>();
+		for (XId speciesId : population.getSpeciesIds()) {
+			Genome<GeneMap> representative = null;
+			for (Genome<GeneMap> genome : population.getAll(population.getSpecies(speciesId))) {
+				if (representative == null || Genome.BY_FITNESS_DESC.compare(genome, representative) < 0) {
+					representative = genome;
+				}
+			}
+			if (representative != null) {
+				representatives.put(speciesId, representative);
+			}
+		}
+		return representatives;
+	}
 
 	/**
 	 * Calculates the compatibility of the two given genomes.
@@ -195,66 +433,11 @@ public class NEATSpeciationStrategyImpl extends AbstractNEATSpeciationStrategy<G
 	 */
 	private double getCompatability(Genome<GeneMap> genome1, Genome<GeneMap> genome2) {
 		getLogger().trace("start %s.getCompatability(%s, %s)", getClass().getSimpleName(), genome1, genome2);
-		List<LinkGene> links1 = genome1.getData().getLinks();
-		List<LinkGene> links2 = genome2.getData().getLinks();
-		if (links1.isEmpty() && links2.isEmpty()) {
-			return 0.0;
-		}
-		Map<XId, Double> weightDiffMap = new HashMap<XId, Double>();
-		int linksIndex1 = 0;
-		int linksIndex2 = 0;
-		int disjointCount = 0;
-		int excessCount = 0;
-		while (linksIndex1 <= links1.size() && linksIndex2 <= links2.size()) {
-			if (linksIndex1 == links1.size()) {
-				// rest are excess
-				excessCount += links2.size() - linksIndex2;
-				break;
-			}
-			if (linksIndex2 == links2.size()) {
-				// rest are excess
-				excessCount += links1.size() - linksIndex1;
-				break;
-			}
-			Innovation inn1 = links1.get(linksIndex1).getInnovation();
-			Innovation inn2 = links2.get(linksIndex2).getInnovation();
-			if (inn1.compareTo(inn2) < 0) {
-				disjointCount++;
-				linksIndex1++;
-			} else if (inn1.compareTo(inn2) > 0) {
-				disjointCount++;
-				linksIndex2++;
-			} else {
-				LinkGene link1 = links1.get(linksIndex1);
-				LinkGene link2 = links2.get(linksIndex2);
-				validateState("links have same config", link1.getFieldMap().getFieldIds(), isEqualTo(link2.getFieldMap().getFieldIds()));
-				for (XId id : link1.getFieldMap().getFieldIds()) {
-					Object attr1 = link1.getFieldMap().getField(id).getValue();
-					Object attr2 = link2.getFieldMap().getField(id).getValue();
-					double weightDiff = 0.0;
-					if (Number.class.isAssignableFrom(attr1.getClass())) {
-						weightDiff = ((Number) attr1).doubleValue() - ((Number) attr2).doubleValue();
-					} else if (id.getClass().equals(Boolean.class)) {
-						weightDiff = (((Boolean) attr1) ? BOOL_VAL : -BOOL_VAL) + (((Boolean) attr2) ? BOOL_VAL : -BOOL_VAL);
-					}
-					Double acc = weightDiffMap.get(id);
-					acc = acc == null ? 0.0 : acc;
-					weightDiffMap.put(id, acc + weightDiff * weightDiff);
-				}
-				linksIndex1++;
-				linksIndex2++;
-			}
-		}
-		int norm = Math.max(links1.size(), links2.size());
-		double weightDiffMag = 0.0;
-		for (XId id : weightDiffMap.keySet()) {
-			weightDiffMag += weightDiffMap.get(id);
-		}
-		weightDiffMag = Math.sqrt(weightDiffMag);
-		double matchScore = weightDiffMag * getEvolutionFieldMap().compatibilityWeightDeltaCoefficient();
-		double disjointScore = disjointCount * getEvolutionFieldMap().compatibilityDisjointCoefficient();
-		double excessScore = excessCount * getEvolutionFieldMap().compatibilityExcessCoefficient();
-		double rVal = (matchScore + disjointScore + excessScore) / norm;
+		double rVal = genome1.getData().getLinkProfile().getCompatibility(//
+				genome2.getData().getLinkProfile(),//
+				getEvolutionFieldMap().compatibilityWeightDeltaCoefficient(),//
+				getEvolutionFieldMap().compatibilityDisjointCoefficient(),//
+				getEvolutionFieldMap().compatibilityExcessCoefficient());
 		getLogger().trace("will return: %s", rVal);
 		getLogger().trace("end %s.getCompatability()", getClass().getSimpleName());
 		return rVal;
@@ -263,30 +446,29 @@ public class NEATSpeciationStrategyImpl extends AbstractNEATSpeciationStrategy<G
 	/**
 	 * Returns the species from among the given set of species whose
 	 * compatibility is most below the compatibility threshold. The comparisons
-	 * are made with a species most fit genome (or a random genome of the
-	 * fittest is not known).
+	 * are made with each species' representative, its most fit genome.
 	 * 
 	 * @param genome
 	 *            the genome to compare
 	 * @param population
 	 *            the population containing the collection of species to compare
+	 * @param representatives
+	 *            map from species id to the fittest genome in that species
 	 * @param compatibilityThreshold
 	 *            the threshold for compatibility, below which a genome is
 	 *            considered compatible with a species
 	 * @return the most compatible species, or null if no species is compatible
 	 */
-	private XId findClosestSpecies(Genome<GeneMap> genome, NEATPopulation<GeneMap> population, double compatibilityThreshold) {
+	private XId findClosestSpecies(Genome<GeneMap> genome, NEATPopulation<GeneMap> population, Map<XId, Genome<GeneMap>> representatives, double compatibilityThreshold) {
 		getLogger().trace("start %s.findClosestSpecies(%s, %s, %f)", getClass().getSimpleName(), genome, population, compatibilityThreshold);
 		XId bestSpecies = null;
 		double bestCompatibility = compatibilityThreshold;
 		for (XId speciesId : population.getSpeciesIds()) {
-			double compatibility;
-			if (population.getSpecies(speciesId).isEmpty()) {
+			Genome<GeneMap> representative = representatives.get(speciesId);
+			if (representative == null) {
 				continue;
 			}
-			List<Genome<GeneMap>> genomes = new ArrayList<Genome<GeneMap>>(population.getAll(population.getSpecies(speciesId)));
-			Collections.sort(genomes, Genome.BY_FITNESS_DESC);
-			compatibility = getCompatability(genome, genomes.get(0));
+			double compatibility = getCompatability(genome, representative);
 			if (compatibility < bestCompatibility) {
 				bestSpecies = speciesId;
 				bestCompatibility = compatibility;
@@ -24,11 +24,13 @@ package com.xtructure.xneat.genetics;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
 
+import java.io.IOException;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -43,7 +45,11 @@ import org.apache.commons.lang.builder.ToStringStyle;
 import com.xtructure.xneat.genetics.link.LinkGene;
 import com.xtructure.xneat.genetics.node.NodeGene;
 import com.xtructure.xutil.XLogger;
+import com.xtructure.xutil.bin.BinaryFormat;
+import com.xtructure.xutil.bin.BinaryInput;
+import com.xtructure.xutil.bin.BinaryOutput;
 import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.id.XIdObject;
 import com.xtructure.xutil.xml.ReadAttributes;
 import com.xtructure.xutil.xml.ReadElements;
 import com.xtructure.xutil.xml.XmlFormat;
@@ -61,25 +67,63 @@ import com.xtructure.xutil.xml.XmlUnit.Element;
  * incoming and outgoing)
  * </ol>
  * as well as other simple statistics, such as link and node count.
+ * <P>
+ * Nodes and links are kept in slot arrays, and the links incident on each node
+ * are kept as lists of link slots, from which the adjacency sets are read.
+ * Arrays of the links and nodes sorted by {@link Innovation} are built when
+ * first needed and cached until this gene map is modified.
+ * <P>
+ * A copy made with {@link #GeneMap(GeneMap)} shares its genes, slot arrays
+ * and id index with the original. Whichever of the two is modified first
+ * copies the slot arrays, and the link lists of only those nodes it touches,
+ * while additions to and removals from the id index are kept apart from the
+ * shared part until they grow large enough to be worth merging. A child that
+ * differs from its parent by a few genes thus costs little more than those
+ * genes. A gene map must not be modified while it is being copied.
  * 
  * @author Luis Guimbarda
  * 
  */
 public class GeneMap implements Collection<Gene> {
 	/** */
-	public static final XmlFormat<GeneMap>	XML_FORMAT		= new GeneMapXmlFormat();
+	public static final XmlFormat<GeneMap>		XML_FORMAT		= new GeneMapXmlFormat();
+	/** */
+	public static final BinaryFormat<GeneMap>	BINARY_FORMAT	= new GeneMapBinaryFormat();
 	/** {@link XLogger} for {@link GeneMap} */
 	private static final XLogger			LOGGER			= XLogger.getInstance(GeneMap.class);
-	/** gene map */
-	private final Map<XId, Gene>			geneMap;
-	/** maps a node's id to the set of its incoming links */
-	private final Map<XId, Set<XId>>		incomingLinksMap;
-	/** maps a node's id to the set of its outgoing links */
-	private final Map<XId, Set<XId>>		outgoingLinksMap;
-	/** maps a node's id to the set of nodes linked to it */
-	private final Map<XId, Set<XId>>		incomingNodesMap;
-	/** maps a node's id to the set of nodes its linked to */
-	private final Map<XId, Set<XId>>		outgoingNodesMap;
+	/** initial capacity of the slot arrays */
+	private static final int				INITIAL_CAPACITY	= 8;
+	/** empty list of link slots */
+	private static final int[]				NO_LINKS		= new int[0];
+	/**
+	 * maps the id of each gene to its slot: a node's slot, or the complement
+	 * of a link's slot
+	 */
+	private final SlotIndex					slots;
+	/** node genes, by slot */
+	private NodeGene[]						nodes;
+	/** link genes, by slot */
+	private LinkGene[]						links;
+	/** slots of each node's outgoing links, by node slot */
+	private int[][]							outgoingLinks;
+	/** number of each node's outgoing links, by node slot */
+	private int[]							outgoingCounts;
+	/** slots of each node's incoming links, by node slot */
+	private int[][]							incomingLinks;
+	/** number of each node's incoming links, by node slot */
+	private int[]							incomingCounts;
+	/** true while the slot arrays may be shared with a copy of this gene map */
+	private boolean							arraysShared	= false;
+	/**
+	 * whether each node's list of outgoing link slots belongs to this gene map,
+	 * by node slot, or null if all of them do
+	 */
+	private boolean[]						outgoingOwned	= null;
+	/**
+	 * whether each node's list of incoming link slots belongs to this gene map,
+	 * by node slot, or null if all of them do
+	 */
+	private boolean[]						incomingOwned	= null;
 	/** id number for the next link gene to be added to this genome */
 	private int								linkIdNumber	= 0;
 	/** id number for the next node gene to be added to this genome */
@@ -88,16 +132,54 @@ public class GeneMap implements Collection<Gene> {
 	private int								linkCount		= 0;
 	/** the number of nodes in this gene map */
 	private int								nodeCount		= 0;
+	/** the number of modifications made to this gene map */
+	private volatile long					version			= 0l;
+	/** cached links sorted by innovation, discarded on modification */
+	private volatile LinkGene[]				sortedLinks		= null;
+	/** cached nodes sorted by innovation, discarded on modification */
+	private volatile NodeGene[]				sortedNodes		= null;
+	/** cached link profile, discarded whenever this gene map is modified */
+	private volatile LinkProfile			linkProfile		= null;
 
 	/**
 	 * Creates a new, empty {@link GeneMap}
 	 */
 	public GeneMap() {
-		this.geneMap = new HashMap<XId, Gene>();
-		this.incomingLinksMap = new HashMap<XId, Set<XId>>();
-		this.outgoingLinksMap = new HashMap<XId, Set<XId>>();
-		this.incomingNodesMap = new HashMap<XId, Set<XId>>();
-		this.outgoingNodesMap = new HashMap<XId, Set<XId>>();
+		this.slots = new SlotIndex();
+		this.nodes = new NodeGene[INITIAL_CAPACITY];
+		this.links = new LinkGene[INITIAL_CAPACITY];
+		this.outgoingLinks = new int[INITIAL_CAPACITY][];
+		this.outgoingCounts = new int[INITIAL_CAPACITY];
+		this.incomingLinks = new int[INITIAL_CAPACITY][];
+		this.incomingCounts = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Creates a new {@link GeneMap} holding the same {@link Gene}s as the given
+	 * gene map. The new gene map shares its structure with the given one until
+	 * either of them is modified, and then copies only what the modification
+	 * touches.
+	 * 
+	 * @param geneMap
+	 *            the {@link GeneMap} to copy
+	 */
+	public GeneMap(GeneMap geneMap) {
+		this.slots = new SlotIndex(geneMap.slots);
+		this.nodes = geneMap.nodes;
+		this.links = geneMap.links;
+		this.outgoingLinks = geneMap.outgoingLinks;
+		this.outgoingCounts = geneMap.outgoingCounts;
+		this.incomingLinks = geneMap.incomingLinks;
+		this.incomingCounts = geneMap.incomingCounts;
+		this.arraysShared = true;
+		geneMap.arraysShared = true;
+		this.linkIdNumber = geneMap.linkIdNumber;
+		this.nodeIdNumber = geneMap.nodeIdNumber;
+		this.linkCount = geneMap.linkCount;
+		this.nodeCount = geneMap.nodeCount;
+		this.sortedLinks = geneMap.sortedLinks;
+		this.sortedNodes = geneMap.sortedNodes;
+		this.linkProfile = geneMap.linkProfile;
 	}
 
 	/**
@@ -191,30 +273,65 @@ public class GeneMap implements Collection<Gene> {
 		boolean changed = false;
 		if (gene instanceof LinkGene) {
 			LinkGene linkGene = (LinkGene) gene;
-			if (geneMap.containsKey(linkGene.getId())) {
-				remove(geneMap.get(linkGene.getId()));
+			Integer slot = linkSlot(linkGene.getId());
+			if (slot != null //
+					&& links[slot].getSourceId().equals(linkGene.getSourceId()) //
+					&& links[slot].getTargetId().equals(linkGene.getTargetId())) {
+				// same end points, so the adjacency lists stay as they are
+				ownArrays();
+				links[slot] = linkGene;
+			} else {
+				if (slot != null) {
+					removeLink(links[slot]);
+				}
+				int source = nodeSlot(linkGene.getSourceId());
+				int target = nodeSlot(linkGene.getTargetId());
+				ownArrays();
+				if (linkCount == links.length) {
+					links = Arrays.copyOf(links, 2 * linkCount);
+				}
+				int newSlot = linkCount++;
+				links[newSlot] = linkGene;
+				slots.put(linkGene.getId(), ~newSlot);
+				outgoingLinks[source] = append(ownOutgoing(source), outgoingCounts[source]++, newSlot);
+				incomingLinks[target] = append(ownIncoming(target), incomingCounts[target]++, newSlot);
 			}
-			outgoingLinksMap.get(linkGene.getSourceId()).add(linkGene.getId());
-			outgoingNodesMap.get(linkGene.getSourceId()).add(linkGene.getTargetId());
-			incomingLinksMap.get(linkGene.getTargetId()).add(linkGene.getId());
-			incomingNodesMap.get(linkGene.getTargetId()).add(linkGene.getSourceId());
 			linkIdNumber = Math.max(linkIdNumber, linkGene.getId().getInstanceNum() + 1);
-			linkCount++;
-			geneMap.put(linkGene.getId(), linkGene);
 			changed = true;
 		} else if (gene instanceof NodeGene) {
 			NodeGene nodeGene = (NodeGene) gene;
-			if (!geneMap.containsKey(nodeGene.getId())) {
-				outgoingLinksMap.put(nodeGene.getId(), new HashSet<XId>());
-				outgoingNodesMap.put(nodeGene.getId(), new HashSet<XId>());
-				incomingLinksMap.put(nodeGene.getId(), new HashSet<XId>());
-				incomingNodesMap.put(nodeGene.getId(), new HashSet<XId>());
+			Integer slot = nodeSlot(nodeGene.getId());
+			ownArrays();
+			if (slot == null) {
+				if (nodeCount == nodes.length) {
+					nodes = Arrays.copyOf(nodes, 2 * nodeCount);
+					outgoingLinks = Arrays.copyOf(outgoingLinks, 2 * nodeCount);
+					outgoingCounts = Arrays.copyOf(outgoingCounts, 2 * nodeCount);
+					incomingLinks = Arrays.copyOf(incomingLinks, 2 * nodeCount);
+					incomingCounts = Arrays.copyOf(incomingCounts, 2 * nodeCount);
+					if (outgoingOwned != null) {
+						outgoingOwned = Arrays.copyOf(outgoingOwned, 2 * nodeCount);
+						incomingOwned = Arrays.copyOf(incomingOwned, 2 * nodeCount);
+					}
+				}
+				slot = nodeCount++;
+				slots.put(nodeGene.getId(), slot);
+				outgoingLinks[slot] = NO_LINKS;
+				outgoingCounts[slot] = 0;
+				incomingLinks[slot] = NO_LINKS;
+				incomingCounts[slot] = 0;
+				if (outgoingOwned != null) {
+					outgoingOwned[slot] = true;
+					incomingOwned[slot] = true;
+				}
 				nodeIdNumber = Math.max(nodeIdNumber, nodeGene.getId().getInstanceNum() + 1);
-				nodeCount++;
 			}
-			geneMap.put(nodeGene.getId(), nodeGene);
+			nodes[slot] = nodeGene;
 			changed = true;
 		}
+		if (changed) {
+			modified();
+		}
 		LOGGER.trace("will return: %s", changed);
 		LOGGER.trace("end %s.add()", getClass().getSimpleName());
 		return changed;
@@ -255,7 +372,26 @@ public class GeneMap implements Collection<Gene> {
 	@Override
 	public void clear() {
 		LOGGER.trace("begin %s.clear()", getClass().getSimpleName());
-		geneMap.clear();
+		slots.clear();
+		if (arraysShared) {
+			nodes = new NodeGene[INITIAL_CAPACITY];
+			links = new LinkGene[INITIAL_CAPACITY];
+			outgoingLinks = new int[INITIAL_CAPACITY][];
+			outgoingCounts = new int[INITIAL_CAPACITY];
+			incomingLinks = new int[INITIAL_CAPACITY][];
+			incomingCounts = new int[INITIAL_CAPACITY];
+			arraysShared = false;
+		} else {
+			Arrays.fill(nodes, 0, nodeCount, null);
+			Arrays.fill(links, 0, linkCount, null);
+			Arrays.fill(outgoingLinks, 0, nodeCount, null);
+			Arrays.fill(incomingLinks, 0, nodeCount, null);
+		}
+		outgoingOwned = null;
+		incomingOwned = null;
+		nodeCount = 0;
+		linkCount = 0;
+		modified();
 		LOGGER.trace("end %s.clear()", getClass().getSimpleName());
 	}
 
@@ -267,7 +403,7 @@ public class GeneMap implements Collection<Gene> {
 	@Override
 	public boolean contains(Object o) {
 		LOGGER.trace("begin %s.contains(%s)", getClass().getSimpleName(), o);
-		boolean rVal = geneMap.values().contains(o);
+		boolean rVal = o instanceof XIdObject && slots.get(((XIdObject) o).getId()) != null;
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.contains()", getClass().getSimpleName());
 		return rVal;
@@ -281,7 +417,13 @@ public class GeneMap implements Collection<Gene> {
 	@Override
 	public boolean containsAll(Collection<?> c) {
 		LOGGER.trace("begin %s.containsAll(%s)", getClass().getSimpleName(), c);
-		boolean rVal = geneMap.values().containsAll(c);
+		boolean rVal = true;
+		for (Object o : c) {
+			if (!contains(o)) {
+				rVal = false;
+				break;
+			}
+		}
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.containsAll()", getClass().getSimpleName());
 		return rVal;
@@ -295,7 +437,7 @@ public class GeneMap implements Collection<Gene> {
 	@Override
 	public boolean isEmpty() {
 		LOGGER.trace("begin %s.isEmpty()", getClass().getSimpleName());
-		boolean rVal = geneMap.isEmpty();
+		boolean rVal = nodeCount + linkCount == 0;
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.isEmpty()", getClass().getSimpleName());
 		return rVal;
@@ -309,7 +451,7 @@ public class GeneMap implements Collection<Gene> {
 	@Override
 	public Iterator<Gene> iterator() {
 		LOGGER.trace("begin %s.iterator()", getClass().getSimpleName());
-		Iterator<Gene> rVal = geneMap.values().iterator();
+		Iterator<Gene> rVal = Collections.unmodifiableList(Arrays.asList(genes())).iterator();
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.iterator()", getClass().getSimpleName());
 		return rVal;
@@ -325,32 +467,19 @@ public class GeneMap implements Collection<Gene> {
 		LOGGER.trace("begin %s.remove(%s)", getClass().getSimpleName(), gene);
 		boolean changed = false;
 		if (gene instanceof LinkGene) {
-			LinkGene linkGene = (LinkGene) gene;
-			if (geneMap.containsKey(linkGene.getId())) {
-				outgoingLinksMap.get(linkGene.getSourceId()).remove(linkGene.getId());
-				outgoingNodesMap.get(linkGene.getSourceId()).remove(linkGene.getTargetId());
-				incomingLinksMap.get(linkGene.getTargetId()).remove(linkGene.getId());
-				incomingNodesMap.get(linkGene.getTargetId()).remove(linkGene.getSourceId());
-				linkCount--;
-				geneMap.remove(linkGene.getId());
-				changed = true;
-			}
+			changed = removeLink((LinkGene) gene);
 		} else if (gene instanceof NodeGene) {
 			NodeGene nodeGene = (NodeGene) gene;
-			if (geneMap.containsKey(nodeGene.getId())) {
-				List<XId> linksToRemove = new LinkedList<XId>();
-				linksToRemove.addAll(outgoingLinksMap.get(nodeGene.getId()));
-				linksToRemove.addAll(incomingLinksMap.get(nodeGene.getId()));
-				linkCount -= linksToRemove.size();
-				for (XId id : linksToRemove) {
-					remove(geneMap.get(id));
+			Integer slot = nodeSlot(nodeGene.getId());
+			if (slot != null) {
+				// remove incident links first; removal may move link slots
+				while (outgoingCounts[slot] > 0) {
+					removeLink(links[outgoingLinks[slot][0]]);
 				}
-				outgoingLinksMap.remove(nodeGene.getId());
-				outgoingNodesMap.remove(nodeGene.getId());
-				incomingLinksMap.remove(nodeGene.getId());
-				incomingNodesMap.remove(nodeGene.getId());
-				nodeCount--;
-				geneMap.remove(nodeGene.getId());
+				while (incomingCounts[slot] > 0) {
+					removeLink(links[incomingLinks[slot][0]]);
+				}
+				removeNode(nodeGene);
 				changed = true;
 			}
 		}
@@ -367,7 +496,13 @@ public class GeneMap implements Collection<Gene> {
 	@Override
 	public boolean removeAll(Collection<?> c) {
 		LOGGER.trace("begin %s.removeAll(%s)", getClass().getSimpleName(), c);
-		boolean rVal = geneMap.values().removeAll(c);
+		// only the given genes are removed, not the links incident on nodes
+		boolean rVal = false;
+		for (Gene gene : genes()) {
+			if (c.contains(gene)) {
+				rVal |= removeGene(gene);
+			}
+		}
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.removeAll()", getClass().getSimpleName());
 		return rVal;
@@ -381,7 +516,13 @@ public class GeneMap implements Collection<Gene> {
 	@Override
 	public boolean retainAll(Collection<?> c) {
 		LOGGER.trace("begin %s.retainAll(%s)", getClass().getSimpleName(), c);
-		boolean rVal = geneMap.values().retainAll(c);
+		// only the other genes are removed, not the links incident on nodes
+		boolean rVal = false;
+		for (Gene gene : genes()) {
+			if (!c.contains(gene)) {
+				rVal |= removeGene(gene);
+			}
+		}
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.retainAll()", getClass().getSimpleName());
 		return rVal;
@@ -394,10 +535,11 @@ public class GeneMap implements Collection<Gene> {
 	 */
 	@Override
 	public int size() {
+		int rVal = nodeCount + linkCount;
 		LOGGER.trace("begin %s.retainAll()", getClass().getSimpleName());
-		LOGGER.trace("will return: %s", geneMap.size());
+		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.retainAll()", getClass().getSimpleName());
-		return geneMap.size();
+		return rVal;
 	}
 
 	/*
@@ -408,7 +550,9 @@ public class GeneMap implements Collection<Gene> {
 	@Override
 	public Object[] toArray() {
 		LOGGER.trace("begin %s.toArray()", getClass().getSimpleName());
-		Object[] rVal = geneMap.values().toArray();
+		Object[] rVal = new Object[nodeCount + linkCount];
+		System.arraycopy(nodes, 0, rVal, 0, nodeCount);
+		System.arraycopy(links, 0, rVal, nodeCount, linkCount);
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.toArray()", getClass().getSimpleName());
 		return rVal;
@@ -422,7 +566,7 @@ public class GeneMap implements Collection<Gene> {
 	@Override
 	public <T> T[] toArray(T[] a) {
 		LOGGER.trace("begin %s.toArray(%s)", getClass().getSimpleName(), a);
-		T[] rVal = geneMap.values().toArray(a);
+		T[] rVal = Arrays.asList(genes()).toArray(a);
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.toArray()", getClass().getSimpleName());
 		return rVal;
@@ -437,7 +581,8 @@ public class GeneMap implements Collection<Gene> {
 	 */
 	public Gene get(XId id) {
 		LOGGER.trace("begin %s.get(%s)", getClass().getSimpleName(), id);
-		Gene rVal = geneMap.get(id);
+		Integer slot = slots.get(id);
+		Gene rVal = slot == null ? null : slot >= 0 ? nodes[slot] : links[~slot];
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.get()", getClass().getSimpleName());
 		return rVal;
@@ -460,39 +605,59 @@ public class GeneMap implements Collection<Gene> {
 
 	/**
 	 * Returns a list of {@link LinkGene}s in this {@link GeneMap}, sorted by
-	 * {@link XId}
+	 * {@link XId}. The list is a new, modifiable copy of the cached sorted
+	 * links.
 	 * 
 	 * @return a list of {@link LinkGene}s in this {@link GeneMap}
 	 */
 	public List<LinkGene> getLinks() {
 		LOGGER.trace("begin %s.getLinks()", getClass().getSimpleName());
-		List<LinkGene> links = new ArrayList<LinkGene>(linkCount);
-		for (Gene gene : geneMap.values()) {
-			if (gene instanceof LinkGene) {
-				links.add((LinkGene) gene);
-			}
-		}
-		Collections.sort(links);
+		List<LinkGene> links = new ArrayList<LinkGene>(Arrays.asList(getSortedLinks()));
 		LOGGER.trace("will return: %s", links);
 		LOGGER.trace("end %s.getLinks()", getClass().getSimpleName());
 		return links;
 	}
 
+	/**
+	 * Returns the {@link LinkProfile} of the {@link LinkGene}s in this
+	 * {@link GeneMap}. The profile is cached until this gene map is modified;
+	 * changes made to the fields of genes already in this gene map are not
+	 * tracked, so genes should be copied before being adjusted (as the NEAT
+	 * operators do).
+	 * 
+	 * @return the {@link LinkProfile} of this {@link GeneMap}
+	 */
+	public LinkProfile getLinkProfile() {
+		LinkProfile rVal = linkProfile;
+		if (rVal == null) {
+			rVal = new LinkProfile(Arrays.asList(getSortedLinks()));
+			linkProfile = rVal;
+		}
+		return rVal;
+	}
+
+	/**
+	 * Returns the version of this {@link GeneMap}, which changes whenever genes
+	 * are added to or removed from it. As for {@link #getLinkProfile()},
+	 * changes made to the fields of genes already in this gene map are not
+	 * tracked.
+	 * 
+	 * @return the version of this {@link GeneMap}
+	 */
+	public long getVersion() {
+		return version;
+	}
+
 	/**
 	 * Returns a list of {@link NodeGene}s in this {@link GeneMap}, sorted by
-	 * {@link XId}
+	 * {@link XId}. The list is a new, modifiable copy of the cached sorted
+	 * nodes.
 	 * 
 	 * @return a list of {@link NodeGene}s in this {@link GeneMap}
 	 */
 	public List<NodeGene> getNodes() {
 		LOGGER.trace("begin %s.getNodes()", getClass().getSimpleName());
-		List<NodeGene> nodes = new ArrayList<NodeGene>(nodeCount);
-		for (Gene gene : geneMap.values()) {
-			if (gene instanceof NodeGene) {
-				nodes.add((NodeGene) gene);
-			}
-		}
-		Collections.sort(nodes);
+		List<NodeGene> nodes = new ArrayList<NodeGene>(Arrays.asList(getSortedNodes()));
 		LOGGER.trace("will return: %s", nodes);
 		LOGGER.trace("end %s.getNodes()", getClass().getSimpleName());
 		return nodes;
@@ -509,7 +674,7 @@ public class GeneMap implements Collection<Gene> {
 	 */
 	public Set<XId> getOutgoingNodeIds(XId id) {
 		LOGGER.trace("begin %s.getOutgoingNodeIds(%s)", getClass().getSimpleName(), id);
-		Set<XId> rVal = outgoingNodesMap.get(id);
+		Set<XId> rVal = nodeSlot(id) != null ? new AdjacentIdSet(id, true, true) : null;
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.getOutgoingNodeIds()", getClass().getSimpleName());
 		return rVal;
@@ -526,7 +691,7 @@ public class GeneMap implements Collection<Gene> {
 	 */
 	public Set<XId> getIncomingNodeIds(XId id) {
 		LOGGER.trace("begin %s.getIncomingNodeIds(%s)", getClass().getSimpleName(), id);
-		Set<XId> rVal = incomingNodesMap.get(id);
+		Set<XId> rVal = nodeSlot(id) != null ? new AdjacentIdSet(id, false, true) : null;
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.getIncomingNodeIds()", getClass().getSimpleName());
 		return rVal;
@@ -542,7 +707,7 @@ public class GeneMap implements Collection<Gene> {
 	 */
 	public Set<XId> getOutgoingLinkIds(XId id) {
 		LOGGER.trace("begin %s.getOutgoingLinkIds(%s)", getClass().getSimpleName(), id);
-		Set<XId> rVal = outgoingLinksMap.get(id);
+		Set<XId> rVal = nodeSlot(id) != null ? new AdjacentIdSet(id, true, false) : null;
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.getOutgoingLinkIds()", getClass().getSimpleName());
 		return rVal;
@@ -558,12 +723,477 @@ public class GeneMap implements Collection<Gene> {
 	 */
 	public Set<XId> getIncomingLinkIds(XId id) {
 		LOGGER.trace("begin %s.getIncomingLinkIds(%s)", getClass().getSimpleName(), id);
-		Set<XId> rVal = incomingLinksMap.get(id);
+		Set<XId> rVal = nodeSlot(id) != null ? new AdjacentIdSet(id, false, false) : null;
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.getIncomingLinkIds()", getClass().getSimpleName());
 		return rVal;
 	}
 
+	/**
+	 * Returns the links of this gene map sorted by innovation, building and
+	 * caching the array if needed. The array must not be modified.
+	 */
+	private LinkGene[] getSortedLinks() {
+		LinkGene[] rVal = sortedLinks;
+		if (rVal == null) {
+			rVal = Arrays.copyOf(links, linkCount);
+			Arrays.sort(rVal);
+			sortedLinks = rVal;
+		}
+		return rVal;
+	}
+
+	/**
+	 * Returns the nodes of this gene map sorted by innovation, building and
+	 * caching the array if needed. The array must not be modified.
+	 */
+	private NodeGene[] getSortedNodes() {
+		NodeGene[] rVal = sortedNodes;
+		if (rVal == null) {
+			rVal = Arrays.copyOf(nodes, nodeCount);
+			Arrays.sort(rVal);
+			sortedNodes = rVal;
+		}
+		return rVal;
+	}
+
+	/**
+	 * Discards the cached arrays and profile of this gene map
+	 */
+	private void modified() {
+		version++;
+		sortedLinks = null;
+		sortedNodes = null;
+		linkProfile = null;
+	}
+
+	/**
+	 * Removes the given gene only, leaving the links incident on a removed
+	 * node in place.
+	 * 
+	 * @return true if the gene was removed
+	 */
+	private boolean removeGene(Gene gene) {
+		if (gene instanceof LinkGene) {
+			return removeLink((LinkGene) gene);
+		}
+		if (gene instanceof NodeGene && nodeSlot(gene.getId()) != null) {
+			removeNode((NodeGene) gene);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the given link, moving the last link into its slot.
+	 * 
+	 * @return true if the link was removed
+	 */
+	private boolean removeLink(LinkGene linkGene) {
+		Integer slot = linkSlot(linkGene.getId());
+		if (slot == null) {
+			return false;
+		}
+		ownArrays();
+		Integer source = nodeSlot(links[slot].getSourceId());
+		if (source != null) {
+			outgoingCounts[source] = removeFrom(ownOutgoing(source), outgoingCounts[source], slot);
+		}
+		Integer target = nodeSlot(links[slot].getTargetId());
+		if (target != null) {
+			incomingCounts[target] = removeFrom(ownIncoming(target), incomingCounts[target], slot);
+		}
+		int last = --linkCount;
+		if (slot != last) {
+			LinkGene moved = links[last];
+			links[slot] = moved;
+			slots.put(moved.getId(), ~slot);
+			source = nodeSlot(moved.getSourceId());
+			if (source != null) {
+				replaceIn(ownOutgoing(source), outgoingCounts[source], last, slot);
+			}
+			target = nodeSlot(moved.getTargetId());
+			if (target != null) {
+				replaceIn(ownIncoming(target), incomingCounts[target], last, slot);
+			}
+		}
+		links[last] = null;
+		slots.remove(linkGene.getId());
+		modified();
+		return true;
+	}
+
+	/**
+	 * Removes the given node, moving the last node into its slot. Links
+	 * incident on the node are left in place.
+	 */
+	private void removeNode(NodeGene nodeGene) {
+		int slot = nodeSlot(nodeGene.getId());
+		slots.remove(nodeGene.getId());
+		ownArrays();
+		int last = --nodeCount;
+		if (slot != last) {
+			nodes[slot] = nodes[last];
+			outgoingLinks[slot] = outgoingLinks[last];
+			outgoingCounts[slot] = outgoingCounts[last];
+			incomingLinks[slot] = incomingLinks[last];
+			incomingCounts[slot] = incomingCounts[last];
+			if (outgoingOwned != null) {
+				outgoingOwned[slot] = outgoingOwned[last];
+				incomingOwned[slot] = incomingOwned[last];
+			}
+			slots.put(nodes[slot].getId(), slot);
+		}
+		nodes[last] = null;
+		outgoingLinks[last] = null;
+		incomingLinks[last] = null;
+		modified();
+	}
+
+	/**
+	 * Returns the slot of the node with the given id, or null if this gene map
+	 * has no such node
+	 */
+	private Integer nodeSlot(XId id) {
+		Integer slot = slots.get(id);
+		return slot != null && slot >= 0 ? slot : null;
+	}
+
+	/**
+	 * Returns the slot of the link with the given id, or null if this gene map
+	 * has no such link
+	 */
+	private Integer linkSlot(XId id) {
+		Integer slot = slots.get(id);
+		return slot != null && slot < 0 ? ~slot : null;
+	}
+
+	/**
+	 * Returns the genes of this gene map, nodes first, in a new array
+	 */
+	private Gene[] genes() {
+		Gene[] genes = new Gene[nodeCount + linkCount];
+		System.arraycopy(nodes, 0, genes, 0, nodeCount);
+		System.arraycopy(links, 0, genes, nodeCount, linkCount);
+		return genes;
+	}
+
+	/**
+	 * Copies the slot arrays of this gene map if they may be shared with a
+	 * copy of it. The lists of link slots of each node are still shared until
+	 * {@link #ownOutgoing(int)} or {@link #ownIncoming(int)} is called for it.
+	 */
+	private void ownArrays() {
+		if (arraysShared) {
+			nodes = nodes.clone();
+			links = links.clone();
+			outgoingLinks = outgoingLinks.clone();
+			outgoingCounts = outgoingCounts.clone();
+			incomingLinks = incomingLinks.clone();
+			incomingCounts = incomingCounts.clone();
+			outgoingOwned = new boolean[outgoingLinks.length];
+			incomingOwned = new boolean[incomingLinks.length];
+			arraysShared = false;
+		}
+	}
+
+	/**
+	 * Returns the list of outgoing link slots of the node in the given slot,
+	 * copying it first if it may be shared. The slot arrays must already be
+	 * owned.
+	 */
+	private int[] ownOutgoing(int slot) {
+		if (outgoingOwned != null && !outgoingOwned[slot]) {
+			outgoingLinks[slot] = outgoingLinks[slot].clone();
+			outgoingOwned[slot] = true;
+		}
+		return outgoingLinks[slot];
+	}
+
+	/**
+	 * Returns the list of incoming link slots of the node in the given slot,
+	 * copying it first if it may be shared. The slot arrays must already be
+	 * owned.
+	 */
+	private int[] ownIncoming(int slot) {
+		if (incomingOwned != null && !incomingOwned[slot]) {
+			incomingLinks[slot] = incomingLinks[slot].clone();
+			incomingOwned[slot] = true;
+		}
+		return incomingLinks[slot];
+	}
+
+	/**
+	 * Appends the given value to the first count elements of the given array,
+	 * growing it if needed.
+	 * 
+	 * @return the array holding the values
+	 */
+	private static int[] append(int[] array, int count, int value) {
+		if (count == array.length) {
+			array = Arrays.copyOf(array, Math.max(2, 2 * count));
+		}
+		array[count] = value;
+		return array;
+	}
+
+	/**
+	 * Removes the given value from the first count elements of the given
+	 * array, moving the last of them into its place.
+	 * 
+	 * @return the number of values left
+	 */
+	private static int removeFrom(int[] array, int count, int value) {
+		for (int i = 0; i < count; i++) {
+			if (array[i] == value) {
+				array[i] = array[count - 1];
+				return count - 1;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Replaces the given value with another in the first count elements of the
+	 * given array.
+	 */
+	private static void replaceIn(int[] array, int count, int value, int replacement) {
+		for (int i = 0; i < count; i++) {
+			if (array[i] == value) {
+				array[i] = replacement;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * {@link AdjacentIdSet} is a read-only view of the ids of the links
+	 * incident on a node, or of the nodes at their other ends, read from the
+	 * node's list of link slots.
+	 */
+	private final class AdjacentIdSet extends AbstractSet<XId> {
+		/** the id of the node */
+		private final XId		nodeId;
+		/** true for outgoing links, false for incoming links */
+		private final boolean	outgoing;
+		/** true for the ids of nodes, false for the ids of links */
+		private final boolean	nodeIds;
+
+		private AdjacentIdSet(XId nodeId, boolean outgoing, boolean nodeIds) {
+			this.nodeId = nodeId;
+			this.outgoing = outgoing;
+			this.nodeIds = nodeIds;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.util.AbstractCollection#contains(java.lang.Object)
+		 */
+		@Override
+		public boolean contains(Object o) {
+			Integer slot = nodeSlot(nodeId);
+			if (slot == null) {
+				return false;
+			}
+			int[] slots = outgoing ? outgoingLinks[slot] : incomingLinks[slot];
+			int count = outgoing ? outgoingCounts[slot] : incomingCounts[slot];
+			for (int i = 0; i < count; i++) {
+				if (idOf(slots[i]).equals(o)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.util.AbstractCollection#isEmpty()
+		 */
+		@Override
+		public boolean isEmpty() {
+			Integer slot = nodeSlot(nodeId);
+			return slot == null || (outgoing ? outgoingCounts[slot] : incomingCounts[slot]) == 0;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.util.AbstractCollection#size()
+		 */
+		@Override
+		public int size() {
+			return ids().length;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.util.AbstractCollection#iterator()
+		 */
+		@Override
+		public Iterator<XId> iterator() {
+			return Collections.unmodifiableList(Arrays.asList(ids())).iterator();
+		}
+
+		/**
+		 * Returns the distinct ids in this set
+		 */
+		private XId[] ids() {
+			Integer slot = nodeSlot(nodeId);
+			if (slot == null) {
+				return new XId[0];
+			}
+			int[] slots = outgoing ? outgoingLinks[slot] : incomingLinks[slot];
+			int count = outgoing ? outgoingCounts[slot] : incomingCounts[slot];
+			XId[] ids = new XId[count];
+			int size = 0;
+			next: for (int i = 0; i < count; i++) {
+				XId id = idOf(slots[i]);
+				if (nodeIds) {
+					// several links may join the same nodes
+					for (int j = 0; j < size; j++) {
+						if (ids[j].equals(id)) {
+							continue next;
+						}
+					}
+				}
+				ids[size++] = id;
+			}
+			return size == count ? ids : Arrays.copyOf(ids, size);
+		}
+
+		/**
+		 * Returns the id of the link in the given slot, or of the node at its
+		 * other end
+		 */
+		private XId idOf(int linkSlot) {
+			LinkGene link = links[linkSlot];
+			if (!nodeIds) {
+				return link.getId();
+			}
+			return outgoing ? link.getTargetId() : link.getSourceId();
+		}
+	}
+
+	/**
+	 * {@link SlotIndex} maps the ids of the genes of a gene map to their slots.
+	 * Once shared with a copy, its base map is no longer modified; the
+	 * additions and removals made by each of the sharing indexes are kept in
+	 * a map of its own until they become numerous enough to be merged into a
+	 * new base map.
+	 */
+	private static final class SlotIndex {
+		/** slot recorded for ids removed from a shared base map */
+		private static final int		REMOVED				= Integer.MIN_VALUE;
+		/** number of changes always kept apart from a shared base map */
+		private static final int		MIN_CHANGES			= 16;
+		/** fraction of the base map past which changes are merged into it */
+		private static final int		MAX_CHANGES_RATIO	= 8;
+		/** slots by id, possibly shared with other indexes */
+		private Map<XId, Integer>		base;
+		/** slots changed since the base map was shared, or null if none */
+		private Map<XId, Integer>		changes				= null;
+		/** true while the base map may be shared with other indexes */
+		private boolean					shared				= false;
+
+		private SlotIndex() {
+			this.base = new HashMap<XId, Integer>();
+		}
+
+		private SlotIndex(SlotIndex index) {
+			this.base = index.base;
+			this.changes = index.changes == null ? null : new HashMap<XId, Integer>(index.changes);
+			this.shared = true;
+			index.shared = true;
+		}
+
+		/**
+		 * Returns the slot of the given id, or null if it has none
+		 */
+		private Integer get(XId id) {
+			if (changes != null) {
+				Integer slot = changes.get(id);
+				if (slot != null) {
+					return slot == REMOVED ? null : slot;
+				}
+			}
+			return base.get(id);
+		}
+
+		/**
+		 * Sets the slot of the given id
+		 */
+		private void put(XId id, int slot) {
+			if (shared) {
+				changes().put(id, slot);
+				mergeIfLarge();
+			} else {
+				base.put(id, slot);
+			}
+		}
+
+		/**
+		 * Removes the slot of the given id
+		 */
+		private void remove(XId id) {
+			if (!shared) {
+				base.remove(id);
+			} else if (base.containsKey(id)) {
+				changes().put(id, REMOVED);
+				mergeIfLarge();
+			} else if (changes != null) {
+				changes.remove(id);
+			}
+		}
+
+		/**
+		 * Removes all slots
+		 */
+		private void clear() {
+			if (shared) {
+				base = new HashMap<XId, Integer>();
+				changes = null;
+				shared = false;
+			} else {
+				base.clear();
+			}
+		}
+
+		/**
+		 * Returns the map of changes, creating it if needed
+		 */
+		private Map<XId, Integer> changes() {
+			if (changes == null) {
+				changes = new HashMap<XId, Integer>();
+			}
+			return changes;
+		}
+
+		/**
+		 * Merges the changes into a new base map once there are enough of them
+		 * that copying them along with every copy of this index costs more
+		 * than the merge.
+		 */
+		private void mergeIfLarge() {
+			if (changes.size() <= MIN_CHANGES + base.size() / MAX_CHANGES_RATIO) {
+				return;
+			}
+			Map<XId, Integer> merged = new HashMap<XId, Integer>(base);
+			for (Map.Entry<XId, Integer> entry : changes.entrySet()) {
+				if (entry.getValue() == REMOVED) {
+					merged.remove(entry.getKey());
+				} else {
+					merged.put(entry.getKey(), entry.getValue());
+				}
+			}
+			base = merged;
+			changes = null;
+			shared = false;
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -618,4 +1248,43 @@ public class GeneMap implements Collection<Gene> {
 			LINK_GENE_ELEMENTS.write(xml, obj.getLinks());
 		}
 	}
+
+	/**
+	 * binary format for {@link GeneMap}, writing its nodes and then its links
+	 * in innovation order
+	 */
+	private static final class GeneMapBinaryFormat extends BinaryFormat<GeneMap> {
+		private GeneMapBinaryFormat() {
+			super(GeneMap.class);
+		}
+
+		@Override
+		public void write(GeneMap obj, BinaryOutput out) throws IOException {
+			NodeGene[] nodes = obj.getSortedNodes();
+			out.writeVarInt(nodes.length);
+			for (NodeGene node : nodes) {
+				out.writeObject(node);
+			}
+			LinkGene[] links = obj.getSortedLinks();
+			out.writeVarInt(links.length);
+			for (LinkGene link : links) {
+				out.writeObject(link);
+			}
+		}
+
+		@Override
+		public GeneMap read(BinaryInput in) throws IOException {
+			int nodeCount = in.readVarInt();
+			ArrayList<NodeGene> nodes = new ArrayList<NodeGene>(nodeCount);
+			for (int i = 0; i < nodeCount; i++) {
+				nodes.add(in.<NodeGene> readObject());
+			}
+			int linkCount = in.readVarInt();
+			ArrayList<LinkGene> links = new ArrayList<LinkGene>(linkCount);
+			for (int i = 0; i < linkCount; i++) {
+				links.add(in.<LinkGene> readObject());
+			}
+			return new GeneMap(nodes, links);
+		}
+	}
 }
@@ -22,6 +22,8 @@
 package com.xtructure.xneat.genetics;
 
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javolution.text.Cursor;
 import javolution.xml.stream.XMLStreamException;
@@ -52,8 +54,14 @@ public class Innovation extends AbstractXIdObject {
 	public static final XId									INNOVATION_BASE_ID	= XId.newId("Innovation");
 	/** the manager for {@link Innovation} instances */
 	private static final XIdObjectManagerImpl<Innovation>	MANAGER;
+	/** node gene innovations, interned by id number */
+	private static final ConcurrentMap<Integer, Innovation>	NODE_INNOVATIONS;
+	/** link gene innovations, interned by source and target id numbers */
+	private static final ConcurrentMap<Long, Innovation>	LINK_INNOVATIONS;
 	static {
 		MANAGER = new XIdObjectManagerImpl<Innovation>() {};
+		NODE_INNOVATIONS = new ConcurrentHashMap<Integer, Innovation>();
+		LINK_INNOVATIONS = new ConcurrentHashMap<Long, Innovation>();
 	}
 
 	/**
@@ -65,10 +73,10 @@ public class Innovation extends AbstractXIdObject {
 	 * @return the {@link Innovation} for that node gene
 	 */
 	public static Innovation generate(int idNumber) {
-		XId innovationId = INNOVATION_BASE_ID.createChild(idNumber);
-		Innovation innovation = MANAGER.getObject(innovationId);
+		Innovation innovation = NODE_INNOVATIONS.get(idNumber);
 		if (innovation == null) {
-			return new Innovation(innovationId);
+			innovation = getOrCreate(INNOVATION_BASE_ID.createChild(idNumber));
+			NODE_INNOVATIONS.put(idNumber, innovation);
 		}
 		return innovation;
 	}
@@ -84,16 +92,35 @@ public class Innovation extends AbstractXIdObject {
 	 * @return the {@link Innovation} for that link gene
 	 */
 	public static Innovation generate(int sourceIdNumber, int targetIdNumber) {
-		XId innovationId = INNOVATION_BASE_ID//
-				.createChild(sourceIdNumber)//
-				.createChild(targetIdNumber);
-		Innovation innovation = MANAGER.getObject(innovationId);
+		Long key = ((long) sourceIdNumber << 32) | (targetIdNumber & 0xffffffffl);
+		Innovation innovation = LINK_INNOVATIONS.get(key);
 		if (innovation == null) {
-			return new Innovation(innovationId);
+			innovation = getOrCreate(INNOVATION_BASE_ID//
+					.createChild(sourceIdNumber)//
+					.createChild(targetIdNumber));
+			LINK_INNOVATIONS.put(key, innovation);
 		}
 		return innovation;
 	}
 
+	/**
+	 * Gets the registered {@link Innovation} with the given id, or creates and
+	 * registers a new one.
+	 * 
+	 * @param innovationId
+	 *            the id of the innovation
+	 * @return the {@link Innovation} with the given id
+	 */
+	private static Innovation getOrCreate(XId innovationId) {
+		synchronized (MANAGER) {
+			Innovation innovation = MANAGER.getObject(innovationId);
+			if (innovation == null) {
+				return new Innovation(innovationId);
+			}
+			return innovation;
+		}
+	}
+
 	/**
 	 * Creates a new {@link Innovation} with the given id
 	 * 
@@ -189,11 +216,7 @@ public class Innovation extends AbstractXIdObject {
 		@Override
 		protected Innovation newInstance(ReadAttributes readAttributes, ReadElements readElements) throws XMLStreamException {
 			XId id = readAttributes.getValue(ID_ATTRIBUTE);
-			Innovation innovation = MANAGER.getObject(id);
-			if (innovation != null) {
-				return innovation;
-			}
-			return new Innovation(id);
+			return getOrCreate(id);
 		}
 
 		@Override
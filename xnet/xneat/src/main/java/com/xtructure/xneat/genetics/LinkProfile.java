@@ -0,0 +1,187 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.genetics;
+
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+import static com.xtructure.xutil.valid.ValidateUtils.validateState;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import com.xtructure.xneat.genetics.link.LinkGene;
+import com.xtructure.xutil.config.FieldMap;
+import com.xtructure.xutil.id.XId;
+
+/**
+ * {@link LinkProfile} is an immutable, array-backed snapshot of the
+ * {@link LinkGene}s of a {@link GeneMap}, sorted by {@link Innovation}, for use
+ * in compatibility calculations.
+ * <P>
+ * Each link's innovation is encoded as a long key (source instance number in
+ * the high word, target instance number in the low word) so that links can be
+ * merge-joined without comparing {@link XId}s. The numeric field values of
+ * each link are stored in a flat array, ordered by field id.
+ * <P>
+ * Profiles are obtained from {@link GeneMap#getLinkProfile()}, which caches
+ * them until the gene map is modified.
+ * 
+ * @author Luis Guimbarda
+ * 
+ */
+public final class LinkProfile {
+	/** the links of this profile, sorted by innovation */
+	private final LinkGene[]	links;
+	/** innovation keys of the links, or null if any can't be encoded */
+	private final long[]		keys;
+	/** configuration ids of the links' field maps */
+	private final XId[]			configurationIds;
+	/** sorted field ids of each link */
+	private final XId[][]		fieldIds;
+	/** numeric field values of all links, in field id order */
+	private final double[]		values;
+	/** offsets of each link's values in the values array */
+	private final int[]			offsets;
+
+	/**
+	 * Creates a new {@link LinkProfile} for the given links
+	 * 
+	 * @param links
+	 *            the links to profile, sorted by innovation
+	 */
+	LinkProfile(List<LinkGene> links) {
+		validateArg("links", links, isNotNull());
+		int size = links.size();
+		this.links = links.toArray(new LinkGene[size]);
+		this.configurationIds = new XId[size];
+		this.fieldIds = new XId[size][];
+		this.offsets = new int[size + 1];
+		long[] keys = new long[size];
+		int valueCount = 0;
+		for (int i = 0; i < size; i++) {
+			FieldMap fieldMap = this.links[i].getFieldMap();
+			Set<XId> ids = fieldMap.getFieldIds();
+			fieldIds[i] = ids.toArray(new XId[ids.size()]);
+			Arrays.sort(fieldIds[i]);
+			configurationIds[i] = fieldMap.getConfigurationId();
+			offsets[i] = valueCount;
+			valueCount += fieldIds[i].length;
+			if (keys != null) {
+				List<Integer> nums = this.links[i].getInnovation().getId().getInstanceNums();
+				if (nums.size() == 2) {
+					keys[i] = ((long) nums.get(0) << 32) | ((nums.get(1) ^ Integer.MIN_VALUE) & 0xffffffffL);
+				} else {
+					keys = null;
+				}
+			}
+		}
+		offsets[size] = valueCount;
+		this.keys = keys;
+		this.values = new double[valueCount];
+		for (int i = 0; i < size; i++) {
+			FieldMap fieldMap = this.links[i].getFieldMap();
+			for (int j = 0; j < fieldIds[i].length; j++) {
+				Object value = fieldMap.get(fieldIds[i][j]);
+				values[offsets[i] + j] = value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of links in this {@link LinkProfile}
+	 * 
+	 * @return the number of links in this {@link LinkProfile}
+	 */
+	public int size() {
+		return links.length;
+	}
+
+	/**
+	 * Calculates the compatibility of this {@link LinkProfile} with the given
+	 * one: the magnitude of the numeric field differences of matching links,
+	 * the number of disjoint links and the number of excess links, weighted by
+	 * the given coefficients and normalized by the size of the larger profile.
+	 * 
+	 * @param other
+	 *            the profile to compare with
+	 * @param weightDeltaCoefficient
+	 *            coefficient of the field difference magnitude
+	 * @param disjointCoefficient
+	 *            coefficient of the disjoint link count
+	 * @param excessCoefficient
+	 *            coefficient of the excess link count
+	 * @return the compatibility of the two profiles, or 0.0 if both are empty
+	 */
+	public double getCompatibility(LinkProfile other, double weightDeltaCoefficient, double disjointCoefficient, double excessCoefficient) {
+		validateArg("other", other, isNotNull());
+		int size1 = links.length;
+		int size2 = other.links.length;
+		if (size1 == 0 && size2 == 0) {
+			return 0.0;
+		}
+		boolean useKeys = keys != null && other.keys != null;
+		double weightDiffSq = 0.0;
+		int disjointCount = 0;
+		int i = 0;
+		int j = 0;
+		while (i < size1 && j < size2) {
+			int cmp = useKeys //
+					? (keys[i] < other.keys[j] ? -1 : (keys[i] == other.keys[j] ? 0 : 1)) //
+					: links[i].getInnovation().compareTo(other.links[j].getInnovation());
+			if (cmp < 0) {
+				disjointCount++;
+				i++;
+			} else if (cmp > 0) {
+				disjointCount++;
+				j++;
+			} else {
+				validateState("links have same config", sameFields(i, other, j), isTrue());
+				for (int k = offsets[i], l = other.offsets[j]; k < offsets[i + 1]; k++, l++) {
+					double diff = values[k] - other.values[l];
+					weightDiffSq += diff * diff;
+				}
+				i++;
+				j++;
+			}
+		}
+		int excessCount = (size1 - i) + (size2 - j);
+		return (Math.sqrt(weightDiffSq) * weightDeltaCoefficient //
+				+ disjointCount * disjointCoefficient //
+				+ excessCount * excessCoefficient) / Math.max(size1, size2);
+	}
+
+	/**
+	 * Returns true if the link at index i of this profile and the link at index
+	 * j of the given profile have the same field ids
+	 */
+	private boolean sameFields(int i, LinkProfile other, int j) {
+		if (fieldIds[i] == other.fieldIds[j]) {
+			return true;
+		}
+		if (configurationIds[i] != null && configurationIds[i].equals(other.configurationIds[j])) {
+			return true;
+		}
+		return Arrays.equals(fieldIds[i], other.fieldIds[j]);
+	}
+}
@@ -23,6 +23,10 @@ package com.xtructure.xneat.genetics.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.io.IOException;
+import java.util.List;
+
 import javolution.xml.XMLFormat;
 import javolution.xml.stream.XMLStreamException;
 
@@ -33,6 +37,8 @@ import org.apache.commons.lang.builder.ToStringStyle;
 import com.xtructure.xevolution.genetics.impl.AbstractGeneticsObject;
 import com.xtructure.xneat.genetics.Gene;
 import com.xtructure.xneat.genetics.Innovation;
+import com.xtructure.xutil.bin.BinaryInput;
+import com.xtructure.xutil.bin.BinaryOutput;
 import com.xtructure.xutil.config.FieldMap;
 import com.xtructure.xutil.config.XConfiguration;
 import com.xtructure.xutil.id.XId;
@@ -209,4 +215,53 @@ public abstract class AbstractGene extends AbstractGeneticsObject implements Gen
 			CONFIGURATION_ID_ATTRIBUTE.write(xml, obj.getConfiguration().getId());
 		}
 	}
+
+	/**
+	 * binary format for {@link AbstractGene}. The instance numbers of each
+	 * gene's {@link Innovation} are written as deltas from those of the
+	 * previous gene written, so genes written in innovation order take a byte
+	 * or two each.
+	 */
+	protected static abstract class AbstractBinaryFormat<G extends AbstractGene> extends AbstractGeneticsObject.AbstractBinaryFormat<G> {
+		/** the delta channels of the instance numbers of innovations */
+		private static final String[]	INNOVATION_CHANNELS	= { "innovation", "innovation target" };
+
+		protected AbstractBinaryFormat(Class<G> cls) {
+			super(cls);
+		}
+
+		@Override
+		protected void writeData(G obj, BinaryOutput out) throws IOException {
+			List<Integer> nums = obj.getInnovation().getId().getInstanceNums();
+			out.writeVarInt(nums.size());
+			for (int i = 0; i < nums.size(); i++) {
+				out.writeDelta(INNOVATION_CHANNELS[i], nums.get(i));
+			}
+			out.writeXId(obj.getConfiguration().getId());
+		}
+
+		/**
+		 * Reads the {@link Innovation} written by
+		 * {@link #writeData(AbstractGene, BinaryOutput)}.
+		 * 
+		 * @param in
+		 *            the {@link BinaryInput} from which the innovation is read
+		 * @return the {@link Innovation} read
+		 * @throws IOException
+		 */
+		protected Innovation readInnovation(BinaryInput in) throws IOException {
+			switch (in.readVarInt()) {
+				case 1: {
+					return Innovation.generate(in.readDelta(INNOVATION_CHANNELS[0]));
+				}
+				case 2: {
+					int sourceIdNumber = in.readDelta(INNOVATION_CHANNELS[0]);
+					return Innovation.generate(sourceIdNumber, in.readDelta(INNOVATION_CHANNELS[1]));
+				}
+				default: {
+					throw new IOException("malformed innovation");
+				}
+			}
+		}
+	}
 }
@@ -28,6 +28,7 @@ import java.util.Map;
 
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.genetics.impl.AbstractGenomeDecoder;
+import com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap;
 import com.xtructure.xneat.genetics.GeneMap;
 import com.xtructure.xneat.genetics.NEATGenome;
 import com.xtructure.xneat.genetics.link.LinkGene;
@@ -35,7 +36,9 @@ import com.xtructure.xneat.genetics.link.impl.LinkGeneImpl;
 import com.xtructure.xneat.genetics.node.NodeGene;
 import com.xtructure.xneat.genetics.node.NodeType;
 import com.xtructure.xneat.network.NeuralNetwork;
+import com.xtructure.xneat.network.impl.CompiledNeuralNetwork;
 import com.xtructure.xneat.network.impl.Connection;
+import com.xtructure.xneat.network.impl.FeedForwardNeuralNetwork;
 import com.xtructure.xneat.network.impl.NeuralNetworkImpl;
 import com.xtructure.xneat.network.impl.Neuron;
 import com.xtructure.xutil.id.XId;
@@ -49,7 +52,17 @@ import com.xtructure.xutil.id.XId;
  */
 public class NEATGenomeDecoder extends AbstractGenomeDecoder<GeneMap, NeuralNetwork> {
 	/** the singleton instance for this {@link NEATGenomeDecoder} */
-	private static final NEATGenomeDecoder	INSTANCE	= new NEATGenomeDecoder();
+	private static final NEATGenomeDecoder	INSTANCE				= new NEATGenomeDecoder(false, false);
+	/**
+	 * the singleton instance for this {@link NEATGenomeDecoder} that creates
+	 * {@link CompiledNeuralNetwork}s
+	 */
+	private static final NEATGenomeDecoder	COMPILED_INSTANCE		= new NEATGenomeDecoder(true, false);
+	/**
+	 * the singleton instance for this {@link NEATGenomeDecoder} that creates
+	 * {@link FeedForwardNeuralNetwork}s for acyclic genomes
+	 */
+	private static final NEATGenomeDecoder	FEED_FORWARD_INSTANCE	= new NEATGenomeDecoder(true, true);
 
 	/**
 	 * Returns the singleton instance {@link NEATGenomeDecoder}.
@@ -60,10 +73,86 @@ public class NEATGenomeDecoder extends AbstractGenomeDecoder<GeneMap, NeuralNetw
 		return INSTANCE;
 	}
 
+	/**
+	 * Returns the singleton instance {@link NEATGenomeDecoder} that decodes
+	 * genomes into {@link CompiledNeuralNetwork}s.
+	 * 
+	 * @return single instance of NEATGenomeDecoder producing compiled networks
+	 */
+	public static NEATGenomeDecoder getCompiledInstance() {
+		return COMPILED_INSTANCE;
+	}
+
+	/**
+	 * Returns the singleton instance {@link NEATGenomeDecoder} that decodes
+	 * acyclic genomes into {@link FeedForwardNeuralNetwork}s, and all other
+	 * genomes into {@link CompiledNeuralNetwork}s.
+	 * 
+	 * @return single instance of NEATGenomeDecoder producing feed forward
+	 *         networks where possible
+	 */
+	public static NEATGenomeDecoder getFeedForwardInstance() {
+		return FEED_FORWARD_INSTANCE;
+	}
+
+	/**
+	 * Returns the singleton instance {@link NEATGenomeDecoder} selected by the
+	 * given {@link NEATEvolutionFieldMap}: the feed forward instance if
+	 * {@link NEATEvolutionFieldMap#feedForwardActivation()} is set, the
+	 * default instance otherwise.
+	 * 
+	 * @param fieldMap
+	 *            the {@link NEATEvolutionFieldMap} of the evolution
+	 * @return single instance of NEATGenomeDecoder selected by the given field
+	 *         map
+	 */
+	public static NEATGenomeDecoder getInstance(NEATEvolutionFieldMap fieldMap) {
+		return fieldMap.feedForwardActivation() ? FEED_FORWARD_INSTANCE : INSTANCE;
+	}
+
+	/** whether this decoder creates {@link CompiledNeuralNetwork}s */
+	private final boolean	compiled;
+	/**
+	 * whether this decoder creates {@link FeedForwardNeuralNetwork}s for
+	 * acyclic genomes
+	 */
+	private final boolean	feedForward;
+
 	/**
 	 * Creates a new {@link NEATGenomeDecoder}
+	 * 
+	 * @param compiled
+	 *            if true, the new decoder creates {@link CompiledNeuralNetwork}
+	 *            s, otherwise it creates {@link NeuralNetworkImpl}s
+	 * @param feedForward
+	 *            if true, the new decoder creates
+	 *            {@link FeedForwardNeuralNetwork}s for acyclic genomes
 	 */
-	private NEATGenomeDecoder() {}
+	private NEATGenomeDecoder(boolean compiled, boolean feedForward) {
+		this.compiled = compiled;
+		this.feedForward = feedForward;
+	}
+
+	/**
+	 * Returns true if this decoder creates {@link CompiledNeuralNetwork}s.
+	 * 
+	 * @return true if this decoder creates {@link CompiledNeuralNetwork}s,
+	 *         false if it creates {@link NeuralNetworkImpl}s
+	 */
+	public boolean isCompiled() {
+		return compiled;
+	}
+
+	/**
+	 * Returns true if this decoder creates {@link FeedForwardNeuralNetwork}s
+	 * for acyclic genomes.
+	 * 
+	 * @return true if this decoder creates {@link FeedForwardNeuralNetwork}s
+	 *         for acyclic genomes, false otherwise
+	 */
+	public boolean isFeedForward() {
+		return feedForward;
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -117,12 +206,112 @@ public class NEATGenomeDecoder extends AbstractGenomeDecoder<GeneMap, NeuralNetw
 					indexMap.get(link.getTargetId()),//
 					((LinkGeneImpl) link).getWeight()));
 		}
-		NeuralNetworkImpl rVal = new NeuralNetworkImpl(genome.getId(), biasNodes.size(), inputNodes.size(), outputNodes.size(), hiddenNodes.size(), neurons, connections);
+		NeuralNetwork rVal;
+		int[] evaluationOrder = feedForward ? //
+				getEvaluationOrder(genome.getData(), indexMap, neurons.size(), biasNodes.size() + inputNodes.size()) : null;
+		if (evaluationOrder != null) {
+			rVal = new FeedForwardNeuralNetwork(genome.getId(), biasNodes.size(), inputNodes.size(), outputNodes.size(), hiddenNodes.size(), neurons, connections, evaluationOrder);
+		} else if (compiled) {
+			rVal = new CompiledNeuralNetwork(genome.getId(), biasNodes.size(), inputNodes.size(), outputNodes.size(), hiddenNodes.size(), neurons, connections);
+		} else {
+			rVal = new NeuralNetworkImpl(genome.getId(), biasNodes.size(), inputNodes.size(), outputNodes.size(), hiddenNodes.size(), neurons, connections);
+		}
 		getLogger().trace("will return: %s", rVal);
 		getLogger().trace("end %s.decode()", getClass().getSimpleName());
 		return rVal;
 	}
 
+	/**
+	 * Returns a copy of the given {@link NeuralNetwork}, sharing its structure
+	 * and with cleared signals.
+	 * 
+	 * @param phenotype
+	 *            a {@link NeuralNetwork} created by this decoder
+	 * @return a copy of the given {@link NeuralNetwork}
+	 */
+	@Override
+	protected NeuralNetwork newTrialInstance(NeuralNetwork phenotype) {
+		if (phenotype instanceof FeedForwardNeuralNetwork) {
+			return new FeedForwardNeuralNetwork((FeedForwardNeuralNetwork) phenotype);
+		}
+		if (phenotype instanceof CompiledNeuralNetwork) {
+			return new CompiledNeuralNetwork((CompiledNeuralNetwork) phenotype);
+		}
+		if (phenotype instanceof NeuralNetworkImpl) {
+			return new NeuralNetworkImpl((NeuralNetworkImpl) phenotype);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the version of the given {@link GeneMap}.
+	 * 
+	 * @param data
+	 *            the {@link GeneMap} of a genome
+	 * @return the version of the given {@link GeneMap}
+	 */
+	@Override
+	protected long getDataVersion(GeneMap data) {
+		return data.getVersion();
+	}
+
+	/**
+	 * Orders the output and hidden neurons of the given {@link GeneMap}
+	 * topologically, using its node adjacency. Links into bias and input nodes
+	 * are ignored, since those neurons never process their input signal.
+	 * 
+	 * @param geneMap
+	 *            the {@link GeneMap} being decoded
+	 * @param indexMap
+	 *            map from {@link NodeGene} id to their corresponding
+	 *            {@link Neuron}'s index in the neuron list
+	 * @param neuronCount
+	 *            the number of neurons
+	 * @param outputStart
+	 *            the index of the first output neuron
+	 * @return the indices of the output and hidden neurons in topological
+	 *         order, or null if the links of the given {@link GeneMap} form a
+	 *         cycle
+	 */
+	private int[] getEvaluationOrder(GeneMap geneMap, Map<XId, Integer> indexMap, int neuronCount, int outputStart) {
+		XId[] nodeIds = new XId[neuronCount];
+		for (Map.Entry<XId, Integer> entry : indexMap.entrySet()) {
+			nodeIds[entry.getValue()] = entry.getKey();
+		}
+		// bias and input neurons are ready from the start; the others wait on
+		// each of their distinct source nodes
+		int[] pendingSources = new int[neuronCount];
+		int[] queue = new int[neuronCount];
+		int tail = 0;
+		for (int i = 0; i < neuronCount; i++) {
+			if (i >= outputStart) {
+				pendingSources[i] = geneMap.getIncomingNodeIds(nodeIds[i]).size();
+			}
+			if (pendingSources[i] == 0) {
+				queue[tail++] = i;
+			}
+		}
+		for (int head = 0; head < tail; head++) {
+			for (XId targetId : geneMap.getOutgoingNodeIds(nodeIds[queue[head]])) {
+				int target = indexMap.get(targetId);
+				if (target >= outputStart && --pendingSources[target] == 0) {
+					queue[tail++] = target;
+				}
+			}
+		}
+		if (tail < neuronCount) {
+			return null;
+		}
+		int[] evaluationOrder = new int[neuronCount - outputStart];
+		int next = 0;
+		for (int i = 0; i < neuronCount; i++) {
+			if (queue[i] >= outputStart) {
+				evaluationOrder[next++] = queue[i];
+			}
+		}
+		return evaluationOrder;
+	}
+
 	/**
 	 * Adds to the given neurons list {@link Neuron}s created using the
 	 * corresponding {@link NodeGene}s. Assumes that all of the given
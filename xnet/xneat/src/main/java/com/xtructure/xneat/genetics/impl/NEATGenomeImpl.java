@@ -21,6 +21,8 @@
  */
 package com.xtructure.xneat.genetics.impl;
 
+import java.io.IOException;
+
 import javax.transaction.xa.Xid;
 
 import javolution.xml.stream.XMLStreamException;
@@ -29,6 +31,9 @@ import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xneat.genetics.GeneMap;
 import com.xtructure.xneat.genetics.NEATGenome;
 import com.xtructure.xutil.ValueMap;
+import com.xtructure.xutil.bin.BinaryFormat;
+import com.xtructure.xutil.bin.BinaryInput;
+import com.xtructure.xutil.bin.BinaryOutput;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.xml.ReadAttributes;
 import com.xtructure.xutil.xml.ReadElements;
@@ -46,9 +51,11 @@ import com.xtructure.xutil.xml.XmlUnit.Element;
  */
 public class NEATGenomeImpl extends AbstractNEATGenome<GeneMap> {
 	/** */
-	public static final XmlFormat<NEATGenomeImpl>	XML_FORMAT	= new NEATGenomeImplXmlFormat();
+	public static final XmlFormat<NEATGenomeImpl>		XML_FORMAT		= new NEATGenomeImplXmlFormat();
+	/** */
+	public static final XmlBinding						XML_BINDING		= new XmlBinding(NEATGenomeImpl.class);
 	/** */
-	public static final XmlBinding					XML_BINDING	= new XmlBinding(NEATGenomeImpl.class);
+	public static final BinaryFormat<NEATGenomeImpl>	BINARY_FORMAT	= new NEATGenomeImplBinaryFormat();
 
 	/**
 	 * Creates a new {@link NEATGenomeImpl} with the given data
@@ -113,4 +120,20 @@ public class NEATGenomeImpl extends AbstractNEATGenome<GeneMap> {
 			return genome;
 		}
 	}
+
+	private static final class NEATGenomeImplBinaryFormat extends AbstractBinaryFormat<NEATGenomeImpl> {
+		protected NEATGenomeImplBinaryFormat() {
+			super(NEATGenomeImpl.class);
+		}
+
+		@Override
+		protected void writeData(NEATGenomeImpl obj, BinaryOutput out) throws IOException {
+			GeneMap.BINARY_FORMAT.write(obj.getData(), out);
+		}
+
+		@Override
+		protected NEATGenomeImpl newInstance(XId id, BinaryInput in) throws IOException {
+			return new NEATGenomeImpl(id.getInstanceNum(), GeneMap.BINARY_FORMAT.read(in));
+		}
+	}
 }
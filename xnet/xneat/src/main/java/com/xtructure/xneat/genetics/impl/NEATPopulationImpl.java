@@ -21,6 +21,7 @@
  */
 package com.xtructure.xneat.genetics.impl;
 
+import java.io.IOException;
 import java.util.List;
 
 import javolution.xml.stream.XMLStreamException;
@@ -32,6 +33,8 @@ import com.xtructure.xneat.genetics.NEATPopulation;
 import com.xtructure.xneat.genetics.link.impl.LinkGeneImpl;
 import com.xtructure.xneat.genetics.node.impl.NodeGeneImpl;
 import com.xtructure.xutil.ValueMap;
+import com.xtructure.xutil.bin.BinaryFormat;
+import com.xtructure.xutil.bin.BinaryInput;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.xml.ReadAttributes;
 import com.xtructure.xutil.xml.ReadElements;
@@ -49,14 +52,16 @@ import com.xtructure.xutil.xml.XmlUnit.Element;
  */
 public class NEATPopulationImpl extends AbstractNEATPopulation<GeneMap> {
 	/** */
-	public static final XmlFormat<NEATPopulationImpl>	XML_FORMAT	= new NEATPopulationImplXmlFormat();
+	public static final XmlFormat<NEATPopulationImpl>		XML_FORMAT		= new NEATPopulationImplXmlFormat();
 	/** */
-	public static final XmlBinding						XML_BINDING	= XmlBinding.builder()//
-																			.add(NEATPopulationImpl.class)//
-																			.add(NEATGenomeImpl.class, "genome")//
-																			.add(LinkGeneImpl.class)//
-																			.add(NodeGeneImpl.class)//
-																			.newInstance();
+	public static final XmlBinding							XML_BINDING		= XmlBinding.builder()//
+																					.add(NEATPopulationImpl.class)//
+																					.add(NEATGenomeImpl.class, "genome")//
+																					.add(LinkGeneImpl.class)//
+																					.add(NodeGeneImpl.class)//
+																					.newInstance();
+	/** */
+	public static final BinaryFormat<NEATPopulationImpl>	BINARY_FORMAT	= new NEATPopulationImplBinaryFormat();
 
 	/**
 	 * Creates a new {@link NEATPopulationImpl}
@@ -95,4 +100,17 @@ public class NEATPopulationImpl extends AbstractNEATPopulation<GeneMap> {
 			return population;
 		}
 	}
+
+	private static final class NEATPopulationImplBinaryFormat extends AbstractBinaryFormat<GeneMap, NEATPopulationImpl> {
+		protected NEATPopulationImplBinaryFormat() {
+			super(NEATPopulationImpl.class);
+		}
+
+		@Override
+		protected NEATPopulationImpl newInstance(XId id, BinaryInput in) throws IOException {
+			NEATPopulationImpl population = new NEATPopulationImpl(id.getInstanceNum());
+			population.addAll(readGenomes(in));
+			return population;
+		}
+	}
 }
@@ -35,8 +35,7 @@ import com.xtructure.xutil.coll.Transform;
 import com.xtructure.xutil.config.AbstractConfigurationBuilder;
 import com.xtructure.xutil.config.AbstractXConfiguration;
 import com.xtructure.xutil.config.DoubleXParameter;
-import com.xtructure.xutil.config.FieldMap;
-import com.xtructure.xutil.config.FieldMapImpl;
+import com.xtructure.xutil.config.SlotFieldMap;
 import com.xtructure.xutil.config.XConfiguration;
 import com.xtructure.xutil.config.XParameter;
 import com.xtructure.xutil.id.XId;
@@ -114,9 +113,9 @@ public class LinkGeneConfiguration extends AbstractXConfiguration<LinkGeneConfig
 	 * @see com.xtructure.xutil.config.XConfiguration#newFieldMap()
 	 */
 	@Override
-	public FieldMap newFieldMap() {
+	public SlotFieldMap newFieldMap() {
 		LOGGER.trace("begin %s.newFieldMap()", getClass().getSimpleName());
-		FieldMap rVal = new FieldMapImpl(this);
+		SlotFieldMap rVal = getFieldMapLayout().newFieldMap();
 		LOGGER.trace("will return: %s", rVal);
 		LOGGER.trace("end %s.newFieldMap()", getClass().getSimpleName());
 		return rVal;
@@ -21,6 +21,8 @@
  */
 package com.xtructure.xneat.genetics.link.impl;
 
+import java.io.IOException;
+
 import javolution.xml.stream.XMLStreamException;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
@@ -29,6 +31,7 @@ import org.apache.commons.lang.builder.ToStringStyle;
 import com.xtructure.xneat.genetics.Innovation;
 import com.xtructure.xneat.genetics.impl.AbstractGene;
 import com.xtructure.xneat.genetics.link.LinkGene;
+import com.xtructure.xutil.bin.BinaryOutput;
 import com.xtructure.xutil.config.XConfiguration;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.xml.XmlUnit;
@@ -180,4 +183,18 @@ public abstract class AbstractLinkGene extends AbstractGene implements LinkGene
 			TARGET_ATTRIBUTE.write(xml, obj.getTargetId());
 		}
 	}
+
+	/** binary format for {@link AbstractLinkGene} */
+	protected static abstract class AbstractBinaryFormat<G extends AbstractLinkGene> extends AbstractGene.AbstractBinaryFormat<G> {
+		protected AbstractBinaryFormat(Class<G> cls) {
+			super(cls);
+		}
+
+		@Override
+		protected void writeData(G obj, BinaryOutput out) throws IOException {
+			super.writeData(obj, out);
+			out.writeXId(obj.getSourceId());
+			out.writeXId(obj.getTargetId());
+		}
+	}
 }
@@ -23,12 +23,18 @@ package com.xtructure.xneat.genetics.link.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.io.IOException;
+
 import javolution.xml.stream.XMLStreamException;
 
 import com.xtructure.xneat.genetics.Innovation;
 import com.xtructure.xneat.genetics.link.LinkGene;
 import com.xtructure.xneat.genetics.link.config.LinkGeneConfiguration;
 import com.xtructure.xutil.ValueMap;
+import com.xtructure.xutil.bin.BinaryFormat;
+import com.xtructure.xutil.bin.BinaryInput;
+import com.xtructure.xutil.bin.BinaryOutput;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.xml.ReadAttributes;
 import com.xtructure.xutil.xml.ReadElements;
@@ -45,9 +51,11 @@ import com.xtructure.xutil.xml.XmlUnit.Attribute;
  */
 public final class LinkGeneImpl extends AbstractLinkGene {
 	/** */
-	public static final XmlFormat<LinkGeneImpl>	XML_FORMAT	= new GeneXmlFormat();
+	public static final XmlFormat<LinkGeneImpl>		XML_FORMAT		= new GeneXmlFormat();
+	/** */
+	public static final XmlBinding					XML_BINDING		= new XmlBinding(LinkGeneImpl.class);
 	/** */
-	public static final XmlBinding				XML_BINDING	= new XmlBinding(LinkGeneImpl.class);
+	public static final BinaryFormat<LinkGeneImpl>	BINARY_FORMAT	= new GeneBinaryFormat();
 
 	/**
 	 * Creates a new {@link LinkGeneImpl} with the given configuration
@@ -166,4 +174,31 @@ public final class LinkGeneImpl extends AbstractLinkGene {
 			return link;
 		}
 	}
+
+	private static final class GeneBinaryFormat extends AbstractBinaryFormat<LinkGeneImpl> {
+		private GeneBinaryFormat() {
+			super(LinkGeneImpl.class);
+		}
+
+		@Override
+		protected void writeData(LinkGeneImpl obj, BinaryOutput out) throws IOException {
+			super.writeData(obj, out);
+			out.writeDouble(obj.getWeight());
+		}
+
+		@Override
+		protected LinkGeneImpl newInstance(XId id, BinaryInput in) throws IOException {
+			Innovation innovation = readInnovation(in);
+			XId configId = in.readXId();
+			XId srcId = in.readXId();
+			XId tgtId = in.readXId();
+			LinkGeneConfiguration configuration = LinkGeneConfiguration.getManager().getObject(configId);
+			if (configuration == null) {
+				throw new IOException(String.format("LinkGeneConfiguration with id %s must exist", configId));
+			}
+			LinkGeneImpl link = new LinkGeneImpl(id, srcId, tgtId, innovation, configuration);
+			link.setWeight(in.readDouble());
+			return link;
+		}
+	}
 }
@@ -21,6 +21,8 @@
  */
 package com.xtructure.xneat.genetics.node.impl;
 
+import java.io.IOException;
+
 import javolution.xml.stream.XMLStreamException;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
@@ -30,6 +32,7 @@ import com.xtructure.xneat.genetics.Innovation;
 import com.xtructure.xneat.genetics.impl.AbstractGene;
 import com.xtructure.xneat.genetics.node.NodeGene;
 import com.xtructure.xneat.genetics.node.NodeType;
+import com.xtructure.xutil.bin.BinaryOutput;
 import com.xtructure.xutil.config.XConfiguration;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.xml.XmlUnit;
@@ -152,4 +155,17 @@ public abstract class AbstractNodeGene extends AbstractGene implements NodeGene
 			NODE_TYPE_ATTRIBUTE.write(xml, obj.getNodeType().toString());
 		}
 	}
+
+	/** binary format for {@link AbstractNodeGene} */
+	protected static abstract class AbstractBinaryFormat<G extends AbstractNodeGene> extends AbstractGene.AbstractBinaryFormat<G> {
+		protected AbstractBinaryFormat(Class<G> cls) {
+			super(cls);
+		}
+
+		@Override
+		protected void writeData(G obj, BinaryOutput out) throws IOException {
+			super.writeData(obj, out);
+			out.writeString(obj.getNodeType().name());
+		}
+	}
 }
@@ -23,6 +23,9 @@ package com.xtructure.xneat.genetics.node.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.io.IOException;
+
 import javolution.xml.stream.XMLStreamException;
 
 import com.xtructure.xneat.genetics.Innovation;
@@ -30,6 +33,9 @@ import com.xtructure.xneat.genetics.node.NodeGene;
 import com.xtructure.xneat.genetics.node.NodeType;
 import com.xtructure.xneat.genetics.node.config.NodeGeneConfiguration;
 import com.xtructure.xutil.ValueMap;
+import com.xtructure.xutil.bin.BinaryFormat;
+import com.xtructure.xutil.bin.BinaryInput;
+import com.xtructure.xutil.bin.BinaryOutput;
 import com.xtructure.xutil.id.XId;
 import com.xtructure.xutil.xml.ReadAttributes;
 import com.xtructure.xutil.xml.ReadElements;
@@ -46,9 +52,11 @@ import com.xtructure.xutil.xml.XmlUnit.Attribute;
  */
 public class NodeGeneImpl extends AbstractNodeGene {
 	/** */
-	public static final XmlFormat<NodeGeneImpl>	XML_FORMAT	= new GeneXmlFormat();
+	public static final XmlFormat<NodeGeneImpl>		XML_FORMAT		= new GeneXmlFormat();
+	/** */
+	public static final XmlBinding					XML_BINDING		= new XmlBinding(NodeGeneImpl.class);
 	/** */
-	public static final XmlBinding				XML_BINDING	= new XmlBinding(NodeGeneImpl.class);
+	public static final BinaryFormat<NodeGeneImpl>	BINARY_FORMAT	= new GeneBinaryFormat();
 
 	/**
 	 * Creates a new {@link NodeGeneImpl} with the given configuration
@@ -162,4 +170,30 @@ public class NodeGeneImpl extends AbstractNodeGene {
 			return node;
 		}
 	}
+
+	private static final class GeneBinaryFormat extends AbstractBinaryFormat<NodeGeneImpl> {
+		private GeneBinaryFormat() {
+			super(NodeGeneImpl.class);
+		}
+
+		@Override
+		protected void writeData(NodeGeneImpl obj, BinaryOutput out) throws IOException {
+			super.writeData(obj, out);
+			out.writeDouble(obj.getActivation());
+		}
+
+		@Override
+		protected NodeGeneImpl newInstance(XId id, BinaryInput in) throws IOException {
+			Innovation innovation = readInnovation(in);
+			XId configId = in.readXId();
+			NodeType nodeType = NodeType.parse(in.readString());
+			NodeGeneConfiguration configuration = NodeGeneConfiguration.getManager().getObject(configId);
+			if (configuration == null) {
+				throw new IOException(String.format("NodeGeneConfiguration with id %s must exist", configId));
+			}
+			NodeGeneImpl node = new NodeGeneImpl(id, innovation, nodeType, configuration);
+			node.setActivation(in.readDouble());
+			return node;
+		}
+	}
 }
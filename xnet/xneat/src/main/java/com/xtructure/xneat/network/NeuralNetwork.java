@@ -71,5 +71,36 @@ public interface NeuralNetwork {
 	 * Sets the energies of neurons in the network to 0.0.
 	 */
 	public void clearSignals();
+
+	/**
+	 * Runs a batch of input patterns through the network. For each pattern i,
+	 * this is equivalent to:
+	 * 
+	 * <pre>
+	 * clearSignals();
+	 * setInputSignals(inputSignals[i]);
+	 * relaxed[i] = relaxNetwork(maxSteps, maxDelta);
+	 * outputSignals[i] = getOutputSignals();
+	 * </pre>
+	 * 
+	 * except that the outputs are copied into the caller's arrays. The signals
+	 * held by this {@link NeuralNetwork} after the call are unspecified.
+	 * 
+	 * @param inputSignals
+	 *            the input patterns, one row per pattern
+	 * @param outputSignals
+	 *            the buffer receiving the output signals, one row per pattern,
+	 *            each at least as long as the number of outputs
+	 * @param relaxed
+	 *            the buffer receiving, for each pattern, whether the network
+	 *            reached equilibrium within maxSteps (may be null)
+	 * @param maxSteps
+	 *            the max steps
+	 * @param maxDelta
+	 *            the max delta
+	 * @return the number of patterns for which the network reached
+	 *         equilibrium within maxSteps
+	 */
+	public int relaxNetwork(double[][] inputSignals, double[][] outputSignals, boolean[] relaxed, int maxSteps, double maxDelta);
 	
 }
@@ -0,0 +1,510 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.network.impl;
+
+import static com.xtructure.xutil.valid.ValidateUtils.hasLength;
+import static com.xtructure.xutil.valid.ValidateUtils.hasLengthAtLeast;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isNull;
+import static com.xtructure.xutil.valid.ValidateUtils.or;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.util.List;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+
+import com.xtructure.xevolution.genetics.Genome;
+import com.xtructure.xneat.genetics.node.NodeType;
+import com.xtructure.xneat.network.NeuralNetwork;
+import com.xtructure.xutil.id.XId;
+
+/**
+ * {@link CompiledNeuralNetwork} implements the {@link NeuralNetwork} interface
+ * with the same concurrent semantics as {@link NeuralNetworkImpl}, but keeps
+ * all of its state in primitive arrays. Connections are stored in
+ * compressed-row form, grouped by target neuron (preserving their original
+ * relative order within each group), so a step is two tight loops over
+ * arrays that allocate nothing.
+ * <P>
+ * Signals are accumulated for each target neuron in the same order as
+ * {@link NeuralNetworkImpl} accumulates them, so the two implementations
+ * produce bit-identical results for the same neurons and connections.
+ * <P>
+ * Connections targeting bias or input neurons are dropped, since those
+ * neurons never process their input signal.
+ * <P>
+ * Batches of input patterns are propagated together: batch signals are laid
+ * out neuron-major (all patterns of neuron 0, then all patterns of neuron 1,
+ * and so on), so each connection is visited once per step for the whole
+ * batch. Patterns that reach equilibrium are retired from the batch by moving
+ * the last active pattern into their slot, keeping the active patterns
+ * contiguous.
+ * 
+ * @author Luis Guimbarda
+ */
+public class CompiledNeuralNetwork implements NeuralNetwork {
+	/** number of bias neurons */
+	private final int		biasNeuronCount;
+	/** number of input neurons */
+	private final int		inputNeuronCount;
+	/** number of output neurons */
+	private final int		outputNeuronCount;
+	/** number of hidden neurons */
+	private final int		hiddenNeuronCount;
+	/** index of the first input neuron */
+	private final int		inputStart;
+	/** index of the first output neuron */
+	private final int		outputStart;
+	/** index after the last output neuron */
+	private final int		outputEnd;
+	/** index after the last hidden neuron */
+	private final int		hiddenEnd;
+	/** activation slope of each neuron, by neuron index */
+	private final double[]	activationSlopes;
+	/** output signal of each neuron, by neuron index */
+	private final double[]	signals;
+	/** accumulated input signal of each neuron, by neuron index */
+	private final double[]	inputSignals;
+	/**
+	 * offsets into the connection arrays: the connections targeting neuron i
+	 * occupy [targetOffsets[i], targetOffsets[i + 1])
+	 */
+	private final int[]		targetOffsets;
+	/** source neuron index of each connection, grouped by target */
+	private final int[]		sourceIndices;
+	/** weight of each connection, grouped by target */
+	private final double[]	weights;
+	/** the id of the genome on whom this network is based */
+	private final XId		genomeId;
+	/** number of patterns the batch buffers can hold */
+	private int				batchCapacity;
+	/** batch output signals, neuron-major with stride batchCapacity */
+	private double[]		batchSignals;
+	/** batch input signals, neuron-major with stride batchCapacity */
+	private double[]		batchInputSignals;
+	/** max signal delta of the current step, by batch slot */
+	private double[]		batchDeltas;
+	/** index of the pattern occupying each batch slot */
+	private int[]			batchPatterns;
+
+	/**
+	 * Creates a new {@link CompiledNeuralNetwork}. The given neurons and
+	 * connections are arranged as for {@link NeuralNetworkImpl}; their current
+	 * signals and weights are copied, and they are not referenced afterwards.
+	 * 
+	 * @param genomeId
+	 *            the XId of the {@link Genome} that encoded the new
+	 *            {@link NeuralNetwork}
+	 * @param biasNeuronCount
+	 *            the number of {@link NodeType#BIAS} {@link Neuron}s
+	 * @param inputNeuronCount
+	 *            the number of {@link NodeType#INPUT} {@link Neuron}s
+	 * @param outputNeuronCount
+	 *            the number of {@link NodeType#OUTPUT} {@link Neuron}s
+	 * @param hiddenNeuronCount
+	 *            the number of {@link NodeType#HIDDEN} {@link Neuron}s
+	 * @param neurons
+	 *            the list of neurons in the new {@link NeuralNetwork}
+	 * @param connections
+	 *            the list of {@link Connection} in the new
+	 *            {@link NeuralNetwork}
+	 */
+	public CompiledNeuralNetwork(//
+			XId genomeId,//
+			int biasNeuronCount,//
+			int inputNeuronCount,//
+			int outputNeuronCount,//
+			int hiddenNeuronCount,//
+			List<Neuron> neurons,//
+			List<Connection> connections) {
+		this.genomeId = genomeId;
+		this.biasNeuronCount = biasNeuronCount;
+		this.inputNeuronCount = inputNeuronCount;
+		this.outputNeuronCount = outputNeuronCount;
+		this.hiddenNeuronCount = hiddenNeuronCount;
+		this.inputStart = biasNeuronCount;
+		this.outputStart = this.inputStart + inputNeuronCount;
+		this.outputEnd = this.outputStart + outputNeuronCount;
+		this.hiddenEnd = this.outputEnd + hiddenNeuronCount;
+		this.activationSlopes = new double[hiddenEnd];
+		this.signals = new double[hiddenEnd];
+		this.inputSignals = new double[hiddenEnd];
+		for (int i = 0; i < hiddenEnd; i++) {
+			Neuron neuron = neurons.get(i);
+			activationSlopes[i] = neuron.getActivationSlope();
+			signals[i] = i < biasNeuronCount ? 1.0 : neuron.getSignal();
+		}
+		// counting sort of connections by target; stable, so each target's
+		// connections keep their original accumulation order
+		int connectionCount = connections.size();
+		int[] sources = new int[connectionCount];
+		int[] targets = new int[connectionCount];
+		double[] connectionWeights = new double[connectionCount];
+		this.targetOffsets = new int[hiddenEnd + 1];
+		int kept = 0;
+		for (Connection connection : connections) {
+			int target = connection.getTargetNeuronIndex();
+			if (target < outputStart) {
+				continue;
+			}
+			sources[kept] = connection.getSourceNeuronIndex();
+			targets[kept] = target;
+			connectionWeights[kept] = connection.getWeight();
+			targetOffsets[target + 1]++;
+			kept++;
+		}
+		for (int i = 0; i < hiddenEnd; i++) {
+			targetOffsets[i + 1] += targetOffsets[i];
+		}
+		this.sourceIndices = new int[kept];
+		this.weights = new double[kept];
+		int[] next = new int[hiddenEnd];
+		System.arraycopy(targetOffsets, 0, next, 0, hiddenEnd);
+		for (int c = 0; c < kept; c++) {
+			int slot = next[targets[c]]++;
+			sourceIndices[slot] = sources[c];
+			weights[slot] = connectionWeights[c];
+		}
+	}
+
+	/**
+	 * Creates a new {@link CompiledNeuralNetwork} with the neurons and
+	 * connections of the given network and cleared signals. The arrays that
+	 * describe the structure of the given network are shared, not copied.
+	 * 
+	 * @param network
+	 *            the {@link CompiledNeuralNetwork} to copy
+	 */
+	public CompiledNeuralNetwork(CompiledNeuralNetwork network) {
+		this.genomeId = network.genomeId;
+		this.biasNeuronCount = network.biasNeuronCount;
+		this.inputNeuronCount = network.inputNeuronCount;
+		this.outputNeuronCount = network.outputNeuronCount;
+		this.hiddenNeuronCount = network.hiddenNeuronCount;
+		this.inputStart = network.inputStart;
+		this.outputStart = network.outputStart;
+		this.outputEnd = network.outputEnd;
+		this.hiddenEnd = network.hiddenEnd;
+		this.activationSlopes = network.activationSlopes;
+		this.signals = new double[hiddenEnd];
+		this.inputSignals = new double[hiddenEnd];
+		for (int i = 0; i < biasNeuronCount; i++) {
+			signals[i] = 1.0;
+		}
+		this.targetOffsets = network.targetOffsets;
+		this.sourceIndices = network.sourceIndices;
+		this.weights = network.weights;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.xtructure.xneat.network.NeuralNetwork#clearSignals()
+	 */
+	@Override
+	public void clearSignals() {
+		for (int i = inputStart; i < hiddenEnd; i++) {
+			signals[i] = 0.0;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.xtructure.xneat.network.NeuralNetwork#getOutputSignals()
+	 */
+	@Override
+	public double[] getOutputSignals() {
+		double[] outputs = new double[outputNeuronCount];
+		System.arraycopy(signals, outputStart, outputs, 0, outputNeuronCount);
+		return outputs;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.xtructure.xneat.network.NeuralNetwork#relaxNetwork(int, double)
+	 */
+	@Override
+	public boolean relaxNetwork(int maxSteps, double maxDelta) {
+		boolean isRelaxed = false;
+		for (int i = 0; i < maxSteps && !isRelaxed; i++) {
+			double signalDelta = singleStep();
+			isRelaxed = signalDelta <= maxDelta;
+		}
+		return isRelaxed;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.xtructure.xneat.network.NeuralNetwork#relaxNetwork(double[][],
+	 * double[][], boolean[], int, double)
+	 */
+	@Override
+	public int relaxNetwork(double[][] inputSignals, double[][] outputSignals, boolean[] relaxed, int maxSteps, double maxDelta) {
+		validateArg("inputSignals", inputSignals, isNotNull());
+		validateArg("outputSignals", outputSignals, isNotNull(), hasLength(inputSignals.length));
+		validateArg("relaxed", relaxed, or(isNull(), hasLength(inputSignals.length)));
+		int patternCount = inputSignals.length;
+		for (int p = 0; p < patternCount; p++) {
+			validateArg("inputSignals[p]", inputSignals[p], isNotNull(), hasLength(inputNeuronCount));
+			validateArg("outputSignals[p]", outputSignals[p], isNotNull(), hasLengthAtLeast(outputNeuronCount));
+		}
+		ensureBatchCapacity(patternCount);
+		int stride = batchCapacity;
+		double[] batchSignals = this.batchSignals;
+		double[] batchInputSignals = this.batchInputSignals;
+		double[] batchDeltas = this.batchDeltas;
+		// load patterns: bias neurons at 1.0, inputs as given, the rest cleared
+		for (int p = 0; p < patternCount; p++) {
+			batchPatterns[p] = p;
+			for (int i = 0; i < inputStart; i++) {
+				batchSignals[i * stride + p] = 1.0;
+			}
+			for (int i = 0; i < inputNeuronCount; i++) {
+				batchSignals[(inputStart + i) * stride + p] = inputSignals[p][i];
+			}
+			for (int i = outputStart; i < hiddenEnd; i++) {
+				batchSignals[i * stride + p] = 0.0;
+			}
+		}
+		int active = patternCount;
+		int relaxedCount = 0;
+		for (int step = 0; step < maxSteps && active > 0; step++) {
+			// accumulate connection signals for their target neurons
+			for (int i = outputStart; i < hiddenEnd; i++) {
+				int targetBase = i * stride;
+				for (int p = 0; p < active; p++) {
+					batchInputSignals[targetBase + p] = 0.0;
+				}
+				for (int c = targetOffsets[i]; c < targetOffsets[i + 1]; c++) {
+					int sourceBase = sourceIndices[c] * stride;
+					double weight = weights[c];
+					for (int p = 0; p < active; p++) {
+						batchInputSignals[targetBase + p] += batchSignals[sourceBase + p] * weight;
+					}
+				}
+			}
+			// pass accumulated input signals through neurons
+			for (int p = 0; p < active; p++) {
+				batchDeltas[p] = -Double.MAX_VALUE;
+			}
+			for (int i = outputStart; i < hiddenEnd; i++) {
+				int base = i * stride;
+				double activationSlope = activationSlopes[i];
+				for (int p = 0; p < active; p++) {
+					double oldSignal = batchSignals[base + p];
+					double signal = 1.0 / (1.0 + Math.exp(-activationSlope * batchInputSignals[base + p]));
+					batchSignals[base + p] = signal;
+					batchDeltas[p] = Math.max(signal - oldSignal, batchDeltas[p]);
+				}
+			}
+			// retire relaxed patterns
+			for (int p = active - 1; p >= 0; p--) {
+				if (batchDeltas[p] <= maxDelta) {
+					retirePattern(p, outputSignals, relaxed, true);
+					relaxedCount++;
+					active--;
+					moveBatchSlot(active, p);
+				}
+			}
+		}
+		for (int p = 0; p < active; p++) {
+			retirePattern(p, outputSignals, relaxed, false);
+		}
+		return relaxedCount;
+	}
+
+	/**
+	 * Ensures the batch buffers can hold the given number of patterns.
+	 * 
+	 * @param patternCount
+	 *            the number of patterns in the batch
+	 */
+	private void ensureBatchCapacity(int patternCount) {
+		if (batchCapacity < patternCount || batchSignals == null) {
+			batchCapacity = Math.max(patternCount, 1);
+			batchSignals = new double[hiddenEnd * batchCapacity];
+			batchInputSignals = new double[hiddenEnd * batchCapacity];
+			batchDeltas = new double[batchCapacity];
+			batchPatterns = new int[batchCapacity];
+		}
+	}
+
+	/**
+	 * Copies the outputs of the pattern in the given batch slot to the
+	 * caller's buffers.
+	 * 
+	 * @param slot
+	 *            the batch slot of the pattern
+	 * @param outputSignals
+	 *            the caller's output buffer
+	 * @param relaxed
+	 *            the caller's relaxed flags (may be null)
+	 * @param isRelaxed
+	 *            whether the pattern reached equilibrium
+	 */
+	private void retirePattern(int slot, double[][] outputSignals, boolean[] relaxed, boolean isRelaxed) {
+		int pattern = batchPatterns[slot];
+		double[] outputs = outputSignals[pattern];
+		for (int i = 0; i < outputNeuronCount; i++) {
+			outputs[i] = batchSignals[(outputStart + i) * batchCapacity + slot];
+		}
+		if (relaxed != null) {
+			relaxed[pattern] = isRelaxed;
+		}
+	}
+
+	/**
+	 * Moves the pattern in one batch slot into another.
+	 * 
+	 * @param from
+	 *            the slot to move from
+	 * @param to
+	 *            the slot to move to
+	 */
+	private void moveBatchSlot(int from, int to) {
+		if (from == to) {
+			return;
+		}
+		batchPatterns[to] = batchPatterns[from];
+		for (int i = 0; i < hiddenEnd; i++) {
+			int base = i * batchCapacity;
+			batchSignals[base + to] = batchSignals[base + from];
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.xtructure.xneat.network.NeuralNetwork#setInputSignals(double[])
+	 */
+	@Override
+	public void setInputSignals(double[] inputSignals) {
+		validateArg("inputSignals is ", inputSignals, isNotNull());
+		validateArg("inputSignals has length", inputSignals.length, isEqualTo(inputNeuronCount));
+		System.arraycopy(inputSignals, 0, signals, inputStart, inputNeuronCount);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.xtructure.xneat.network.NeuralNetwork#singleStep()
+	 */
+	@Override
+	public double singleStep() {
+		// accumulate connection signals for their target neurons, reading
+		// only the signals of the previous step
+		for (int i = outputStart; i < hiddenEnd; i++) {
+			double inputSignal = 0.0;
+			for (int c = targetOffsets[i]; c < targetOffsets[i + 1]; c++) {
+				inputSignal += signals[sourceIndices[c]] * weights[c];
+			}
+			inputSignals[i] = inputSignal;
+		}
+		// pass accumulated input signals through neurons
+		double maxSignalDelta = -Double.MAX_VALUE;
+		for (int i = outputStart; i < hiddenEnd; i++) {
+			double oldSignal = signals[i];
+			double signal = 1.0 / (1.0 + Math.exp(-activationSlopes[i] * inputSignals[i]));
+			signals[i] = signal;
+			maxSignalDelta = Math.max(signal - oldSignal, maxSignalDelta);
+		}
+		return maxSignalDelta;
+	}
+
+	/**
+	 * Gets the number of bias neurons in this {@link NeuralNetwork}.
+	 * 
+	 * @return the number of bias neurons in this {@link NeuralNetwork}.
+	 */
+	public int getBiasNeuronCount() {
+		return biasNeuronCount;
+	}
+
+	/**
+	 * Gets the number of input neurons in this {@link NeuralNetwork}.
+	 * 
+	 * @return the number of input neurons in this {@link NeuralNetwork}.
+	 */
+	public int getInputNeuronCount() {
+		return inputNeuronCount;
+	}
+
+	/**
+	 * Gets the number of output neurons in this {@link NeuralNetwork}.
+	 * 
+	 * @return the number of output neurons in this {@link NeuralNetwork}.
+	 */
+	public int getOutputNeuronCount() {
+		return outputNeuronCount;
+	}
+
+	/**
+	 * Gets the number of hidden neurons in this {@link NeuralNetwork}.
+	 * 
+	 * @return the number of hidden neurons in this {@link NeuralNetwork}.
+	 */
+	public int getHiddenNeuronCount() {
+		return hiddenNeuronCount;
+	}
+
+	/**
+	 * Gets the number of connections that take part in a step of this
+	 * {@link NeuralNetwork}.
+	 * 
+	 * @return the number of connections in this {@link NeuralNetwork}.
+	 */
+	public int getConnectionCount() {
+		return weights.length;
+	}
+
+	/**
+	 * Gets the id of the {@link Genome} which encoded this
+	 * {@link NeuralNetwork}.
+	 * 
+	 * @return the id of the {@link Genome} which encoded this
+	 *         {@link NeuralNetwork}.
+	 */
+	public XId getGenomeId() {
+		return genomeId;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this, ToStringStyle.MULTI_LINE_STYLE)//
+				.append("genomeId", genomeId)//
+				.append("activationSlopes", activationSlopes)//
+				.append("signals", signals)//
+				.append("sourceIndices", sourceIndices)//
+				.append("weights", weights)//
+				.toString();
+	}
+}
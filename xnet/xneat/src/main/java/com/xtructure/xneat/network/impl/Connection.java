@@ -83,9 +83,11 @@ public class Connection {
 	 *         .
 	 */
 	public int getSourceNeuronIndex() {
-		LOGGER.trace("begin %s.getSourceNeuronIndex()", getClass().getSimpleName());
-		LOGGER.trace("will return: %s", sourceNeuronIndex);
-		LOGGER.trace("end %s.getSourceNeuronIndex()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.getSourceNeuronIndex()", getClass().getSimpleName());
+			LOGGER.trace("will return: %s", sourceNeuronIndex);
+			LOGGER.trace("end %s.getSourceNeuronIndex()", getClass().getSimpleName());
+		}
 		return sourceNeuronIndex;
 	}
 
@@ -96,9 +98,11 @@ public class Connection {
 	 *         .
 	 */
 	public int getTargetNeuronIndex() {
-		LOGGER.trace("begin %s.getTargetNeuronIndex()", getClass().getSimpleName());
-		LOGGER.trace("will return: %s", targetNeuronIndex);
-		LOGGER.trace("end %s.getTargetNeuronIndex()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.getTargetNeuronIndex()", getClass().getSimpleName());
+			LOGGER.trace("will return: %s", targetNeuronIndex);
+			LOGGER.trace("end %s.getTargetNeuronIndex()", getClass().getSimpleName());
+		}
 		return targetNeuronIndex;
 	}
 
@@ -108,9 +112,11 @@ public class Connection {
 	 * @return the weight of this {@link Connection}.
 	 */
 	public double getWeight() {
-		LOGGER.trace("begin %s.getWeight()", getClass().getSimpleName());
-		LOGGER.trace("will return: %s", weight);
-		LOGGER.trace("end %s.getWeight()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.getWeight()", getClass().getSimpleName());
+			LOGGER.trace("will return: %s", weight);
+			LOGGER.trace("end %s.getWeight()", getClass().getSimpleName());
+		}
 		return weight;
 	}
 
@@ -120,9 +126,11 @@ public class Connection {
 	 * @return the signal of this {@link Connection}.
 	 */
 	public double getSignal() {
-		LOGGER.trace("begin %s.getSignal()", getClass().getSimpleName());
-		LOGGER.trace("will return: %s", signal);
-		LOGGER.trace("end %s.getSignal()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.getSignal()", getClass().getSimpleName());
+			LOGGER.trace("will return: %s", signal);
+			LOGGER.trace("end %s.getSignal()", getClass().getSimpleName());
+		}
 		return signal;
 	}
 
@@ -133,9 +141,13 @@ public class Connection {
 	 *            the value to set
 	 */
 	public void setSignal(double signal) {
-		LOGGER.trace("begin %s.setSignal(%f)", getClass().getSimpleName(), signal);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.setSignal(%f)", getClass().getSimpleName(), signal);
+		}
 		this.signal = signal;
-		LOGGER.trace("end %s.setSignal()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("end %s.setSignal()", getClass().getSimpleName());
+		}
 	}
 
 	/*
@@ -0,0 +1,409 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.network.impl;
+
+import static com.xtructure.xutil.valid.ValidateUtils.hasLength;
+import static com.xtructure.xutil.valid.ValidateUtils.hasLengthAtLeast;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isLessThan;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+import static com.xtructure.xutil.valid.ValidateUtils.or;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.util.List;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+
+import com.xtructure.xevolution.genetics.Genome;
+import com.xtructure.xneat.genetics.node.NodeType;
+import com.xtructure.xneat.network.NeuralNetwork;
+import com.xtructure.xutil.id.XId;
+
+/**
+ * {@link FeedForwardNeuralNetwork} implements the {@link NeuralNetwork}
+ * interface for acyclic networks. Rather than stepping every neuron
+ * concurrently until the signals settle, each output and hidden neuron is
+ * evaluated exactly once, in a topological order of the connections, so a
+ * single pass yields the signals that {@link NeuralNetworkImpl} converges to.
+ * <P>
+ * A call to {@link #relaxNetwork(int, double)} with at least one step
+ * performs that single pass and reports the network as relaxed. The
+ * connections are grouped by target neuron as in
+ * {@link CompiledNeuralNetwork}, preserving their relative order, so the
+ * signals are bit-identical to those the other implementations reach once
+ * they have stepped as many times as the network is deep.
+ * <P>
+ * Connections targeting bias or input neurons are dropped, since those
+ * neurons never process their input signal.
+ *
+ * @author Luis Guimbarda
+ */
+public class FeedForwardNeuralNetwork implements NeuralNetwork {
+	/** number of bias neurons */
+	private final int		biasNeuronCount;
+	/** number of input neurons */
+	private final int		inputNeuronCount;
+	/** number of output neurons */
+	private final int		outputNeuronCount;
+	/** number of hidden neurons */
+	private final int		hiddenNeuronCount;
+	/** index of the first input neuron */
+	private final int		inputStart;
+	/** index of the first output neuron */
+	private final int		outputStart;
+	/** index after the last hidden neuron */
+	private final int		hiddenEnd;
+	/** indices of the output and hidden neurons, in topological order */
+	private final int[]		evaluationOrder;
+	/** activation slope of each neuron, by neuron index */
+	private final double[]	activationSlopes;
+	/** output signal of each neuron, by neuron index */
+	private final double[]	signals;
+	/**
+	 * offsets into the connection arrays: the connections targeting neuron i
+	 * occupy [targetOffsets[i], targetOffsets[i + 1])
+	 */
+	private final int[]		targetOffsets;
+	/** source neuron index of each connection, grouped by target */
+	private final int[]		sourceIndices;
+	/** weight of each connection, grouped by target */
+	private final double[]	weights;
+	/** the id of the genome on whom this network is based */
+	private final XId		genomeId;
+
+	/**
+	 * Creates a new {@link FeedForwardNeuralNetwork}. The given neurons and
+	 * connections are arranged as for {@link NeuralNetworkImpl}; their current
+	 * signals and weights are copied, and they are not referenced afterwards.
+	 *
+	 * @param genomeId
+	 *            the XId of the {@link Genome} that encoded the new
+	 *            {@link NeuralNetwork}
+	 * @param biasNeuronCount
+	 *            the number of {@link NodeType#BIAS} {@link Neuron}s
+	 * @param inputNeuronCount
+	 *            the number of {@link NodeType#INPUT} {@link Neuron}s
+	 * @param outputNeuronCount
+	 *            the number of {@link NodeType#OUTPUT} {@link Neuron}s
+	 * @param hiddenNeuronCount
+	 *            the number of {@link NodeType#HIDDEN} {@link Neuron}s
+	 * @param neurons
+	 *            the list of neurons in the new {@link NeuralNetwork}
+	 * @param connections
+	 *            the list of {@link Connection} in the new
+	 *            {@link NeuralNetwork}
+	 * @param evaluationOrder
+	 *            the indices of every output and hidden neuron, ordered so
+	 *            that the source of each connection precedes its target
+	 * @throws IllegalArgumentException
+	 *             if evaluationOrder does not order every output and hidden
+	 *             neuron after the sources of its connections
+	 */
+	public FeedForwardNeuralNetwork(//
+			XId genomeId,//
+			int biasNeuronCount,//
+			int inputNeuronCount,//
+			int outputNeuronCount,//
+			int hiddenNeuronCount,//
+			List<Neuron> neurons,//
+			List<Connection> connections,//
+			int[] evaluationOrder) {
+		this.genomeId = genomeId;
+		this.biasNeuronCount = biasNeuronCount;
+		this.inputNeuronCount = inputNeuronCount;
+		this.outputNeuronCount = outputNeuronCount;
+		this.hiddenNeuronCount = hiddenNeuronCount;
+		this.inputStart = biasNeuronCount;
+		this.outputStart = this.inputStart + inputNeuronCount;
+		this.hiddenEnd = this.outputStart + outputNeuronCount + hiddenNeuronCount;
+		validateArg("evaluationOrder", evaluationOrder, isNotNull(), hasLength(hiddenEnd - outputStart));
+		// rank of each neuron in the evaluation order; bias and input neurons
+		// come before all others
+		int[] ranks = new int[hiddenEnd];
+		for (int i = outputStart; i < hiddenEnd; i++) {
+			ranks[i] = -1;
+		}
+		for (int r = 0; r < evaluationOrder.length; r++) {
+			int neuron = evaluationOrder[r];
+			validateArg("evaluationOrder entry is a distinct output or hidden neuron",//
+					neuron >= outputStart && neuron < hiddenEnd && ranks[neuron] < 0, isTrue());
+			ranks[neuron] = r;
+		}
+		this.evaluationOrder = evaluationOrder.clone();
+		this.activationSlopes = new double[hiddenEnd];
+		this.signals = new double[hiddenEnd];
+		for (int i = 0; i < hiddenEnd; i++) {
+			Neuron neuron = neurons.get(i);
+			activationSlopes[i] = neuron.getActivationSlope();
+			signals[i] = i < biasNeuronCount ? 1.0 : neuron.getSignal();
+		}
+		// counting sort of connections by target; stable, so each target's
+		// connections keep their original accumulation order
+		int connectionCount = connections.size();
+		int[] sources = new int[connectionCount];
+		int[] targets = new int[connectionCount];
+		double[] connectionWeights = new double[connectionCount];
+		this.targetOffsets = new int[hiddenEnd + 1];
+		int kept = 0;
+		for (Connection connection : connections) {
+			int source = connection.getSourceNeuronIndex();
+			int target = connection.getTargetNeuronIndex();
+			if (target < outputStart) {
+				continue;
+			}
+			if (source >= outputStart) {
+				validateArg("evaluation rank of connection source", ranks[source], isLessThan(ranks[target]));
+			}
+			sources[kept] = source;
+			targets[kept] = target;
+			connectionWeights[kept] = connection.getWeight();
+			targetOffsets[target + 1]++;
+			kept++;
+		}
+		for (int i = 0; i < hiddenEnd; i++) {
+			targetOffsets[i + 1] += targetOffsets[i];
+		}
+		this.sourceIndices = new int[kept];
+		this.weights = new double[kept];
+		int[] next = new int[hiddenEnd];
+		System.arraycopy(targetOffsets, 0, next, 0, hiddenEnd);
+		for (int c = 0; c < kept; c++) {
+			int slot = next[targets[c]]++;
+			sourceIndices[slot] = sources[c];
+			weights[slot] = connectionWeights[c];
+		}
+	}
+
+	/**
+	 * Creates a new {@link FeedForwardNeuralNetwork} with the neurons,
+	 * connections and evaluation order of the given network and cleared
+	 * signals. The arrays that describe the structure of the given network are
+	 * shared, not copied.
+	 *
+	 * @param network
+	 *            the {@link FeedForwardNeuralNetwork} to copy
+	 */
+	public FeedForwardNeuralNetwork(FeedForwardNeuralNetwork network) {
+		this.genomeId = network.genomeId;
+		this.biasNeuronCount = network.biasNeuronCount;
+		this.inputNeuronCount = network.inputNeuronCount;
+		this.outputNeuronCount = network.outputNeuronCount;
+		this.hiddenNeuronCount = network.hiddenNeuronCount;
+		this.inputStart = network.inputStart;
+		this.outputStart = network.outputStart;
+		this.hiddenEnd = network.hiddenEnd;
+		this.evaluationOrder = network.evaluationOrder;
+		this.activationSlopes = network.activationSlopes;
+		this.signals = new double[hiddenEnd];
+		for (int i = 0; i < biasNeuronCount; i++) {
+			signals[i] = 1.0;
+		}
+		this.targetOffsets = network.targetOffsets;
+		this.sourceIndices = network.sourceIndices;
+		this.weights = network.weights;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.xtructure.xneat.network.NeuralNetwork#clearSignals()
+	 */
+	@Override
+	public void clearSignals() {
+		for (int i = inputStart; i < hiddenEnd; i++) {
+			signals[i] = 0.0;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.xtructure.xneat.network.NeuralNetwork#getOutputSignals()
+	 */
+	@Override
+	public double[] getOutputSignals() {
+		double[] outputs = new double[outputNeuronCount];
+		System.arraycopy(signals, outputStart, outputs, 0, outputNeuronCount);
+		return outputs;
+	}
+
+	/**
+	 * Propagates the current input signals through the network in a single
+	 * pass. Since the network is acyclic, the signals cannot change on further
+	 * steps, so the network is relaxed whenever maxSteps is positive.
+	 *
+	 * @see com.xtructure.xneat.network.NeuralNetwork#relaxNetwork(int, double)
+	 */
+	@Override
+	public boolean relaxNetwork(int maxSteps, double maxDelta) {
+		if (maxSteps <= 0) {
+			return false;
+		}
+		singleStep();
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.xtructure.xneat.network.NeuralNetwork#relaxNetwork(double[][],
+	 * double[][], boolean[], int, double)
+	 */
+	@Override
+	public int relaxNetwork(double[][] inputSignals, double[][] outputSignals, boolean[] relaxed, int maxSteps, double maxDelta) {
+		validateArg("inputSignals", inputSignals, isNotNull());
+		validateArg("outputSignals", outputSignals, isNotNull(), hasLength(inputSignals.length));
+		validateArg("relaxed", relaxed, or(isNull(), hasLength(inputSignals.length)));
+		int patternCount = inputSignals.length;
+		for (int p = 0; p < patternCount; p++) {
+			validateArg("inputSignals[p]", inputSignals[p], isNotNull(), hasLength(inputNeuronCount));
+			validateArg("outputSignals[p]", outputSignals[p], isNotNull(), hasLengthAtLeast(outputNeuronCount));
+		}
+		boolean isRelaxed = maxSteps > 0;
+		for (int p = 0; p < patternCount; p++) {
+			clearSignals();
+			System.arraycopy(inputSignals[p], 0, signals, inputStart, inputNeuronCount);
+			if (isRelaxed) {
+				singleStep();
+			}
+			System.arraycopy(signals, outputStart, outputSignals[p], 0, outputNeuronCount);
+			if (relaxed != null) {
+				relaxed[p] = isRelaxed;
+			}
+		}
+		return isRelaxed ? patternCount : 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.xtructure.xneat.network.NeuralNetwork#setInputSignals(double[])
+	 */
+	@Override
+	public void setInputSignals(double[] inputSignals) {
+		validateArg("inputSignals is ", inputSignals, isNotNull());
+		validateArg("inputSignals has length", inputSignals.length, isEqualTo(inputNeuronCount));
+		System.arraycopy(inputSignals, 0, signals, inputStart, inputNeuronCount);
+	}
+
+	/**
+	 * Evaluates each output and hidden neuron once, in topological order, so
+	 * every neuron sees the signals its sources produced in this same pass.
+	 *
+	 * @return the maximum change in signal of any output or hidden neuron
+	 *
+	 * @see com.xtructure.xneat.network.NeuralNetwork#singleStep()
+	 */
+	@Override
+	public double singleStep() {
+		double maxSignalDelta = -Double.MAX_VALUE;
+		for (int r = 0; r < evaluationOrder.length; r++) {
+			int i = evaluationOrder[r];
+			double inputSignal = 0.0;
+			for (int c = targetOffsets[i]; c < targetOffsets[i + 1]; c++) {
+				inputSignal += signals[sourceIndices[c]] * weights[c];
+			}
+			double oldSignal = signals[i];
+			double signal = 1.0 / (1.0 + Math.exp(-activationSlopes[i] * inputSignal));
+			signals[i] = signal;
+			maxSignalDelta = Math.max(signal - oldSignal, maxSignalDelta);
+		}
+		return maxSignalDelta;
+	}
+
+	/**
+	 * Gets the number of bias neurons in this {@link NeuralNetwork}.
+	 *
+	 * @return the number of bias neurons in this {@link NeuralNetwork}.
+	 */
+	public int getBiasNeuronCount() {
+		return biasNeuronCount;
+	}
+
+	/**
+	 * Gets the number of input neurons in this {@link NeuralNetwork}.
+	 *
+	 * @return the number of input neurons in this {@link NeuralNetwork}.
+	 */
+	public int getInputNeuronCount() {
+		return inputNeuronCount;
+	}
+
+	/**
+	 * Gets the number of output neurons in this {@link NeuralNetwork}.
+	 *
+	 * @return the number of output neurons in this {@link NeuralNetwork}.
+	 */
+	public int getOutputNeuronCount() {
+		return outputNeuronCount;
+	}
+
+	/**
+	 * Gets the number of hidden neurons in this {@link NeuralNetwork}.
+	 *
+	 * @return the number of hidden neurons in this {@link NeuralNetwork}.
+	 */
+	public int getHiddenNeuronCount() {
+		return hiddenNeuronCount;
+	}
+
+	/**
+	 * Gets the number of connections that take part in a pass of this
+	 * {@link NeuralNetwork}.
+	 *
+	 * @return the number of connections in this {@link NeuralNetwork}.
+	 */
+	public int getConnectionCount() {
+		return weights.length;
+	}
+
+	/**
+	 * Gets the id of the {@link Genome} which encoded this
+	 * {@link NeuralNetwork}.
+	 *
+	 * @return the id of the {@link Genome} which encoded this
+	 *         {@link NeuralNetwork}.
+	 */
+	public XId getGenomeId() {
+		return genomeId;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this, ToStringStyle.MULTI_LINE_STYLE)//
+				.append("genomeId", genomeId)//
+				.append("evaluationOrder", evaluationOrder)//
+				.append("activationSlopes", activationSlopes)//
+				.append("signals", signals)//
+				.append("sourceIndices", sourceIndices)//
+				.append("weights", weights)//
+				.toString();
+	}
+}
@@ -21,10 +21,15 @@
  */
 package com.xtructure.xneat.network.impl;
 
+import static com.xtructure.xutil.valid.ValidateUtils.hasLength;
+import static com.xtructure.xutil.valid.ValidateUtils.hasLengthAtLeast;
 import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isNull;
+import static com.xtructure.xutil.valid.ValidateUtils.or;
 import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -150,6 +155,23 @@ public class NeuralNetworkImpl implements NeuralNetwork {
 		}
 	}
 
+	/**
+	 * Creates a new {@link NeuralNetworkImpl} with copies of the neurons and
+	 * connections of the given network and cleared signals.
+	 * 
+	 * @param network
+	 *            the {@link NeuralNetworkImpl} to copy
+	 */
+	public NeuralNetworkImpl(NeuralNetworkImpl network) {
+		this(network.genomeId,//
+				network.biasNeuronCount,//
+				network.inputNeuronCount,//
+				network.outputNeuronCount,//
+				network.hiddenNeuronCount,//
+				copyNeurons(network.neurons),//
+				copyConnections(network.connections));
+	}
+
 	/**
 	 * Gets a list of {@link Connection}s in this {@link NeuralNetwork}.
 	 * 
@@ -224,6 +246,39 @@ public class NeuralNetworkImpl implements NeuralNetwork {
 		return isRelaxed;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.xtructure.xneat.network.NeuralNetwork#relaxNetwork(double[][],
+	 * double[][], boolean[], int, double)
+	 */
+	@Override
+	public int relaxNetwork(double[][] inputSignals, double[][] outputSignals, boolean[] relaxed, int maxSteps, double maxDelta) {
+		LOGGER.trace("begin %s.relaxNetwork(%s, %s, %s, %d, %f)", getClass().getSimpleName(), inputSignals, outputSignals, relaxed, maxSteps, maxDelta);
+		validateArg("inputSignals", inputSignals, isNotNull());
+		validateArg("outputSignals", outputSignals, isNotNull(), hasLength(inputSignals.length));
+		validateArg("relaxed", relaxed, or(isNull(), hasLength(inputSignals.length)));
+		int relaxedCount = 0;
+		for (int i = 0; i < inputSignals.length; i++) {
+			validateArg("outputSignals[i]", outputSignals[i], isNotNull(), hasLengthAtLeast(outputNeuronCount));
+			clearSignals();
+			setInputSignals(inputSignals[i]);
+			boolean isRelaxed = relaxNetwork(maxSteps, maxDelta);
+			for (int j = 0; j < outputNeuronCount; j++) {
+				outputSignals[i][j] = neurons.get(outputStart + j).getSignal();
+			}
+			if (relaxed != null) {
+				relaxed[i] = isRelaxed;
+			}
+			if (isRelaxed) {
+				relaxedCount++;
+			}
+		}
+		LOGGER.trace("will return: %s", relaxedCount);
+		LOGGER.trace("end %s.relaxNetwork()", getClass().getSimpleName());
+		return relaxedCount;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -247,7 +302,9 @@ public class NeuralNetworkImpl implements NeuralNetwork {
 	 */
 	@Override
 	public double singleStep() {
-		LOGGER.trace("begin %s.singleStep()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.singleStep()", getClass().getSimpleName());
+		}
 		double maxSignalDelta = -Double.MAX_VALUE;
 		// pass neuron signals through connections
 		for (Connection connection : connections) {
@@ -266,8 +323,10 @@ public class NeuralNetworkImpl implements NeuralNetwork {
 			double signalDelta = neuron.calculateSignal();
 			maxSignalDelta = Math.max(signalDelta, maxSignalDelta);
 		}
-		LOGGER.trace("will return: %s", maxSignalDelta);
-		LOGGER.trace("end %s.singleStep()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("will return: %s", maxSignalDelta);
+			LOGGER.trace("end %s.singleStep()", getClass().getSimpleName());
+		}
 		return maxSignalDelta;
 	}
 
@@ -347,6 +406,38 @@ public class NeuralNetworkImpl implements NeuralNetwork {
 				.toString();
 	}
 
+	/**
+	 * Returns new {@link Neuron}s with the ids, node types and activation
+	 * slopes of the given ones.
+	 * 
+	 * @param neurons
+	 *            the {@link Neuron}s to copy
+	 * @return the list of copied {@link Neuron}s
+	 */
+	private static List<Neuron> copyNeurons(List<Neuron> neurons) {
+		List<Neuron> rVal = new ArrayList<Neuron>(neurons.size());
+		for (Neuron neuron : neurons) {
+			rVal.add(new Neuron(neuron.getId(), neuron.getNodeType(), neuron.getActivationSlope()));
+		}
+		return rVal;
+	}
+
+	/**
+	 * Returns new {@link Connection}s with the sources, targets and weights of
+	 * the given ones.
+	 * 
+	 * @param connections
+	 *            the {@link Connection}s to copy
+	 * @return the list of copied {@link Connection}s
+	 */
+	private static List<Connection> copyConnections(List<Connection> connections) {
+		List<Connection> rVal = new ArrayList<Connection>(connections.size());
+		for (Connection connection : connections) {
+			rVal.add(new Connection(connection.getSourceNeuronIndex(), connection.getTargetNeuronIndex(), connection.getWeight()));
+		}
+		return rVal;
+	}
+
 	/** xml format for {@link NeuralNetworkImpl} */
 	private static final class NetworkXmlFormat extends XmlFormat<NeuralNetworkImpl> {
 		private static final Attribute<XId>			GENOME_ID_ATTRIBUTE				= XmlUnit.newAttribute("genomeId", XId.class);
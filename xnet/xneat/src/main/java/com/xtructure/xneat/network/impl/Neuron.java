@@ -127,13 +127,17 @@ public class Neuron {
 	 *         and its old signal
 	 */
 	public double calculateSignal() {
-		LOGGER.trace("begin %s.calculateSignal()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.calculateSignal()", getClass().getSimpleName());
+		}
 		double oldSignal = getSignal();
 		setSignal(1.0 / (1.0 + Math.exp(-activationSlope * getInputSignal())));
 		setInputSignal(0.0);
 		double rVal = getSignal() - oldSignal;
-		LOGGER.trace("will return: %s", rVal);
-		LOGGER.trace("end %s.calculateSignal()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("will return: %s", rVal);
+			LOGGER.trace("end %s.calculateSignal()", getClass().getSimpleName());
+		}
 		return rVal;
 	}
 
@@ -143,9 +147,11 @@ public class Neuron {
 	 * @return the activation slope of this {@link Neuron}.
 	 */
 	public double getActivationSlope() {
-		LOGGER.trace("begin %s.getActivationSlope()", getClass().getSimpleName());
-		LOGGER.trace("will return: %s", activationSlope);
-		LOGGER.trace("end %s.getActivationSlope()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.getActivationSlope()", getClass().getSimpleName());
+			LOGGER.trace("will return: %s", activationSlope);
+			LOGGER.trace("end %s.getActivationSlope()", getClass().getSimpleName());
+		}
 		return activationSlope;
 	}
 
@@ -156,9 +162,13 @@ public class Neuron {
 	 *            the value to set
 	 */
 	public void setSignal(double signal) {
-		LOGGER.trace("begin %s.setActivationSlope(%f)", getClass().getSimpleName(), signal);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.setActivationSlope(%f)", getClass().getSimpleName(), signal);
+		}
 		this.signal = signal;
-		LOGGER.trace("end %s.setActivationSlope()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("end %s.setActivationSlope()", getClass().getSimpleName());
+		}
 	}
 
 	/**
@@ -167,9 +177,11 @@ public class Neuron {
 	 * @return the signal of the {@link Neuron}
 	 */
 	public double getSignal() {
-		LOGGER.trace("begin %s.getSignal()", getClass().getSimpleName());
-		LOGGER.trace("will return: %s", signal);
-		LOGGER.trace("end %s.getSignal()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.getSignal()", getClass().getSimpleName());
+			LOGGER.trace("will return: %s", signal);
+			LOGGER.trace("end %s.getSignal()", getClass().getSimpleName());
+		}
 		return signal;
 	}
 
@@ -180,9 +192,13 @@ public class Neuron {
 	 *            the value to set
 	 */
 	public void setInputSignal(double inputSignal) {
-		LOGGER.trace("begin %s.setInputSignal(%f)", getClass().getSimpleName(), inputSignal);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.setInputSignal(%f)", getClass().getSimpleName(), inputSignal);
+		}
 		this.inputSignal = inputSignal;
-		LOGGER.trace("end %s.setInputSignal()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("end %s.setInputSignal()", getClass().getSimpleName());
+		}
 	}
 
 	/**
@@ -191,9 +207,11 @@ public class Neuron {
 	 * @return the input signal of this {@link Neuron}
 	 */
 	public double getInputSignal() {
-		LOGGER.trace("begin %s.getInputSignal()", getClass().getSimpleName());
-		LOGGER.trace("will return: %s", inputSignal);
-		LOGGER.trace("end %s.getInputSignal()", getClass().getSimpleName());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("begin %s.getInputSignal()", getClass().getSimpleName());
+			LOGGER.trace("will return: %s", inputSignal);
+			LOGGER.trace("end %s.getInputSignal()", getClass().getSimpleName());
+		}
 		return inputSignal;
 	}
 
@@ -70,7 +70,6 @@ public class AddLinkMutateOperator extends AbstractNEATOperator<GeneMap> impleme
 	public NEATGenome<GeneMap> mutate(int idNumber, Genome<GeneMap> genome) throws OperationFailedException {
 		getLogger().trace("begin %s.mutate(%s, %s)", getClass().getSimpleName(), idNumber, genome);
 
-		List<LinkGene> links = genome.getData().getLinks();
 		List<NodeGene> nodes = genome.getData().getNodes();
 
 		List<NodeGene> nonInputNodes = new ArrayList<NodeGene>();
@@ -96,9 +95,10 @@ public class AddLinkMutateOperator extends AbstractNEATOperator<GeneMap> impleme
 				// these nodes aren't linked, link'em
 				int linkNumber = genome.getData().getLinkIdNumber();
 				LinkGene newLink = getGeneticsFactory().createLinkGene(linkNumber++, source.getId(), target.getId());
-				links.add(newLink);
+				GeneMap geneMap = new GeneMap(genome.getData());
+				geneMap.add(newLink);
 
-				NEATGenome<GeneMap> child = (NEATGenome<GeneMap>) getGeneticsFactory().createGenome(idNumber, new GeneMap(nodes, links));
+				NEATGenome<GeneMap> child = (NEATGenome<GeneMap>) getGeneticsFactory().createGenome(idNumber, geneMap);
 				child.validate();
 
 				getLogger().trace("will return: %s", child);
@@ -78,8 +78,6 @@ public class AddNodeMutateOperator extends AbstractNEATOperator<GeneMap> impleme
 			getLogger().trace("throwing exception: %s(\"%s\")", OperationFailedException.class.getName(), "no links to split with new node");
 			throw new OperationFailedException("no links to split with new node");
 		}
-		List<NodeGene> nodes = genome.getData().getNodes();
-
 		// select a link which to bisect with the new node
 		LinkGene link = RandomUtil.select(links);
 		NodeGene source = (NodeGene) genome.getData().get(link.getSourceId());
@@ -94,12 +92,13 @@ public class AddNodeMutateOperator extends AbstractNEATOperator<GeneMap> impleme
 		LinkGene postLink = getGeneticsFactory().createLinkGene(linkIdNumber++, newNode.getId(), target.getId());
 
 		// replace the link gene with the new genes
-		links.remove(link);
-		nodes.add(newNode);
-		links.add(preLink);
-		links.add(postLink);
+		GeneMap geneMap = new GeneMap(genome.getData());
+		geneMap.remove(link);
+		geneMap.add(newNode);
+		geneMap.add(preLink);
+		geneMap.add(postLink);
 
-		NEATGenome<GeneMap> child = (NEATGenome<GeneMap>) getGeneticsFactory().createGenome(idNumber, new GeneMap(nodes, links));
+		NEATGenome<GeneMap> child = (NEATGenome<GeneMap>) getGeneticsFactory().createGenome(idNumber, geneMap);
 		child.validate();
 
 		getLogger().trace("will return: %s", child);
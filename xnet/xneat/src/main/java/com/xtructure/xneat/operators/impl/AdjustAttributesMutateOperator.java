@@ -149,20 +149,21 @@ public class AdjustAttributesMutateOperator extends AbstractNEATOperator<GeneMap
 			getLogger().trace("throwing exception: %s(\"%s\")", OperationFailedException.class.getName(), "no links or nodes to mutate");
 			throw new OperationFailedException("no links or nodes to mutate");
 		}
+		GeneMap geneMap = new GeneMap(genome.getData());
 		List<LinkGene> links = genome.getData().getLinks();
 		List<NodeGene> nodes = genome.getData().getNodes();
 		boolean mutationOccurred = false;
 		if (canMutateLinks) {
-			mutationOccurred |= mutateLinks(links);
+			mutationOccurred |= mutateLinks(links, geneMap);
 		}
 		if (canMutateNodes) {
-			mutationOccurred |= mutateNodes(nodes);
+			mutationOccurred |= mutateNodes(nodes, geneMap);
 		}
 		if (!mutationOccurred) {
 			getLogger().trace("throwing exception: %s(\"%s\")", OperationFailedException.class.getName(), "mutation didn't occur");
 			throw new OperationFailedException("mutation didn't occur");
 		}
-		NEATGenome<GeneMap> newGenome = (NEATGenome<GeneMap>) getGeneticsFactory().createGenome(idNumber, new GeneMap(nodes, links));
+		NEATGenome<GeneMap> newGenome = (NEATGenome<GeneMap>) getGeneticsFactory().createGenome(idNumber, geneMap);
 		newGenome.validate();
 		getLogger().trace("will return: %s", newGenome);
 		getLogger().trace("end %s.mutate()", getClass().getSimpleName());
@@ -171,22 +172,23 @@ public class AdjustAttributesMutateOperator extends AbstractNEATOperator<GeneMap
 
 	/**
 	 * Goes through the list of {@link LinkGene}s and selects links to mutate.
+	 * Mutated copies replace the originals in the given {@link GeneMap}.
 	 * 
 	 * @param links
 	 *            the {@link LinkGene}s to (potentially) mutate
+	 * @param geneMap
+	 *            the {@link GeneMap} in which to replace mutated links
 	 * @return true if any of the {@link LinkGene}s were changed (whether it was
 	 *         selected for mutation or not), false otherwise
 	 */
-	private boolean mutateLinks(List<LinkGene> links) {
+	private boolean mutateLinks(List<LinkGene> links, GeneMap geneMap) {
 		getLogger().trace("begin %s.mutateLinks(%s)", getClass().getSimpleName(), links);
-		List<LinkGene> linksToRemove = new ArrayList<LinkGene>();
 		List<LinkGene> linksToAdd = new ArrayList<LinkGene>();
 		boolean mutationOccurred = false;
 		for (LinkGene link : links) {
 			if (mutateGeneProbability == null || RandomUtil.eventOccurs(mutateGeneProbability)) {
 				LinkGene newLink = getGeneticsFactory().copyLinkGene(link.getId().getInstanceNum(), link);
 				mutationOccurred = mutateAttributes(newLink);
-				linksToRemove.add(link);
 				linksToAdd.add(newLink);
 			}
 		}
@@ -195,14 +197,11 @@ public class AdjustAttributesMutateOperator extends AbstractNEATOperator<GeneMap
 			LinkGene link = RandomUtil.select(links);
 			LinkGene newLink = getGeneticsFactory().copyLinkGene(link.getId().getInstanceNum(), link);
 			mutationOccurred = mutateAttributes(newLink);
-			linksToRemove.add(link);
 			linksToAdd.add(newLink);
 		}
-		for (LinkGene link : linksToRemove) {
-			links.remove(link);
-		}
+		// copies keep the ids and end points of the originals they replace
 		for (LinkGene link : linksToAdd) {
-			links.add(link);
+			geneMap.add(link);
 		}
 		getLogger().trace("will return: %s", mutationOccurred);
 		getLogger().trace("end %s.mutateLinks()", getClass().getSimpleName());
@@ -211,22 +210,23 @@ public class AdjustAttributesMutateOperator extends AbstractNEATOperator<GeneMap
 
 	/**
 	 * Goes through the list of {@link NodeGene} and selects nodes to mutate.
+	 * Mutated copies replace the originals in the given {@link GeneMap}.
 	 * 
 	 * @param nodes
 	 *            the {@link NodeGene}s to (potentially) mutate
+	 * @param geneMap
+	 *            the {@link GeneMap} in which to replace mutated nodes
 	 * @return true if any of the {@link NodeGene} were changed (whether it was
 	 *         selected for mutation or not), false otherwise
 	 */
-	private boolean mutateNodes(List<NodeGene> nodes) {
+	private boolean mutateNodes(List<NodeGene> nodes, GeneMap geneMap) {
 		getLogger().trace("begin %s.mutateNodes(%s)", getClass().getSimpleName(), nodes);
 		List<NodeGene> nodesToAdd = new ArrayList<NodeGene>();
-		List<NodeGene> nodesToRemove = new ArrayList<NodeGene>();
 		boolean mutationOccurred = false;
 		for (NodeGene node : nodes) {
 			if (mutateGeneProbability == null || RandomUtil.eventOccurs(mutateGeneProbability)) {
 				NodeGene newNode = getGeneticsFactory().copyNodeGene(node.getId().getInstanceNum(), node);
 				mutationOccurred = mutateAttributes(newNode);
-				nodesToRemove.add(node);
 				nodesToAdd.add(newNode);
 			}
 		}
@@ -235,14 +235,11 @@ public class AdjustAttributesMutateOperator extends AbstractNEATOperator<GeneMap
 			NodeGene node = RandomUtil.select(nodes);
 			NodeGene newNode = getGeneticsFactory().copyNodeGene(node.getId().getInstanceNum(), node);
 			mutationOccurred = mutateAttributes(newNode);
-			nodesToRemove.add(node);
 			nodesToAdd.add(newNode);
 		}
-		for (NodeGene node : nodesToRemove) {
-			nodes.remove(node);
-		}
+		// copies keep the ids of the originals they replace
 		for (NodeGene node : nodesToAdd) {
-			nodes.add(node);
+			geneMap.add(node);
 		}
 		getLogger().trace("will return: %s", mutationOccurred);
 		getLogger().trace("end %s.mutateLinks()", getClass().getSimpleName());
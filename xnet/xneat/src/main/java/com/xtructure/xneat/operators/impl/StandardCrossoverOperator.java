@@ -21,7 +21,9 @@
  */
 package com.xtructure.xneat.operators.impl;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.xtructure.xevolution.genetics.Genome;
 import com.xtructure.xevolution.operator.CrossoverOperator;
@@ -33,6 +35,7 @@ import com.xtructure.xneat.genetics.link.LinkGene;
 import com.xtructure.xneat.genetics.node.NodeGene;
 import com.xtructure.xneat.genetics.node.NodeType;
 import com.xtructure.xutil.RandomUtil;
+import com.xtructure.xutil.id.XId;
 
 /**
  * {@link StandardCrossoverOperator} implements the crossover operation in the
@@ -59,6 +62,10 @@ public class StandardCrossoverOperator extends AbstractNEATOperator<GeneMap> imp
 	 * operation. Essential, the child genome is equal to the more fit of
 	 * genome1 or genome2, with the genes from the fitter parent replaced by
 	 * those in the less fit parent with 0.5 probability;
+	 * <P>
+	 * The child starts as a copy of the fitter parent's {@link GeneMap},
+	 * sharing its genes, and only the genes taken from the other parent are
+	 * copied. Those keep the ids of the genes they replace.
 	 * 
 	 * @see com.xtructure.xevolution.operator.CrossoverOperator#crossover(int,
 	 *      com.xtructure.xevolution.genetics.Genome,
@@ -75,13 +82,13 @@ public class StandardCrossoverOperator extends AbstractNEATOperator<GeneMap> imp
 			g2 = genome1;
 		}
 
-		GeneMap geneMap = new GeneMap();
+		GeneMap geneMap = new GeneMap(g1.getData());
 
 		List<LinkGene> links1 = g1.getData().getLinks();
 		List<LinkGene> links2 = g2.getData().getLinks();
 
+		Set<XId> visitedNodeIds = new HashSet<XId>();
 		int linkIndex1 = 0, linkIndex2 = 0;
-		int linkNumber = 0;
 
 		while (linkIndex1 < links1.size() || linkIndex2 < links2.size()) {
 			if (linkIndex1 >= links1.size()) {
@@ -92,9 +99,10 @@ public class StandardCrossoverOperator extends AbstractNEATOperator<GeneMap> imp
 
 			if (linkIndex2 >= links2.size()) {
 				// reached the end of links2, what remains are the stronger
-				// excess genes, so add them and break
+				// excess genes, which the child already has, so inherit
+				// their nodes and break
 				for (LinkGene link : links1.subList(linkIndex1, links1.size())) {
-					addLinkAndConnectedNodes(link, linkNumber++, geneMap, g1);
+					inheritConnectedNodes(link, geneMap, g1, visitedNodeIds);
 				}
 				break;
 			}
@@ -108,29 +116,31 @@ public class StandardCrossoverOperator extends AbstractNEATOperator<GeneMap> imp
 				// thatLinkGene is a weak offset gene, skip it
 				linkIndex2++;
 			} else if (thisInnovation.compareTo(thatInnovation) < 0) {
-				// thisLinkGene is a strong offset gene, add it
-				addLinkAndConnectedNodes(thisLinkGene, linkNumber++, geneMap, g1);
+				// thisLinkGene is a strong offset gene, keep it
+				inheritConnectedNodes(thisLinkGene, geneMap, g1, visitedNodeIds);
 				linkIndex1++;
 			} else {
-				// both genes' innovation match, add one and skip the other,
+				// both genes' innovation match, keep one and skip the other,
 				// chosen randomly
 				if (RandomUtil.nextBoolean()) {
-					addLinkAndConnectedNodes(thisLinkGene, linkNumber++, geneMap, g1);
+					inheritConnectedNodes(thisLinkGene, geneMap, g1, visitedNodeIds);
 				} else {
-					addLinkAndConnectedNodes(thatLinkGene, linkNumber++, geneMap, g2);
+					geneMap.add(getGeneticsFactory().copyLinkGene(thisLinkGene.getId().getInstanceNum(), thatLinkGene));
+					inheritConnectedNodes(thatLinkGene, geneMap, g2, visitedNodeIds);
 				}
 				linkIndex1++;
 				linkIndex2++;
 			}
 		}
 
-		// even if they're disconnected, we still want the bias/input/output
-		// nodes.
+		// the child has every link of the fitter parent, so only its
+		// disconnected hidden nodes are left to drop; even if they're
+		// disconnected, we still want the bias/input/output nodes.
 		for (NodeGene node : g1.getData().getNodes()) {
-			if (!NodeType.HIDDEN.isNodeTypeOf(node)) {
-				if (geneMap.get(node.getId()) == null) {
-					geneMap.add(node);
-				}
+			if (NodeType.HIDDEN.isNodeTypeOf(node) //
+					&& geneMap.getIncomingLinkIds(node.getId()).isEmpty() //
+					&& geneMap.getOutgoingLinkIds(node.getId()).isEmpty()) {
+				geneMap.remove(node);
 			}
 		}
 
@@ -142,20 +152,39 @@ public class StandardCrossoverOperator extends AbstractNEATOperator<GeneMap> imp
 		return newGenome;
 	}
 
-	private void addLinkAndConnectedNodes(LinkGene link, int linkNumber, GeneMap geneMap, Genome<GeneMap> genome) {
-		getLogger().trace("begin %s.addLinkAndConnectedNodes(%s, %s, %s, %s)", getClass().getSimpleName(), link, linkNumber, geneMap, genome);
+	/**
+	 * Replaces the nodes at either end of the given link in the given
+	 * {@link GeneMap} by those of the given genome: always for a node not
+	 * visited by an earlier link, with 0.5 probability otherwise.
+	 * 
+	 * @param link
+	 *            the link whose nodes are inherited
+	 * @param geneMap
+	 *            the {@link GeneMap} of the child
+	 * @param genome
+	 *            the parent {@link Genome} the link was taken from
+	 * @param visitedNodeIds
+	 *            the ids of the nodes visited by earlier links
+	 */
+	private void inheritConnectedNodes(LinkGene link, GeneMap geneMap, Genome<GeneMap> genome, Set<XId> visitedNodeIds) {
+		getLogger().trace("begin %s.inheritConnectedNodes(%s, %s, %s)", getClass().getSimpleName(), link, geneMap, genome);
 
-		LinkGene linkGene = getGeneticsFactory().copyLinkGene(linkNumber, link);
-		NodeGene source = (NodeGene) genome.getData().get(link.getSourceId());
-		NodeGene target = (NodeGene) genome.getData().get(link.getTargetId());
-		if (!geneMap.contains(source) || RandomUtil.nextBoolean()) {
-			geneMap.add(source);
-		}
-		if (!geneMap.contains(target) || RandomUtil.nextBoolean()) {
-			geneMap.add(target);
-		}
-		geneMap.add(linkGene);
+		inheritNode(link.getSourceId(), geneMap, genome, visitedNodeIds);
+		inheritNode(link.getTargetId(), geneMap, genome, visitedNodeIds);
 
-		getLogger().trace("end %s.addLinkAndConnectedNodes()", getClass().getSimpleName());
+		getLogger().trace("end %s.inheritConnectedNodes()", getClass().getSimpleName());
+	}
+
+	/**
+	 * Replaces the node with the given id in the given {@link GeneMap} by that
+	 * of the given genome, as described in
+	 * {@link #inheritConnectedNodes(LinkGene, GeneMap, Genome, Set)}. Nothing
+	 * is changed when the child already holds the very same gene.
+	 */
+	private void inheritNode(XId nodeId, GeneMap geneMap, Genome<GeneMap> genome, Set<XId> visitedNodeIds) {
+		NodeGene node = (NodeGene) genome.getData().get(nodeId);
+		if ((visitedNodeIds.add(nodeId) || RandomUtil.nextBoolean()) && geneMap.get(nodeId) != node) {
+			geneMap.add(node);
+		}
 	}
 }
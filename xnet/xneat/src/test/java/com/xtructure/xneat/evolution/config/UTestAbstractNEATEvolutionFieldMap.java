@@ -98,6 +98,15 @@ public final class UTestAbstractNEATEvolutionFieldMap {
 				FIELD_MAP.eliteProportion(), isEqualTo(next));
 	}
 
+	public void feedForwardActivationBehavesAsExpected() {
+		assertThat("",//
+				FIELD_MAP.feedForwardActivation(), isEqualTo(NEATEvolutionConfiguration.FEED_FORWARD_ACTIVATION_DEFAULT));
+		boolean next = !FIELD_MAP.feedForwardActivation();
+		FIELD_MAP.setFeedForwardActivation(next);
+		assertThat("",//
+				FIELD_MAP.feedForwardActivation(), isEqualTo(next));
+	}
+
 	public void initialConnectionProbabilityBehavesAsExpected() {
 		DoubleXParameter prm = (DoubleXParameter) CONFIG.getParameter(NEATEvolutionConfiguration.INITIAL_CONNECTION_PROBABILITY_ID);
 		assertThat("",//
@@ -138,6 +147,16 @@ public final class UTestAbstractNEATEvolutionFieldMap {
 				FIELD_MAP.outputNodeCount(), isEqualTo(next));
 	}
 
+	public void speciationThreadCountBehavesAsExpected() {
+		IntegerXParameter prm = (IntegerXParameter) CONFIG.getParameter(NEATEvolutionConfiguration.SPECIATION_THREAD_COUNT_ID);
+		assertThat("",//
+				FIELD_MAP.speciationThreadCount(), isInRange(prm.getInitialRange()));
+		int next = RandomUtil.nextInteger(prm.getLifetimeRange());
+		FIELD_MAP.setSpeciationThreadCount(next);
+		assertThat("",//
+				FIELD_MAP.speciationThreadCount(), isEqualTo(next));
+	}
+
 	public void speciesDropoffAgeBehavesAsExpected() {
 		LongXParameter prm = (LongXParameter) CONFIG.getParameter(NEATEvolutionConfiguration.SPECIES_DROPOFF_AGE_ID);
 		assertThat("",//
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.evolution.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.xtructure.xevolution.genetics.Genome;
+import com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap;
+import com.xtructure.xneat.evolution.config.impl.NEATEvolutionConfigurationImpl;
+import com.xtructure.xneat.genetics.GeneMap;
+import com.xtructure.xneat.genetics.Innovation;
+import com.xtructure.xneat.genetics.NEATGenome;
+import com.xtructure.xneat.genetics.NEATPopulation;
+import com.xtructure.xneat.genetics.impl.NEATGenomeImpl;
+import com.xtructure.xneat.genetics.impl.NEATPopulationImpl;
+import com.xtructure.xneat.genetics.link.LinkGene;
+import com.xtructure.xneat.genetics.link.config.LinkGeneConfiguration;
+import com.xtructure.xneat.genetics.link.impl.LinkGeneImpl;
+import com.xtructure.xneat.genetics.node.NodeGene;
+import com.xtructure.xneat.genetics.node.NodeType;
+import com.xtructure.xneat.genetics.node.config.NodeGeneConfiguration;
+import com.xtructure.xneat.genetics.node.impl.NodeGeneImpl;
+import com.xtructure.xutil.Range;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Compares a speciation pass over a population of 10k genomes using
+ * {@link NEATSpeciationStrategyImpl} against the previous implementation,
+ * which sorted each species to find its representative and rebuilt the sorted
+ * link lists of both genomes for every compatibility calculation. Genomes are
+ * generated as perturbed copies of a number of archetypes, so that the
+ * population settles into roughly that many species. Concurrent passes, which
+ * are seeded with the representatives of the previous pass, are measured on
+ * several thread counts.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class SpeciationBenchmark {
+	/** the number of genomes in the population */
+	private static final int					POPULATION_SIZE		= 10000;
+	/** the number of archetypes from which genomes are generated */
+	private static final int					ARCHETYPE_COUNT		= 32;
+	/** the number of nodes in each genome */
+	private static final int					NODE_COUNT			= 12;
+	/** the number of links in each archetype */
+	private static final int					LINK_COUNT			= 30;
+	/** the compatibility threshold used for speciation */
+	private static final double					THRESHOLD			= 0.5;
+	/** the evolution field map supplying the compatibility coefficients */
+	private static final NEATEvolutionFieldMap	EVOLUTION_FIELD_MAP	= NEATEvolutionConfigurationImpl//
+																			.builder(XId.newId("speciation.benchmark.config"))//
+																			.newInstance().newFieldMap();
+	/** the configuration of generated link genes */
+	private static final LinkGeneConfiguration	LINK_CONFIGURATION;
+	/** the configuration of generated node genes */
+	private static final NodeGeneConfiguration	NODE_CONFIGURATION;
+	static {
+		LINK_CONFIGURATION = LinkGeneConfiguration.builder(null)//
+				.setWeight(Range.getInstance(-10.0, 10.0), Range.getInstance(-1.0, 1.0))//
+				.newInstance();
+		NODE_CONFIGURATION = NodeGeneConfiguration.builder(null).newInstance();
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(SpeciationBenchmark.class.getSimpleName(), 1, 3, 1, System.out);
+		final NEATPopulationImpl population = newPopulation(new Random(0l));
+		population.setAttribute(NEATPopulation.COMPATIBILITY_THRESHOLD_ATTRIBUTE_ID, THRESHOLD);
+		final NEATSpeciationStrategyImpl speciationStrategy = new NEATSpeciationStrategyImpl(EVOLUTION_FIELD_MAP);
+		benchmark.measure("legacy", new Operation() {
+			@Override
+			public long execute() {
+				legacySpeciate(population);
+				return population.getSpeciesIds().size();
+			}
+		});
+		benchmark.measure("NEATSpeciationStrategyImpl", new Operation() {
+			@Override
+			public long execute() {
+				speciationStrategy.speciate(population);
+				return population.getSpeciesIds().size();
+			}
+		});
+		for (int threadCount : new int[] { 2, 4, 8 }) {
+			final NEATSpeciationStrategyImpl concurrentStrategy = new NEATSpeciationStrategyImpl(NEATEvolutionConfigurationImpl//
+					.builder(XId.newId("speciation.benchmark.config", threadCount))//
+					.setSpeciationThreadCount(threadCount)//
+					.newInstance().newFieldMap());
+			benchmark.measure(String.format("NEATSpeciationStrategyImpl[threads=%d]", threadCount), new Operation() {
+				@Override
+				public long execute() {
+					concurrentStrategy.speciate(population);
+					return population.getSpeciesIds().size();
+				}
+			});
+		}
+		System.out.println(benchmark.getSink());
+	}
+
+	private static NEATPopulationImpl newPopulation(Random random) {
+		int[][] pairs = new int[NODE_COUNT * NODE_COUNT][];
+		for (int i = 0; i < pairs.length; i++) {
+			pairs[i] = new int[] { i / NODE_COUNT, i % NODE_COUNT };
+		}
+		List<double[][]> archetypes = new ArrayList<double[][]>();
+		for (int i = 0; i < ARCHETYPE_COUNT; i++) {
+			Collections.shuffle(Arrays.asList(pairs), random);
+			double[][] archetype = new double[LINK_COUNT][];
+			for (int j = 0; j < LINK_COUNT; j++) {
+				archetype[j] = new double[] { pairs[j][0], pairs[j][1], 2.0 * random.nextDouble() - 1.0 };
+			}
+			archetypes.add(archetype);
+		}
+		NEATPopulationImpl population = new NEATPopulationImpl(0);
+		for (int i = 0; i < POPULATION_SIZE; i++) {
+			double[][] archetype = archetypes.get(random.nextInt(ARCHETYPE_COUNT));
+			List<NodeGene> nodes = new ArrayList<NodeGene>();
+			for (int j = 0; j < NODE_COUNT; j++) {
+				nodes.add(new NodeGeneImpl(j, NodeType.HIDDEN, NODE_CONFIGURATION));
+			}
+			List<LinkGene> links = new ArrayList<LinkGene>();
+			for (double[] link : archetype) {
+				if (random.nextDouble() < 0.95) {
+					LinkGeneImpl linkGene = new LinkGeneImpl(links.size(),//
+							nodes.get((int) link[0]).getId(), nodes.get((int) link[1]).getId(), LINK_CONFIGURATION);
+					linkGene.setWeight(link[2] + 0.1 * random.nextGaussian());
+					links.add(linkGene);
+				}
+			}
+			NEATGenomeImpl genome = new NEATGenomeImpl(i, new GeneMap(nodes, links));
+			genome.setFitness(random.nextDouble());
+			population.add(genome);
+		}
+		return population;
+	}
+
+	/**
+	 * Speciates the given population as {@link NEATSpeciationStrategyImpl} did
+	 * before species representatives and link profiles were cached.
+	 */
+	private static void legacySpeciate(NEATPopulation<GeneMap> population) {
+		population.clearSpecies();
+		for (Genome<GeneMap> genome : population) {
+			XId bestSpecies = null;
+			double bestCompatibility = THRESHOLD;
+			for (XId speciesId : population.getSpeciesIds()) {
+				if (population.getSpecies(speciesId).isEmpty()) {
+					continue;
+				}
+				List<Genome<GeneMap>> genomes = new ArrayList<Genome<GeneMap>>(population.getAll(population.getSpecies(speciesId)));
+				Collections.sort(genomes, Genome.BY_FITNESS_DESC);
+				double compatibility = legacyCompatibility(genome.getData().getLinks(), genomes.get(0).getData().getLinks());
+				if (compatibility < bestCompatibility) {
+					bestSpecies = speciesId;
+					bestCompatibility = compatibility;
+				}
+			}
+			if (bestSpecies == null) {
+				bestSpecies = population.newSpecies();
+			}
+			population.addToSpecies((NEATGenome<GeneMap>) genome, bestSpecies);
+		}
+	}
+
+	private static double legacyCompatibility(List<LinkGene> links1, List<LinkGene> links2) {
+		if (links1.isEmpty() && links2.isEmpty()) {
+			return 0.0;
+		}
+		Map<XId, Double> weightDiffMap = new HashMap<XId, Double>();
+		int linksIndex1 = 0;
+		int linksIndex2 = 0;
+		int disjointCount = 0;
+		int excessCount = 0;
+		while (true) {
+			if (linksIndex1 == links1.size()) {
+				excessCount += links2.size() - linksIndex2;
+				break;
+			}
+			if (linksIndex2 == links2.size()) {
+				excessCount += links1.size() - linksIndex1;
+				break;
+			}
+			Innovation inn1 = links1.get(linksIndex1).getInnovation();
+			Innovation inn2 = links2.get(linksIndex2).getInnovation();
+			if (inn1.compareTo(inn2) < 0) {
+				disjointCount++;
+				linksIndex1++;
+			} else if (inn1.compareTo(inn2) > 0) {
+				disjointCount++;
+				linksIndex2++;
+			} else {
+				LinkGene link1 = links1.get(linksIndex1);
+				LinkGene link2 = links2.get(linksIndex2);
+				for (XId id : link1.getFieldMap().getFieldIds()) {
+					Object attr1 = link1.getFieldMap().getField(id).getValue();
+					Object attr2 = link2.getFieldMap().getField(id).getValue();
+					double weightDiff = 0.0;
+					if (attr1 instanceof Number) {
+						weightDiff = ((Number) attr1).doubleValue() - ((Number) attr2).doubleValue();
+					}
+					Double acc = weightDiffMap.get(id);
+					acc = acc == null ? 0.0 : acc;
+					weightDiffMap.put(id, acc + weightDiff * weightDiff);
+				}
+				linksIndex1++;
+				linksIndex2++;
+			}
+		}
+		double weightDiffMag = 0.0;
+		for (Double weightDiff : weightDiffMap.values()) {
+			weightDiffMag += weightDiff;
+		}
+		return (Math.sqrt(weightDiffMag) * EVOLUTION_FIELD_MAP.compatibilityWeightDeltaCoefficient() //
+				+ disjointCount * EVOLUTION_FIELD_MAP.compatibilityDisjointCoefficient() //
+				+ excessCount * EVOLUTION_FIELD_MAP.compatibilityExcessCoefficient()) //
+				/ Math.max(links1.size(), links2.size());
+	}
+
+	private SpeciationBenchmark() {}
+}
@@ -22,9 +22,14 @@
 package com.xtructure.xneat.evolution.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.hasSize;
 import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.testng.annotations.Test;
 
 import com.xtructure.xevolution.genetics.GeneticsFactory;
@@ -35,6 +40,7 @@ import com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap;
 import com.xtructure.xneat.evolution.config.impl.NEATEvolutionConfigurationImpl;
 import com.xtructure.xneat.genetics.GeneMap;
 import com.xtructure.xneat.genetics.NEATGenome;
+import com.xtructure.xneat.genetics.NEATPopulation;
 import com.xtructure.xneat.genetics.impl.NEATGeneticsFactoryImpl;
 import com.xtructure.xneat.genetics.impl.NEATPopulationImpl;
 import com.xtructure.xneat.operators.impl.NEATCrossoverOperatorSelecterImpl;
@@ -124,6 +130,109 @@ public class UTestNEATSpeciationStrategyImpl {
 	public void speciateWithEmptyPopulationDoesNothing() {
 		new NEATSpeciationStrategyImpl(EVOLUTION_FIELD_MAP).speciate(new NEATPopulationImpl(0));
 	}
+
+	public void speciateWithHighThresholdCreatesOneSpecies() {
+		NEATPopulationImpl population = GENETICS_FACTORY.createPopulation(0);
+		population.setAttribute(NEATPopulation.COMPATIBILITY_THRESHOLD_ATTRIBUTE_ID, Double.MAX_VALUE);
+		NEATSpeciationStrategyImpl speciationStrategy = new NEATSpeciationStrategyImpl(EVOLUTION_FIELD_MAP);
+		speciationStrategy.speciate(population);
+		assertThat("",//
+				population.getSpeciesIds(), hasSize(1));
+		XId speciesId = population.getSpeciesIds().iterator().next();
+		assertThat("",//
+				population.getSpecies(speciesId), hasSize(population.size()));
+		Set<Genome<GeneMap>> children = new HashSet<Genome<GeneMap>>();
+		for (Genome<GeneMap> genome : population) {
+			children.add(GENETICS_FACTORY.copyGenome(population.size() + genome.getId().getInstanceNum(), genome));
+		}
+		speciationStrategy.speciateChildren(children, population);
+		assertThat("",//
+				population.getSpeciesIds(), hasSize(1));
+		assertThat("",//
+				population.getSpecies(speciesId), hasSize(population.size()));
+	}
+
+	public void speciateWithZeroThresholdCreatesSpeciesPerGenome() {
+		NEATPopulationImpl population = GENETICS_FACTORY.createPopulation(0);
+		population.setAttribute(NEATPopulation.COMPATIBILITY_THRESHOLD_ATTRIBUTE_ID, 0.0);
+		NEATSpeciationStrategyImpl speciationStrategy = new NEATSpeciationStrategyImpl(EVOLUTION_FIELD_MAP);
+		speciationStrategy.speciate(population);
+		assertThat("",//
+				population.getSpeciesIds(), hasSize(population.size()));
+		for (XId speciesId : population.getSpeciesIds()) {
+			assertThat("",//
+					population.getSpecies(speciesId), hasSize(1));
+		}
+	}
+	public void getSpeciationThreadCountReturnsExpectedValue() {
+		assertThat("",//
+				new NEATSpeciationStrategyImpl(EVOLUTION_FIELD_MAP).getSpeciationThreadCount(), isEqualTo(1));
+		assertThat("",//
+				new NEATSpeciationStrategyImpl(newFieldMap(4)).getSpeciationThreadCount(), isEqualTo(4));
+	}
+
+	public void speciateConcurrentlyWithHighThresholdCreatesOneSpecies() {
+		NEATPopulationImpl population = GENETICS_FACTORY.createPopulation(0);
+		population.setAttribute(NEATPopulation.COMPATIBILITY_THRESHOLD_ATTRIBUTE_ID, Double.MAX_VALUE);
+		NEATSpeciationStrategyImpl speciationStrategy = new NEATSpeciationStrategyImpl(newFieldMap(4));
+		for (int i = 0; i < 2; i++) {
+			speciationStrategy.speciate(population);
+			assertThat("",//
+					population.getSpeciesIds(), hasSize(1));
+			assertThat("",//
+					population.getSpecies(population.getSpeciesIds().iterator().next()), hasSize(population.size()));
+		}
+		Set<Genome<GeneMap>> children = new HashSet<Genome<GeneMap>>();
+		for (Genome<GeneMap> genome : population) {
+			children.add(GENETICS_FACTORY.copyGenome(population.size() + genome.getId().getInstanceNum(), genome));
+		}
+		speciationStrategy.speciateChildren(children, population);
+		assertThat("",//
+				population.getSpeciesIds(), hasSize(1));
+		assertThat("",//
+				population.getSpecies(population.getSpeciesIds().iterator().next()), hasSize(population.size()));
+	}
+
+	public void speciateConcurrentlyIsIndependentOfThreadCount() {
+		NEATPopulationImpl population = GENETICS_FACTORY.createPopulation(0);
+		for (Genome<GeneMap> genome : population) {
+			genome.setFitness(genome.getId().getInstanceNum());
+		}
+		population.setAttribute(NEATPopulation.COMPATIBILITY_THRESHOLD_ATTRIBUTE_ID, 0.5);
+		NEATSpeciationStrategyImpl sequential = new NEATSpeciationStrategyImpl(EVOLUTION_FIELD_MAP);
+		sequential.speciate(population);
+		new NEATSpeciationStrategyImpl(newFieldMap(2)).speciate(population);
+		Set<Set<XId>> expected = getPartition(population);
+		sequential.speciate(population);
+		new NEATSpeciationStrategyImpl(newFieldMap(4)).speciate(population);
+		assertThat("",//
+				getPartition(population), isEqualTo(expected));
+		int count = 0;
+		for (Set<XId> species : expected) {
+			assertThat("",//
+					species.isEmpty(), isFalse());
+			count += species.size();
+		}
+		assertThat("",//
+				count, isEqualTo(population.size()));
+	}
+
+	private static NEATEvolutionFieldMap newFieldMap(int speciationThreadCount) {
+		return NEATEvolutionConfigurationImpl//
+				.builder(XId.newId("xor.neat.evolution.config", speciationThreadCount))//
+				.setInitialConnectionProbability(0.5)//
+				.setSpeciationThreadCount(speciationThreadCount)//
+				.newInstance().newFieldMap();
+	}
+
+	private static Set<Set<XId>> getPartition(NEATPopulationImpl population) {
+		Set<Set<XId>> partition = new HashSet<Set<XId>>();
+		for (XId speciesId : population.getSpeciesIds()) {
+			partition.add(new HashSet<XId>(population.getSpecies(speciesId)));
+		}
+		return partition;
+	}
+
 	// public void speciateWithLowThreshholdBehavesAsExpected() {
 	// EVOLUTION_FIELD_MAP.targetSpeciesCountMax = 5;
 	// EVOLUTION_FIELD_MAP.targetSpeciesCountMin = 5;
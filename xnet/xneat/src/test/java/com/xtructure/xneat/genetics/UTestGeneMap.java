@@ -30,9 +30,11 @@ import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.isNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
 import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
 import static com.xtructure.xutil.valid.ValidateUtils.not;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -48,6 +50,7 @@ import com.xtructure.xneat.genetics.link.impl.LinkGeneImpl;
 import com.xtructure.xneat.genetics.node.NodeGene;
 import com.xtructure.xneat.genetics.node.NodeType;
 import com.xtructure.xneat.genetics.node.config.NodeGeneConfiguration;
+import com.xtructure.xneat.genetics.node.impl.AbstractNodeGene;
 import com.xtructure.xneat.genetics.node.impl.NodeGeneImpl;
 import com.xtructure.xutil.RandomUtil;
 import com.xtructure.xutil.coll.SetBuilder;
@@ -478,4 +481,167 @@ public class UTestGeneMap {
 		assertThat("",//
 				geneMap.get(link0.getId()), isNull());
 	}
+
+	public void removeKeepsRemainingLinksAndNodesConnected() {
+		NodeGene[] nodes = new NodeGene[4];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new NodeGeneImpl(i, NodeType.HIDDEN, NODE_CONFIGURATION);
+		}
+		LinkGene link0 = new LinkGeneImpl(0, nodes[0].getId(), nodes[1].getId(), LINK_CONFIGURATION);
+		LinkGene link1 = new LinkGeneImpl(1, nodes[0].getId(), nodes[2].getId(), LINK_CONFIGURATION);
+		LinkGene link2 = new LinkGeneImpl(2, nodes[1].getId(), nodes[3].getId(), LINK_CONFIGURATION);
+		LinkGene link3 = new LinkGeneImpl(3, nodes[3].getId(), nodes[3].getId(), LINK_CONFIGURATION);
+		GeneMap geneMap = new GeneMap(Arrays.asList(nodes), Arrays.asList(link0, link1, link2, link3));
+		geneMap.remove(link0);
+		assertThat("",//
+				geneMap.getLinkCount(), isEqualTo(3));
+		assertThat("",//
+				geneMap.getLinks(), hasSize(3), containsElements(link1, link2, link3));
+		assertThat("",//
+				geneMap.getOutgoingLinkIds(nodes[0].getId()), hasSize(1), containsElement(link1.getId()));
+		assertThat("",//
+				geneMap.getIncomingNodeIds(nodes[3].getId()), hasSize(2), containsElements(nodes[1].getId(), nodes[3].getId()));
+		geneMap.remove(nodes[1]);
+		assertThat("",//
+				geneMap.getNodeCount(), isEqualTo(3));
+		assertThat("",//
+				geneMap.getLinkCount(), isEqualTo(2));
+		assertThat("",//
+				geneMap.getLinks(), hasSize(2), containsElements(link1, link3));
+		assertThat("",//
+				geneMap.getNodes(), hasSize(3), containsElements(nodes[0], nodes[2], nodes[3]));
+		assertThat("",//
+				geneMap.getOutgoingNodeIds(nodes[0].getId()), hasSize(1), containsElement(nodes[2].getId()));
+		assertThat("",//
+				geneMap.getIncomingNodeIds(nodes[3].getId()), hasSize(1), containsElement(nodes[3].getId()));
+		assertThat("",//
+				geneMap.getOutgoingLinkIds(nodes[3].getId()), hasSize(1), containsElement(link3.getId()));
+		assertThat("",//
+				geneMap.getOutgoingNodeIds(nodes[1].getId()), isNull());
+	}
+
+	public void getLinksAndGetNodesReturnModifiableCopies() {
+		NodeGene node0 = new NodeGeneImpl(0, NodeType.INPUT, NODE_CONFIGURATION);
+		NodeGene node1 = new NodeGeneImpl(1, NodeType.OUTPUT, NODE_CONFIGURATION);
+		LinkGene link0 = new LinkGeneImpl(0, node0.getId(), node1.getId(), LINK_CONFIGURATION);
+		LinkGene link1 = new LinkGeneImpl(1, node1.getId(), node0.getId(), LINK_CONFIGURATION);
+		GeneMap geneMap = new GeneMap(Arrays.asList(node0, node1), Arrays.asList(link0));
+		List<LinkGene> links = geneMap.getLinks();
+		links.add(link1);
+		List<NodeGene> nodes = geneMap.getNodes();
+		nodes.remove(node0);
+		assertThat("",//
+				geneMap.getLinks(), hasSize(1), containsElement(link0));
+		assertThat("",//
+				geneMap.getNodes(), hasSize(2), containsElements(node0, node1));
+	}
+
+	public void getLinkProfileIsCachedUntilModified() {
+		GeneMap geneMap = new GeneMap();
+		NodeGene node0 = new NodeGeneImpl(0, NodeType.INPUT, NODE_CONFIGURATION);
+		NodeGene node1 = new NodeGeneImpl(1, NodeType.OUTPUT, NODE_CONFIGURATION);
+		geneMap.add(node0);
+		geneMap.add(node1);
+		LinkProfile profile = geneMap.getLinkProfile();
+		assertThat("",//
+				profile.size(), isEqualTo(0));
+		assertThat("",//
+				geneMap.getLinkProfile(), isSameAs(profile));
+		LinkGene link0 = new LinkGeneImpl(0, node0.getId(), node1.getId(), LINK_CONFIGURATION);
+		geneMap.add(link0);
+		profile = geneMap.getLinkProfile();
+		assertThat("",//
+				profile.size(), isEqualTo(1));
+		assertThat("",//
+				geneMap.getLinkProfile(), isSameAs(profile));
+		geneMap.remove(node1);
+		assertThat("",//
+				geneMap.getLinkProfile().size(), isEqualTo(0));
+	}
+
+	public void copySharesGenesUntilModified() {
+		NodeGene[] nodes = new NodeGene[3];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new NodeGeneImpl(i, NodeType.HIDDEN, NODE_CONFIGURATION);
+		}
+		LinkGene link0 = new LinkGeneImpl(0, nodes[0].getId(), nodes[1].getId(), LINK_CONFIGURATION);
+		LinkGene link1 = new LinkGeneImpl(1, nodes[1].getId(), nodes[2].getId(), LINK_CONFIGURATION);
+		GeneMap parent = new GeneMap(Arrays.asList(nodes), Arrays.asList(link0, link1));
+		GeneMap child = new GeneMap(parent);
+		assertThat("",//
+				child.get(link0.getId()), isSameAs(link0));
+		assertThat("",//
+				child.getLinks(), isEqualTo(parent.getLinks()));
+		// replace a link in the child, and add a link and a node to it
+		LinkGene link0Copy = new LinkGeneImpl(0, link0);
+		NodeGene node3 = new NodeGeneImpl(3, NodeType.HIDDEN, NODE_CONFIGURATION);
+		LinkGene link2 = new LinkGeneImpl(2, nodes[2].getId(), node3.getId(), LINK_CONFIGURATION);
+		child.add(link0Copy);
+		child.add(node3);
+		child.add(link2);
+		assertThat("",//
+				child.get(link0.getId()), isSameAs(link0Copy));
+		assertThat("",//
+				child.get(link1.getId()), isSameAs(link1));
+		assertThat("",//
+				child.getOutgoingLinkIds(nodes[2].getId()), hasSize(1), containsElement(link2.getId()));
+		assertThat("",//
+				parent.get(link0.getId()), isSameAs(link0));
+		assertThat("",//
+				parent.get(node3.getId()), isNull());
+		assertThat("",//
+				parent.getOutgoingLinkIds(nodes[2].getId()), isEmpty());
+		assertThat("",//
+				parent.size(), isEqualTo(5));
+		assertThat("",//
+				child.size(), isEqualTo(7));
+		// remove from the parent, which the child must not see
+		parent.remove(nodes[1]);
+		assertThat("",//
+				parent.getLinks(), isEmpty());
+		assertThat("",//
+				parent.getIncomingLinkIds(nodes[2].getId()), isEmpty());
+		assertThat("",//
+				child.getLinks(), hasSize(3), containsElements(link0Copy, link1, link2));
+		assertThat("",//
+				child.getIncomingNodeIds(nodes[2].getId()), hasSize(1), containsElement(nodes[1].getId()));
+		assertThat("",//
+				child.getOutgoingNodeIds(nodes[0].getId()), hasSize(1), containsElement(nodes[1].getId()));
+	}
+
+	public void copiesOfCopiesStayIndependent() {
+		GeneMap geneMap = new GeneMap();
+		NodeGene input = new NodeGeneImpl(0, NodeType.INPUT, NODE_CONFIGURATION);
+		geneMap.add(input);
+		List<GeneMap> lineage = new ArrayList<GeneMap>();
+		lineage.add(geneMap);
+		// enough generations for the changes to the id index to be merged
+		for (int i = 1; i < 100; i++) {
+			GeneMap child = new GeneMap(lineage.get(i - 1));
+			NodeGene node = new NodeGeneImpl(i, NodeType.HIDDEN, NODE_CONFIGURATION);
+			child.add(node);
+			child.add(new LinkGeneImpl(i - 1, input.getId(), node.getId(), LINK_CONFIGURATION));
+			if (i % 3 == 0) {
+				child.remove(child.get(AbstractNodeGene.NODE_BASE_ID.createChild(i - 1)));
+			}
+			lineage.add(child);
+		}
+		for (int i = 0; i < lineage.size(); i++) {
+			GeneMap expected = new GeneMap(Arrays.asList(lineage.get(i).toArray(new Gene[0])));
+			assertThat("",//
+					lineage.get(i).getLinks(), isEqualTo(expected.getLinks()));
+			assertThat("",//
+					lineage.get(i).getNodes(), isEqualTo(expected.getNodes()));
+			assertThat("",//
+					lineage.get(i).getOutgoingLinkIds(input.getId()), isEqualTo(expected.getOutgoingLinkIds(input.getId())));
+			for (Gene gene : expected) {
+				assertThat("",//
+						lineage.get(i).get(gene.getId()), isSameAs(gene));
+			}
+		}
+		assertThat("",//
+				lineage.get(0).size(), isEqualTo(1));
+		assertThat("",//
+				lineage.get(99).getOutgoingLinkIds(input.getId()), hasSize(66));
+	}
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.genetics;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isLessThan;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.xtructure.xneat.genetics.link.LinkGene;
+import com.xtructure.xneat.genetics.link.config.LinkGeneConfiguration;
+import com.xtructure.xneat.genetics.link.impl.LinkGeneImpl;
+import com.xtructure.xneat.genetics.node.NodeGene;
+import com.xtructure.xneat.genetics.node.NodeType;
+import com.xtructure.xneat.genetics.node.config.NodeGeneConfiguration;
+import com.xtructure.xneat.genetics.node.impl.NodeGeneImpl;
+import com.xtructure.xutil.bin.BinaryWriter;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.test.AbstractBinaryFormatTest;
+import com.xtructure.xutil.test.TestUtils;
+
+@Test(groups = { "binary:xneat" })
+public class UTestGeneMap_BINARY extends AbstractBinaryFormatTest<GeneMap> {
+	private static final NodeGeneConfiguration	NODE_CONFIGURATION	= NodeGeneConfiguration.builder(XId.newId("UTestGeneMap_BINARY", 0)).newInstance();
+	private static final LinkGeneConfiguration	LINK_CONFIGURATION	= LinkGeneConfiguration.builder(XId.newId("UTestGeneMap_BINARY", 1)).newInstance();
+	private static final Object[][]				INSTANCES;
+	static {
+		INSTANCES = TestUtils.createData(new GeneMap(), newGeneMap(2), newGeneMap(20));
+	}
+
+	/**
+	 * Creates a fully connected, feed forward {@link GeneMap} with the given
+	 * number of input nodes and as many output nodes.
+	 */
+	private static GeneMap newGeneMap(int size) {
+		List<NodeGene> inputs = new ArrayList<NodeGene>();
+		List<NodeGene> outputs = new ArrayList<NodeGene>();
+		for (int i = 0; i < size; i++) {
+			inputs.add(new NodeGeneImpl(i, NodeType.INPUT, NODE_CONFIGURATION));
+			outputs.add(new NodeGeneImpl(size + i, NodeType.OUTPUT, NODE_CONFIGURATION));
+		}
+		List<LinkGene> links = new ArrayList<LinkGene>();
+		for (NodeGene input : inputs) {
+			for (NodeGene output : outputs) {
+				LinkGeneImpl link = new LinkGeneImpl(links.size(), input.getId(), output.getId(), LINK_CONFIGURATION);
+				link.setWeight(links.size() / 10.0);
+				links.add(link);
+			}
+		}
+		List<NodeGene> nodes = new ArrayList<NodeGene>(inputs);
+		nodes.addAll(outputs);
+		return new GeneMap(nodes, links);
+	}
+
+	public UTestGeneMap_BINARY() {
+		super(null);
+	}
+
+	public void writeEncodesInnovationsAsDeltas() throws IOException {
+		GeneMap small = newGeneMap(2);
+		GeneMap large = newGeneMap(20);
+		int extraGenes = large.size() - small.size();
+		int extraBytes = BinaryWriter.write(large).length - BinaryWriter.write(small).length;
+		// a link costs a byte or two for each of its class, innovation deltas,
+		// id, configuration and endpoints, plus its weight
+		assertThat("",//
+				extraBytes, isLessThan(extraGenes * 32));
+	}
+
+	public void writeDoesNotDependOnGeneOrder() throws IOException {
+		GeneMap geneMap = newGeneMap(2);
+		List<NodeGene> nodes = geneMap.getNodes();
+		List<LinkGene> links = geneMap.getLinks();
+		Collections.reverse(nodes);
+		Collections.reverse(links);
+		assertThat("",//
+				Arrays.equals(BinaryWriter.write(geneMap), BinaryWriter.write(new GeneMap(nodes, links))), isTrue());
+	}
+
+	@DataProvider
+	@Override
+	protected Object[][] instances() {
+		return INSTANCES;
+	}
+}
@@ -25,6 +25,7 @@ import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
 import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
 import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
 
 import java.util.ArrayList;
@@ -104,4 +105,15 @@ public class UTestInnovation {
 		assertThat("",//
 				inn1.toString(), isEqualTo(inn1.getId().toString()));
 	}
+
+	public void generateReturnsInternedInstances() {
+		assertThat("",//
+				Innovation.generate(7), isSameAs(Innovation.generate(7)));
+		assertThat("",//
+				Innovation.generate(7, 8), isSameAs(Innovation.generate(7, 8)));
+		assertThat("",//
+				Innovation.generate(-1, 8), isSameAs(Innovation.generate(-1, 8)));
+		assertThat("",//
+				Innovation.generate(7, 8).equals(Innovation.generate(8, 7)), isFalse());
+	}
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.genetics;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+
+import org.testng.annotations.Test;
+
+import com.xtructure.xneat.genetics.link.config.LinkGeneConfiguration;
+import com.xtructure.xneat.genetics.link.impl.LinkGeneImpl;
+import com.xtructure.xneat.genetics.node.NodeGene;
+import com.xtructure.xneat.genetics.node.NodeType;
+import com.xtructure.xneat.genetics.node.config.NodeGeneConfiguration;
+import com.xtructure.xneat.genetics.node.impl.NodeGeneImpl;
+import com.xtructure.xutil.id.XId;
+
+/**
+ * @author Luis Guimbarda
+ * 
+ */
+@Test(groups = { "unit:xneat" })
+public class UTestLinkProfile {
+	private static final NodeGeneConfiguration	NODE_CONFIGURATION	= NodeGeneConfiguration.builder(XId.newId("UTestLinkProfile", 0)).newInstance();
+	private static final LinkGeneConfiguration	LINK_CONFIGURATION	= LinkGeneConfiguration.builder(XId.newId("UTestLinkProfile", 1)).newInstance();
+
+	public void sizeReturnsExpectedValue() {
+		assertThat("",//
+				newGeneMap().getLinkProfile().size(), isEqualTo(0));
+		assertThat("",//
+				newGeneMap(new double[] { 0, 1, 1.0 }, new double[] { 1, 2, 1.0 }).getLinkProfile().size(), isEqualTo(2));
+	}
+
+	public void getCompatibilityOfEmptyProfilesIsZero() {
+		assertThat("",//
+				newGeneMap().getLinkProfile().getCompatibility(newGeneMap().getLinkProfile(), 1.0, 1.0, 1.0),//
+				isEqualTo(0.0));
+	}
+
+	public void getCompatibilityOfIdenticalProfilesIsZero() {
+		GeneMap geneMap = newGeneMap(new double[] { 0, 1, 1.0 }, new double[] { 0, 2, 2.0 }, new double[] { 1, 2, 3.0 });
+		assertThat("",//
+				geneMap.getLinkProfile().getCompatibility(geneMap.getLinkProfile(), 1.0, 1.0, 1.0),//
+				isEqualTo(0.0));
+	}
+
+	public void getCompatibilityReturnsExpectedValue() {
+		// links (0,2) and (1,2) are disjoint with (0,3), links (2,3) and (3,3)
+		// are excess, and the weights of the matching (0,1) links differ by 3
+		LinkProfile profile1 = newGeneMap(new double[] { 0, 1, 1.0 }, new double[] { 0, 2, 1.0 }, new double[] { 1, 2, 1.0 }).getLinkProfile();
+		LinkProfile profile2 = newGeneMap(new double[] { 0, 1, 4.0 }, new double[] { 0, 3, 1.0 }, new double[] { 2, 3, 1.0 }, new double[] { 3, 3, 1.0 }).getLinkProfile();
+		assertThat("",//
+				profile1.getCompatibility(profile2, 1.0, 10.0, 100.0),//
+				isEqualTo((3.0 + 3 * 10.0 + 2 * 100.0) / 4));
+		assertThat("",//
+				profile2.getCompatibility(profile1, 1.0, 10.0, 100.0),//
+				isEqualTo((3.0 + 3 * 10.0 + 2 * 100.0) / 4));
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void getCompatibilityWithNullThrowsException() {
+		newGeneMap().getLinkProfile().getCompatibility(null, 1.0, 1.0, 1.0);
+	}
+
+	/**
+	 * Returns a new gene map with nodes 0 through 3 and the given links, each
+	 * given as source node, target node and weight
+	 */
+	private GeneMap newGeneMap(double[]... links) {
+		GeneMap geneMap = new GeneMap();
+		NodeGene[] nodes = new NodeGene[4];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new NodeGeneImpl(i, NodeType.HIDDEN, NODE_CONFIGURATION);
+			geneMap.add(nodes[i]);
+		}
+		for (int i = 0; i < links.length; i++) {
+			LinkGeneImpl link = new LinkGeneImpl(i, nodes[(int) links[i][0]].getId(), nodes[(int) links[i][1]].getId(), LINK_CONFIGURATION);
+			link.setWeight(links[i][2]);
+			geneMap.add(link);
+		}
+		return geneMap;
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.genetics.impl;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.xtructure.xevolution.genetics.Genome;
+import com.xtructure.xevolution.genetics.SnapshotFormat;
+import com.xtructure.xneat.evolution.config.impl.NEATEvolutionConfigurationImpl;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Measures writing and reading a NEAT population in each
+ * {@link SnapshotFormat}, and reports the size of each snapshot against the
+ * xml one.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class SnapshotFormatBenchmark {
+	/** the number of genomes in the population */
+	private static final int						POPULATION_SIZE		= 200;
+	/** the number of snapshots written or read per iteration */
+	private static final int						SNAPSHOTS			= 5;
+	/** the genetics factory used to create the population */
+	private static final NEATGeneticsFactoryImpl	GENETICS_FACTORY	= new NEATGeneticsFactoryImpl(NEATEvolutionConfigurationImpl//
+																			.builder(XId.newId("snapshot.format.benchmark.config"))//
+																			.setPopulationSize(POPULATION_SIZE)//
+																			.setInputNodeCount(20)//
+																			.setOutputNodeCount(10)//
+																			.setInitialConnectionProbability(0.5)//
+																			.newInstance().newFieldMap());
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) throws IOException {
+		MicroBenchmark benchmark = new MicroBenchmark(SnapshotFormatBenchmark.class.getSimpleName(), SNAPSHOTS);
+		final NEATPopulationImpl population = GENETICS_FACTORY.createPopulation(0);
+		for (Genome<?> genome : population) {
+			genome.setAttribute(Genome.FITNESS_ATTRIBUTE_ID, (double) genome.getId().getInstanceNum());
+		}
+		population.refreshStats();
+		File dir = File.createTempFile("snapshots", "");
+		dir.delete();
+		dir.mkdirs();
+		long xmlSize = 0l;
+		for (final SnapshotFormat format : SnapshotFormat.values()) {
+			final File file = format.getFile(dir, "Population0");
+			format.write(file, population);
+			if (format == SnapshotFormat.XML) {
+				xmlSize = file.length();
+			}
+			System.out.println(String.format("%s: %d bytes (%.1f%% of xml)", //
+					format, file.length(), 100.0 * file.length() / xmlSize));
+			benchmark.measure(format + " write", new Operation() {
+				@Override
+				public long execute() {
+					long sum = 0l;
+					try {
+						for (int i = 0; i < SNAPSHOTS; i++) {
+							format.write(file, population);
+							sum += file.length();
+						}
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+					return sum;
+				}
+			});
+			benchmark.measure(format + " read", new Operation() {
+				@Override
+				public long execute() {
+					long sum = 0l;
+					try {
+						for (int i = 0; i < SNAPSHOTS; i++) {
+							NEATPopulationImpl read = format.read(file);
+							sum += read.size();
+						}
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+					return sum;
+				}
+			});
+			file.delete();
+		}
+		dir.delete();
+		System.out.println(benchmark.getSink());
+	}
+
+	private SnapshotFormatBenchmark() {}
+}
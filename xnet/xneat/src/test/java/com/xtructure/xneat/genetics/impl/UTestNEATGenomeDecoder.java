@@ -22,10 +22,19 @@
 package com.xtructure.xneat.genetics.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotSameAs;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isOfExactType;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
 
 import org.testng.annotations.Test;
 
+import com.xtructure.xevolution.genetics.impl.CachingGenomeDecoder;
+import com.xtructure.xneat.evolution.config.NEATEvolutionFieldMap;
+import com.xtructure.xneat.evolution.config.impl.NEATEvolutionConfigurationImpl;
 import com.xtructure.xneat.genetics.GeneMap;
 import com.xtructure.xneat.genetics.NEATGenome;
 import com.xtructure.xneat.genetics.link.LinkGene;
@@ -36,6 +45,9 @@ import com.xtructure.xneat.genetics.node.NodeType;
 import com.xtructure.xneat.genetics.node.config.NodeGeneConfiguration;
 import com.xtructure.xneat.genetics.node.impl.NodeGeneImpl;
 import com.xtructure.xneat.network.NeuralNetwork;
+import com.xtructure.xneat.network.impl.CompiledNeuralNetwork;
+import com.xtructure.xneat.network.impl.FeedForwardNeuralNetwork;
+import com.xtructure.xneat.network.impl.NeuralNetworkImpl;
 import com.xtructure.xutil.coll.SetBuilder;
 
 /**
@@ -54,9 +66,123 @@ public class UTestNEATGenomeDecoder {
 	public void constructorSucceeds() {
 		assertThat("",//
 				NEATGenomeDecoder.getInstance(), isNotNull());
+		assertThat("",//
+				NEATGenomeDecoder.getInstance().isCompiled(), isFalse());
+		assertThat("",//
+				NEATGenomeDecoder.getCompiledInstance(), isNotNull());
+		assertThat("",//
+				NEATGenomeDecoder.getCompiledInstance().isCompiled(), isTrue());
+		assertThat("",//
+				NEATGenomeDecoder.getCompiledInstance().isFeedForward(), isFalse());
+		assertThat("",//
+				NEATGenomeDecoder.getFeedForwardInstance(), isNotNull());
+		assertThat("",//
+				NEATGenomeDecoder.getFeedForwardInstance().isFeedForward(), isTrue());
+	}
+
+	public void getInstanceFollowsFeedForwardActivation() {
+		NEATEvolutionFieldMap fieldMap = NEATEvolutionConfigurationImpl.builder(null).newInstance().newFieldMap();
+		assertThat("",//
+				NEATGenomeDecoder.getInstance(fieldMap), isSameAs(NEATGenomeDecoder.getInstance()));
+		fieldMap.setFeedForwardActivation(true);
+		assertThat("",//
+				NEATGenomeDecoder.getInstance(fieldMap), isSameAs(NEATGenomeDecoder.getFeedForwardInstance()));
+	}
+
+	public void decodeReturnsFeedForwardNetworkForAcyclicGenome() {
+		NEATGenome<GeneMap> genome = createGenome();
+		NeuralNetwork network = NEATGenomeDecoder.getFeedForwardInstance().decode(genome);
+		assertThat("",//
+				network, isNotNull(), isOfExactType(FeedForwardNeuralNetwork.class));
+		assertThat("",//
+				network.relaxNetwork(1, 0.0), isTrue());
+		NeuralNetwork recurrent = NEATGenomeDecoder.getInstance().decode(genome);
+		recurrent.setInputSignals(new double[] { 0.5 });
+		network.setInputSignals(new double[] { 0.5 });
+		recurrent.relaxNetwork(10, 0.0);
+		network.relaxNetwork(1, 0.0);
+		assertThat("",//
+				network.getOutputSignals()[0], isEqualTo(recurrent.getOutputSignals()[0]));
+	}
+
+	public void decodeReturnsCompiledNetworkForCyclicGenome() {
+		NEATGenome<GeneMap> genome = createGenome();
+		GeneMap geneMap = genome.getData();
+		NodeGene output = null;
+		NodeGene hidden = null;
+		for (NodeGene node : geneMap.getNodes()) {
+			if (node.getNodeType() == NodeType.OUTPUT) {
+				output = node;
+			} else if (node.getNodeType() == NodeType.HIDDEN) {
+				hidden = node;
+			}
+		}
+		geneMap.add(new LinkGeneImpl(1, output.getId(), hidden.getId(), LINK_CONFIGURATION));
+		geneMap.add(new LinkGeneImpl(2, hidden.getId(), output.getId(), LINK_CONFIGURATION));
+		NeuralNetwork network = NEATGenomeDecoder.getFeedForwardInstance().decode(genome);
+		assertThat("",//
+				network, isNotNull(), isOfExactType(CompiledNeuralNetwork.class));
 	}
 
 	public void decodeReturnsExpectObject() {
+		NEATGenome<GeneMap> genome = createGenome();
+		NeuralNetwork network = NEATGenomeDecoder.getInstance().decode(genome);
+		assertThat("",//
+				network, isNotNull(), isOfExactType(NeuralNetworkImpl.class));
+		network = NEATGenomeDecoder.getCompiledInstance().decode(genome);
+		assertThat("",//
+				network, isNotNull(), isOfExactType(CompiledNeuralNetwork.class));
+	}
+
+	public void cachedDecodeReturnsFreshCopies() {
+		NEATGenome<GeneMap> genome = createGenome();
+		for (NEATGenomeDecoder decoder : new NEATGenomeDecoder[] { //
+				NEATGenomeDecoder.getInstance(),//
+				NEATGenomeDecoder.getCompiledInstance(),//
+				NEATGenomeDecoder.getFeedForwardInstance() }) {
+			CachingGenomeDecoder<GeneMap, NeuralNetwork> cachingDecoder = decoder.withCache(4);
+			NeuralNetwork expected = decoder.decode(genome);
+			expected.setInputSignals(new double[] { 0.5 });
+			expected.relaxNetwork(10, 0.0);
+			NeuralNetwork first = cachingDecoder.decode(genome);
+			first.setInputSignals(new double[] { 0.5 });
+			first.relaxNetwork(10, 0.0);
+			NeuralNetwork second = cachingDecoder.decode(genome);
+			assertThat("",//
+					second, isNotSameAs(first), isOfExactType(expected.getClass()));
+			second.setInputSignals(new double[] { 0.5 });
+			second.relaxNetwork(10, 0.0);
+			assertThat("",//
+					first.getOutputSignals()[0], isEqualTo(expected.getOutputSignals()[0]));
+			assertThat("",//
+					second.getOutputSignals()[0], isEqualTo(expected.getOutputSignals()[0]));
+			assertThat("",//
+					cachingDecoder.getMissCount(), isEqualTo(1l));
+			assertThat("",//
+					cachingDecoder.getHitCount(), isEqualTo(1l));
+		}
+	}
+
+	public void cachedDecodeFollowsGeneMapVersion() {
+		NEATGenome<GeneMap> genome = createGenome();
+		CachingGenomeDecoder<GeneMap, NeuralNetwork> cachingDecoder = NEATGenomeDecoder.getCompiledInstance().withCache(4);
+		cachingDecoder.decode(genome);
+		NodeGene input = genome.getData().getNodes().get(0);
+		NodeGene hidden = null;
+		for (NodeGene node : genome.getData().getNodes()) {
+			if (node.getNodeType() == NodeType.HIDDEN) {
+				hidden = node;
+			}
+		}
+		genome.getData().add(new LinkGeneImpl(1, input.getId(), hidden.getId(), LINK_CONFIGURATION));
+		CompiledNeuralNetwork network = (CompiledNeuralNetwork) cachingDecoder.decode(genome);
+		assertThat("",//
+				cachingDecoder.getMissCount(), isEqualTo(2l));
+		assertThat("",//
+				network.getConnectionCount(), isEqualTo(2));
+	}
+
+	private NEATGenome<GeneMap> createGenome() {
 		NodeGene node0 = new NodeGeneImpl(0, NodeType.INPUT, NODE_CONFIGURATION);
 		NodeGene node1 = new NodeGeneImpl(1, NodeType.OUTPUT, NODE_CONFIGURATION);
 		NodeGene node2 = new NodeGeneImpl(2, NodeType.BIAS, NODE_CONFIGURATION);
@@ -65,9 +191,6 @@ public class UTestNEATGenomeDecoder {
 		GeneMap geneMap = new GeneMap(//
 				new SetBuilder<NodeGene>().add(node0, node1, node2, node3).newImmutableInstance(),//
 				new SetBuilder<LinkGene>().add(link0).newImmutableInstance());
-		NEATGenome<GeneMap> genome = new NEATGenomeImpl(0, geneMap);
-		NeuralNetwork network = NEATGenomeDecoder.getInstance().decode(genome);
-		assertThat("",//
-				network, isNotNull());
+		return new NEATGenomeImpl(0, geneMap);
 	}
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.genetics.impl;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.xtructure.xevolution.genetics.Genome;
+import com.xtructure.xneat.evolution.config.impl.NEATEvolutionConfigurationImpl;
+import com.xtructure.xutil.test.AbstractBinaryFormatTest;
+import com.xtructure.xutil.test.TestUtils;
+
+/**
+ * @author Luis Guimbarda
+ * 
+ */
+@Test(groups = { "binary:xneat" })
+public class UTestNEATPopulationImpl_BINARY extends AbstractBinaryFormatTest<NEATPopulationImpl> {
+	private static final Object[][]	INSTANCES;
+	static {
+		NEATGeneticsFactoryImpl geneticsFactory = new NEATGeneticsFactoryImpl(NEATEvolutionConfigurationImpl//
+				.builder(null)//
+				.setInputNodeCount(5)//
+				.setOutputNodeCount(5)//
+				.setInitialConnectionProbability(0.5)//
+				.newInstance().newFieldMap());
+		NEATPopulationImpl population = geneticsFactory.createPopulation(0);
+		for (Genome<?> genome : population) {
+			genome.setAttribute(Genome.FITNESS_ATTRIBUTE_ID, (double) genome.getId().getInstanceNum());
+		}
+		population.incrementAge();
+		population.refreshStats();
+		INSTANCES = TestUtils.createData(new NEATPopulationImpl(1), population);
+	}
+
+	public UTestNEATPopulationImpl_BINARY() {
+		super(NEATPopulationImpl.XML_BINDING);
+	}
+
+	@DataProvider
+	@Override
+	protected Object[][] instances() {
+		return INSTANCES;
+	}
+}
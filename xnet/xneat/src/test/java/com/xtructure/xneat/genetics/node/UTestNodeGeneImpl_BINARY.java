@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.genetics.node;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.xtructure.xneat.genetics.node.config.NodeGeneConfiguration;
+import com.xtructure.xneat.genetics.node.impl.NodeGeneImpl;
+import com.xtructure.xutil.bin.BinaryReader;
+import com.xtructure.xutil.bin.BinaryWriter;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.id.XValId;
+import com.xtructure.xutil.test.AbstractBinaryFormatTest;
+import com.xtructure.xutil.test.TestUtils;
+
+@Test(groups = { "binary:xneat" })
+public class UTestNodeGeneImpl_BINARY extends AbstractBinaryFormatTest<NodeGeneImpl> {
+	private static final Object[][]	INSTANCES;
+	static {
+		NodeGeneConfiguration config = NodeGeneConfiguration.builder(XId.newId("UTestNodeGeneImpl_BINARY")).newInstance();
+		List<NodeGeneImpl> nodes = new ArrayList<NodeGeneImpl>();
+		for (NodeType nodeType : NodeType.values()) {
+			NodeGeneImpl node = new NodeGeneImpl(nodes.size(), nodeType, config);
+			node.setActivation(0.5 * nodes.size());
+			nodes.add(node);
+		}
+		nodes.get(0).setAttribute(XValId.newId("attr", Double.class), 2.0);
+		INSTANCES = TestUtils.createData(nodes.toArray());
+	}
+
+	public UTestNodeGeneImpl_BINARY() {
+		super(NodeGeneImpl.XML_BINDING);
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void readWithUnregisteredConfigurationThrowsException() throws IOException {
+		NodeGeneConfiguration config = NodeGeneConfiguration.builder(XId.newId("UTestNodeGeneImpl_BINARY.unregistered")).newInstance();
+		byte[] bytes = BinaryWriter.write(new NodeGeneImpl(0, NodeType.HIDDEN, config));
+		NodeGeneConfiguration.getManager().unregister(config);
+		BinaryReader.read(bytes);
+	}
+
+	@DataProvider
+	@Override
+	protected Object[][] instances() {
+		return INSTANCES;
+	}
+}
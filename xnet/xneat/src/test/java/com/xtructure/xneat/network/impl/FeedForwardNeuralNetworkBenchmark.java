@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.network.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.xtructure.xneat.genetics.GeneMap;
+import com.xtructure.xneat.genetics.NEATGenome;
+import com.xtructure.xneat.genetics.impl.NEATGenomeDecoder;
+import com.xtructure.xneat.genetics.impl.NEATGenomeImpl;
+import com.xtructure.xneat.genetics.link.LinkGene;
+import com.xtructure.xneat.genetics.link.config.LinkGeneConfiguration;
+import com.xtructure.xneat.genetics.link.impl.LinkGeneImpl;
+import com.xtructure.xneat.genetics.node.NodeGene;
+import com.xtructure.xneat.genetics.node.NodeType;
+import com.xtructure.xneat.genetics.node.config.NodeGeneConfiguration;
+import com.xtructure.xneat.genetics.node.impl.NodeGeneImpl;
+import com.xtructure.xneat.network.NeuralNetwork;
+import com.xtructure.xutil.Range;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Compares the cost of relaxing acyclic genomes decoded as recurrent networks
+ * against decoding them as {@link FeedForwardNeuralNetwork}s. Genomes are
+ * layered, fully connected between consecutive layers, and shaped as in the
+ * XOR demo (two inputs, one output, a bias) and the OneD demo (three inputs,
+ * two outputs, no bias).
+ * 
+ * @author Luis Guimbarda
+ */
+public final class FeedForwardNeuralNetworkBenchmark {
+	/** steps allowed for recurrent networks to relax */
+	private static final int					MAX_STEPS	= 20;
+	/** signal delta under which a network is relaxed */
+	private static final double					MAX_DELTA	= 0.0;
+	/** the configuration of generated link genes */
+	private static final LinkGeneConfiguration	LINK_CONFIGURATION;
+	/** the configuration of generated node genes */
+	private static final NodeGeneConfiguration	NODE_CONFIGURATION;
+	static {
+		LINK_CONFIGURATION = LinkGeneConfiguration.builder(null)//
+				.setWeight(Range.getInstance(-10.0, 10.0), Range.getInstance(-1.0, 1.0))//
+				.newInstance();
+		NODE_CONFIGURATION = NodeGeneConfiguration.builder(null).newInstance();
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(FeedForwardNeuralNetworkBenchmark.class.getSimpleName(), 10000);
+		Random random = new Random(0l);
+		for (int[] layers : new int[][] { { 1 }, { 2, 2 }, { 4, 4, 4 } }) {
+			measure(benchmark, random, "xor", 1, 2, 1, layers);
+			measure(benchmark, random, "oned", 0, 3, 2, layers);
+		}
+		System.out.println(benchmark.getSink());
+	}
+
+	private static void measure(MicroBenchmark benchmark, Random random, String name, int biasCount, int inputCount, int outputCount, int[] hiddenLayers) {
+		NEATGenome<GeneMap> genome = newLayeredGenome(biasCount, inputCount, outputCount, hiddenLayers);
+		double[] inputs = new double[inputCount];
+		for (int i = 0; i < inputCount; i++) {
+			inputs[i] = random.nextDouble();
+		}
+		String label = String.format("%s[hiddenLayers=%d]", name, hiddenLayers.length);
+		benchmark.measure("NeuralNetworkImpl." + label, //
+				newRelaxOperation(NEATGenomeDecoder.getInstance().decode(genome), inputs));
+		benchmark.measure("CompiledNeuralNetwork." + label, //
+				newRelaxOperation(NEATGenomeDecoder.getCompiledInstance().decode(genome), inputs));
+		benchmark.measure("FeedForwardNeuralNetwork." + label, //
+				newRelaxOperation(NEATGenomeDecoder.getFeedForwardInstance().decode(genome), inputs));
+	}
+
+	private static Operation newRelaxOperation(final NeuralNetwork network, final double[] inputs) {
+		return new Operation() {
+			@Override
+			public long execute() {
+				network.clearSignals();
+				network.setInputSignals(inputs);
+				network.relaxNetwork(MAX_STEPS, MAX_DELTA);
+				return Double.doubleToRawLongBits(network.getOutputSignals()[0]);
+			}
+		};
+	}
+
+	private static NEATGenome<GeneMap> newLayeredGenome(int biasCount, int inputCount, int outputCount, int[] hiddenLayers) {
+		List<NodeGene> nodes = new ArrayList<NodeGene>();
+		List<LinkGene> links = new ArrayList<LinkGene>();
+		List<NodeGene> previous = new ArrayList<NodeGene>();
+		for (int i = 0; i < biasCount; i++) {
+			previous.add(new NodeGeneImpl(nodes.size() + previous.size(), NodeType.BIAS, NODE_CONFIGURATION));
+		}
+		for (int i = 0; i < inputCount; i++) {
+			previous.add(new NodeGeneImpl(nodes.size() + previous.size(), NodeType.INPUT, NODE_CONFIGURATION));
+		}
+		nodes.addAll(previous);
+		int[] layerSizes = new int[hiddenLayers.length + 1];
+		System.arraycopy(hiddenLayers, 0, layerSizes, 0, hiddenLayers.length);
+		layerSizes[hiddenLayers.length] = outputCount;
+		for (int layer = 0; layer < layerSizes.length; layer++) {
+			NodeType nodeType = layer < hiddenLayers.length ? NodeType.HIDDEN : NodeType.OUTPUT;
+			List<NodeGene> current = new ArrayList<NodeGene>();
+			for (int i = 0; i < layerSizes[layer]; i++) {
+				NodeGene node = new NodeGeneImpl(nodes.size() + current.size(), nodeType, NODE_CONFIGURATION);
+				current.add(node);
+				for (NodeGene source : previous) {
+					links.add(new LinkGeneImpl(links.size(), source.getId(), node.getId(), LINK_CONFIGURATION));
+				}
+			}
+			nodes.addAll(current);
+			previous = current;
+		}
+		return new NEATGenomeImpl(0, new GeneMap(nodes, links));
+	}
+
+	private FeedForwardNeuralNetworkBenchmark() {}
+}
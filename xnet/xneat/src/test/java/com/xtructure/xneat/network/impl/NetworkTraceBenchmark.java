@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.network.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.log4j.Level;
+
+import com.xtructure.xneat.genetics.node.NodeType;
+import com.xtructure.xneat.network.NeuralNetwork;
+import com.xtructure.xutil.XLogger;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Measures the cost of the trace statements compiled into the network step
+ * loop: {@link NeuralNetworkImpl#singleStep()}, whose network, neurons and
+ * connections trace each step behind guards, against the same network as a
+ * {@link CompiledNeuralNetwork}, whose step loop has no trace statements at
+ * all. The trace level of the loggers is set to INFO and to TRACE, so running
+ * the benchmark with and without <code>-Dxtructure.xlogger.trace=true</code>
+ * shows what the trace statements cost with the {@link XLogger} switch off and
+ * with tracing fully on.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class NetworkTraceBenchmark {
+	/** number of bias neurons in the benchmarked network */
+	private static final int	BIAS_COUNT		= 1;
+	/** number of input neurons in the benchmarked network */
+	private static final int	INPUT_COUNT		= 8;
+	/** number of output neurons in the benchmarked network */
+	private static final int	OUTPUT_COUNT	= 2;
+	/** number of hidden neurons in the benchmarked network */
+	private static final int	HIDDEN_COUNT	= 32;
+	/** number of steps per iteration */
+	private static final int	STEPS			= 1000;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(NetworkTraceBenchmark.class.getSimpleName(), STEPS);
+		Random random = new Random(0l);
+		int neuronCount = BIAS_COUNT + INPUT_COUNT + OUTPUT_COUNT + HIDDEN_COUNT;
+		int connectionCount = 4 * neuronCount;
+		double[] slopes = new double[neuronCount];
+		for (int i = 0; i < neuronCount; i++) {
+			slopes[i] = random.nextDouble() * 4.0 - 2.0;
+		}
+		int[] sources = new int[connectionCount];
+		int[] targets = new int[connectionCount];
+		double[] weights = new double[connectionCount];
+		for (int i = 0; i < connectionCount; i++) {
+			sources[i] = random.nextInt(neuronCount);
+			targets[i] = BIAS_COUNT + INPUT_COUNT + random.nextInt(OUTPUT_COUNT + HIDDEN_COUNT);
+			weights[i] = random.nextDouble() * 2.0 - 1.0;
+		}
+		double[] inputs = new double[INPUT_COUNT];
+		for (int i = 0; i < INPUT_COUNT; i++) {
+			inputs[i] = random.nextDouble();
+		}
+		NeuralNetwork impl = new NeuralNetworkImpl(null, BIAS_COUNT, INPUT_COUNT, OUTPUT_COUNT, HIDDEN_COUNT,//
+				newNeurons(slopes), newConnections(sources, targets, weights));
+		NeuralNetwork compiled = new CompiledNeuralNetwork(null, BIAS_COUNT, INPUT_COUNT, OUTPUT_COUNT, HIDDEN_COUNT,//
+				newNeurons(slopes), newConnections(sources, targets, weights));
+		benchmark.measure("CompiledNeuralNetwork.singleStep[no trace]", newStepOperation(compiled, inputs));
+		for (Level level : new Level[] { Level.INFO, Level.TRACE }) {
+			setLevel(level);
+			benchmark.measure(String.format("NeuralNetworkImpl.singleStep[%s]", level), newStepOperation(impl, inputs));
+		}
+		setLevel(Level.INFO);
+		System.out.println(benchmark.getSink());
+	}
+
+	private static void setLevel(Level level) {
+		for (Class<?> cls : new Class<?>[] { NeuralNetworkImpl.class, Neuron.class, Connection.class }) {
+			XLogger.getInstance(cls).setLevel(level);
+		}
+	}
+
+	private static Operation newStepOperation(final NeuralNetwork network, final double[] inputs) {
+		return new Operation() {
+			@Override
+			public long execute() {
+				network.clearSignals();
+				network.setInputSignals(inputs);
+				double sum = 0.0;
+				for (int i = 0; i < STEPS; i++) {
+					sum += network.singleStep();
+				}
+				return Double.doubleToRawLongBits(sum);
+			}
+		};
+	}
+
+	private static List<Neuron> newNeurons(double[] slopes) {
+		List<Neuron> neurons = new ArrayList<Neuron>();
+		for (int i = 0; i < slopes.length; i++) {
+			neurons.add(new Neuron(i, NodeType.HIDDEN, slopes[i]));
+		}
+		return neurons;
+	}
+
+	private static List<Connection> newConnections(int[] sources, int[] targets, double[] weights) {
+		List<Connection> connections = new ArrayList<Connection>();
+		for (int i = 0; i < weights.length; i++) {
+			connections.add(new Connection(sources[i], targets[i], weights[i]));
+		}
+		return connections;
+	}
+
+	private NetworkTraceBenchmark() {}
+}
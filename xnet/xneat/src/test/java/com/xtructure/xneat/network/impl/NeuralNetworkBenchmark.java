@@ -0,0 +1,156 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.network.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.xtructure.xneat.genetics.node.NodeType;
+import com.xtructure.xneat.network.NeuralNetwork;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Compares the cost of relaxing a {@link NeuralNetworkImpl} against the
+ * equivalent {@link CompiledNeuralNetwork}, for a few network sizes, and the
+ * cost of relaxing a set of patterns one at a time against relaxing them as a
+ * batch.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class NeuralNetworkBenchmark {
+	/** number of bias neurons in the benchmarked networks */
+	private static final int	BIAS_COUNT		= 1;
+	/** number of input neurons in the benchmarked networks */
+	private static final int	INPUT_COUNT		= 8;
+	/** number of output neurons in the benchmarked networks */
+	private static final int	OUTPUT_COUNT	= 2;
+	/** number of patterns in a batch */
+	private static final int	PATTERN_COUNT	= 64;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(NeuralNetworkBenchmark.class.getSimpleName(), 10000);
+		MicroBenchmark batchBenchmark = new MicroBenchmark(NeuralNetworkBenchmark.class.getSimpleName(), 200);
+		for (int hiddenCount : new int[] { 4, 32, 256 }) {
+			Random random = new Random(hiddenCount);
+			int neuronCount = BIAS_COUNT + INPUT_COUNT + OUTPUT_COUNT + hiddenCount;
+			int connectionCount = 4 * neuronCount;
+			double[] slopes = new double[neuronCount];
+			for (int i = 0; i < neuronCount; i++) {
+				slopes[i] = random.nextDouble() * 4.0 - 2.0;
+			}
+			int[] sources = new int[connectionCount];
+			int[] targets = new int[connectionCount];
+			double[] weights = new double[connectionCount];
+			for (int i = 0; i < connectionCount; i++) {
+				sources[i] = random.nextInt(neuronCount);
+				targets[i] = BIAS_COUNT + INPUT_COUNT + random.nextInt(OUTPUT_COUNT + hiddenCount);
+				weights[i] = random.nextDouble() * 2.0 - 1.0;
+			}
+			final double[] inputs = new double[INPUT_COUNT];
+			for (int i = 0; i < INPUT_COUNT; i++) {
+				inputs[i] = random.nextDouble();
+			}
+			NeuralNetwork impl = new NeuralNetworkImpl(null, BIAS_COUNT, INPUT_COUNT, OUTPUT_COUNT, hiddenCount,//
+					newNeurons(slopes), newConnections(sources, targets, weights));
+			NeuralNetwork compiled = new CompiledNeuralNetwork(null, BIAS_COUNT, INPUT_COUNT, OUTPUT_COUNT, hiddenCount,//
+					newNeurons(slopes), newConnections(sources, targets, weights));
+			benchmark.measure(String.format("NeuralNetworkImpl[hidden=%d]", hiddenCount), newRelaxOperation(impl, inputs));
+			benchmark.measure(String.format("CompiledNeuralNetwork[hidden=%d]", hiddenCount), newRelaxOperation(compiled, inputs));
+			final double[][] patterns = new double[PATTERN_COUNT][INPUT_COUNT];
+			for (double[] pattern : patterns) {
+				for (int i = 0; i < INPUT_COUNT; i++) {
+					pattern[i] = random.nextDouble();
+				}
+			}
+			batchBenchmark.measure(String.format("NeuralNetworkImpl.batch[hidden=%d]", hiddenCount), newBatchOperation(impl, patterns));
+			batchBenchmark.measure(String.format("CompiledNeuralNetwork.sequential[hidden=%d]", hiddenCount), newSequentialOperation(compiled, patterns));
+			batchBenchmark.measure(String.format("CompiledNeuralNetwork.batch[hidden=%d]", hiddenCount), newBatchOperation(compiled, patterns));
+		}
+		System.out.println(batchBenchmark.getSink());
+		System.out.println(benchmark.getSink());
+	}
+
+	private static Operation newRelaxOperation(final NeuralNetwork network, final double[] inputs) {
+		return new Operation() {
+			@Override
+			public long execute() {
+				network.clearSignals();
+				network.setInputSignals(inputs);
+				network.relaxNetwork(10, 0.01);
+				return Double.doubleToRawLongBits(network.getOutputSignals()[0]);
+			}
+		};
+	}
+
+	private static Operation newSequentialOperation(final NeuralNetwork network, final double[][] patterns) {
+		return new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				for (double[] pattern : patterns) {
+					network.clearSignals();
+					network.setInputSignals(pattern);
+					network.relaxNetwork(10, 0.01);
+					sum += Double.doubleToRawLongBits(network.getOutputSignals()[0]);
+				}
+				return sum;
+			}
+		};
+	}
+
+	private static Operation newBatchOperation(final NeuralNetwork network, final double[][] patterns) {
+		final double[][] outputs = new double[patterns.length][OUTPUT_COUNT];
+		return new Operation() {
+			@Override
+			public long execute() {
+				network.relaxNetwork(patterns, outputs, null, 10, 0.01);
+				return Double.doubleToRawLongBits(outputs[0][0]);
+			}
+		};
+	}
+
+	private static List<Neuron> newNeurons(double[] slopes) {
+		List<Neuron> neurons = new ArrayList<Neuron>();
+		for (int i = 0; i < slopes.length; i++) {
+			neurons.add(new Neuron(i, NodeType.HIDDEN, slopes[i]));
+		}
+		return neurons;
+	}
+
+	private static List<Connection> newConnections(int[] sources, int[] targets, double[] weights) {
+		List<Connection> connections = new ArrayList<Connection>();
+		for (int i = 0; i < weights.length; i++) {
+			connections.add(new Connection(sources[i], targets[i], weights[i]));
+		}
+		return connections;
+	}
+
+	private NeuralNetworkBenchmark() {}
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.network.impl;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.xtructure.xneat.genetics.node.NodeType;
+
+/**
+ * @author Luis Guimbarda
+ */
+@Test(groups = { "unit:xneat" })
+public class UTestCompiledNeuralNetwork {
+	private static final Random		RANDOM	= new Random();
+
+	private int						biasNeuronCount;
+	private int						inputNeuronCount;
+	private int						outputNeuronCount;
+	private int						hiddenNeuronCount;
+	private int						totalNeuronCount;
+	private double[]				activationSlopes;
+	private int[][]					links;
+	private double[]				weights;
+	private NeuralNetworkImpl		reference;
+	private CompiledNeuralNetwork	network;
+
+	@BeforeMethod
+	public void setUp() {
+		biasNeuronCount = RANDOM.nextInt(3) + 1;
+		inputNeuronCount = RANDOM.nextInt(5) + 1;
+		outputNeuronCount = RANDOM.nextInt(5) + 1;
+		hiddenNeuronCount = RANDOM.nextInt(10) + 1;
+		totalNeuronCount = biasNeuronCount + inputNeuronCount + outputNeuronCount + hiddenNeuronCount;
+		activationSlopes = new double[totalNeuronCount];
+		for (int i = 0; i < totalNeuronCount; i++) {
+			activationSlopes[i] = RANDOM.nextDouble() * 10.0 - 5.0;
+		}
+		int connectionCount = RANDOM.nextInt(4 * totalNeuronCount);
+		links = new int[connectionCount][2];
+		weights = new double[connectionCount];
+		for (int i = 0; i < connectionCount; i++) {
+			// any source, any non-bias target (including inputs)
+			links[i][0] = RANDOM.nextInt(totalNeuronCount);
+			links[i][1] = RANDOM.nextInt(totalNeuronCount - biasNeuronCount) + biasNeuronCount;
+			weights[i] = RANDOM.nextDouble() * 20.0 - 10.0;
+		}
+		reference = new NeuralNetworkImpl(null, biasNeuronCount, inputNeuronCount, outputNeuronCount, hiddenNeuronCount, newNeurons(), newConnections());
+		network = new CompiledNeuralNetwork(null, biasNeuronCount, inputNeuronCount, outputNeuronCount, hiddenNeuronCount, newNeurons(), newConnections());
+	}
+
+	private List<Neuron> newNeurons() {
+		List<Neuron> neurons = new ArrayList<Neuron>();
+		for (int i = 0; i < totalNeuronCount; i++) {
+			neurons.add(new Neuron(i, NodeType.HIDDEN, activationSlopes[i]));
+		}
+		return neurons;
+	}
+
+	private List<Connection> newConnections() {
+		List<Connection> connections = new ArrayList<Connection>();
+		for (int i = 0; i < links.length; i++) {
+			connections.add(new Connection(links[i][0], links[i][1], weights[i]));
+		}
+		return connections;
+	}
+
+	private double[] randomInputs() {
+		double[] inputs = new double[inputNeuronCount];
+		for (int i = 0; i < inputs.length; i++) {
+			inputs[i] = RANDOM.nextDouble();
+		}
+		return inputs;
+	}
+
+	public void constructorSucceeds() {
+		assertThat("",//
+				network, isNotNull());
+		assertThat("",//
+				network.getBiasNeuronCount(), isEqualTo(biasNeuronCount));
+		assertThat("",//
+				network.getInputNeuronCount(), isEqualTo(inputNeuronCount));
+		assertThat("",//
+				network.getOutputNeuronCount(), isEqualTo(outputNeuronCount));
+		assertThat("",//
+				network.getHiddenNeuronCount(), isEqualTo(hiddenNeuronCount));
+	}
+
+	public void singleStepIsBitIdenticalToNeuralNetworkImpl() {
+		for (int pattern = 0; pattern < 5; pattern++) {
+			double[] inputs = randomInputs();
+			reference.clearSignals();
+			network.clearSignals();
+			reference.setInputSignals(inputs);
+			network.setInputSignals(inputs);
+			for (int step = 0; step < 10; step++) {
+				double expectedDelta = reference.singleStep();
+				double delta = network.singleStep();
+				assertThat("",//
+						Double.doubleToRawLongBits(delta), isEqualTo(Double.doubleToRawLongBits(expectedDelta)));
+				assertBitIdentical(reference.getOutputSignals(), network.getOutputSignals());
+			}
+		}
+	}
+
+	public void relaxNetworkIsBitIdenticalToNeuralNetworkImpl() {
+		for (int pattern = 0; pattern < 5; pattern++) {
+			double[] inputs = randomInputs();
+			reference.clearSignals();
+			network.clearSignals();
+			reference.setInputSignals(inputs);
+			network.setInputSignals(inputs);
+			assertThat("",//
+					network.relaxNetwork(20, 0.001), isEqualTo(reference.relaxNetwork(20, 0.001)));
+			assertBitIdentical(reference.getOutputSignals(), network.getOutputSignals());
+		}
+	}
+
+	public void batchRelaxNetworkIsBitIdenticalToNeuralNetworkImpl() {
+		int patternCount = RANDOM.nextInt(50) + 1;
+		double[][] inputs = new double[patternCount][];
+		for (int p = 0; p < patternCount; p++) {
+			inputs[p] = randomInputs();
+		}
+		// a small number of steps, so some patterns relax and others don't
+		int maxSteps = RANDOM.nextInt(5) + 1;
+		double[][] expectedOutputs = new double[patternCount][outputNeuronCount];
+		boolean[] expectedRelaxed = new boolean[patternCount];
+		int expectedCount = reference.relaxNetwork(inputs, expectedOutputs, expectedRelaxed, maxSteps, 0.01);
+		double[][] outputs = new double[patternCount][outputNeuronCount];
+		boolean[] relaxed = new boolean[patternCount];
+		// run twice to exercise reuse of the batch buffers
+		for (int i = 0; i < 2; i++) {
+			int count = network.relaxNetwork(inputs, outputs, relaxed, maxSteps, 0.01);
+			assertThat("",//
+					count, isEqualTo(expectedCount));
+			for (int p = 0; p < patternCount; p++) {
+				assertThat("",//
+						relaxed[p], isEqualTo(expectedRelaxed[p]));
+				assertBitIdentical(expectedOutputs[p], outputs[p]);
+			}
+		}
+	}
+
+	public void batchRelaxNetworkMatchesSinglePatternRelaxNetwork() {
+		double[][] inputs = new double[][] { randomInputs(), randomInputs(), randomInputs() };
+		double[][] outputs = new double[inputs.length][outputNeuronCount];
+		network.relaxNetwork(inputs, outputs, null, 20, 0.001);
+		for (int p = 0; p < inputs.length; p++) {
+			network.clearSignals();
+			network.setInputSignals(inputs[p]);
+			network.relaxNetwork(20, 0.001);
+			assertBitIdentical(network.getOutputSignals(), outputs[p]);
+		}
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void batchRelaxNetworkFailsOnMismatchedOutputs() {
+		network.relaxNetwork(new double[][] { randomInputs() }, new double[2][outputNeuronCount], null, 10, 0.01);
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void batchRelaxNetworkFailsOnMismatchedRelaxed() {
+		network.relaxNetwork(new double[][] { randomInputs() }, new double[1][outputNeuronCount], new boolean[2], 10, 0.01);
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void setInputSignalsFailsOnWrongLength() {
+		network.setInputSignals(new double[inputNeuronCount + 1]);
+	}
+
+	public void toStringIsNotNull() {
+		assertThat("",//
+				network.toString(), isNotNull());
+	}
+
+	private void assertBitIdentical(double[] expected, double[] actual) {
+		assertThat("",//
+				actual.length, isEqualTo(expected.length));
+		for (int i = 0; i < expected.length; i++) {
+			assertThat("",//
+					Double.doubleToRawLongBits(actual[i]), isEqualTo(Double.doubleToRawLongBits(expected[i])));
+		}
+	}
+}
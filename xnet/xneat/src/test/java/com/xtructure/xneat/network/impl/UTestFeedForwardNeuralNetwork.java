@@ -0,0 +1,265 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.network.impl;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.xtructure.xneat.genetics.node.NodeType;
+
+/**
+ * @author Luis Guimbarda
+ */
+@Test(groups = { "unit:xneat" })
+public class UTestFeedForwardNeuralNetwork {
+	private static final Random			RANDOM	= new Random();
+
+	private int							biasNeuronCount;
+	private int							inputNeuronCount;
+	private int							outputNeuronCount;
+	private int							hiddenNeuronCount;
+	private int							totalNeuronCount;
+	private double[]					activationSlopes;
+	private int[]						evaluationOrder;
+	private int[][]						links;
+	private double[]					weights;
+	private CompiledNeuralNetwork		reference;
+	private FeedForwardNeuralNetwork	network;
+
+	@BeforeMethod
+	public void setUp() {
+		biasNeuronCount = RANDOM.nextInt(3) + 1;
+		inputNeuronCount = RANDOM.nextInt(5) + 1;
+		outputNeuronCount = RANDOM.nextInt(5) + 1;
+		hiddenNeuronCount = RANDOM.nextInt(10) + 1;
+		totalNeuronCount = biasNeuronCount + inputNeuronCount + outputNeuronCount + hiddenNeuronCount;
+		int outputStart = biasNeuronCount + inputNeuronCount;
+		activationSlopes = new double[totalNeuronCount];
+		for (int i = 0; i < totalNeuronCount; i++) {
+			activationSlopes[i] = RANDOM.nextDouble() * 10.0 - 5.0;
+		}
+		// random topological order of the output and hidden neurons
+		evaluationOrder = new int[totalNeuronCount - outputStart];
+		for (int i = 0; i < evaluationOrder.length; i++) {
+			evaluationOrder[i] = outputStart + i;
+		}
+		for (int i = evaluationOrder.length - 1; i > 0; i--) {
+			int j = RANDOM.nextInt(i + 1);
+			int tmp = evaluationOrder[i];
+			evaluationOrder[i] = evaluationOrder[j];
+			evaluationOrder[j] = tmp;
+		}
+		int connectionCount = RANDOM.nextInt(4 * totalNeuronCount);
+		links = new int[connectionCount][2];
+		weights = new double[connectionCount];
+		for (int i = 0; i < connectionCount; i++) {
+			// a source any earlier in the order than its non-bias target
+			// (including inputs, whose incoming connections are ignored)
+			int targetRank = RANDOM.nextInt(outputStart - biasNeuronCount + evaluationOrder.length);
+			if (targetRank < inputNeuronCount) {
+				links[i][1] = biasNeuronCount + targetRank;
+				links[i][0] = RANDOM.nextInt(totalNeuronCount);
+			} else {
+				targetRank -= inputNeuronCount;
+				links[i][1] = evaluationOrder[targetRank];
+				int sourceRank = RANDOM.nextInt(outputStart + targetRank);
+				links[i][0] = sourceRank < outputStart ? sourceRank : evaluationOrder[sourceRank - outputStart];
+			}
+			weights[i] = RANDOM.nextDouble() * 20.0 - 10.0;
+		}
+		reference = new CompiledNeuralNetwork(null, biasNeuronCount, inputNeuronCount, outputNeuronCount, hiddenNeuronCount, newNeurons(), newConnections());
+		network = new FeedForwardNeuralNetwork(null, biasNeuronCount, inputNeuronCount, outputNeuronCount, hiddenNeuronCount, newNeurons(), newConnections(), evaluationOrder);
+	}
+
+	private List<Neuron> newNeurons() {
+		List<Neuron> neurons = new ArrayList<Neuron>();
+		for (int i = 0; i < totalNeuronCount; i++) {
+			neurons.add(new Neuron(i, NodeType.HIDDEN, activationSlopes[i]));
+		}
+		return neurons;
+	}
+
+	private List<Connection> newConnections() {
+		List<Connection> connections = new ArrayList<Connection>();
+		for (int i = 0; i < links.length; i++) {
+			connections.add(new Connection(links[i][0], links[i][1], weights[i]));
+		}
+		return connections;
+	}
+
+	private double[] randomInputs() {
+		double[] inputs = new double[inputNeuronCount];
+		for (int i = 0; i < inputs.length; i++) {
+			inputs[i] = RANDOM.nextDouble();
+		}
+		return inputs;
+	}
+
+	public void constructorSucceeds() {
+		assertThat("",//
+				network, isNotNull());
+		assertThat("",//
+				network.getBiasNeuronCount(), isEqualTo(biasNeuronCount));
+		assertThat("",//
+				network.getInputNeuronCount(), isEqualTo(inputNeuronCount));
+		assertThat("",//
+				network.getOutputNeuronCount(), isEqualTo(outputNeuronCount));
+		assertThat("",//
+				network.getHiddenNeuronCount(), isEqualTo(hiddenNeuronCount));
+		assertThat("",//
+				network.getConnectionCount(), isEqualTo(reference.getConnectionCount()));
+	}
+
+	public void constructorAcceptsEvaluationOrderAlongConnections() {
+		new FeedForwardNeuralNetwork(null, 0, 1, 1, 1, newChainNeurons(), newChainConnections(), new int[] { 2, 1 });
+	}
+
+	@Test(dataProvider = "invalidEvaluationOrders", expectedExceptions = { IllegalArgumentException.class })
+	public void constructorFailsOnInvalidEvaluationOrder(int[] evaluationOrder) {
+		new FeedForwardNeuralNetwork(null, 0, 1, 1, 1, newChainNeurons(), newChainConnections(), evaluationOrder);
+	}
+
+	@DataProvider(name = "invalidEvaluationOrders")
+	@SuppressWarnings("unused")
+	private final Object[][] invalidEvaluationOrders() {
+		return new Object[][] {//
+		//
+				new Object[] { new int[] { 1, 2 } },// against the connections
+				new Object[] { new int[] { 2, 2 } },// repeats a neuron
+				new Object[] { new int[] { 0, 1 } },// orders the input neuron
+		};
+	}
+
+	/** Returns three neurons, connected 0 -> 2 -> 1 by {@link #newChainConnections()} */
+	private static List<Neuron> newChainNeurons() {
+		List<Neuron> neurons = new ArrayList<Neuron>();
+		for (int i = 0; i < 3; i++) {
+			neurons.add(new Neuron(i, NodeType.HIDDEN, 1.0));
+		}
+		return neurons;
+	}
+
+	/** Returns the connections 0 -> 2 -> 1 */
+	private static List<Connection> newChainConnections() {
+		List<Connection> connections = new ArrayList<Connection>();
+		connections.add(new Connection(0, 2, 1.0));
+		connections.add(new Connection(2, 1, 1.0));
+		return connections;
+	}
+
+	public void singleStepIsBitIdenticalToSteppedCompiledNeuralNetwork() {
+		for (int pattern = 0; pattern < 5; pattern++) {
+			double[] inputs = randomInputs();
+			reference.clearSignals();
+			network.clearSignals();
+			reference.setInputSignals(inputs);
+			network.setInputSignals(inputs);
+			// the network is at most as deep as it has output and hidden neurons
+			for (int step = 0; step < evaluationOrder.length; step++) {
+				reference.singleStep();
+			}
+			network.singleStep();
+			assertBitIdentical(reference.getOutputSignals(), network.getOutputSignals());
+			assertThat("",//
+					network.singleStep(), isEqualTo(0.0));
+		}
+	}
+
+	public void relaxNetworkRelaxesAfterOnePass() {
+		double[] inputs = randomInputs();
+		network.clearSignals();
+		network.setInputSignals(inputs);
+		assertThat("",//
+				network.relaxNetwork(0, 0.01), isFalse());
+		assertThat("",//
+				network.relaxNetwork(1, 0.0), isTrue());
+		double[] outputs = network.getOutputSignals();
+		network.clearSignals();
+		network.setInputSignals(inputs);
+		network.singleStep();
+		assertBitIdentical(network.getOutputSignals(), outputs);
+	}
+
+	public void batchRelaxNetworkMatchesSinglePatternRelaxNetwork() {
+		int patternCount = RANDOM.nextInt(50) + 1;
+		double[][] inputs = new double[patternCount][];
+		for (int p = 0; p < patternCount; p++) {
+			inputs[p] = randomInputs();
+		}
+		double[][] outputs = new double[patternCount][outputNeuronCount];
+		boolean[] relaxed = new boolean[patternCount];
+		assertThat("",//
+				network.relaxNetwork(inputs, outputs, relaxed, 10, 0.01), isEqualTo(patternCount));
+		for (int p = 0; p < patternCount; p++) {
+			assertThat("",//
+					relaxed[p], isTrue());
+			network.clearSignals();
+			network.setInputSignals(inputs[p]);
+			network.relaxNetwork(10, 0.01);
+			assertBitIdentical(network.getOutputSignals(), outputs[p]);
+		}
+		assertThat("",//
+				network.relaxNetwork(inputs, outputs, relaxed, 0, 0.01), isEqualTo(0));
+		assertThat("",//
+				relaxed[0], isFalse());
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void batchRelaxNetworkFailsOnMismatchedOutputs() {
+		network.relaxNetwork(new double[][] { randomInputs() }, new double[2][outputNeuronCount], null, 10, 0.01);
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void batchRelaxNetworkFailsOnMismatchedRelaxed() {
+		network.relaxNetwork(new double[][] { randomInputs() }, new double[1][outputNeuronCount], new boolean[2], 10, 0.01);
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void setInputSignalsFailsOnWrongLength() {
+		network.setInputSignals(new double[inputNeuronCount + 1]);
+	}
+
+	public void toStringIsNotNull() {
+		assertThat("",//
+				network.toString(), isNotNull());
+	}
+
+	private void assertBitIdentical(double[] expected, double[] actual) {
+		assertThat("",//
+				actual.length, isEqualTo(expected.length));
+		for (int i = 0; i < expected.length; i++) {
+			assertThat("",//
+					Double.doubleToRawLongBits(actual[i]), isEqualTo(Double.doubleToRawLongBits(expected[i])));
+		}
+	}
+}
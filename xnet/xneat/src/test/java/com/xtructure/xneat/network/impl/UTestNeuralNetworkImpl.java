@@ -216,6 +216,36 @@ public class UTestNeuralNetworkImpl {
 				network.getOutputSignals()[0], isEqualTo(outputSignal));
 	}
 
+	public void batchRelaxNetworkBehavesAsExpected() {
+		double[][] inputs = new double[3][inputNeuronCount];
+		for (double[] input : inputs) {
+			for (int i = 0; i < input.length; i++) {
+				input[i] = RANDOM.nextDouble();
+			}
+		}
+		double[][] outputs = new double[inputs.length][outputNeuronCount];
+		boolean[] relaxed = new boolean[inputs.length];
+		int count = network.relaxNetwork(inputs, outputs, relaxed, 10, 0.01);
+		int expectedCount = 0;
+		for (int p = 0; p < inputs.length; p++) {
+			network.clearSignals();
+			network.setInputSignals(inputs[p]);
+			boolean expectedRelaxed = network.relaxNetwork(10, 0.01);
+			if (expectedRelaxed) {
+				expectedCount++;
+			}
+			assertThat("",//
+					relaxed[p], isEqualTo(expectedRelaxed));
+			double[] expectedOutputs = network.getOutputSignals();
+			for (int i = 0; i < outputNeuronCount; i++) {
+				assertThat("",//
+						outputs[p][i], isEqualTo(expectedOutputs[i]));
+			}
+		}
+		assertThat("",//
+				count, isEqualTo(expectedCount));
+	}
+
 	public void toStringIsNotNull() {
 		assertThat("",//
 				network.toString(), isNotNull());
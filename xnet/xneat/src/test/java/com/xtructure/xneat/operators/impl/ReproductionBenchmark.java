@@ -0,0 +1,149 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xneat.
+ *
+ * xneat is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xneat is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xneat.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xneat.operators.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.xtructure.xevolution.genetics.Genome;
+import com.xtructure.xevolution.operator.MutateOperator;
+import com.xtructure.xevolution.operator.Operator.OperationFailedException;
+import com.xtructure.xneat.evolution.config.impl.NEATEvolutionConfigurationImpl;
+import com.xtructure.xneat.genetics.GeneMap;
+import com.xtructure.xneat.genetics.NEATGenome;
+import com.xtructure.xneat.genetics.impl.NEATGeneticsFactoryImpl;
+import com.xtructure.xneat.genetics.link.LinkGene;
+import com.xtructure.xneat.genetics.node.NodeGene;
+import com.xtructure.xneat.genetics.node.NodeType;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Measures the NEAT operators on a genome of several thousand links, where
+ * each child shares its unchanged genes and structure with its parent,
+ * against rebuilding the child's {@link GeneMap} from the full node and link
+ * lists as the operators used to.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class ReproductionBenchmark {
+	/** the number of nodes in the parent genome */
+	private static final int						NODE_COUNT		= 200;
+	/** the number of links in the parent genome */
+	private static final int						LINK_COUNT		= 5000;
+	/** the number of children created per iteration */
+	private static final int						CHILDREN		= 100;
+	/** the genetics factory used by the operators */
+	private static final NEATGeneticsFactoryImpl	GENETICS_FACTORY	= new NEATGeneticsFactoryImpl(NEATEvolutionConfigurationImpl//
+																			.builder(XId.newId("reproduction.benchmark.config"))//
+																			.newInstance().newFieldMap());
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) throws OperationFailedException {
+		MicroBenchmark benchmark = new MicroBenchmark(ReproductionBenchmark.class.getSimpleName(), CHILDREN);
+		final NEATGenome<GeneMap> parent = GENETICS_FACTORY.createGenome(0, newGeneMap(new Random(0l)));
+		final AddLinkMutateOperator addLink = new AddLinkMutateOperator(GENETICS_FACTORY);
+		final AdjustAttributesMutateOperator adjustAttributes = new AdjustAttributesMutateOperator(true, false, 1.0, 0.001, GENETICS_FACTORY);
+		final StandardCrossoverOperator crossover = new StandardCrossoverOperator(GENETICS_FACTORY);
+		final NEATGenome<GeneMap> otherParent = adjustAttributes.mutate(1, parent);
+		benchmark.measure("rebuild", new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				for (int i = 0; i < CHILDREN; i++) {
+					List<LinkGene> links = parent.getData().getLinks();
+					links.add(GENETICS_FACTORY.createLinkGene(parent.getData().getLinkIdNumber(), //
+							links.get(0).getTargetId(), links.get(0).getSourceId()));
+					sum += new GeneMap(parent.getData().getNodes(), links).size();
+				}
+				return sum;
+			}
+		});
+		benchmark.measure("addLink", new Operation() {
+			@Override
+			public long execute() {
+				return reproduce(addLink, parent);
+			}
+		});
+		benchmark.measure("adjustAttributes", new Operation() {
+			@Override
+			public long execute() {
+				return reproduce(adjustAttributes, parent);
+			}
+		});
+		benchmark.measure("crossover", new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				try {
+					for (int i = 0; i < CHILDREN; i++) {
+						sum += crossover.crossover(i + 2, parent, otherParent).getData().size();
+					}
+				} catch (OperationFailedException e) {
+					throw new RuntimeException(e);
+				}
+				return sum;
+			}
+		});
+		System.out.println(benchmark.getSink());
+	}
+
+	private static long reproduce(MutateOperator<GeneMap> operator, Genome<GeneMap> parent) {
+		long sum = 0l;
+		try {
+			for (int i = 0; i < CHILDREN; i++) {
+				sum += operator.mutate(i + 2, parent).getData().size();
+			}
+		} catch (OperationFailedException e) {
+			throw new RuntimeException(e);
+		}
+		return sum;
+	}
+
+	private static GeneMap newGeneMap(Random random) {
+		List<NodeGene> nodes = new ArrayList<NodeGene>();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			NodeType nodeType = i < 10 ? NodeType.INPUT : i < 20 ? NodeType.OUTPUT : NodeType.HIDDEN;
+			nodes.add(GENETICS_FACTORY.createNodeGene(i, nodeType));
+		}
+		boolean[] linked = new boolean[NODE_COUNT * NODE_COUNT];
+		List<LinkGene> links = new ArrayList<LinkGene>();
+		while (links.size() < LINK_COUNT) {
+			int source = random.nextInt(NODE_COUNT);
+			int target = 10 + random.nextInt(NODE_COUNT - 10);
+			if (!linked[source * NODE_COUNT + target]) {
+				linked[source * NODE_COUNT + target] = true;
+				links.add(GENETICS_FACTORY.createLinkGene(links.size(), nodes.get(source).getId(), nodes.get(target).getId()));
+			}
+		}
+		return new GeneMap(nodes, links);
+	}
+
+	private ReproductionBenchmark() {}
+}
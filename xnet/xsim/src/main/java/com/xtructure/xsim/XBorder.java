@@ -71,6 +71,48 @@ public interface XBorder
     Map<XId, Map<XAddress, Object>> getData(
             XComponent<?> targetComponent);
 
+    /**
+     * Delivers data for parts in the identified component to the given
+     * receiver.
+     * 
+     * <p>
+     * This method delivers the same data as {@link #getData(XComponent)}, one
+     * target id / source address / datum triple at a time, without building
+     * intermediate maps.
+     * </p>
+     * 
+     * @param targetComponent
+     *            the component for which data should be delivered
+     * 
+     * @param receiver
+     *            the receiver to which data should be delivered
+     */
+    void deliverData(
+            XComponent<?> targetComponent,
+            Receiver receiver);
+
+    /** A receiver of data delivered by a border. */
+    interface Receiver
+    {
+        /**
+         * Receives the given data from the identified source for the
+         * identified target.
+         * 
+         * @param targetId
+         *            the id of the target to which the data is delivered
+         * 
+         * @param sourceAddress
+         *            the address from which the data originated
+         * 
+         * @param data
+         *            the data
+         */
+        void receiveData(
+                XId targetId,
+                XAddress sourceAddress,
+                Object data);
+    }
+
     /** A transform. */
     interface Transform
     {
@@ -197,6 +197,53 @@ public interface XSimulation<F extends XTime.Phase<F>>
      */
     void finish();
 
+    /**
+     * Runs this simulation to termination on the calling thread.
+     * <p>
+     * No simulation thread is started and no tick delay is observed. The
+     * state of this simulation moves from {@link SimulationState#INITIAL}
+     * through {@link SimulationState#READY} and
+     * {@link SimulationState#RUNNING} to {@link SimulationState#FINISHED},
+     * notifying listeners of each change. The components of this simulation
+     * are updated phase by phase, exactly as in {@link #run()}, until a
+     * terminator reaches its terminal condition (in which case the current
+     * tick is completed) or the given number of ticks has elapsed. Listeners
+     * are notified of time changes only once every
+     * <code>samplingInterval</code> ticks and when the simulation finishes,
+     * or never if <code>samplingInterval</code> is zero.
+     * </p>
+     * <p>
+     * Components added or removed while this method runs are not seen until
+     * it returns.
+     * </p>
+     * @param maxTicks
+     *            the maximum number of ticks to run
+     * @param samplingInterval
+     *            the number of ticks between time change notifications, or
+     *            zero for none
+     * @return the time of this simulation when it finished
+     * @throws IllegalArgumentException
+     *             if either argument is negative
+     * @throws IllegalStateException
+     *             if the state of this simulation is not
+     *             {@link SimulationState#INITIAL}
+     */
+    XTime<F> runToTermination(
+            long maxTicks,
+            long samplingInterval);
+
+    /**
+     * Runs this simulation to termination on the calling thread, without an
+     * upper bound on the number of ticks and without time change
+     * notifications.
+     * @return the time of this simulation when it finished
+     * @throws IllegalStateException
+     *             if the state of this simulation is not
+     *             {@link SimulationState#INITIAL}
+     * @see #runToTermination(long, long)
+     */
+    XTime<F> runToTermination();
+
     /**
      * Adds the given listener to this simulation.
      * 
@@ -25,7 +25,6 @@ package com.xtructure.xsim.impl;
 import static com.xtructure.xutil.valid.ValidateUtils.*;
 
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang.ClassUtils;
@@ -74,6 +73,22 @@ public abstract class AbstractStandardXComponent
      */
     private final Set<XBorder> _borders = new HashSet<XBorder>();
 
+    /**
+     * The receiver through which borders deliver data to
+     * {@link #addForeignData(XId, XAddress, Object)}.
+     */
+    private final XBorder.Receiver _foreignDataReceiver = new XBorder.Receiver()
+    {
+        @Override
+        public void receiveData(
+                final XId targetId,
+                final XAddress sourceAddress,
+                final Object data)
+        {
+            addForeignData(targetId, sourceAddress, data);
+        }
+    };
+
     /**
      * Creates a new standard component.
      * 
@@ -170,8 +185,11 @@ public abstract class AbstractStandardXComponent
 	public final void update(
             final XTime<StandardTimePhase> time)
     {
-        LOGGER.trace("begin {}.prepareBeforeHook({})", getClass()
-            .getSimpleName(), time);
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.prepareBeforeHook({})", getClass()
+                .getSimpleName(), time);
+        }
 
         validateArg("time", time, isNotNull());
 
@@ -206,7 +224,10 @@ public abstract class AbstractStandardXComponent
                         + time.getPhase() + "'");
         }
 
-        LOGGER.trace("end {}.prepareBeforeHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.prepareBeforeHook()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -236,12 +257,18 @@ public abstract class AbstractStandardXComponent
      */
     protected void prepareBeforeHook()
     {
-        LOGGER
-            .trace("begin {}.prepareBeforeHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER
+                .trace("begin {}.prepareBeforeHook()", getClass().getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER.trace("end {}.prepareBeforeHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.prepareBeforeHook()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -255,11 +282,17 @@ public abstract class AbstractStandardXComponent
      */
     protected void prepare()
     {
-        LOGGER.trace("begin {}.prepare()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.prepare()", getClass().getSimpleName());
+        }
 
         retrieveForeignData();
 
-        LOGGER.trace("end {}.prepare()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.prepare()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -272,11 +305,17 @@ public abstract class AbstractStandardXComponent
      */
     protected void prepareAfterHook()
     {
-        LOGGER.trace("begin {}.prepareAfterHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.prepareAfterHook()", getClass().getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER.trace("end {}.prepareAfterHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.prepareAfterHook()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -289,13 +328,19 @@ public abstract class AbstractStandardXComponent
      */
     protected void calculateBeforeHook()
     {
-        LOGGER.trace("begin {}.calculateBeforeHook()", getClass()
-            .getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.calculateBeforeHook()", getClass()
+                .getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER
-            .trace("end {}.calculateBeforeHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER
+                .trace("end {}.calculateBeforeHook()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -309,11 +354,17 @@ public abstract class AbstractStandardXComponent
      */
     protected void calculate()
     {
-        LOGGER.trace("begin {}.calculate()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.calculate()", getClass().getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER.trace("end {}.calculate()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.calculate()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -326,12 +377,18 @@ public abstract class AbstractStandardXComponent
      */
     protected void calculateAfterHook()
     {
-        LOGGER.trace("begin {}.calculateAfterHook()", getClass()
-            .getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.calculateAfterHook()", getClass()
+                .getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER.trace("end {}.calculateAfterHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.calculateAfterHook()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -344,11 +401,17 @@ public abstract class AbstractStandardXComponent
      */
     protected void updateBeforeHook()
     {
-        LOGGER.trace("begin {}.updateBeforeHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.updateBeforeHook()", getClass().getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER.trace("end {}.updateBeforeHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.updateBeforeHook()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -362,11 +425,17 @@ public abstract class AbstractStandardXComponent
      */
     protected void update()
     {
-        LOGGER.trace("begin {}.update()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.update()", getClass().getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER.trace("end {}.update()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.update()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -379,11 +448,17 @@ public abstract class AbstractStandardXComponent
      */
     protected void updateAfterHook()
     {
-        LOGGER.trace("begin {}.updateAfterHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.updateAfterHook()", getClass().getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER.trace("end {}.updateAfterHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.updateAfterHook()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -396,12 +471,18 @@ public abstract class AbstractStandardXComponent
      */
     protected void cleanUpBeforeHook()
     {
-        LOGGER
-            .trace("begin {}.cleanUpBeforeHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER
+                .trace("begin {}.cleanUpBeforeHook()", getClass().getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER.trace("end {}.cleanUpBeforeHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.cleanUpBeforeHook()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -415,11 +496,17 @@ public abstract class AbstractStandardXComponent
      */
     protected void cleanUp()
     {
-        LOGGER.trace("begin {}.cleanUp()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.cleanUp()", getClass().getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER.trace("end {}.cleanUp()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.cleanUp()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -432,11 +519,17 @@ public abstract class AbstractStandardXComponent
      */
     protected void cleanUpAfterHook()
     {
-        LOGGER.trace("begin {}.cleanUpAfterHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.cleanUpAfterHook()", getClass().getSimpleName());
+        }
 
         // does nothing, but may be overridden
 
-        LOGGER.trace("end {}.cleanUpAfterHook()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("end {}.cleanUpAfterHook()", getClass().getSimpleName());
+        }
     }
 
     /**
@@ -459,29 +552,22 @@ public abstract class AbstractStandardXComponent
     /** Retrieves all data from borders. */
     protected final void retrieveForeignData()
     {
-        LOGGER.trace("begin {}.retrieveForeignData()", getClass()
-            .getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER.trace("begin {}.retrieveForeignData()", getClass()
+                .getSimpleName());
+        }
 
         for (final XBorder border : _borders)
         {
-            final Map<XId, Map<XAddress, Object>> allData = border
-                .getData(this);
-            
-            //FIXME: what if allData is null?
-            
-            for (final XId targetId : allData.keySet())
-            {
-                final Map<XAddress, Object> targetData = allData.get(targetId);
-                for (final XAddress sourceAddress : targetData.keySet())
-                {
-                    addForeignData(targetId, sourceAddress, //
-                        targetData.get(sourceAddress));
-                }
-            }
+            border.deliverData(this, _foreignDataReceiver);
         }
 
-        LOGGER
-            .trace("end {}.retrieveForeignData()", getClass().getSimpleName());
+        if (LOGGER.isTraceEnabled())
+        {
+            LOGGER
+                .trace("end {}.retrieveForeignData()", getClass().getSimpleName());
+        }
     }
 
     /**
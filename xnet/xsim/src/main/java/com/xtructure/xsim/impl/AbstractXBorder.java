@@ -24,6 +24,7 @@ package com.xtructure.xsim.impl;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -39,6 +40,12 @@ import com.xtructure.xutil.id.XId;
 /**
  * A base implementation of {@link XBorder}.
  * 
+ * <p>
+ * The associations of a border are compiled, once per target component, into
+ * a routing table of source part / transform / target part entries, which is
+ * discarded whenever a new association is made.
+ * </p>
+ * 
  * @author Peter N&uuml;rnberg
  * 
  * @version 0.9.6
@@ -58,6 +65,11 @@ public abstract class AbstractXBorder
      */
     private final Map<XAddress, List<TransformAddressPair>> _targetToSourceMap = new HashMap<XAddress, List<TransformAddressPair>>();
 
+    /**
+     * A map from target components to their compiled routing tables.
+     */
+    private final Map<XComponent<?>, Route[]> _routes = new HashMap<XComponent<?>, Route[]>();
+
     /**
      * Creates a new border.
      */
@@ -84,6 +96,7 @@ public abstract class AbstractXBorder
 
         _targetToSourceMap.get(target).add(
             new TransformAddressPair(transform, source));
+        _routes.clear();
 
         LOGGER.trace("end {}.associate()", getClass().getSimpleName());
 
@@ -144,34 +157,20 @@ public abstract class AbstractXBorder
 	public final Map<XId, Map<XAddress, Object>> getData(
             final XComponent<?> targetComponent)
     {
-        LOGGER.trace("begin {}.getData({},{})", new Object[] {
+        LOGGER.trace("begin {}.getData({})", new Object[] {
                 getClass().getSimpleName(), targetComponent });
 
         final Map<XId, Map<XAddress, Object>> allData = new HashMap<XId, Map<XAddress, Object>>();
 
-        for (final XAddress targetAddress : _targetToSourceMap.keySet())
+        for (final Route route : getRoutes(targetComponent))
         {
-            LOGGER.debug("testing {} for match", targetAddress);
-            if (targetAddress.matches(targetComponent, null))
+            Map<XAddress, Object> targetData = allData.get(route._targetId);
+            if (targetData == null)
             {
-                LOGGER.debug("{} matches", targetAddress);
-                final Map<XAddress, Object> targetData = new HashMap<XAddress, Object>();
-                for (final TransformAddressPair sourceTransformPair : _targetToSourceMap
-                    .get(targetAddress))
-                {
-                    LOGGER.debug("processing {}", sourceTransformPair);
-                    final XAddress sourceAddress = sourceTransformPair._address;
-                    final Transform transform = sourceTransformPair._transform;
-                    final Object rawData = sourceAddress.getComponent()
-                        .getData(sourceAddress.getPartId());
-                    final Object transformedData = ((transform != null)
-                            ? transform.transform(rawData)
-                            : rawData);
-                    LOGGER.debug("data {} -> {}", rawData, transformedData);
-                    targetData.put(sourceAddress, transformedData);
-                }
-                allData.put(targetAddress.getPartId(), targetData);
+                targetData = new HashMap<XAddress, Object>();
+                allData.put(route._targetId, targetData);
             }
+            targetData.put(route._sourceAddress, route.getData());
         }
 
         LOGGER.trace("will return: {}", allData);
@@ -180,6 +179,158 @@ public abstract class AbstractXBorder
         return allData;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public final void deliverData(
+            final XComponent<?> targetComponent,
+            final Receiver receiver)
+    {
+        LOGGER.trace("begin {}.deliverData({},{})", new Object[] {
+                getClass().getSimpleName(), targetComponent, receiver });
+
+        for (final Route route : getRoutes(targetComponent))
+        {
+            receiver.receiveData(route._targetId, route._sourceAddress,
+                route.getData());
+        }
+
+        LOGGER.trace("end {}.deliverData()", getClass().getSimpleName());
+    }
+
+    /**
+     * Returns the routing table for the given target component, compiling it
+     * if necessary.
+     * 
+     * <p>
+     * The table holds one route per target id / source address pair. Where
+     * several target addresses with the same part id match the component, the
+     * routes of the last one win, as do the routes of the last association of
+     * a source address with a target.
+     * </p>
+     * 
+     * @param targetComponent
+     *            the component for which routes should be returned
+     * 
+     * @return the routing table for the given target component
+     */
+    private Route[] getRoutes(
+            final XComponent<?> targetComponent)
+    {
+        Route[] routes = _routes.get(targetComponent);
+        if (routes != null)
+        {
+            return routes;
+        }
+
+        final Map<XId, Map<XAddress, Route>> routeMap = new LinkedHashMap<XId, Map<XAddress, Route>>();
+        int routeCount = 0;
+        for (final Map.Entry<XAddress, List<TransformAddressPair>> entry : _targetToSourceMap
+            .entrySet())
+        {
+            final XAddress targetAddress = entry.getKey();
+            if (targetAddress.matches(targetComponent, null))
+            {
+                final Map<XAddress, Route> targetRoutes = new LinkedHashMap<XAddress, Route>();
+                for (final TransformAddressPair sourceTransformPair : entry
+                    .getValue())
+                {
+                    targetRoutes.put(sourceTransformPair._address, new Route(
+                        targetAddress.getPartId(),
+                        sourceTransformPair._address,
+                        sourceTransformPair._transform));
+                }
+                final Map<XAddress, Route> replaced = routeMap.put(
+                    targetAddress.getPartId(), targetRoutes);
+                routeCount += targetRoutes.size()
+                        - ((replaced != null) ? replaced.size() : 0);
+            }
+        }
+        routes = new Route[routeCount];
+        int i = 0;
+        for (final Map<XAddress, Route> targetRoutes : routeMap.values())
+        {
+            for (final Route route : targetRoutes.values())
+            {
+                routes[i++] = route;
+            }
+        }
+        _routes.put(targetComponent, routes);
+
+        LOGGER.debug("compiled {} routes for {}", routeCount, targetComponent);
+
+        return routes;
+    }
+
+    /**
+     * A compiled route from a source part, through an optional transform, to a
+     * target part.
+     */
+    private static final class Route
+    {
+        /**
+         * The id of the target part.
+         */
+        private final XId _targetId;
+
+        /**
+         * The source address.
+         */
+        private final XAddress _sourceAddress;
+
+        /**
+         * The source component.
+         */
+        private final XComponent<?> _sourceComponent;
+
+        /**
+         * The id of the source part.
+         */
+        private final XId _sourceId;
+
+        /**
+         * The transform, or <code>null</code> if none.
+         */
+        private final Transform _transform;
+
+        /**
+         * Creates a new route.
+         * 
+         * @param targetId
+         *            the id of the target part
+         * 
+         * @param sourceAddress
+         *            the source address
+         * 
+         * @param transform
+         *            the transform, or <code>null</code> if none
+         */
+        private Route(
+                final XId targetId,
+                final XAddress sourceAddress,
+                final Transform transform)
+        {
+            super();
+
+            _targetId = targetId;
+            _sourceAddress = sourceAddress;
+            _sourceComponent = sourceAddress.getComponent();
+            _sourceId = sourceAddress.getPartId();
+            _transform = transform;
+        }
+
+        /**
+         * Returns the current, transformed data of the source part.
+         * 
+         * @return the current, transformed data of the source part
+         */
+        private Object getData()
+        {
+            final Object rawData = _sourceComponent.getData(_sourceId);
+            return ((_transform != null) ? _transform.transform(rawData)
+                    : rawData);
+        }
+    }
+
     /**
      * A transform / address pair.
      */
@@ -23,6 +23,7 @@ package com.xtructure.xsim.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.everyElement;
 import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThanOrEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.isNull;
 import static com.xtructure.xutil.valid.ValidateUtils.or;
@@ -111,9 +112,10 @@ public abstract class AbstractXSimulation<F extends XTime.Phase<F>> extends Abst
 	 */
 	private final Lock					_listenersLock	= new ReentrantLock();
 	/**
-	 * The thread that runs this simulation.
+	 * The thread that runs this simulation, created by {@link #init()}; guarded
+	 * by {@link #_stateLock}.
 	 */
-	private final SimulationThread		_thread			= new SimulationThread();
+	private SimulationThread			_thread			= null;
 
 	/**
 	 * Creates a new simulation.
@@ -308,6 +310,7 @@ public abstract class AbstractXSimulation<F extends XTime.Phase<F>> extends Abst
 		try {
 			validateState("state", _state, //
 					isEqualTo(SimulationState.INITIAL));
+			_thread = new SimulationThread();
 			_thread.start();
 			_state = SimulationState.READY;
 			notifyStateChanged(_state);
@@ -394,7 +397,9 @@ public abstract class AbstractXSimulation<F extends XTime.Phase<F>> extends Abst
 					isEqualTo(SimulationState.READY), //
 					isEqualTo(SimulationState.STEPPING), //
 					isEqualTo(SimulationState.RUNNING)));
-			_thread.interrupt();
+			if (_thread != null) {
+				_thread.interrupt();
+			}
 			_state = SimulationState.FINISHED;
 			notifyStateChanged(_state);
 		} finally {
@@ -403,6 +408,100 @@ public abstract class AbstractXSimulation<F extends XTime.Phase<F>> extends Abst
 		LOGGER.trace("end {}.finish()", getClass().getSimpleName());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The components are snapshot once, and the clock lock is taken once per
+	 * tick rather than once per phase.
+	 * </p>
+	 */
+	@Override
+	public final XTime<F> runToTermination(final long maxTicks, final long samplingInterval) {
+		LOGGER.trace("begin {}.runToTermination({}, {})", new Object[] { getClass().getSimpleName(), maxTicks, samplingInterval });
+		validateArg("maxTicks", maxTicks, isGreaterThanOrEqualTo(0l));
+		validateArg("samplingInterval", samplingInterval, isGreaterThanOrEqualTo(0l));
+		_stateLock.lock();
+		try {
+			validateState("state", _state, //
+					isEqualTo(SimulationState.INITIAL));
+			_state = SimulationState.READY;
+			notifyStateChanged(_state);
+			_state = SimulationState.RUNNING;
+			notifyStateChanged(_state);
+		} finally {
+			_stateLock.unlock();
+		}
+		final List<XComponent<F>> components;
+		_componentsLock.lock();
+		try {
+			components = new ArrayList<XComponent<F>>(_components);
+		} finally {
+			_componentsLock.unlock();
+		}
+		boolean terminated = false;
+		long ticks = 0l;
+		XTime<F> time = null;
+		while (!terminated && ticks < maxTicks) {
+			_clockLock.lock();
+			try {
+				time = _clock.getTime();
+				final long startTick = time.getTick();
+				while (time.getTick() == startTick) {
+					for (final XComponent<F> component : components) {
+						component.update(time);
+						if (!terminated //
+								&& component instanceof XTerminator<?> //
+								&& ((XTerminator<?>) component).terminalConditionReached()) {
+							terminated = true;
+							finishIfNotFinished();
+						}
+					}
+					time = _clock.increment();
+				}
+			} finally {
+				_clockLock.unlock();
+			}
+			ticks++;
+			if (samplingInterval > 0 && ticks % samplingInterval == 0) {
+				notifyTimeChanged(time);
+			}
+		}
+		if (!terminated) {
+			finishIfNotFinished();
+		}
+		final XTime<F> rval = getTime();
+		if (samplingInterval > 0 && ticks % samplingInterval != 0) {
+			notifyTimeChanged(rval);
+		}
+		LOGGER.trace("will return: {}", rval);
+		LOGGER.trace("end {}.runToTermination()", getClass().getSimpleName());
+		return rval;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final XTime<F> runToTermination() {
+		return runToTermination(Long.MAX_VALUE, 0l);
+	}
+
+	/**
+	 * Finishes this simulation, unless it has already been finished (e.g. by
+	 * another thread while running to termination).
+	 */
+	private final void finishIfNotFinished() {
+		_stateLock.lock();
+		try {
+			if (!SimulationState.FINISHED.equals(_state)) {
+				finish();
+			}
+		} finally {
+			_stateLock.unlock();
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -56,6 +56,11 @@ public final class XAddressImpl
      */
     private final XId _partId;
 
+    /**
+     * The hash code of this address.
+     */
+    private final int _hashCode;
+
     /**
      * Creates a new address.
      * 
@@ -73,6 +78,8 @@ public final class XAddressImpl
 
         _component = component;
         _partId = partId;
+        _hashCode = 31 * ((component != null) ? component.hashCode() : 0)
+                + ((partId != null) ? partId.hashCode() : 0);
     }
 
     /**
@@ -155,11 +162,16 @@ public final class XAddressImpl
 	 */
     @Override
 	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
 		if (obj == null || !(obj instanceof XAddressImpl)) {
 			return false;
 		}
-		XAddress addr = (XAddress) obj;
-		return this.matches(addr.getComponent(), addr.getPartId());
+		XAddressImpl addr = (XAddressImpl) obj;
+		return _hashCode == addr._hashCode //
+				&& (_component == null ? addr._component == null : _component.equals(addr._component)) //
+				&& (_partId == null ? addr._partId == null : _partId.equals(addr._partId));
 	}
 
     /* (non-Javadoc)
@@ -167,6 +179,6 @@ public final class XAddressImpl
      */
     @Override
     public int hashCode() {
-    	return toString().hashCode();
+    	return _hashCode;
     }
 }
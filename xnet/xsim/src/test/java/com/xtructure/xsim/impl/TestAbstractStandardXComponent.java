@@ -232,6 +232,15 @@ public class TestAbstractStandardXComponent {
 
 			return _data;
 		}
+
+		@Override
+		public void deliverData(XComponent<?> targetComponent, Receiver receiver) {
+			for (Map.Entry<XId, Map<XAddress, Object>> entry : _data.entrySet()) {
+				for (Map.Entry<XAddress, Object> targetEntry : entry.getValue().entrySet()) {
+					receiver.receiveData(entry.getKey(), targetEntry.getKey(), targetEntry.getValue());
+				}
+			}
+		}
 	}
 
 	private static class MockXAddress implements XAddress {
@@ -22,15 +22,27 @@
 package com.xtructure.xsim.impl;
 
 import static com.xtructure.xutil.valid.ValidateUtils.*;
+
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import org.testng.annotations.Test;
 
 import com.xtructure.xsim.XAddress;
+import com.xtructure.xsim.XBorder;
 import com.xtructure.xsim.XComponent;
+import com.xtructure.xsim.XSimulation;
+import com.xtructure.xsim.XSimulation.SimulationState;
+import com.xtructure.xsim.XTime;
 import com.xtructure.xsim.impl.StandardXClock.StandardTimePhase;
+import com.xtructure.xutil.coll.ListBuilder;
 import com.xtructure.xutil.coll.SetBuilder;
 import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.id.XIdObject;
 
 /**
  * @author Luis Guimbarda
@@ -79,6 +91,138 @@ public final class UTestAbstractStandardXSimulation {
 				new DummyStandardXSimulation(SIM_ID, CLOCK, COMPS), isNotNull());
 	}
 
+	public final void runToTerminationMatchesThreadedRun() throws InterruptedException {
+		final long targetTicks = 5l;
+		final RecordingXComponent threadedComp = new RecordingXComponent();
+		final DummyStandardXSimulation threadedSim = new DummyStandardXSimulation(SIM_ID);
+		threadedSim.addComponent(threadedComp);
+		threadedSim.addComponent(TickXTerminator.getInstance(XId.newId("TERMINATOR"), threadedSim, targetTicks));
+		threadedSim.setTickDelay(0);
+		final CountDownLatch finished = new CountDownLatch(1);
+		threadedSim.addListener(new AbstractXSimulationListener() {
+			@Override
+			public void simulationStateChanged(XSimulation<?> sim, SimulationState state) {
+				if (SimulationState.FINISHED.equals(state)) {
+					finished.countDown();
+				}
+			}
+		});
+		threadedSim.init();
+		threadedSim.run();
+		finished.await();
+		// blocks until the simulation thread has completed the current tick
+		final XTime<StandardTimePhase> threadedTime = threadedSim.getTime();
+
+		final RecordingXComponent headlessComp = new RecordingXComponent();
+		final DummyStandardXSimulation headlessSim = new DummyStandardXSimulation(SIM_ID);
+		headlessSim.addComponent(headlessComp);
+		headlessSim.addComponent(TickXTerminator.getInstance(XId.newId("TERMINATOR"), headlessSim, targetTicks));
+		final XTime<StandardTimePhase> headlessTime = headlessSim.runToTermination();
+
+		assertThat("",//
+				headlessTime.getTick(), isEqualTo(targetTicks + 1));
+		assertThat("",//
+				headlessTime.getTick(), isEqualTo(threadedTime.getTick()));
+		assertThat("",//
+				headlessComp.getUpdates(), isEqualTo(threadedComp.getUpdates()));
+		assertThat("",//
+				headlessSim.getSimulationState(), isEqualTo(SimulationState.FINISHED));
+	}
+
+	public final void runToTerminationNotifiesAtSamplingInterval() {
+		final DummyStandardXSimulation sim = new DummyStandardXSimulation(SIM_ID);
+		final RecordingXComponent comp = new RecordingXComponent();
+		sim.addComponent(comp);
+		final List<SimulationState> states = new ArrayList<SimulationState>();
+		final List<Long> ticks = new ArrayList<Long>();
+		sim.addListener(new AbstractXSimulationListener() {
+			@Override
+			public void simulationStateChanged(XSimulation<?> sim, SimulationState state) {
+				states.add(state);
+			}
+
+			@Override
+			public void simulationTimeChanged(XSimulation<?> sim, XTime<?> time) {
+				ticks.add(time.getTick());
+			}
+		});
+		final XTime<StandardTimePhase> time = sim.runToTermination(10l, 4l);
+		assertThat("",//
+				time.getTick(), isEqualTo(10l));
+		assertThat("",//
+				comp.getUpdates().size(), isEqualTo(10 * StandardTimePhase.values().length));
+		assertThat("",//
+				ticks, isEqualTo(new ListBuilder<Long>().add(4l, 8l, 10l).newImmutableInstance()));
+		assertThat("",//
+				states, isEqualTo(new ListBuilder<SimulationState>()//
+						.add(SimulationState.READY, SimulationState.RUNNING, SimulationState.FINISHED)//
+						.newImmutableInstance()));
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public final void runToTerminationAfterInitThrowsException() {
+		final DummyStandardXSimulation sim = new DummyStandardXSimulation(SIM_ID);
+		sim.init();
+		try {
+			sim.runToTermination();
+		} finally {
+			sim.finish();
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public final void runToTerminationWithNegativeMaxTicksThrowsException() {
+		new DummyStandardXSimulation(SIM_ID).runToTermination(-1l, 0l);
+	}
+
+	/**
+	 * A component that records the times at which it is updated.
+	 */
+	private static final class RecordingXComponent implements XComponent<StandardTimePhase> {
+		private final XId			id		= XId.newId("RECORDING");
+		private final List<String>	updates	= Collections.synchronizedList(new ArrayList<String>());
+
+		public List<String> getUpdates() {
+			return new ArrayList<String>(updates);
+		}
+
+		@Override
+		public void addBorder(XBorder border) {}
+
+		@Override
+		public Object getData(XId partId) {
+			return null;
+		}
+
+		@Override
+		public Set<XId> getSourceIds() {
+			return null;
+		}
+
+		@Override
+		public Set<XId> getTargetIds() {
+			return null;
+		}
+
+		@Override
+		public void removeBorder(XBorder border) {}
+
+		@Override
+		public void update(XTime<StandardTimePhase> time) {
+			updates.add(time.getTick() + ":" + time.getPhase());
+		}
+
+		@Override
+		public XId getId() {
+			return id;
+		}
+
+		@Override
+		public int compareTo(XIdObject o) {
+			return 0;
+		}
+	}
+
 	static final class DummyStandardXSimulation extends AbstractStandardXSimulation {
 
 		protected DummyStandardXSimulation(//
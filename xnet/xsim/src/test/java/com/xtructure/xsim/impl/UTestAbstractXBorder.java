@@ -158,6 +158,38 @@ public final class UTestAbstractXBorder {
 				((TestXComponent)targetComp).sourcesSendingData, containsElements(sId1, sId2));
 	}
 
+	public final void deliverDataDeliversSameDataAsGetData() {
+		final TestXBorder TXB = new TestXBorder();
+		TXB.associate(SOURCES, TARGETS);
+		final Map<XId, Map<XAddress, Object>> delivered = new HashMap<XId, Map<XAddress, Object>>();
+		TXB.deliverData(T_COMP, new XBorder.Receiver() {
+			@Override
+			public void receiveData(XId targetId, XAddress sourceAddress, Object data) {
+				if (!delivered.containsKey(targetId)) {
+					delivered.put(targetId, new HashMap<XAddress, Object>());
+				}
+				delivered.get(targetId).put(sourceAddress, data);
+			}
+		});
+
+		assertThat("",//
+				delivered, isEqualTo(TXB.getData(T_COMP)));
+		assertThat("",//
+				delivered.size(), isEqualTo(2));
+	}
+
+	public final void associateAfterGetDataRecompilesRoutes() {
+		final TestXBorder TXB = new TestXBorder();
+		TXB.associate(S1, T1);
+		assertThat("",//
+				TXB.getData(T_COMP).size(), isEqualTo(1));
+		TXB.associate(S2, T2);
+		assertThat("",//
+				TXB.getData(T_COMP).size(), isEqualTo(2));
+		assertThat("",//
+				TXB.getData(S_COMP).size(), isEqualTo(0));
+	}
+
 	static final class TestXBorder extends AbstractXBorder {}
 
 	static final class TestXComponent extends AbstractStandardXComponent {
@@ -21,6 +21,7 @@
  */
 package com.xtructure.xutil;
 
+import static com.xtructure.xutil.valid.ValidateUtils.VALIDATION_ENABLED;
 import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThan;
 import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThanOrEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isLessThanOrEqualTo;
@@ -144,7 +145,9 @@ public final class BinaryIndexedTree {
 	 * @return the index
 	 */
 	public int getIndex(long cumulativeFrequency) {
-		validateArg("cumulativeFrequency", cumulativeFrequency, isGreaterThanOrEqualTo(0l), isLessThanOrEqualTo(tree[maxIndex]));
+		if (VALIDATION_ENABLED) {
+			validateArg("cumulativeFrequency", cumulativeFrequency, isGreaterThanOrEqualTo(0l), isLessThanOrEqualTo(tree[maxIndex]));
+		}
 		long sum = cumulativeFrequency;
 		int index = 0;
 		int bitmask = maxIndex;
@@ -174,8 +177,10 @@ public final class BinaryIndexedTree {
 	 *             {@link BinaryIndexedTree}
 	 */
 	public long update(int index, long count) {
-		validateArg("index", index, isGreaterThanOrEqualTo(1), isLessThanOrEqualTo(maxIndex));
-		validateArg("count+freq[index]", count + freq[index], isGreaterThanOrEqualTo(0l));
+		if (VALIDATION_ENABLED) {
+			validateArg("index", index, isGreaterThanOrEqualTo(1), isLessThanOrEqualTo(maxIndex));
+			validateArg("count+freq[index]", count + freq[index], isGreaterThanOrEqualTo(0l));
+		}
 		freq[index] += count;
 		int i = index;
 		while (i <= maxIndex) {
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThan;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the thread pools used for concurrent work, such as evaluating or
+ * speciating a population or consuming a batch of simulations. The threads of
+ * these pools are daemons, and they time out when idle, so a pool that is no
+ * longer used doesn't keep its threads alive for the rest of the JVM's life
+ * and needn't be shut down.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class DaemonExecutors {
+	/** seconds an idle pool thread waits for work before terminating */
+	public static final long			KEEP_ALIVE_SECONDS	= 30l;
+	/** number of the next pool thread to be created */
+	private static final AtomicInteger	NEXT_THREAD_NUM		= new AtomicInteger(0);
+
+	/**
+	 * Creates a thread pool running at most the given number of daemon
+	 * threads, named with the given prefix, which terminate after
+	 * {@link #KEEP_ALIVE_SECONDS} idle.
+	 * 
+	 * @param namePrefix
+	 *            the prefix of the names of the pool threads
+	 * @param threadCount
+	 *            the maximum number of pool threads
+	 * @return the new thread pool
+	 * @throws IllegalArgumentException
+	 *             if namePrefix is null or threadCount is not positive
+	 */
+	public static ThreadPoolExecutor newFixedThreadPool(final String namePrefix, int threadCount) {
+		validateArg("namePrefix", namePrefix, isNotNull());
+		validateArg("threadCount", threadCount, isGreaterThan(0));
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(//
+				threadCount, threadCount,//
+				KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,//
+				new LinkedBlockingQueue<Runnable>(),//
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, namePrefix + "-" + NEXT_THREAD_NUM.getAndIncrement());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	private DaemonExecutors() {}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Performs repeated roulette selections of a key from a map of weights, as
+ * with {@link RandomUtil#rouletteSelectUnnormalized(Map)}, but with the
+ * weights summed once, when the {@link KeyedRouletteSampler} is created. See
+ * {@link RouletteSampler}.
+ * 
+ * @author Luis Guimbarda
+ * 
+ * @param <V>
+ *            the type of key selected
+ */
+public final class KeyedRouletteSampler<V> {
+	/** the keys, in the order of their weights in the sampler */
+	private final List<V>			keys;
+	/** the sampler selecting indices into keys */
+	private final RouletteSampler	sampler;
+
+	/**
+	 * Creates a new {@link KeyedRouletteSampler} for the given weights. Later
+	 * changes to the weights map do not affect the sampler.
+	 * 
+	 * @param weights
+	 *            the weights used for roulette selection, by key
+	 * @throws IllegalArgumentException
+	 *             if weights is null
+	 */
+	public KeyedRouletteSampler(Map<? extends V, ? extends Number> weights) {
+		validateArg("weights", weights, isNotNull());
+		this.keys = new ArrayList<V>(weights.size());
+		double[] weightArray = new double[weights.size()];
+		for (Map.Entry<? extends V, ? extends Number> entry : weights.entrySet()) {
+			weightArray[keys.size()] = entry.getValue().doubleValue();
+			keys.add(entry.getKey());
+		}
+		this.sampler = new RouletteSampler(weightArray);
+	}
+
+	/**
+	 * Returns the number of keys from which this {@link KeyedRouletteSampler}
+	 * selects.
+	 * 
+	 * @return the number of keys
+	 */
+	public int size() {
+		return keys.size();
+	}
+
+	/**
+	 * Selects a key, with probability proportional to its weight, or uniformly
+	 * if some weight is negative or all weights are 0.0.
+	 * 
+	 * @return the selected key
+	 * @throws IllegalStateException
+	 *             if there are no keys
+	 */
+	public V select() {
+		return keys.get(sampler.select());
+	}
+}
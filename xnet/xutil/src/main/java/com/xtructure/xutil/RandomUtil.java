@@ -21,6 +21,7 @@
  */
 package com.xtructure.xutil;
 
+import static com.xtructure.xutil.valid.ValidateUtils.VALIDATION_ENABLED;
 import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThanOrEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isLessThan;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
@@ -36,14 +37,26 @@ import java.util.Map;
 import java.util.Random;
 
 /**
- * A collection of utility methods depending on randomness.
+ * A collection of utility methods depending on randomness. Values are drawn
+ * from a {@link SplitRandom} confined to the calling thread, split from a
+ * root generator seeded by {@link #setSeed(long)}, so threads generating
+ * values concurrently do not contend for a shared generator.
  * 
  * @author Luis Guimbarda
  */
 public class RandomUtil {
 	
-	/** The Constant RANDOM. */
-	private static final Random	RANDOM	= new Random();
+	/** the root of the generators used by each thread */
+	private static final SplitRandom				ROOT			= new SplitRandom(System.nanoTime());
+	/** incremented each time the root is reseeded */
+	private static volatile int						generation		= 1;
+	/** the generators confined to each thread */
+	private static final ThreadLocal<ThreadStream>	THREAD_STREAM	= new ThreadLocal<ThreadStream>() {
+																		@Override
+																		protected ThreadStream initialValue() {
+																			return new ThreadStream();
+																		}
+																	};
 
 	/**
 	 * Instantiates a new random util.
@@ -51,12 +64,96 @@ public class RandomUtil {
 	private RandomUtil() {}
 
 	/**
-	 * Sets the seed of the {@link Random} object.
+	 * Sets the seed from which the generators of all threads are derived. Each
+	 * thread's generator is split from the root generator the first time the
+	 * thread generates a value after this call, so a single thread generates
+	 * the same sequence after each call with the same seed.
 	 *
 	 * @param seed the new seed
 	 */
 	public static void setSeed(long seed) {
-		RANDOM.setSeed(seed);
+		synchronized (ROOT) {
+			ROOT.setSeed(seed);
+			generation++;
+		}
+	}
+
+	/**
+	 * Seeds a generator confined to the calling thread. Until
+	 * {@link #clearThreadSeed()} is called, random values generated on the
+	 * calling thread come from that generator, regardless of calls to
+	 * {@link #setSeed(long)}, so they do not depend on what other threads
+	 * generate or in what order threads first generate values. Calls nest:
+	 * each call is undone by one call to {@link #clearThreadSeed()}.
+	 *
+	 * @param seed the seed of the calling thread's generator
+	 */
+	public static void setThreadSeed(long seed) {
+		ThreadStream stream = new ThreadStream();
+		stream.random = new SplitRandom(seed);
+		stream.seeded = true;
+		stream.previous = THREAD_STREAM.get();
+		THREAD_STREAM.set(stream);
+	}
+
+	/**
+	 * Discards the generator seeded by the last call to
+	 * {@link #setThreadSeed(long)} on the calling thread, if any, and resumes
+	 * the generator the thread used before that call where it left off.
+	 */
+	public static void clearThreadSeed() {
+		ThreadStream stream = THREAD_STREAM.get();
+		if (stream.previous != null) {
+			THREAD_STREAM.set(stream.previous);
+		}
+	}
+
+	/**
+	 * Returns a new generator split from the calling thread's generator. The
+	 * returned generator is independent of the calling thread's and, since it
+	 * is not thread-safe, is meant to be handed to a single task; tasks given
+	 * generators split in a fixed order generate reproducible values however
+	 * they are scheduled.
+	 *
+	 * @return the new generator
+	 */
+	public static SplitRandom split() {
+		return random().split();
+	}
+
+	/**
+	 * Returns the generator used on the calling thread, splitting a new one
+	 * from the root if the thread has none or the root has been reseeded since
+	 * it was split.
+	 *
+	 * @return the calling thread's generator
+	 */
+	private static SplitRandom random() {
+		ThreadStream stream = THREAD_STREAM.get();
+		if (!stream.seeded) {
+			int currentGeneration = generation;
+			if (stream.generation != currentGeneration) {
+				synchronized (ROOT) {
+					stream.random = ROOT.split();
+					stream.generation = generation;
+				}
+			}
+		}
+		return stream.random;
+	}
+
+	/**
+	 * The generator confined to a thread.
+	 */
+	private static final class ThreadStream {
+		/** the thread's generator */
+		private SplitRandom		random;
+		/** the root generation from which the generator was split */
+		private int				generation;
+		/** whether the generator was seeded by {@link #setThreadSeed(long)} */
+		private boolean			seeded;
+		/** the stream to restore on {@link #clearThreadSeed()}, or null */
+		private ThreadStream	previous;
 	}
 
 	/*
@@ -68,7 +165,7 @@ public class RandomUtil {
 	 * @return the generated float.
 	 */
 	public static float nextFloat() {
-		return RANDOM.nextFloat();
+		return random().nextFloat();
 	}
 
 	/**
@@ -77,7 +174,7 @@ public class RandomUtil {
 	 * @return the long
 	 */
 	public long nextLong() {
-		return RANDOM.nextLong();
+		return random().nextLong();
 	}
 
 	/**
@@ -96,7 +193,7 @@ public class RandomUtil {
 	 * @return the generated integer.
 	 */
 	public static int nextInteger() {
-		return RANDOM.nextInt();
+		return random().nextInt();
 	}
 
 	/**
@@ -106,7 +203,7 @@ public class RandomUtil {
 	 * @return the generated integer.
 	 */
 	public static int nextInteger(int n) {
-		return RANDOM.nextInt(n);
+		return random().nextInt(n);
 	}
 
 	/**
@@ -133,7 +230,7 @@ public class RandomUtil {
 	 * @return the generated boolean.
 	 */
 	public static boolean nextBoolean() {
-		return RANDOM.nextBoolean();
+		return random().nextBoolean();
 	}
 
 	/**
@@ -142,7 +239,7 @@ public class RandomUtil {
 	 * @return the generated double.
 	 */
 	public static double nextDouble() {
-		return RANDOM.nextDouble();
+		return random().nextDouble();
 	}
 
 	/*
@@ -407,7 +504,7 @@ public class RandomUtil {
 	 * @return the double
 	 */
 	public static double nextGaussian() {
-		return RANDOM.nextGaussian();
+		return random().nextGaussian();
 	}
 
 	/*
@@ -582,15 +679,18 @@ public class RandomUtil {
 	 * Performs a roulette selection on the given weight array, started with the
 	 * given index. It is assumed that the given weight array is non-negative
 	 * and has sum 1.0, as produced by {@link #normalizeWeights(double[])}. If
-	 * the array is not normalized, this method may not terminate.
+	 * the array is not normalized, this method may not terminate. To make many
+	 * selections from the same weights, use a {@link RouletteSampler}.
 	 *
 	 * @param index the index on which roulette selection begins
 	 * @param normalizedWeights the weights used for roulette selection
 	 * @return the selected index
 	 */
 	public static int rouletteSelect(int index, double[] normalizedWeights) {
-		validateArg("normalizedWeights", normalizedWeights, isNotNull());
-		validateArg("index", index, isGreaterThanOrEqualTo(0), isLessThan(normalizedWeights.length));
+		if (VALIDATION_ENABLED) {
+			validateArg("normalizedWeights", normalizedWeights, isNotNull());
+			validateArg("index", index, isGreaterThanOrEqualTo(0), isLessThan(normalizedWeights.length));
+		}
 		double target = nextDouble();
 		while (true) {
 			if (target <= normalizedWeights[index]) {
@@ -604,15 +704,18 @@ public class RandomUtil {
 	/**
 	 * Performs a roulette selection on the given weight array, started with the
 	 * given index. The given weight array is normalized here, and if any weight
-	 * is negative or their sum is 0.0, an index is selected uniformly.
+	 * is negative or their sum is 0.0, an index is selected uniformly. To make
+	 * many selections from the same weights, use a {@link RouletteSampler}.
 	 *
 	 * @param index the index on which roulette selection begins
 	 * @param weights the weights used for roulette selection
 	 * @return the selected index
 	 */
 	public static int rouletteSelectUnnormalized(int index, double[] weights) {
-		validateArg("weights", weights, isNotNull());
-		validateArg("index", index, isGreaterThanOrEqualTo(0), isLessThan(weights.length));
+		if (VALIDATION_ENABLED) {
+			validateArg("weights", weights, isNotNull());
+			validateArg("index", index, isGreaterThanOrEqualTo(0), isLessThan(weights.length));
+		}
 		double sumWeights = 0.0;
 		boolean negativeFlag = false;
 		for (double weight : weights) {
@@ -698,7 +801,8 @@ public class RandomUtil {
 	}
 
 	/**
-	 * Roulette select unnormalized.
+	 * Roulette select unnormalized. To make many selections from the same
+	 * weights, use a {@link KeyedRouletteSampler}.
 	 *
 	 * @param <V> the value type
 	 * @param <N> the number type
@@ -806,7 +910,7 @@ public class RandomUtil {
 	public static <T> List<T> shuffle(Collection<T> objects, Collection<T> ignores) {
 		List<T> ok = new ArrayList<T>(objects);
 		ok.removeAll(ignores);
-		Collections.shuffle(ok, RANDOM);
+		Collections.shuffle(ok, random());
 		return ok;
 	}
 
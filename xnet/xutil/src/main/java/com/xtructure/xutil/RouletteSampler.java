@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+/**
+ * Performs repeated roulette selections of an index into an array of weights.
+ * The prefix sums of the weights are computed once, when the
+ * {@link RouletteSampler} is created, and each selection is a binary search
+ * over them, so making k selections from n weights takes O(n + k log n) time
+ * instead of the O(kn) taken by repeated calls to
+ * {@link RandomUtil#rouletteSelect(int, double[])}.
+ * <P>
+ * Each index is selected with probability proportional to its weight, as
+ * with {@link RandomUtil#rouletteSelect(int, double[])} applied to the
+ * normalized weights. If any weight is negative or all are 0.0 (i.e., if
+ * {@link RandomUtil#normalizeWeights(double[])} would fail), indices are
+ * selected uniformly.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class RouletteSampler {
+	/** the prefix sums of the weights, or null if selection is uniform */
+	private final double[]	prefixSums;
+	/** the number of weights */
+	private final int		size;
+	/** the largest index with a positive weight */
+	private final int		lastIndex;
+
+	/**
+	 * Creates a new {@link RouletteSampler} for the given weights. Later
+	 * changes to the weights array do not affect the sampler.
+	 * 
+	 * @param weights
+	 *            the weights used for roulette selection
+	 * @throws IllegalArgumentException
+	 *             if weights is null
+	 */
+	public RouletteSampler(double[] weights) {
+		validateArg("weights", weights, isNotNull());
+		this.size = weights.length;
+		double[] sums = new double[size];
+		double sum = 0.0;
+		int last = -1;
+		for (int i = 0; i < size; i++) {
+			if (weights[i] < 0) {
+				sum = 0.0;
+				break;
+			}
+			if (weights[i] > 0) {
+				last = i;
+			}
+			sum += weights[i];
+			sums[i] = sum;
+		}
+		this.prefixSums = sum > 0.0 ? sums : null;
+		this.lastIndex = last;
+	}
+
+	/**
+	 * Returns the number of weights from which this {@link RouletteSampler}
+	 * selects.
+	 * 
+	 * @return the number of weights
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if this {@link RouletteSampler} selects indices uniformly,
+	 * because some weight is negative or all weights are 0.0.
+	 * 
+	 * @return true if selection is uniform, false if weighted
+	 */
+	public boolean isUniform() {
+		return prefixSums == null;
+	}
+
+	/**
+	 * Selects an index, with probability proportional to its weight.
+	 * 
+	 * @return the selected index
+	 * @throws IllegalStateException
+	 *             if there are no weights
+	 */
+	public int select() {
+		if (size == 0) {
+			throw new IllegalStateException("cannot select one from no weights");
+		}
+		if (prefixSums == null) {
+			return RandomUtil.nextInteger(size);
+		}
+		double target = RandomUtil.nextDouble() * prefixSums[size - 1];
+		// find the first index whose prefix sum exceeds the target
+		int low = 0;
+		int high = lastIndex;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (prefixSums[mid] > target) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import java.util.Random;
+
+/**
+ * A {@link Random} implementing the SplitMix64 algorithm, from which
+ * statistically independent child generators can be split. Unlike
+ * {@link Random}, instances are not thread-safe: each is meant to be confined
+ * to a single thread or task, which avoids the contention of sharing one
+ * generator, and a hierarchy of generators split from a seeded root is
+ * reproducible regardless of how the work using them is scheduled.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class SplitRandom extends Random {
+	/** serial version uid */
+	private static final long	serialVersionUID	= 1l;
+	/** the odd increment used by default, 2^64 over the golden ratio */
+	private static final long	GOLDEN_GAMMA		= 0x9e3779b97f4a7c15l;
+	/** scale of a 53 bit value to a double in [0,1) */
+	private static final double	DOUBLE_UNIT			= 1.0 / (1l << 53);
+
+	/**
+	 * The current state of this generator. Not initialized in its declaration,
+	 * since {@link Random#Random(long)} sets it via {@link #setSeed(long)}
+	 * before field initializers run.
+	 */
+	private long				seed;
+	/** the odd increment added to the state for each generated value */
+	private long				gamma;
+
+	/**
+	 * Creates a new {@link SplitRandom} with the given seed.
+	 * 
+	 * @param seed
+	 *            the initial seed
+	 */
+	public SplitRandom(long seed) {
+		super(seed);
+	}
+
+	/**
+	 * Creates a new {@link SplitRandom} with the given state and increment.
+	 * 
+	 * @param seed
+	 *            the initial state
+	 * @param gamma
+	 *            the odd increment
+	 */
+	private SplitRandom(long seed, long gamma) {
+		super(seed);
+		this.gamma = gamma;
+	}
+
+	/**
+	 * Returns a new {@link SplitRandom} whose values are statistically
+	 * independent of this generator's. The child is derived from values
+	 * generated by this one, so splitting advances this generator.
+	 * 
+	 * @return the new {@link SplitRandom}
+	 */
+	public SplitRandom split() {
+		return new SplitRandom(mix64(nextSeed()), mixGamma(nextSeed()));
+	}
+
+	/**
+	 * Resets this generator with the given seed.
+	 * 
+	 * @param seed
+	 *            the new seed
+	 */
+	@Override
+	public void setSeed(long seed) {
+		// clears the cached gaussian
+		super.setSeed(seed);
+		this.seed = seed;
+		this.gamma = GOLDEN_GAMMA;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.util.Random#next(int)
+	 */
+	@Override
+	protected int next(int bits) {
+		return (int) (mix64(nextSeed()) >>> (Long.SIZE - bits));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.util.Random#nextLong()
+	 */
+	@Override
+	public long nextLong() {
+		return mix64(nextSeed());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.util.Random#nextDouble()
+	 */
+	@Override
+	public double nextDouble() {
+		return (mix64(nextSeed()) >>> (Long.SIZE - 53)) * DOUBLE_UNIT;
+	}
+
+	/**
+	 * Advances the state of this generator.
+	 * 
+	 * @return the new state
+	 */
+	private long nextSeed() {
+		return seed += gamma;
+	}
+
+	/**
+	 * Scrambles the bits of the given value (variant 13 of Stafford's mixers).
+	 * 
+	 * @param z
+	 *            the value to scramble
+	 * @return the scrambled value
+	 */
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9l;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebl;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Derives an increment for a child generator from the given value. The
+	 * increment is odd and has enough bit transitions to scramble well.
+	 * 
+	 * @param z
+	 *            the value from which to derive the increment
+	 * @return the increment
+	 */
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdl;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53l;
+		z = (z ^ (z >>> 33)) | 1l;
+		int n = Long.bitCount(z ^ (z >>> 1));
+		return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaal : z;
+	}
+}
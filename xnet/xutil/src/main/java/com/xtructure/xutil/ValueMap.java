@@ -48,6 +48,10 @@ import com.xtructure.xutil.xml.XmlUnit.Element;
 
 /**
  * The Class ValueMap.
+ * <P>
+ * Gets, sets and copies are synchronized on the {@link ValueMap}, so values
+ * may be written and read from different threads. Iterating over
+ * {@link #keySet()} is not synchronized.
  *
  * @author Luis Guimbarda
  */
@@ -71,7 +75,7 @@ public class ValueMap implements Comparable<ValueMap> {
 	 * @param valueMap the value map
 	 */
 	public ValueMap(ValueMap valueMap) {
-		this.map = new HashMap<XValId<?>, Object>(valueMap.map);
+		this.map = valueMap.copyMap();
 	}
 
 	/**
@@ -105,7 +109,7 @@ public class ValueMap implements Comparable<ValueMap> {
 	 *         {@link ValueMap}.
 	 */
 	@SuppressWarnings("unchecked")
-	public <V> V get(final XValId<V> valueId) {
+	public synchronized <V> V get(final XValId<V> valueId) {
 		return (V) map.get(valueId);
 	}
 
@@ -121,7 +125,7 @@ public class ValueMap implements Comparable<ValueMap> {
 	 *         {@link ValueMap}.
 	 */
 	@SuppressWarnings("unchecked")
-	public <V> V set(final XValId<V> valueId, final V value) {
+	public synchronized <V> V set(final XValId<V> valueId, final V value) {
 		return (V) map.put(valueId, value);
 	}
 
@@ -131,11 +135,22 @@ public class ValueMap implements Comparable<ValueMap> {
 	 * @param map the new all
 	 */
 	public void setAll(final ValueMap map) {
-		for (XValId<?> id : map.map.keySet()) {
-			this.map.put(id, map.map.get(id));
+		// copy first, so the two maps are never locked together
+		HashMap<XValId<?>, Object> values = map.copyMap();
+		synchronized (this) {
+			this.map.putAll(values);
 		}
 	}
 
+	/**
+	 * Returns a copy of the backing map of this {@link ValueMap}.
+	 *
+	 * @return a copy of the backing map of this {@link ValueMap}
+	 */
+	private synchronized HashMap<XValId<?>, Object> copyMap() {
+		return new HashMap<XValId<?>, Object>(map);
+	}
+
 	/**
 	 * Gets the set of {@link XValId}s used in this {@link ValueMap}.
 	 * 
@@ -150,7 +165,7 @@ public class ValueMap implements Comparable<ValueMap> {
 	 * 
 	 * @return the number of values kept in this {@link ValueMap}.
 	 */
-	public int size() {
+	public synchronized int size() {
 		return map.size();
 	}
 
@@ -22,6 +22,9 @@
 
 package com.xtructure.xutil;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.apache.commons.lang.NullArgumentException;
 import org.apache.log4j.Level;
 import org.apache.log4j.LogManager;
@@ -40,6 +43,18 @@ public final class XLogger
     /** The factory used by this class. */
     private static final XLoggerFactory FACTORY = new XLoggerFactory();
 
+    /**
+     * The loggers already handed out by this class, by name.
+     * <p>
+     * log4j looks loggers up in a synchronized hierarchy, so going back to
+     * {@link LogManager} on every call contends across threads. Loggers are
+     * never replaced in the hierarchy once created, so the handle it returns
+     * for a name can be kept and reused; level changes still apply to it.
+     * </p>
+     */
+    private static final ConcurrentMap<String, XLogger> INSTANCES =
+            new ConcurrentHashMap<String, XLogger>();
+
     /** The root logger. */
     static final XLogger LOGGER = (XLogger)LogManager.getLogger(XLogger.class
         .getName(), FACTORY);
@@ -47,6 +62,24 @@ public final class XLogger
     /** The fully-qualified class name of this wrapper. */
     private static final String FQCN = XLogger.class.getName();
 
+    /**
+     * The name of the system property that, when set to <code>true</code>,
+     * enables trace logging.
+     */
+    public static final String TRACE_PROPERTY = "xtructure.xlogger.trace";
+
+    /**
+     * Whether trace logging is enabled for this run.
+     * <p>
+     * Read once from the {@link #TRACE_PROPERTY} system property. While this
+     * is <code>false</code>, the trace methods of this class and
+     * {@link #isTraceEnabled()} reduce to a constant the JIT removes, so call
+     * sites guarded by {@link #isTraceEnabled()} cost nothing, whatever the
+     * level of the logger.
+     * </p>
+     */
+    public static final boolean TRACE_ENABLED = Boolean.getBoolean(TRACE_PROPERTY);
+
     /**
      * Returns the logger with the given name.
      * 
@@ -62,7 +95,14 @@ public final class XLogger
         {
             throw new NullArgumentException("name");
         }
-        return (XLogger)LogManager.getLogger(name, FACTORY);
+        final XLogger cached = INSTANCES.get(name);
+        if (cached != null)
+        {
+            return cached;
+        }
+        final XLogger logger = (XLogger)LogManager.getLogger(name, FACTORY);
+        final XLogger previous = INSTANCES.putIfAbsent(name, logger);
+        return (previous == null) ? logger : previous;
     }
 
     /**
@@ -175,6 +215,290 @@ public final class XLogger
         log(Level.DEBUG, format, args);
     }
 
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     */
+    public final void debug(
+            final String format)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final Object arg)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final Object arg1,
+            final Object arg2)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg1, arg2), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     * 
+     * @param arg3
+     *            the third argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final Object arg1,
+            final Object arg2,
+            final Object arg3)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg1, arg2, arg3), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final boolean arg)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final int arg)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final long arg)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final float arg)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final double arg)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final Object arg1,
+            final int arg2)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg1, arg2), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final Object arg1,
+            final long arg2)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg1, arg2), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final Object arg1,
+            final float arg2)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg1, arg2), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#DEBUG} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     */
+    public final void debug(
+            final String format,
+            final Object arg1,
+            final double arg2)
+    {
+        if (isDebugEnabled())
+        {
+            forcedLog(FQCN, Level.DEBUG, //
+                MiscUtils.format(format, format, arg1, arg2), null);
+        }
+    }
+
     /**
      * Logs the given message at the {@link Level#TRACE} level.
      * 
@@ -188,7 +512,308 @@ public final class XLogger
             final String format,
             final Object... args)
     {
-        log(Level.TRACE, format, args);
+        if (TRACE_ENABLED)
+        {
+            log(Level.TRACE, format, args);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     */
+    public final void trace(
+            final String format)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final Object arg)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final Object arg1,
+            final Object arg2)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg1, arg2), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     * 
+     * @param arg3
+     *            the third argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final Object arg1,
+            final Object arg2,
+            final Object arg3)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg1, arg2, arg3), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final boolean arg)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final int arg)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final long arg)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final float arg)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg
+     *            the argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final double arg)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final Object arg1,
+            final int arg2)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg1, arg2), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final Object arg1,
+            final long arg2)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg1, arg2), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final Object arg1,
+            final float arg2)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg1, arg2), null);
+        }
+    }
+
+    /**
+     * Logs the given message at the {@link Level#TRACE} level.
+     * 
+     * @param format
+     *            the format of the message to log
+     * 
+     * @param arg1
+     *            the first argument to the format of the message to log
+     * 
+     * @param arg2
+     *            the second argument to the format of the message to log
+     */
+    public final void trace(
+            final String format,
+            final Object arg1,
+            final double arg2)
+    {
+        if (TRACE_ENABLED && isTraceEnabled())
+        {
+            forcedLog(FQCN, Level.TRACE, //
+                MiscUtils.format(format, format, arg1, arg2), null);
+        }
+    }
+
+    /**
+     * Returns an indication of whether this logger logs messages at the
+     * {@link Level#TRACE} level, which it never does unless
+     * {@link #TRACE_ENABLED} is <code>true</code>.
+     * 
+     * @return <code>true</code> if this logger logs trace messages;
+     *         <code>false</code> otherwise
+     */
+    @Override
+    public final boolean isTraceEnabled()
+    {
+        return TRACE_ENABLED && super.isTraceEnabled();
     }
 
     /**
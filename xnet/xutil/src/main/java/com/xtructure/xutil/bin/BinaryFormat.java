@@ -0,0 +1,158 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Base generic implementation for binary formats. Each {@link BinaryFormat}
+ * registers itself under the name of the class for which it is defined, so
+ * that {@link BinaryOutput#writeObject(Object)} and
+ * {@link BinaryInput#readObject()} can find the format of an object from its
+ * class name, much as javolution finds xml formats.
+ * 
+ * @author Luis Guimbarda
+ * 
+ * @param <T>
+ *            the type for which this format is defined
+ */
+public abstract class BinaryFormat<T> {
+	/** registered {@link BinaryFormat}s, by the name of their class */
+	private static final ConcurrentMap<String, BinaryFormat<?>>	FORMATS	= new ConcurrentHashMap<String, BinaryFormat<?>>();
+
+	/**
+	 * Returns the {@link BinaryFormat} defined for the given class. The class
+	 * is initialized first, so that a format held in one of its static fields
+	 * is registered.
+	 * 
+	 * @param <T>
+	 *            the type for which the format is defined
+	 * @param cls
+	 *            the class for which the format is defined
+	 * @return the {@link BinaryFormat} defined for the given class
+	 * @throws IOException
+	 *             if no {@link BinaryFormat} is defined for the given class
+	 */
+	public static <T> BinaryFormat<T> getInstance(Class<?> cls) throws IOException {
+		return getInstance(cls.getName(), cls.getClassLoader());
+	}
+
+	/**
+	 * Returns the {@link BinaryFormat} defined for the class with the given
+	 * name. The class is loaded and initialized first, so that a format held
+	 * in one of its static fields is registered.
+	 * 
+	 * @param <T>
+	 *            the type for which the format is defined
+	 * @param className
+	 *            the name of the class for which the format is defined
+	 * @return the {@link BinaryFormat} defined for the named class
+	 * @throws IOException
+	 *             if the class can't be found, or no {@link BinaryFormat} is
+	 *             defined for it
+	 */
+	public static <T> BinaryFormat<T> getInstance(String className) throws IOException {
+		return getInstance(className, BinaryFormat.class.getClassLoader());
+	}
+
+	/**
+	 * Returns the {@link BinaryFormat} defined for the class with the given
+	 * name, loading the class with the given class loader if necessary.
+	 * 
+	 * @param <T>
+	 *            the type for which the format is defined
+	 * @param className
+	 *            the name of the class for which the format is defined
+	 * @param classLoader
+	 *            the class loader with which to load the named class
+	 * @return the {@link BinaryFormat} defined for the named class
+	 * @throws IOException
+	 *             if the class can't be found, or no {@link BinaryFormat} is
+	 *             defined for it
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> BinaryFormat<T> getInstance(String className, ClassLoader classLoader) throws IOException {
+		BinaryFormat<?> format = FORMATS.get(className);
+		if (format == null) {
+			try {
+				Class.forName(className, true, classLoader);
+			} catch (ClassNotFoundException e) {
+				throw new IOException(String.format("class %s not found", className), e);
+			}
+			format = FORMATS.get(className);
+			if (format == null) {
+				throw new IOException(String.format("no binary format defined for %s", className));
+			}
+		}
+		return (BinaryFormat<T>) format;
+	}
+
+	/** the class for which this {@link BinaryFormat} is defined */
+	private final Class<T>	type;
+
+	/**
+	 * Creates a new {@link BinaryFormat} for the given class, registering it
+	 * unless a format is already registered for that class.
+	 * 
+	 * @param type
+	 *            class for which this {@link BinaryFormat} is defined
+	 */
+	protected BinaryFormat(Class<T> type) {
+		this.type = type;
+		FORMATS.putIfAbsent(type.getName(), this);
+	}
+
+	/**
+	 * Returns the class for which this {@link BinaryFormat} is defined.
+	 * 
+	 * @return the class for which this {@link BinaryFormat} is defined
+	 */
+	public Class<T> getType() {
+		return type;
+	}
+
+	/**
+	 * Writes the given object to the given {@link BinaryOutput}.
+	 * 
+	 * @param obj
+	 *            the object to write
+	 * @param out
+	 *            the {@link BinaryOutput} to which the object is written
+	 * @throws IOException
+	 *             if the object can't be written
+	 */
+	public abstract void write(T obj, BinaryOutput out) throws IOException;
+
+	/**
+	 * Reads an object written by {@link #write(Object, BinaryOutput)} from the
+	 * given {@link BinaryInput}.
+	 * 
+	 * @param in
+	 *            the {@link BinaryInput} from which the object is read
+	 * @return the object read
+	 * @throws IOException
+	 *             if the object can't be read
+	 */
+	public abstract T read(BinaryInput in) throws IOException;
+}
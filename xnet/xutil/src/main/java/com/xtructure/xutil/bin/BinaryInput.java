@@ -0,0 +1,387 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import static com.xtructure.xutil.bin.BinaryOutput.NEW_TAG;
+import static com.xtructure.xutil.bin.BinaryOutput.NULL_TAG;
+import static com.xtructure.xutil.bin.BinaryOutput.REF_TAG;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.xtructure.xutil.ValueMap;
+import com.xtructure.xutil.ValueType;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.id.XValId;
+
+/**
+ * {@link BinaryInput} reads the values written by a {@link BinaryOutput}. See
+ * {@link BinaryOutput} for a description of the encoding.
+ * 
+ * @author Luis Guimbarda
+ * 
+ */
+public final class BinaryInput implements Closeable {
+	/** the stream from which this {@link BinaryInput} reads */
+	private final DataInputStream			in;
+	/** strings read so far, in order of first occurrence */
+	private final List<String>				strings		= new ArrayList<String>();
+	/** {@link XValId}s read so far, in order of first occurrence */
+	private final List<XValId<?>>			valueIds	= new ArrayList<XValId<?>>();
+	/** last value read on each delta channel */
+	private final Map<String, Integer>		channels	= new HashMap<String, Integer>();
+	/** classes named by {@link XValId}s, by name */
+	private final Map<String, Class<?>>		types		= new HashMap<String, Class<?>>();
+
+	/**
+	 * Creates a new {@link BinaryInput} reading from the given stream.
+	 * 
+	 * @param in
+	 *            the stream from which the new {@link BinaryInput} reads
+	 */
+	public BinaryInput(InputStream in) {
+		this.in = new DataInputStream(in);
+	}
+
+	/**
+	 * Reads a byte.
+	 * 
+	 * @return the byte read
+	 * @throws IOException
+	 */
+	public byte readByte() throws IOException {
+		return in.readByte();
+	}
+
+	/**
+	 * Reads a boolean.
+	 * 
+	 * @return the boolean read
+	 * @throws IOException
+	 */
+	public boolean readBoolean() throws IOException {
+		return in.readBoolean();
+	}
+
+	/**
+	 * Reads an int written as four bytes.
+	 * 
+	 * @return the int read
+	 * @throws IOException
+	 */
+	public int readInt() throws IOException {
+		return in.readInt();
+	}
+
+	/**
+	 * Reads an int written as an unsigned variable length quantity.
+	 * 
+	 * @return the int read
+	 * @throws IOException
+	 *             if the quantity is longer than five bytes
+	 */
+	public int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.readByte();
+			value |= (b & 0x7f) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("malformed variable length int");
+	}
+
+	/**
+	 * Reads an int written as a zig-zag encoded variable length quantity.
+	 * 
+	 * @return the int read
+	 * @throws IOException
+	 */
+	public int readSignedVarInt() throws IOException {
+		int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads a long written as an unsigned variable length quantity.
+	 * 
+	 * @return the long read
+	 * @throws IOException
+	 *             if the quantity is longer than ten bytes
+	 */
+	public long readVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 70; shift += 7) {
+			int b = in.readByte();
+			value |= (long) (b & 0x7f) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("malformed variable length long");
+	}
+
+	/**
+	 * Reads a long written as a zig-zag encoded variable length quantity.
+	 * 
+	 * @return the long read
+	 * @throws IOException
+	 */
+	public long readSignedVarLong() throws IOException {
+		long value = readVarLong();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads an int written on the given channel by
+	 * {@link BinaryOutput#writeDelta(String, int)}.
+	 * 
+	 * @param channel
+	 *            the name of the channel
+	 * @return the int read
+	 * @throws IOException
+	 */
+	public int readDelta(String channel) throws IOException {
+		Integer previous = channels.get(channel);
+		int value = readSignedVarInt() + (previous == null ? 0 : previous);
+		channels.put(channel, value);
+		return value;
+	}
+
+	/**
+	 * Reads a float.
+	 * 
+	 * @return the float read
+	 * @throws IOException
+	 */
+	public float readFloat() throws IOException {
+		return in.readFloat();
+	}
+
+	/**
+	 * Reads a double.
+	 * 
+	 * @return the double read
+	 * @throws IOException
+	 */
+	public double readDouble() throws IOException {
+		return in.readDouble();
+	}
+
+	/**
+	 * Reads a string, which may be null.
+	 * 
+	 * @return the string read
+	 * @throws IOException
+	 *             if the string refers to one not yet read
+	 */
+	public String readString() throws IOException {
+		int tag = readVarInt();
+		if (tag == NULL_TAG) {
+			return null;
+		}
+		if (tag == NEW_TAG) {
+			byte[] bytes = new byte[readVarInt()];
+			in.readFully(bytes);
+			String value = new String(bytes, "UTF-8");
+			strings.add(value);
+			return value;
+		}
+		return lookup(strings, tag);
+	}
+
+	/**
+	 * Reads an {@link XId}, which may be null.
+	 * 
+	 * @return the {@link XId} read
+	 * @throws IOException
+	 */
+	public XId readXId() throws IOException {
+		String base = readString();
+		if (base == null) {
+			return null;
+		}
+		int size = readVarInt();
+		Integer[] instanceNums = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			instanceNums[i] = readSignedVarInt();
+		}
+		return XId.newId(base, instanceNums);
+	}
+
+	/**
+	 * Reads an {@link XValId}, which may be null.
+	 * 
+	 * @return the {@link XValId} read
+	 * @throws IOException
+	 *             if the type of the {@link XValId} can't be found
+	 */
+	public XValId<?> readXValId() throws IOException {
+		int tag = readVarInt();
+		if (tag == NULL_TAG) {
+			return null;
+		}
+		if (tag == NEW_TAG) {
+			String base = readString();
+			XValId<?> valueId = XValId.newId(base, getType(readString()));
+			valueIds.add(valueId);
+			return valueId;
+		}
+		return lookup(valueIds, tag);
+	}
+
+	/**
+	 * Reads a {@link ValueMap}.
+	 * 
+	 * @return the {@link ValueMap} read
+	 * @throws IOException
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public ValueMap readValueMap() throws IOException {
+		ValueMap valueMap = new ValueMap();
+		int size = readVarInt();
+		for (int i = 0; i < size; i++) {
+			XValId valueId = readXValId();
+			valueMap.set(valueId, readValue());
+		}
+		return valueMap;
+	}
+
+	/**
+	 * Reads an object written by {@link BinaryOutput#writeObject(Object)},
+	 * using the {@link BinaryFormat} registered for its class.
+	 * 
+	 * @param <V>
+	 *            the type of object read
+	 * @return the object read
+	 * @throws IOException
+	 *             if no {@link BinaryFormat} is defined for the class of the
+	 *             object
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V readObject() throws IOException {
+		String className = readString();
+		if (className == null) {
+			throw new IOException("missing class name");
+		}
+		return (V) BinaryFormat.getInstance(className).read(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * Reads a {@link ValueMap} value, preceded by its type tag.
+	 * 
+	 * @return the value read
+	 * @throws IOException
+	 *             if the type tag is unknown
+	 */
+	private Object readValue() throws IOException {
+		int tag = readVarInt();
+		if (tag == NULL_TAG) {
+			return null;
+		}
+		ValueType[] valueTypes = ValueType.values();
+		if (tag - NEW_TAG >= valueTypes.length) {
+			throw new IOException(String.format("unknown value type tag %d", tag));
+		}
+		switch (valueTypes[tag - NEW_TAG]) {
+			case DOUBLE:
+				return readDouble();
+			case FLOAT:
+				return readFloat();
+			case LONG:
+				return readSignedVarLong();
+			case INTEGER:
+				return readSignedVarInt();
+			case SHORT:
+				return (short) readSignedVarInt();
+			case BYTE:
+				return readByte();
+			case STRING:
+				return readString();
+			case BOOLEAN:
+				return readBoolean();
+			case XID:
+			default:
+				return readXId();
+		}
+	}
+
+	/**
+	 * Returns the class with the given name.
+	 * 
+	 * @param className
+	 *            the name of the class
+	 * @return the named class
+	 * @throws IOException
+	 *             if the class can't be found
+	 */
+	private Class<?> getType(String className) throws IOException {
+		Class<?> type = types.get(className);
+		if (type == null) {
+			try {
+				type = Class.forName(className);
+			} catch (ClassNotFoundException e) {
+				throw new IOException(String.format("class %s not found", className), e);
+			}
+			types.put(className, type);
+		}
+		return type;
+	}
+
+	/**
+	 * Returns the element of the given list referred to by the given tag.
+	 * 
+	 * @param <V>
+	 *            the type of element
+	 * @param list
+	 *            the elements read so far
+	 * @param tag
+	 *            the tag referring to an element
+	 * @return the element referred to by the tag
+	 * @throws IOException
+	 *             if the tag refers to an element not yet read
+	 */
+	private static <V> V lookup(List<V> list, int tag) throws IOException {
+		int index = tag - REF_TAG;
+		if (index < 0 || index >= list.size()) {
+			throw new IOException(String.format("reference %d to an entry not yet read", index));
+		}
+		return list.get(index);
+	}
+}
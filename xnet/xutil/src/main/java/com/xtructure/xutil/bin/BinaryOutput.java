@@ -0,0 +1,399 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.xtructure.xutil.ValueMap;
+import com.xtructure.xutil.ValueType;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.id.XValId;
+
+/**
+ * {@link BinaryOutput} writes primitives, strings, ids and {@link ValueMap}s in
+ * a compact binary encoding, read back by {@link BinaryInput}.
+ * <P>
+ * Integers are written as variable length quantities of seven bits per byte,
+ * signed integers being zig-zag encoded first, so that small magnitudes take a
+ * single byte. Integers that change little from one value to the next can
+ * instead be written as the difference from the previous value written on the
+ * same named channel (see {@link #writeDelta(String, int)}). Strings and
+ * {@link XValId}s are written in full only the first time they are seen;
+ * thereafter, they are written as a reference to that first occurrence.
+ * <P>
+ * Since the encoding of a value depends on what was written before it, values
+ * must be read back in the order they were written, by a single
+ * {@link BinaryInput}.
+ * 
+ * @author Luis Guimbarda
+ * 
+ */
+public final class BinaryOutput implements Closeable, Flushable {
+	/** tag for a null string, id or value */
+	static final int						NULL_TAG	= 0;
+	/** tag for a string or id written in full */
+	static final int						NEW_TAG		= 1;
+	/** offset of the tags referring to a previously written string or id */
+	static final int						REF_TAG		= 2;
+	/** the stream to which this {@link BinaryOutput} writes */
+	private final DataOutputStream			out;
+	/** index of each string written so far */
+	private final Map<String, Integer>		strings		= new HashMap<String, Integer>();
+	/** index of each {@link XValId} written so far, by base and type */
+	private final Map<String, Integer>		valueIds	= new HashMap<String, Integer>();
+	/** last value written on each delta channel */
+	private final Map<String, Integer>		channels	= new HashMap<String, Integer>();
+
+	/**
+	 * Creates a new {@link BinaryOutput} writing to the given stream.
+	 * 
+	 * @param out
+	 *            the stream to which the new {@link BinaryOutput} writes
+	 */
+	public BinaryOutput(OutputStream out) {
+		this.out = new DataOutputStream(out);
+	}
+
+	/**
+	 * Writes the given byte.
+	 * 
+	 * @param value
+	 *            the byte to write, in the low eight bits
+	 * @throws IOException
+	 */
+	public void writeByte(int value) throws IOException {
+		out.writeByte(value);
+	}
+
+	/**
+	 * Writes the given boolean as a single byte.
+	 * 
+	 * @param value
+	 *            the boolean to write
+	 * @throws IOException
+	 */
+	public void writeBoolean(boolean value) throws IOException {
+		out.writeBoolean(value);
+	}
+
+	/**
+	 * Writes the given int as four bytes, high byte first.
+	 * 
+	 * @param value
+	 *            the int to write
+	 * @throws IOException
+	 */
+	public void writeInt(int value) throws IOException {
+		out.writeInt(value);
+	}
+
+	/**
+	 * Writes the given int as an unsigned variable length quantity, taking one
+	 * byte for values below 128 and at most five bytes. Negative values take
+	 * five bytes; use {@link #writeSignedVarInt(int)} for those.
+	 * 
+	 * @param value
+	 *            the int to write
+	 * @throws IOException
+	 */
+	public void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7f) != 0) {
+			out.writeByte((value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	/**
+	 * Writes the given int as a zig-zag encoded variable length quantity,
+	 * taking one byte for values between -64 and 63.
+	 * 
+	 * @param value
+	 *            the int to write
+	 * @throws IOException
+	 */
+	public void writeSignedVarInt(int value) throws IOException {
+		writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	/**
+	 * Writes the given long as an unsigned variable length quantity, taking at
+	 * most ten bytes.
+	 * 
+	 * @param value
+	 *            the long to write
+	 * @throws IOException
+	 */
+	public void writeVarLong(long value) throws IOException {
+		while ((value & ~0x7fl) != 0) {
+			out.writeByte((int) (value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	/**
+	 * Writes the given long as a zig-zag encoded variable length quantity.
+	 * 
+	 * @param value
+	 *            the long to write
+	 * @throws IOException
+	 */
+	public void writeSignedVarLong(long value) throws IOException {
+		writeVarLong((value << 1) ^ (value >> 63));
+	}
+
+	/**
+	 * Writes the difference between the given int and the last int written on
+	 * the given channel (or zero, if none has been) as a signed variable
+	 * length quantity. Writing sorted or clustered values on a channel keeps
+	 * the differences, and so the encoding, small.
+	 * 
+	 * @param channel
+	 *            the name of the channel
+	 * @param value
+	 *            the int to write
+	 * @throws IOException
+	 */
+	public void writeDelta(String channel, int value) throws IOException {
+		Integer previous = channels.put(channel, value);
+		writeSignedVarInt(previous == null ? value : value - previous);
+	}
+
+	/**
+	 * Writes the given float as four bytes.
+	 * 
+	 * @param value
+	 *            the float to write
+	 * @throws IOException
+	 */
+	public void writeFloat(float value) throws IOException {
+		out.writeFloat(value);
+	}
+
+	/**
+	 * Writes the given double as eight bytes.
+	 * 
+	 * @param value
+	 *            the double to write
+	 * @throws IOException
+	 */
+	public void writeDouble(double value) throws IOException {
+		out.writeDouble(value);
+	}
+
+	/**
+	 * Writes the given string, which may be null. The first occurrence of a
+	 * string is written as its length and UTF-8 encoding, subsequent
+	 * occurrences as a reference to the first.
+	 * 
+	 * @param value
+	 *            the string to write
+	 * @throws IOException
+	 */
+	public void writeString(String value) throws IOException {
+		if (value == null) {
+			writeVarInt(NULL_TAG);
+			return;
+		}
+		Integer index = strings.get(value);
+		if (index != null) {
+			writeVarInt(REF_TAG + index);
+			return;
+		}
+		strings.put(value, strings.size());
+		byte[] bytes = value.getBytes("UTF-8");
+		writeVarInt(NEW_TAG);
+		writeVarInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Writes the given {@link XId}, which may be null, as its base string
+	 * followed by its instance numbers.
+	 * 
+	 * @param id
+	 *            the {@link XId} to write
+	 * @throws IOException
+	 */
+	public void writeXId(XId id) throws IOException {
+		if (id == null) {
+			writeString(null);
+			return;
+		}
+		writeString(id.getBase());
+		List<Integer> instanceNums = id.getInstanceNums();
+		writeVarInt(instanceNums.size());
+		for (int instanceNum : instanceNums) {
+			writeSignedVarInt(instanceNum);
+		}
+	}
+
+	/**
+	 * Writes the given {@link XValId}, which may be null. The first occurrence
+	 * of an {@link XValId} is written as its base and the name of its type,
+	 * subsequent occurrences as a reference to the first.
+	 * 
+	 * @param valueId
+	 *            the {@link XValId} to write
+	 * @throws IOException
+	 */
+	public void writeXValId(XValId<?> valueId) throws IOException {
+		if (valueId == null) {
+			writeVarInt(NULL_TAG);
+			return;
+		}
+		String key = valueId.getBase() + XId.DELIM + valueId.getType().getName();
+		Integer index = valueIds.get(key);
+		if (index != null) {
+			writeVarInt(REF_TAG + index);
+			return;
+		}
+		valueIds.put(key, valueIds.size());
+		writeVarInt(NEW_TAG);
+		writeString(valueId.getBase());
+		writeString(valueId.getType().getName());
+	}
+
+	/**
+	 * Writes the given {@link ValueMap} as its size followed by its entries,
+	 * in order of their {@link XValId}s. Each value is written according to
+	 * the {@link ValueType} of its class, preceded by a tag identifying that
+	 * type, or a null tag for null values.
+	 * 
+	 * @param valueMap
+	 *            the {@link ValueMap} to write
+	 * @throws IOException
+	 *             if a value isn't of a type enumerated by {@link ValueType}
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void writeValueMap(ValueMap valueMap) throws IOException {
+		List<XValId<?>> ids;
+		List<Object> values = new ArrayList<Object>();
+		synchronized (valueMap) {
+			ids = new ArrayList<XValId<?>>(valueMap.keySet());
+			Collections.sort(ids);
+			for (XValId id : ids) {
+				values.add(valueMap.get(id));
+			}
+		}
+		writeVarInt(ids.size());
+		for (int i = 0; i < ids.size(); i++) {
+			writeXValId(ids.get(i));
+			writeValue(values.get(i));
+		}
+	}
+
+	/**
+	 * Writes the given object, preceded by the name of its class, using the
+	 * {@link BinaryFormat} registered for that class.
+	 * 
+	 * @param obj
+	 *            the object to write
+	 * @throws IOException
+	 *             if no {@link BinaryFormat} is defined for the class of the
+	 *             object
+	 */
+	public void writeObject(Object obj) throws IOException {
+		BinaryFormat<Object> format = BinaryFormat.getInstance(obj.getClass());
+		writeString(obj.getClass().getName());
+		format.write(obj, this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Flushable#flush()
+	 */
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+
+	/**
+	 * Writes the given {@link ValueMap} value, preceded by its type tag.
+	 * 
+	 * @param value
+	 *            the value to write
+	 * @throws IOException
+	 *             if the value isn't of a type enumerated by {@link ValueType}
+	 */
+	private void writeValue(Object value) throws IOException {
+		if (value == null) {
+			writeVarInt(NULL_TAG);
+			return;
+		}
+		ValueType valueType = ValueType.getValueType(value.getClass());
+		if (valueType == null) {
+			throw new IOException(String.format("values of %s can't be written", value.getClass()));
+		}
+		writeVarInt(NEW_TAG + valueType.ordinal());
+		switch (valueType) {
+			case DOUBLE:
+				writeDouble((Double) value);
+				break;
+			case FLOAT:
+				writeFloat((Float) value);
+				break;
+			case LONG:
+				writeSignedVarLong((Long) value);
+				break;
+			case INTEGER:
+				writeSignedVarInt((Integer) value);
+				break;
+			case SHORT:
+				writeSignedVarInt((Short) value);
+				break;
+			case BYTE:
+				writeByte((Byte) value);
+				break;
+			case STRING:
+				writeString((String) value);
+				break;
+			case BOOLEAN:
+				writeBoolean((Boolean) value);
+				break;
+			case XID:
+				writeXId((XId) value);
+				break;
+		}
+	}
+}
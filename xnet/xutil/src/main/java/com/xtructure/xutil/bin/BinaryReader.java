@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import static com.xtructure.xutil.bin.BinaryWriter.MAGIC;
+import static com.xtructure.xutil.bin.BinaryWriter.VERSION;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A collection of convenience methods for translating a binary representation
+ * written by {@link BinaryWriter}, compressed or not, to its represented
+ * object.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class BinaryReader {
+	/** the first two bytes of a gzip stream */
+	private static final int	GZIP_MAGIC	= 0x1f8b;
+	/** size of the buffer used when reading files */
+	private static final int	BUFFER_SIZE	= 1 << 16;
+
+	/*
+	 * read()s with binary source and a default object; no thrown exceptions
+	 */
+	public static <V> V read(byte[] bytes, V defaultObject) {
+		try {
+			return BinaryReader.<V> read(bytes);
+		} catch (IOException e) {}
+		return defaultObject;
+	}
+
+	public static <V> V read(File inFile, V defaultObject) {
+		try {
+			return BinaryReader.<V> read(inFile);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return defaultObject;
+	}
+
+	public static <V> V read(InputStream in, V defaultObject) {
+		try {
+			return BinaryReader.<V> read(in);
+		} catch (IOException e) {}
+		return defaultObject;
+	}
+
+	/*
+	 * read()s with binary source
+	 */
+	public static <V> V read(byte[] bytes) throws IOException {
+		return BinaryReader.<V> read(new ByteArrayInputStream(bytes));
+	}
+
+	public static <V> V read(File inFile) throws IOException {
+		InputStream in = null;
+		try {
+			return BinaryReader.<V> read(in = new BufferedInputStream(new FileInputStream(inFile), BUFFER_SIZE));
+		} finally {
+			if (in != null) {
+				in.close();
+			}
+		}
+	}
+
+	public static <V> V read(InputStream in) throws IOException {
+		if (!in.markSupported()) {
+			in = new BufferedInputStream(in);
+		}
+		if (isCompressed(in)) {
+			in = new GZIPInputStream(in, BUFFER_SIZE);
+		}
+		BinaryInput input = new BinaryInput(in);
+		if (input.readInt() != MAGIC) {
+			throw new IOException("not a binary representation");
+		}
+		int version = input.readVarInt();
+		if (version != VERSION) {
+			throw new IOException(String.format("unsupported binary representation version %d", version));
+		}
+		return input.<V> readObject();
+	}
+
+	/**
+	 * Indicates whether the given bytes begin with the header of an
+	 * uncompressed binary representation written by {@link BinaryWriter}.
+	 * 
+	 * @param bytes
+	 *            the bytes to check
+	 * @return true if the bytes begin with the binary header, false otherwise
+	 */
+	public static boolean isBinary(byte[] bytes) {
+		return bytes.length >= 4 //
+				&& ((bytes[0] & 0xff) << 24 | (bytes[1] & 0xff) << 16 | (bytes[2] & 0xff) << 8 | (bytes[3] & 0xff)) == MAGIC;
+	}
+
+	/**
+	 * Indicates whether the given stream begins with the gzip header, leaving
+	 * the stream at its current position.
+	 * 
+	 * @param in
+	 *            the stream to check, which must support marking
+	 * @return true if the stream is gzip compressed, false otherwise
+	 * @throws IOException
+	 */
+	private static boolean isCompressed(InputStream in) throws IOException {
+		in.mark(2);
+		int header = (in.read() << 8) | in.read();
+		in.reset();
+		return header == GZIP_MAGIC;
+	}
+
+	private BinaryReader() {}
+}
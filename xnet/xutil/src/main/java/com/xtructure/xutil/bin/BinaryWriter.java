@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A collection of convenience methods for translating an object to its binary
+ * representation.
+ * <P>
+ * The representation begins with {@link #MAGIC} and {@link #VERSION},
+ * followed by the object as written by
+ * {@link BinaryOutput#writeObject(Object)}. A compressed representation is the
+ * gzip compression of the uncompressed one; {@link BinaryReader} recognizes
+ * both.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class BinaryWriter {
+	/** the first four bytes of a binary representation: "XBIN" */
+	public static final int	MAGIC		= 0x5842494e;
+	/** the version of the binary representation */
+	public static final int	VERSION		= 1;
+	/** size of the buffer used when writing files */
+	private static final int	BUFFER_SIZE	= 1 << 16;
+
+	/*
+	 * write object
+	 */
+	public static byte[] write(Object obj) throws IOException {
+		return write(obj, false);
+	}
+
+	public static void write(File outFile, Object obj) throws IOException {
+		write(outFile, obj, false);
+	}
+
+	public static void write(OutputStream out, Object obj) throws IOException {
+		write(out, obj, false);
+	}
+
+	/*
+	 * write object, optionally compressed
+	 */
+	public static byte[] write(Object obj, boolean compress) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		write(out, obj, compress);
+		return out.toByteArray();
+	}
+
+	public static void write(File outFile, Object obj, boolean compress) throws IOException {
+		OutputStream out = null;
+		try {
+			write(out = new BufferedOutputStream(new FileOutputStream(outFile), BUFFER_SIZE), obj, compress);
+		} finally {
+			if (out != null) {
+				out.close();
+			}
+		}
+	}
+
+	public static void write(OutputStream out, Object obj, boolean compress) throws IOException {
+		GZIPOutputStream gzip = compress ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+		BinaryOutput output = new BinaryOutput(compress ? gzip : out);
+		output.writeInt(MAGIC);
+		output.writeVarInt(VERSION);
+		output.writeObject(obj);
+		output.flush();
+		if (gzip != null) {
+			gzip.finish();
+		}
+	}
+
+	private BinaryWriter() {}
+}
@@ -105,6 +105,15 @@ public abstract class AbstractRangeXParameter<V extends Comparable<V>> extends A
 		return _initialRange;
 	}
 
+	/**
+	 * Returns the type of value of this parameter.
+	 * 
+	 * @return the type of value of this parameter
+	 */
+	public final Class<V> getType() {
+		return _type;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public final V newUniformRandomValue() {
@@ -57,6 +57,8 @@ public abstract class AbstractXConfiguration<S extends AbstractXConfiguration<S>
 	private final XIdObjectManager<S>		_manager;
 	/** The parameters of this configuration. */
 	private final Map<XId, XParameter<?>>	_parameters;
+	/** The layout of the field maps of this configuration. */
+	private volatile FieldMapLayout			_fieldMapLayout	= null;
 
 	/**
 	 * Creates a new configuration.
@@ -117,6 +119,26 @@ public abstract class AbstractXConfiguration<S extends AbstractXConfiguration<S>
 		return _parameters.get(id);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The layout is compiled on first use and cached thereafter.
+	 * </p>
+	 */
+	@Override
+	public final FieldMapLayout getFieldMapLayout() {
+		FieldMapLayout layout = _fieldMapLayout;
+		if (layout == null) {
+			synchronized (this) {
+				layout = _fieldMapLayout;
+				if (layout == null) {
+					_fieldMapLayout = layout = FieldMapLayout.compile(this);
+				}
+			}
+		}
+		return layout;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public String toString() {
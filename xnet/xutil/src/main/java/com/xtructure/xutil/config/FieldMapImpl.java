@@ -21,6 +21,7 @@
  */
 package com.xtructure.xutil.config;
 
+import static com.xtructure.xutil.valid.ValidateUtils.VALIDATION_ENABLED;
 import static com.xtructure.xutil.valid.ValidateUtils.containsElement;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
 import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
@@ -84,8 +85,10 @@ public class FieldMapImpl implements FieldMap {
 	@Override
 	@SuppressWarnings("unchecked")
 	public <V> V set(XId id, V v) {
-		validateArg("id", id, isNotNull());
-		validateArg("fields", fields.keySet(), containsElement(id));
+		if (VALIDATION_ENABLED) {
+			validateArg("id", id, isNotNull());
+			validateArg("fields", fields.keySet(), containsElement(id));
+		}
 		return ((XField<V>) fields.get(id)).setValue(v);
 	}
 
@@ -110,8 +113,10 @@ public class FieldMapImpl implements FieldMap {
 	 */
 	@Override
 	public Object get(XId id) {
-		validateArg("id", id, isNotNull());
-		validateArg("fields", fields.keySet(), containsElement(id));
+		if (VALIDATION_ENABLED) {
+			validateArg("id", id, isNotNull());
+			validateArg("fields", fields.keySet(), containsElement(id));
+		}
 		return fields.get(id).getValue();
 	}
 
@@ -124,8 +129,10 @@ public class FieldMapImpl implements FieldMap {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <V> V get(XValId<V> id) {
-		validateArg("id", id, isNotNull());
-		validateArg("fields", fields.keySet(), containsElement(id));
+		if (VALIDATION_ENABLED) {
+			validateArg("id", id, isNotNull());
+			validateArg("fields", fields.keySet(), containsElement(id));
+		}
 		return (V) fields.get(id).getValue();
 	}
 
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.config;
+
+import static com.xtructure.xutil.valid.ValidateUtils.VALIDATION_ENABLED;
+import static com.xtructure.xutil.valid.ValidateUtils.containsElement;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.xtructure.xutil.id.XId;
+
+/**
+ * A layout of the fields of an {@link XConfiguration}, compiled once per
+ * configuration. Each parameter is assigned a fixed slot in one of the
+ * primitive arrays of a {@link SlotFieldMap}: non-nullable float, double,
+ * integer and boolean range parameters are stored unboxed, and all other
+ * parameters keep an {@link XField} in an object slot.
+ * <p>
+ * Code that reads fields on every simulation tick can resolve a slot once,
+ * through {@link #getFloatSlot(XId)} and its siblings, and then use the
+ * index-based accessors of {@link SlotFieldMap}.
+ * </p>
+ * 
+ * @author Luis Guimbarda
+ */
+public final class FieldMapLayout {
+	/** The kinds of slot in which a field can be stored. */
+	public enum SlotType {
+		/** a <code>float[]</code> slot */
+		FLOAT,
+		/** a <code>double[]</code> slot */
+		DOUBLE,
+		/** an <code>int[]</code> slot */
+		INTEGER,
+		/** a <code>boolean[]</code> slot */
+		BOOLEAN,
+		/** an {@link XField} slot */
+		OBJECT;
+	}
+
+	/**
+	 * Compiles the layout of the fields of the given configuration.
+	 * 
+	 * @param configuration
+	 *            the configuration to lay out
+	 * @return the layout of the fields of the given configuration
+	 * @throws IllegalArgumentException
+	 *             if the given configuration is <code>null</code>
+	 */
+	public static FieldMapLayout compile(final XConfiguration configuration) {
+		validateArg("configuration", configuration, isNotNull());
+		return new FieldMapLayout(configuration);
+	}
+
+	/** The configuration laid out by this layout. */
+	private final XConfiguration			_configuration;
+	/** The slots of the fields in this layout. */
+	private final Map<XId, Slot>			_slots;
+	/** The number of slots of each type. */
+	private final int[]						_slotCounts;
+	/** The offset of the vetting strategies of each type of slot. */
+	private final int[]						_vettingOffsets;
+	/**
+	 * The vetting strategies of the primitive slots shared by the field maps
+	 * of this layout, or <code>null</code> until the first map is created.
+	 */
+	private volatile VettingStrategy<?>[]	_sharedVettingStrategies	= null;
+
+	/**
+	 * Creates a new layout.
+	 * 
+	 * @param configuration
+	 *            the configuration to lay out
+	 */
+	private FieldMapLayout(final XConfiguration configuration) {
+		_configuration = configuration;
+		_slotCounts = new int[SlotType.values().length];
+		_vettingOffsets = new int[SlotType.values().length];
+		final Map<XId, Slot> slots = new HashMap<XId, Slot>();
+		for (final XId parameterId : configuration.getParameterIds()) {
+			final SlotType type = getSlotType(configuration.getParameter(parameterId));
+			slots.put(parameterId, new Slot(type, _slotCounts[type.ordinal()]++));
+		}
+		for (int i = 1; i < _vettingOffsets.length; i++) {
+			_vettingOffsets[i] = _vettingOffsets[i - 1] + _slotCounts[i - 1];
+		}
+		_slots = Collections.unmodifiableMap(slots);
+	}
+
+	/**
+	 * Returns the configuration laid out by this layout.
+	 * 
+	 * @return the configuration laid out by this layout
+	 */
+	public XConfiguration getConfiguration() {
+		return _configuration;
+	}
+
+	/**
+	 * Returns the ids of the fields in this layout.
+	 * 
+	 * @return the ids of the fields in this layout
+	 */
+	public Set<XId> getFieldIds() {
+		return _slots.keySet();
+	}
+
+	/**
+	 * Returns the type of slot of the identified field.
+	 * 
+	 * @param id
+	 *            the id of the field
+	 * @return the type of slot of the identified field, or <code>null</code>
+	 *         if this layout has no such field
+	 */
+	public SlotType getSlotType(final XId id) {
+		final Slot slot = _slots.get(id);
+		return slot == null ? null : slot._type;
+	}
+
+	/**
+	 * Returns the number of slots of the given type.
+	 * 
+	 * @param type
+	 *            the type of slot
+	 * @return the number of slots of the given type
+	 */
+	public int getSlotCount(final SlotType type) {
+		return _slotCounts[type.ordinal()];
+	}
+
+	/**
+	 * Returns the float slot of the identified field.
+	 * 
+	 * @param id
+	 *            the id of the field
+	 * @return the float slot of the identified field
+	 * @throws IllegalArgumentException
+	 *             if this layout has no such field, or it is not stored in a
+	 *             float slot
+	 */
+	public int getFloatSlot(final XId id) {
+		return getSlot(id, SlotType.FLOAT);
+	}
+
+	/**
+	 * Returns the double slot of the identified field.
+	 * 
+	 * @param id
+	 *            the id of the field
+	 * @return the double slot of the identified field
+	 * @throws IllegalArgumentException
+	 *             if this layout has no such field, or it is not stored in a
+	 *             double slot
+	 */
+	public int getDoubleSlot(final XId id) {
+		return getSlot(id, SlotType.DOUBLE);
+	}
+
+	/**
+	 * Returns the integer slot of the identified field.
+	 * 
+	 * @param id
+	 *            the id of the field
+	 * @return the integer slot of the identified field
+	 * @throws IllegalArgumentException
+	 *             if this layout has no such field, or it is not stored in an
+	 *             integer slot
+	 */
+	public int getIntegerSlot(final XId id) {
+		return getSlot(id, SlotType.INTEGER);
+	}
+
+	/**
+	 * Returns the boolean slot of the identified field.
+	 * 
+	 * @param id
+	 *            the id of the field
+	 * @return the boolean slot of the identified field
+	 * @throws IllegalArgumentException
+	 *             if this layout has no such field, or it is not stored in a
+	 *             boolean slot
+	 */
+	public int getBooleanSlot(final XId id) {
+		return getSlot(id, SlotType.BOOLEAN);
+	}
+
+	/**
+	 * Returns a new field map with this layout.
+	 * 
+	 * @return a new field map with this layout
+	 */
+	public SlotFieldMap newFieldMap() {
+		return new SlotFieldMap(this);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		return String.format("%s for %s", getClass().getSimpleName(), _configuration.getId());
+	}
+
+	/**
+	 * Returns the slot of the identified field.
+	 * 
+	 * @param id
+	 *            the id of the field
+	 * @return the slot of the identified field
+	 * @throws IllegalArgumentException
+	 *             if this layout has no such field
+	 */
+	final Slot getSlot(final XId id) {
+		if (VALIDATION_ENABLED) {
+			validateArg("id", id, isNotNull());
+			validateArg("fields", _slots.keySet(), containsElement(id));
+		}
+		return _slots.get(id);
+	}
+
+	/**
+	 * Returns the vetting strategies shared by the field maps of this layout
+	 * if they are the given ones, and the given ones otherwise, so that field
+	 * maps of mutable parameters need not each hold a copy.
+	 * 
+	 * @param vettingStrategies
+	 *            the vetting strategies of the primitive slots of a new field
+	 *            map
+	 * @return equivalent vetting strategies
+	 */
+	final VettingStrategy<?>[] share(final VettingStrategy<?>[] vettingStrategies) {
+		final VettingStrategy<?>[] shared = _sharedVettingStrategies;
+		if (shared == null) {
+			_sharedVettingStrategies = vettingStrategies;
+			return vettingStrategies;
+		}
+		for (int i = 0; i < shared.length; i++) {
+			if (shared[i] != vettingStrategies[i]) {
+				return vettingStrategies;
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Returns the number of primitive slots in this layout.
+	 * 
+	 * @return the number of primitive slots in this layout
+	 */
+	final int getPrimitiveSlotCount() {
+		return _slots.size() - getSlotCount(SlotType.OBJECT);
+	}
+
+	/**
+	 * Returns the index of the vetting strategy of the first slot of the given
+	 * type. Vetting strategies are kept for the primitive slots only, ordered
+	 * by slot type and then by slot index.
+	 * 
+	 * @param type
+	 *            the type of slot
+	 * @return the index of the vetting strategy of the first slot of the given
+	 *         type
+	 */
+	final int getVettingOffset(final SlotType type) {
+		return _vettingOffsets[type.ordinal()];
+	}
+
+	/**
+	 * Returns the index of the identified field in its slot array, checking
+	 * that it has the given type.
+	 * 
+	 * @param id
+	 *            the id of the field
+	 * @param type
+	 *            the expected type of slot
+	 * @return the index of the identified field in its slot array
+	 */
+	private int getSlot(final XId id, final SlotType type) {
+		final Slot slot = getSlot(id);
+		validateArg(String.format("slot type of %s", id), slot._type, isEqualTo(type));
+		return slot._index;
+	}
+
+	/**
+	 * Returns the type of slot in which fields of the given parameter are
+	 * stored.
+	 * 
+	 * @param parameter
+	 *            the parameter
+	 * @return the type of slot in which fields of the given parameter are
+	 *         stored
+	 */
+	private static SlotType getSlotType(final XParameter<?> parameter) {
+		if (parameter.isNullable() || !(parameter instanceof AbstractRangeXParameter<?>)) {
+			return SlotType.OBJECT;
+		}
+		final Class<?> type = ((AbstractRangeXParameter<?>) parameter).getType();
+		if (Float.class.equals(type)) {
+			return SlotType.FLOAT;
+		}
+		if (Double.class.equals(type)) {
+			return SlotType.DOUBLE;
+		}
+		if (Integer.class.equals(type)) {
+			return SlotType.INTEGER;
+		}
+		if (Boolean.class.equals(type)) {
+			return SlotType.BOOLEAN;
+		}
+		return SlotType.OBJECT;
+	}
+
+	/** The slot of a field. */
+	static final class Slot {
+		/** The type of this slot. */
+		final SlotType	_type;
+		/** The index of this slot in the array of its type. */
+		final int		_index;
+
+		/**
+		 * Creates a new slot.
+		 * 
+		 * @param type
+		 *            the type of the new slot
+		 * @param index
+		 *            the index of the new slot in the array of its type
+		 */
+		private Slot(final SlotType type, final int index) {
+			_type = type;
+			_index = index;
+		}
+	}
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.config;
+
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.xtructure.xutil.config.FieldMapLayout.Slot;
+import com.xtructure.xutil.config.FieldMapLayout.SlotType;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.id.XValId;
+
+/**
+ * A {@link FieldMap} that stores its fields in the slots of a
+ * {@link FieldMapLayout}. Values of primitive slots are held unboxed in
+ * parallel arrays and are vetted by the strategies of the fields from which
+ * they were initialized, so the map behaves exactly like a
+ * {@link FieldMapImpl} of the same configuration through the id-based
+ * methods, while the index-based accessors avoid the map lookup and the
+ * boxing of the value.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class SlotFieldMap implements FieldMap {
+	/** The layout of this field map. */
+	private final FieldMapLayout			_layout;
+	/** The values of the float slots. */
+	private final float[]					_floats;
+	/** The values of the double slots. */
+	private final double[]					_doubles;
+	/** The values of the integer slots. */
+	private final int[]						_integers;
+	/** The values of the boolean slots. */
+	private final boolean[]					_booleans;
+	/** The fields of the object slots. */
+	private final XField<?>[]				_objects;
+	/** The vetting strategies of the primitive slots. */
+	private final VettingStrategy<?>[]		_vettingStrategies;
+	/** The offsets of the vetting strategies of the primitive slot types. */
+	private final int						_floatOffset, _doubleOffset, _integerOffset, _booleanOffset;
+
+	/**
+	 * Creates a new field map with the given layout. A new field is created
+	 * from each parameter of the configuration of the layout, in the same
+	 * order as {@link FieldMapImpl}, to initialize the slots.
+	 * 
+	 * @param layout
+	 *            the layout of the new field map
+	 */
+	SlotFieldMap(final FieldMapLayout layout) {
+		_layout = layout;
+		_floats = new float[layout.getSlotCount(SlotType.FLOAT)];
+		_doubles = new double[layout.getSlotCount(SlotType.DOUBLE)];
+		_integers = new int[layout.getSlotCount(SlotType.INTEGER)];
+		_booleans = new boolean[layout.getSlotCount(SlotType.BOOLEAN)];
+		_objects = new XField<?>[layout.getSlotCount(SlotType.OBJECT)];
+		_floatOffset = layout.getVettingOffset(SlotType.FLOAT);
+		_doubleOffset = layout.getVettingOffset(SlotType.DOUBLE);
+		_integerOffset = layout.getVettingOffset(SlotType.INTEGER);
+		_booleanOffset = layout.getVettingOffset(SlotType.BOOLEAN);
+		final VettingStrategy<?>[] vettingStrategies = new VettingStrategy<?>[layout.getPrimitiveSlotCount()];
+		final XConfiguration configuration = layout.getConfiguration();
+		for (final XId parameterId : configuration.getParameterIds()) {
+			final XField<?> field = configuration.getParameter(parameterId).newField();
+			validateArg("value", field, isNotNull());
+			final Slot slot = layout.getSlot(parameterId);
+			if (slot._type == SlotType.OBJECT) {
+				_objects[slot._index] = field;
+			} else {
+				vettingStrategies[layout.getVettingOffset(slot._type) + slot._index] = field.getVettingStrategy();
+				store(slot, field.getValue());
+			}
+		}
+		_vettingStrategies = layout.share(vettingStrategies);
+	}
+
+	/**
+	 * Returns the layout of this field map.
+	 * 
+	 * @return the layout of this field map
+	 */
+	public FieldMapLayout getLayout() {
+		return _layout;
+	}
+
+	/**
+	 * Returns the value of the given float slot.
+	 * 
+	 * @param slot
+	 *            the float slot, as returned by
+	 *            {@link FieldMapLayout#getFloatSlot(XId)}
+	 * @return the value of the given float slot
+	 */
+	public float getFloat(final int slot) {
+		return _floats[slot];
+	}
+
+	/**
+	 * Vets the given value and sets the given float slot to it.
+	 * 
+	 * @param slot
+	 *            the float slot, as returned by
+	 *            {@link FieldMapLayout#getFloatSlot(XId)}
+	 * @param value
+	 *            the value to set
+	 * @return the vetted value
+	 * @throws XConfigurationException
+	 *             if the given value is not valid for the slot
+	 */
+	@SuppressWarnings("unchecked")
+	public float setFloat(final int slot, final float value) {
+		return (_floats[slot] = ((VettingStrategy<Float>) _vettingStrategies[_floatOffset + slot]).vetValue(value));
+	}
+
+	/**
+	 * Returns the value of the given double slot.
+	 * 
+	 * @param slot
+	 *            the double slot, as returned by
+	 *            {@link FieldMapLayout#getDoubleSlot(XId)}
+	 * @return the value of the given double slot
+	 */
+	public double getDouble(final int slot) {
+		return _doubles[slot];
+	}
+
+	/**
+	 * Vets the given value and sets the given double slot to it.
+	 * 
+	 * @param slot
+	 *            the double slot, as returned by
+	 *            {@link FieldMapLayout#getDoubleSlot(XId)}
+	 * @param value
+	 *            the value to set
+	 * @return the vetted value
+	 * @throws XConfigurationException
+	 *             if the given value is not valid for the slot
+	 */
+	@SuppressWarnings("unchecked")
+	public double setDouble(final int slot, final double value) {
+		return (_doubles[slot] = ((VettingStrategy<Double>) _vettingStrategies[_doubleOffset + slot]).vetValue(value));
+	}
+
+	/**
+	 * Returns the value of the given integer slot.
+	 * 
+	 * @param slot
+	 *            the integer slot, as returned by
+	 *            {@link FieldMapLayout#getIntegerSlot(XId)}
+	 * @return the value of the given integer slot
+	 */
+	public int getInteger(final int slot) {
+		return _integers[slot];
+	}
+
+	/**
+	 * Vets the given value and sets the given integer slot to it.
+	 * 
+	 * @param slot
+	 *            the integer slot, as returned by
+	 *            {@link FieldMapLayout#getIntegerSlot(XId)}
+	 * @param value
+	 *            the value to set
+	 * @return the vetted value
+	 * @throws XConfigurationException
+	 *             if the given value is not valid for the slot
+	 */
+	@SuppressWarnings("unchecked")
+	public int setInteger(final int slot, final int value) {
+		return (_integers[slot] = ((VettingStrategy<Integer>) _vettingStrategies[_integerOffset + slot]).vetValue(value));
+	}
+
+	/**
+	 * Returns the value of the given boolean slot.
+	 * 
+	 * @param slot
+	 *            the boolean slot, as returned by
+	 *            {@link FieldMapLayout#getBooleanSlot(XId)}
+	 * @return the value of the given boolean slot
+	 */
+	public boolean getBoolean(final int slot) {
+		return _booleans[slot];
+	}
+
+	/**
+	 * Vets the given value and sets the given boolean slot to it.
+	 * 
+	 * @param slot
+	 *            the boolean slot, as returned by
+	 *            {@link FieldMapLayout#getBooleanSlot(XId)}
+	 * @param value
+	 *            the value to set
+	 * @return the vetted value
+	 * @throws XConfigurationException
+	 *             if the given value is not valid for the slot
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean setBoolean(final int slot, final boolean value) {
+		return (_booleans[slot] = ((VettingStrategy<Boolean>) _vettingStrategies[_booleanOffset + slot]).vetValue(value));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public XId getConfigurationId() {
+		return _layout.getConfiguration().getId();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Set<XId> getFieldIds() {
+		return _layout.getFieldIds();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Fields of primitive slots are returned as views of this map.
+	 * </p>
+	 */
+	@Override
+	public XField<?> getField(final XId id) {
+		if (id == null || !_layout.getFieldIds().contains(id)) {
+			return null;
+		}
+		final Slot slot = _layout.getSlot(id);
+		if (slot._type == SlotType.OBJECT) {
+			return _objects[slot._index];
+		}
+		return new SlotField<Object>(id, slot);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <V> V set(final XId id, final V v) {
+		final Slot slot = _layout.getSlot(id);
+		if (slot._type == SlotType.OBJECT) {
+			return ((XField<V>) _objects[slot._index]).setValue(v);
+		}
+		final V vetted = ((VettingStrategy<V>) _vettingStrategies[_layout.getVettingOffset(slot._type) + slot._index]).vetValue(v);
+		store(slot, vetted);
+		return vetted;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setAll(final FieldMap fieldMap) {
+		for (final XId fieldId : fieldMap.getFieldIds()) {
+			set(fieldId, fieldMap.get(fieldId));
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Object get(final XId id) {
+		return load(_layout.getSlot(id));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <V> V get(final XValId<V> id) {
+		return (V) load(_layout.getSlot(id));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		final List<String> fields = new ArrayList<String>();
+		for (final XId parameterId : _layout.getConfiguration().getParameterIds()) {
+			fields.add(String.format("%s=%s", parameterId, load(_layout.getSlot(parameterId))));
+		}
+		return fields.toString();
+	}
+
+	/**
+	 * Returns the (boxed) value of the given slot.
+	 * 
+	 * @param slot
+	 *            the slot
+	 * @return the value of the given slot
+	 */
+	private Object load(final Slot slot) {
+		switch (slot._type) {
+			case FLOAT:
+				return _floats[slot._index];
+			case DOUBLE:
+				return _doubles[slot._index];
+			case INTEGER:
+				return _integers[slot._index];
+			case BOOLEAN:
+				return _booleans[slot._index];
+			default:
+				return _objects[slot._index].getValue();
+		}
+	}
+
+	/**
+	 * Stores the given, already vetted, value in the given primitive slot.
+	 * 
+	 * @param slot
+	 *            the primitive slot
+	 * @param value
+	 *            the value to store
+	 */
+	private void store(final Slot slot, final Object value) {
+		switch (slot._type) {
+			case FLOAT:
+				_floats[slot._index] = (Float) value;
+				break;
+			case DOUBLE:
+				_doubles[slot._index] = (Double) value;
+				break;
+			case INTEGER:
+				_integers[slot._index] = (Integer) value;
+				break;
+			case BOOLEAN:
+				_booleans[slot._index] = (Boolean) value;
+				break;
+			default:
+				throw new IllegalStateException(String.format("%s is not a primitive slot", slot._type));
+		}
+	}
+
+	/**
+	 * A view of a primitive slot of this field map as an {@link XField}.
+	 * 
+	 * @param <V>
+	 *            the type of the field
+	 */
+	private final class SlotField<V> implements XField<V> {
+		/** The id of the field. */
+		private final XId	_id;
+		/** The slot viewed by this field. */
+		private final Slot	_slot;
+
+		/**
+		 * Creates a new view of the given slot.
+		 * 
+		 * @param id
+		 *            the id of the field
+		 * @param slot
+		 *            the slot to view
+		 */
+		private SlotField(final XId id, final Slot slot) {
+			_id = id;
+			_slot = slot;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		@SuppressWarnings("unchecked")
+		public XParameter<V> getParameter() {
+			return (XParameter<V>) _layout.getConfiguration().getParameter(_id);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		@SuppressWarnings("unchecked")
+		public V getValue() {
+			return (V) load(_slot);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		@SuppressWarnings("unchecked")
+		public VettingStrategy<V> getVettingStrategy() {
+			return (VettingStrategy<V>) _vettingStrategies[_layout.getVettingOffset(_slot._type) + _slot._index];
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public V setValue(final V value) {
+			return set(_id, value);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public String toString() {
+			return String.format("%s=%s", _id, getValue());
+		}
+	}
+}
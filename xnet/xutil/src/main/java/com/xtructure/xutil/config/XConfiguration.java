@@ -63,4 +63,11 @@ public interface XConfiguration extends XIdObject {
 	 * @return the field map
 	 */
 	public FieldMap newFieldMap();
+
+	/**
+	 * Returns the layout of the field maps of this configuration.
+	 * 
+	 * @return the layout of the field maps of this configuration
+	 */
+	public FieldMapLayout getFieldMapLayout();
 }
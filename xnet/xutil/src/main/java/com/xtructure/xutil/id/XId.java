@@ -27,7 +27,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
 import javolution.text.CharSet;
@@ -35,9 +34,7 @@ import javolution.text.Cursor;
 import javolution.text.TypeFormat;
 
 import org.apache.commons.lang.builder.CompareToBuilder;
-import org.apache.commons.lang.builder.EqualsBuilder;
 
-import com.xtructure.xutil.WormField;
 import com.xtructure.xutil.coll.ListBuilder;
 import com.xtructure.xutil.format.XTextFormat;
 
@@ -150,11 +147,13 @@ public class XId implements Comparable<XId> {
 	}
 
 	/** base string of this {@link XId} */
-	private final String			base;
-	/** string representation of this {@link XId} */
-	private final WormField<String>	toString	= new WormField<String>();
+	private final String		base;
+	/** string representation of this {@link XId}, computed on first use */
+	private volatile String		toString;
 	/** list of this id's instance numbers */
-	private final List<Integer>		instanceNums;
+	private final List<Integer>	instanceNums;
+	/** hash code of this {@link XId}, computed from its base and instance numbers */
+	private final int			hashCode;
 
 	/**
 	 * Creates a new {@link XId} with the given base string and the given
@@ -201,6 +200,11 @@ public class XId implements Comparable<XId> {
 		}
 		this.base = base;
 		this.instanceNums = Collections.unmodifiableList(new ArrayList<Integer>(instanceNums));
+		int hash = base.hashCode();
+		for (Integer i : instanceNums) {
+			hash = 31 * hash + i;
+		}
+		this.hashCode = hash;
 	}
 
 	/**
@@ -212,26 +216,35 @@ public class XId implements Comparable<XId> {
 		return base;
 	}
 
-	private static final ReentrantLock WORM_LOCK = new ReentrantLock();
-	
-	/** {@inheritDoc} */
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * The string is formatted on first use and cached. Racing threads may each
+	 * format it, but all of them produce the same string.
+	 * </p>
+	 */
 	@Override
 	public String toString() {
-		WORM_LOCK.lock();
-		try {
-			if (!toString.isInitialized()) {
-				toString.initValue(TextFormat.getDefault(getClass()).format(this).toString());
-			}
-			return toString.getValue();
-		} finally {
-			WORM_LOCK.unlock();
+		String rval = toString;
+		if (rval == null) {
+			rval = TextFormat.getDefault(getClass()).format(this).toString();
+			toString = rval;
 		}
+		return rval;
 	}
 
-	/** {@inheritDoc} */
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * The hash code is computed from the base and instance numbers when this
+	 * id is created.
+	 * </p>
+	 */
 	@Override
 	public int hashCode() {
-		return toString().hashCode();
+		return hashCode;
 	}
 
 	/** {@inheritDoc} */
@@ -349,10 +362,9 @@ public class XId implements Comparable<XId> {
 		}
 		if (obj != null && obj instanceof XId) {
 			XId that = (XId) obj;
-			return new EqualsBuilder()//
-					.append(this.getBase(), that.getBase())//
-					.append(this.instanceNums, that.instanceNums)//
-					.isEquals();
+			return this.hashCode == that.hashCode //
+					&& this.base.equals(that.base) //
+					&& this.instanceNums.equals(that.instanceNums);
 		}
 		return false;
 	}
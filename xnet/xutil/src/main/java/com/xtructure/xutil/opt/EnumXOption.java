@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.opt;
+
+import java.util.Locale;
+
+/**
+ * EnumXOption is an {@link XOption} for enum data. The argument is the name of
+ * an enum constant, in any case.
+ * 
+ * @author Luis Guimbarda
+ * 
+ * @param <E>
+ *            the enum type of data this option represents
+ */
+public class EnumXOption<E extends Enum<E>> extends XOption<E> {
+	/** the enum type of data this option represents */
+	private final Class<E>	enumType;
+
+	/**
+	 * Creates a new {@link EnumXOption}
+	 * 
+	 * @param name
+	 * @param opt
+	 * @param longOpt
+	 * @param description
+	 * @param enumType
+	 */
+	public EnumXOption(String name, String opt, String longOpt, String description, Class<E> enumType) {
+		super(name, opt, longOpt, true, description);
+		this.enumType = enumType;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the argument doesn't name a constant of the enum type
+	 */
+	@Override
+	public E processValue() {
+		return hasValue() ? Enum.valueOf(enumType, getValue().trim().toUpperCase(Locale.ENGLISH)) : null;
+	}
+}
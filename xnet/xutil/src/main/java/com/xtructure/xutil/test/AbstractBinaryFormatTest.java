@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.test;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isLessThan;
+
+import java.io.IOException;
+
+import javolution.xml.XMLBinding;
+
+import org.testng.annotations.Test;
+
+import com.xtructure.xutil.bin.BinaryFormat;
+import com.xtructure.xutil.bin.BinaryReader;
+import com.xtructure.xutil.bin.BinaryWriter;
+import com.xtructure.xutil.xml.XmlWriter;
+
+/**
+ * The Class AbstractBinaryFormatTest. Instances are written with their
+ * {@link BinaryFormat} and read back, and the instance read must have the same
+ * xml representation as the one written.
+ *
+ * @param <T> the class whose binary format is being tested
+ * @author Luis Guimbarda
+ */
+@Test(groups = { "binary:base" })
+public abstract class AbstractBinaryFormatTest<T> {
+	
+	/** The Constant INDENT. */
+	private static final String		INDENT				= "\t";
+	
+	/** The Constant DEFAULT_XML_BINDING. */
+	private static final XMLBinding	DEFAULT_XML_BINDING	= new XMLBinding();
+	
+	/** The xml binding. */
+	private final XMLBinding		xmlBinding;
+
+	/**
+	 * Creates a new {@link AbstractBinaryFormatTest}.
+	 * 
+	 * @param xmlBinding
+	 *            the xml binding with which instances are compared; if null,
+	 *            an empty binding is used
+	 */
+	public AbstractBinaryFormatTest(XMLBinding xmlBinding) {
+		this.xmlBinding = xmlBinding == null ? DEFAULT_XML_BINDING : xmlBinding;
+	}
+
+	/**
+	 * Read binary returns equivalent instance, compressed or not.
+	 *
+	 * @param t the t
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test(dataProvider = "instances")
+	public final void readBinaryReturnsEquivalentInstance(T t) throws IOException {
+		String expectedXmlString = XmlWriter.write(t, xmlBinding, INDENT);
+		for (boolean compress : new boolean[] { false, true }) {
+			T newT = BinaryReader.<T> read(BinaryWriter.write(t, compress));
+			assertThat("readBinaryReturnsEquivalentInstance: comparing xml, compressed " + compress,//
+					XmlWriter.write(newT, xmlBinding, INDENT), isEqualTo(expectedXmlString));
+		}
+	}
+
+	/**
+	 * Write binary writes fewer bytes than xml.
+	 *
+	 * @param t the t
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test(dataProvider = "instances")
+	public final void writeBinaryWritesFewerBytesThanXml(T t) throws IOException {
+		int xmlLength = XmlWriter.write(t, xmlBinding, INDENT).getBytes("UTF-8").length;
+		assertThat("writeBinaryWritesFewerBytesThanXml",//
+				BinaryWriter.write(t).length, isLessThan(xmlLength));
+	}
+
+	/**
+	 * Gets the xml binding.
+	 *
+	 * @return the xml binding
+	 */
+	public XMLBinding getXmlBinding() {
+		return xmlBinding;
+	}
+
+	/**
+	 * Data provider that produces parameter lists containing an instance of
+	 * the tested class.
+	 * <p>
+	 * Implementations of the method must add the annotation:<br>
+	 * \@DataProvider
+	 *
+	 * @return the object[][]
+	 */
+	protected abstract Object[][] instances();
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.test;
+
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThan;
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThanOrEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A minimal harness for timing hot code paths. Each measurement runs a number
+ * of warm-up iterations (to let the JIT settle) followed by a number of timed
+ * iterations, where an iteration invokes the measured {@link Operation} a
+ * fixed number of times on each of the requested threads. Results are
+ * reported in nanoseconds per operation.
+ * <P>
+ * This is not a replacement for a full benchmarking framework; it exists so
+ * that modules can carry runnable comparisons without extra dependencies.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class MicroBenchmark {
+	/** default number of warm-up iterations */
+	public static final int		DEFAULT_WARMUP_ITERATIONS	= 5;
+	/** default number of timed iterations */
+	public static final int		DEFAULT_MEASURE_ITERATIONS	= 10;
+	/** name of this benchmark, used when reporting */
+	private final String		name;
+	/** number of warm-up iterations */
+	private final int			warmupIterations;
+	/** number of timed iterations */
+	private final int			measureIterations;
+	/** number of operations per iteration, per thread */
+	private final int			operationsPerIteration;
+	/** stream to which results are reported, may be null */
+	private final PrintStream	out;
+	/** accumulates operation results so they can't be optimized away */
+	private volatile long		sink;
+
+	/**
+	 * Creates a new {@link MicroBenchmark} with the default iteration counts,
+	 * reporting to {@link System#out}.
+	 * 
+	 * @param name
+	 *            the name of the new benchmark
+	 * @param operationsPerIteration
+	 *            the number of times an operation is invoked per iteration
+	 */
+	public MicroBenchmark(String name, int operationsPerIteration) {
+		this(name, DEFAULT_WARMUP_ITERATIONS, DEFAULT_MEASURE_ITERATIONS, operationsPerIteration, System.out);
+	}
+
+	/**
+	 * Creates a new {@link MicroBenchmark}.
+	 * 
+	 * @param name
+	 *            the name of the new benchmark
+	 * @param warmupIterations
+	 *            the number of untimed iterations
+	 * @param measureIterations
+	 *            the number of timed iterations
+	 * @param operationsPerIteration
+	 *            the number of times an operation is invoked per iteration
+	 * @param out
+	 *            the stream to which results are reported, may be null
+	 */
+	public MicroBenchmark(String name, int warmupIterations, int measureIterations, int operationsPerIteration, PrintStream out) {
+		validateArg("name", name, isNotNull());
+		validateArg("warmupIterations", warmupIterations, isGreaterThanOrEqualTo(0));
+		validateArg("measureIterations", measureIterations, isGreaterThan(0));
+		validateArg("operationsPerIteration", operationsPerIteration, isGreaterThan(0));
+		this.name = name;
+		this.warmupIterations = warmupIterations;
+		this.measureIterations = measureIterations;
+		this.operationsPerIteration = operationsPerIteration;
+		this.out = out;
+	}
+
+	/**
+	 * Measures the given operation on the calling thread.
+	 * 
+	 * @param label
+	 *            the label under which to report the result
+	 * @param operation
+	 *            the operation to measure
+	 * @return the mean time per operation, in nanoseconds
+	 */
+	public double measure(String label, Operation operation) {
+		return measure(label, 1, operation);
+	}
+
+	/**
+	 * Measures the given operation on the given number of threads
+	 * concurrently. The operation must be safe to invoke from several threads
+	 * if threadCount is greater than 1.
+	 * 
+	 * @param label
+	 *            the label under which to report the result
+	 * @param threadCount
+	 *            the number of threads invoking the operation
+	 * @param operation
+	 *            the operation to measure
+	 * @return the mean wall-clock time per operation per thread, in
+	 *         nanoseconds
+	 */
+	public double measure(String label, int threadCount, Operation operation) {
+		validateArg("label", label, isNotNull());
+		validateArg("threadCount", threadCount, isGreaterThan(0));
+		validateArg("operation", operation, isNotNull());
+		for (int i = 0; i < warmupIterations; i++) {
+			runIteration(threadCount, operation);
+		}
+		long total = 0l;
+		for (int i = 0; i < measureIterations; i++) {
+			total += runIteration(threadCount, operation);
+		}
+		double nanosPerOp = (double) total / ((double) measureIterations * operationsPerIteration);
+		if (out != null) {
+			out.println(String.format("%s.%s (threads=%d): %.2f ns/op", name, label, threadCount, nanosPerOp));
+		}
+		return nanosPerOp;
+	}
+
+	/**
+	 * Runs a single iteration of the given operation on the given number of
+	 * threads.
+	 * 
+	 * @param threadCount
+	 *            the number of threads invoking the operation
+	 * @param operation
+	 *            the operation to invoke
+	 * @return the elapsed wall-clock time of the iteration, in nanoseconds
+	 */
+	private long runIteration(int threadCount, final Operation operation) {
+		if (threadCount == 1) {
+			long start = System.nanoTime();
+			sink += invoke(operation);
+			return System.nanoTime() - start;
+		}
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		final CountDownLatch doneLatch = new CountDownLatch(threadCount);
+		final RuntimeException[] failure = new RuntimeException[1];
+		for (int t = 0; t < threadCount; t++) {
+			Thread thread = new Thread(name + "-" + t) {
+				@Override
+				public void run() {
+					try {
+						startLatch.await();
+						long result = invoke(operation);
+						synchronized (MicroBenchmark.this) {
+							sink += result;
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} catch (RuntimeException e) {
+						synchronized (failure) {
+							failure[0] = e;
+						}
+					} finally {
+						doneLatch.countDown();
+					}
+				}
+			};
+			thread.setDaemon(true);
+			thread.start();
+		}
+		long start = System.nanoTime();
+		startLatch.countDown();
+		try {
+			doneLatch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		long elapsed = System.nanoTime() - start;
+		synchronized (failure) {
+			if (failure[0] != null) {
+				throw failure[0];
+			}
+		}
+		return elapsed;
+	}
+
+	/**
+	 * Invokes the given operation {@link #operationsPerIteration} times.
+	 * 
+	 * @param operation
+	 *            the operation to invoke
+	 * @return the sum of the operation's results
+	 */
+	private long invoke(Operation operation) {
+		long sum = 0l;
+		for (int i = 0; i < operationsPerIteration; i++) {
+			sum += operation.execute();
+		}
+		return sum;
+	}
+
+	/**
+	 * Returns the accumulated results of all measured operations. Reading
+	 * this keeps the results observable, so the work that produced them can't
+	 * be eliminated.
+	 * 
+	 * @return the accumulated results
+	 */
+	public long getSink() {
+		return sink;
+	}
+
+	/**
+	 * The code to be measured by a {@link MicroBenchmark}.
+	 */
+	public static interface Operation {
+		/**
+		 * Executes the operation once.
+		 * 
+		 * @return any value derived from the work done, so that the work can't
+		 *         be optimized away
+		 */
+		public long execute();
+	}
+}
@@ -61,6 +61,22 @@ import com.xtructure.xutil.valid.string.MatchesCondition;
  * 
  */
 public final class ValidateUtils {
+	/**
+	 * The system property that, when set to "true", puts validation into
+	 * production mode.
+	 */
+	public static final String	PRODUCTION_MODE_PROPERTY	= "xtructure.validate.production";
+
+	/**
+	 * Whether {@link #validateArg} and {@link #validateState} check their
+	 * conditions. This is <code>false</code> only when the JVM was started with
+	 * <code>-Dxtructure.validate.production=true</code>. In that case both
+	 * methods return <code>true</code> without evaluating anything, and hot
+	 * call sites can test this constant to skip building their conditions.
+	 * {@link #validate} and {@link #assertThat} are never elided.
+	 */
+	public static final boolean	VALIDATION_ENABLED			= !Boolean.getBoolean(PRODUCTION_MODE_PROPERTY);
+
 	/**
 	 * Ensures that the given object is valid with respect to the given
 	 * {@link ValidationStrategy}.
@@ -93,7 +109,14 @@ public final class ValidateUtils {
 	 * @return true if the argument is valid, false otherwise
 	 */
 	public static <T> boolean validateArg(final String argName, final T arg, Condition condition) {
-		return validate(argName, arg, new ArgumentValidationStrategy<T>(condition));
+		if (!VALIDATION_ENABLED) {
+			return true;
+		}
+		checkConditionNotNull(condition);
+		if (!condition.isSatisfiedBy(arg)) {
+			throw new IllegalArgumentException(failureMessage(argName, arg, condition));
+		}
+		return true;
 	}
 
 	/**
@@ -112,7 +135,19 @@ public final class ValidateUtils {
 	 * @return true if the given argument is valid, false otherwise
 	 */
 	public static <T> boolean validateArg(final String argName, final T arg, Condition condition, Condition... otherConditions) {
-		return validate(argName, arg, new ArgumentValidationStrategy<T>(new ListBuilder<Condition>().add(condition).addAll(otherConditions).newImmutableInstance()));
+		if (!VALIDATION_ENABLED) {
+			return true;
+		}
+		checkConditionsNotNull(condition, otherConditions);
+		if (!condition.isSatisfiedBy(arg)) {
+			throw new IllegalArgumentException(failureMessage(argName, arg, condition));
+		}
+		for (Condition otherCondition : otherConditions) {
+			if (!otherCondition.isSatisfiedBy(arg)) {
+				throw new IllegalArgumentException(failureMessage(argName, arg, otherCondition));
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -130,6 +165,9 @@ public final class ValidateUtils {
 	 *         if the given argument is valid, false otherwise
 	 */
 	public static <T> boolean validateArg(final String argName, final T arg, final ArgumentValidationStrategy<T> validationStrategy) {
+		if (!VALIDATION_ENABLED) {
+			return true;
+		}
 		return validate(argName, arg, validationStrategy);
 	}
 
@@ -146,7 +184,14 @@ public final class ValidateUtils {
 	 * @return true if the given object is valid, false otherwise
 	 */
 	public static <T> boolean validateState(final String objectName, final T object, Condition condition) {
-		return validate(objectName, object, new StateValidationStrategy<T>(condition));
+		if (!VALIDATION_ENABLED) {
+			return true;
+		}
+		checkConditionNotNull(condition);
+		if (!condition.isSatisfiedBy(object)) {
+			throw new IllegalStateException(failureMessage(objectName, object, condition));
+		}
+		return true;
 	}
 
 	/**
@@ -164,7 +209,19 @@ public final class ValidateUtils {
 	 * @return true if the object is valid, false otherwise
 	 */
 	public static <T> boolean validateState(final String objectName, final T object, Condition condition, Condition... otherConditions) {
-		return validate(objectName, object, new StateValidationStrategy<T>(new ListBuilder<Condition>().add(condition).addAll(otherConditions).newImmutableInstance()));
+		if (!VALIDATION_ENABLED) {
+			return true;
+		}
+		checkConditionsNotNull(condition, otherConditions);
+		if (!condition.isSatisfiedBy(object)) {
+			throw new IllegalStateException(failureMessage(objectName, object, condition));
+		}
+		for (Condition otherCondition : otherConditions) {
+			if (!otherCondition.isSatisfiedBy(object)) {
+				throw new IllegalStateException(failureMessage(objectName, object, otherCondition));
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -181,6 +238,9 @@ public final class ValidateUtils {
 	 *         the given object is valid, false otherwise
 	 */
 	public static <T> boolean validateState(final String objectName, final T object, final StateValidationStrategy<T> validationStrategy) {
+		if (!VALIDATION_ENABLED) {
+			return true;
+		}
 		return validate(objectName, object, validationStrategy);
 	}
 
@@ -925,6 +985,51 @@ public final class ValidateUtils {
 		return new IsInRangeCondition(range);
 	}
 
+	/**
+	 * Ensures that the given condition is not null, as the validation
+	 * strategies do for their condition lists.
+	 * 
+	 * @param condition
+	 *            the condition to check
+	 */
+	private static void checkConditionNotNull(final Condition condition) {
+		if (condition == null) {
+			throw new IllegalArgumentException("conditions: must not contain null condition");
+		}
+	}
+
+	/**
+	 * Ensures that none of the given conditions is null before any of them is
+	 * evaluated.
+	 * 
+	 * @param condition
+	 *            the first condition to check
+	 * @param otherConditions
+	 *            the other conditions to check
+	 */
+	private static void checkConditionsNotNull(final Condition condition, final Condition... otherConditions) {
+		checkConditionNotNull(condition);
+		for (Condition otherCondition : otherConditions) {
+			checkConditionNotNull(otherCondition);
+		}
+	}
+
+	/**
+	 * Returns the message reported when the given object fails the given
+	 * condition, matching the validation strategies.
+	 * 
+	 * @param objectName
+	 *            the name of the object that failed validation
+	 * @param object
+	 *            the object that failed validation
+	 * @param condition
+	 *            the condition that was not satisfied
+	 * @return the failure message
+	 */
+	private static String failureMessage(final String objectName, final Object object, final Condition condition) {
+		return String.format("%s (%s): %s", objectName, object, condition);
+	}
+
 	/** Creates new argument validation utilities. */
 	private ValidateUtils() {}
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import java.util.Random;
+
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Compares the cost of drawing random doubles from a single shared
+ * {@link Random}, as {@link RandomUtil} used to, against drawing them through
+ * {@link RandomUtil}'s per-thread {@link SplitRandom} streams, as the number
+ * of concurrently drawing threads grows.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class RandomUtilBenchmark {
+	/** number of values drawn per operation */
+	private static final int	DRAWS	= 1000;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(RandomUtilBenchmark.class.getSimpleName(), 1000);
+		final Random shared = new Random(17l);
+		Operation sharedOperation = new Operation() {
+			@Override
+			public long execute() {
+				double sum = 0.0;
+				for (int i = 0; i < DRAWS; i++) {
+					sum += shared.nextDouble();
+				}
+				return Double.doubleToRawLongBits(sum);
+			}
+		};
+		Operation streamOperation = new Operation() {
+			@Override
+			public long execute() {
+				double sum = 0.0;
+				for (int i = 0; i < DRAWS; i++) {
+					sum += RandomUtil.nextDouble();
+				}
+				return Double.doubleToRawLongBits(sum);
+			}
+		};
+		for (int threadCount : new int[] { 1, 2, 4, 8 }) {
+			benchmark.measure("sharedRandom", threadCount, sharedOperation);
+			benchmark.measure("RandomUtil", threadCount, streamOperation);
+		}
+		System.out.println(benchmark.getSink());
+	}
+
+	private RandomUtilBenchmark() {}
+}
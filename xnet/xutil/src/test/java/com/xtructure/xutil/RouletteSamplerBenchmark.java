@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Compares the cost of a roulette selection via
+ * {@link RandomUtil#rouletteSelect(int, double[])} against one via a
+ * {@link RouletteSampler}, including the cost of building the sampler once per
+ * population, for population sizes from 10k to 1M.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class RouletteSamplerBenchmark {
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		long sink = 0l;
+		for (int size : new int[] { 10000, 100000, 1000000 }) {
+			final double[] weights = new double[size];
+			for (int i = 0; i < size; i++) {
+				weights[i] = RandomUtil.nextDouble();
+			}
+			final double[] normalizedWeights = weights.clone();
+			RandomUtil.normalizeWeights(normalizedWeights);
+			MicroBenchmark benchmark = new MicroBenchmark(RouletteSamplerBenchmark.class.getSimpleName(), 100);
+			benchmark.measure(String.format("rouletteSelect[size=%d]", size), new Operation() {
+				private int	index	= 0;
+
+				@Override
+				public long execute() {
+					return index = RandomUtil.rouletteSelect(index, normalizedWeights);
+				}
+			});
+			final RouletteSampler sampler = new RouletteSampler(weights);
+			benchmark.measure(String.format("RouletteSampler.select[size=%d]", size), new Operation() {
+				@Override
+				public long execute() {
+					return sampler.select();
+				}
+			});
+			// a generation's worth of selections, including building the sampler
+			MicroBenchmark generationBenchmark = new MicroBenchmark(RouletteSamplerBenchmark.class.getSimpleName(), 1);
+			generationBenchmark.measure(String.format("RouletteSampler.generation[size=%d]", size), new Operation() {
+				@Override
+				public long execute() {
+					RouletteSampler sampler = new RouletteSampler(weights);
+					long sum = 0l;
+					for (int i = 0; i < weights.length; i++) {
+						sum += sampler.select();
+					}
+					return sum;
+				}
+			});
+			sink += benchmark.getSink() + generationBenchmark.getSink();
+		}
+		System.out.println(sink);
+	}
+
+	private RouletteSamplerBenchmark() {}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.testng.annotations.Test;
+
+@Test(groups = { "unit:xutil" })
+public final class UTestDaemonExecutors {
+	public void newFixedThreadPoolReturnsExpectedPool() {
+		ThreadPoolExecutor executor = DaemonExecutors.newFixedThreadPool("test", 3);
+		try {
+			assertThat("",//
+					executor.getCorePoolSize(), isEqualTo(3));
+			assertThat("",//
+					executor.getMaximumPoolSize(), isEqualTo(3));
+			assertThat("",//
+					executor.allowsCoreThreadTimeOut(), isTrue());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	public void poolThreadsAreNamedDaemons() throws InterruptedException, ExecutionException {
+		ThreadPoolExecutor executor = DaemonExecutors.newFixedThreadPool("test", 1);
+		try {
+			Thread thread = executor.submit(new Callable<Thread>() {
+				@Override
+				public Thread call() {
+					return Thread.currentThread();
+				}
+			}).get();
+			assertThat("",//
+					thread.isDaemon(), isTrue());
+			assertThat("",//
+					thread.getName().startsWith("test-"), isTrue());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void newFixedThreadPoolWithNonPositiveThreadCountThrowsException() {
+		DaemonExecutors.newFixedThreadPool("test", 0);
+	}
+}
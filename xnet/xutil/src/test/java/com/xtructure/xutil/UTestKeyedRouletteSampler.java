@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isLessThan;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+@Test(groups = { "unit:xutil" })
+public class UTestKeyedRouletteSampler {
+	public void constructorBehavesAsExpected() {
+		try {
+			new KeyedRouletteSampler<String>(null);
+			throw new AssertionError();
+		} catch (IllegalArgumentException e) {}
+		Map<String, Integer> weights = new HashMap<String, Integer>();
+		weights.put("a", 1);
+		weights.put("b", 3);
+		assertThat("",//
+				new KeyedRouletteSampler<String>(weights).size(), isEqualTo(2));
+	}
+
+	public void selectIsProportionalToWeights() {
+		Map<String, Integer> weights = new HashMap<String, Integer>();
+		weights.put("a", 1);
+		weights.put("b", 0);
+		weights.put("c", 3);
+		KeyedRouletteSampler<String> sampler = new KeyedRouletteSampler<String>(weights);
+		Map<String, Integer> counts = new HashMap<String, Integer>();
+		for (String key : weights.keySet()) {
+			counts.put(key, 0);
+		}
+		int selections = 40000;
+		for (int i = 0; i < selections; i++) {
+			String key = sampler.select();
+			counts.put(key, counts.get(key) + 1);
+		}
+		assertThat("",//
+				counts.get("b"), isEqualTo(0));
+		assertThat("",//
+				Math.abs(counts.get("a") - selections / 4.0), isLessThan(0.05 * selections / 4.0));
+		assertThat("",//
+				Math.abs(counts.get("c") - 3.0 * selections / 4.0), isLessThan(0.05 * 3.0 * selections / 4.0));
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+@Test(groups = { "unit:xutil" })
+public class UTestRandomUtil {
+	@AfterMethod
+	public void clearThreadSeed() {
+		RandomUtil.clearThreadSeed();
+	}
+
+	public void setSeedRestartsSequenceOfCallingThread() {
+		RandomUtil.setSeed(17l);
+		List<Double> expected = nextDoubles(10);
+		RandomUtil.setSeed(17l);
+		assertThat("",//
+				nextDoubles(10), isEqualTo(expected));
+	}
+
+	public void setSeedRestartsSequenceOfOtherThreads() throws InterruptedException {
+		RandomUtil.setSeed(17l);
+		final List<List<Double>> expected = new ArrayList<List<Double>>();
+		runOnNewThread(new Runnable() {
+			@Override
+			public void run() {
+				expected.add(nextDoubles(10));
+			}
+		});
+		RandomUtil.setSeed(17l);
+		final List<List<Double>> actual = new ArrayList<List<Double>>();
+		runOnNewThread(new Runnable() {
+			@Override
+			public void run() {
+				actual.add(nextDoubles(10));
+			}
+		});
+		assertThat("",//
+				actual, isEqualTo(expected));
+	}
+
+	public void setThreadSeedOverridesSetSeed() throws InterruptedException {
+		RandomUtil.setThreadSeed(17l);
+		List<Double> expected = nextDoubles(10);
+		RandomUtil.clearThreadSeed();
+		RandomUtil.setSeed(23l);
+		RandomUtil.setThreadSeed(17l);
+		assertThat("",//
+				nextDoubles(10), isEqualTo(expected));
+		final List<List<Double>> actual = new ArrayList<List<Double>>();
+		runOnNewThread(new Runnable() {
+			@Override
+			public void run() {
+				RandomUtil.setThreadSeed(17l);
+				actual.add(nextDoubles(10));
+			}
+		});
+		assertThat("",//
+				actual.get(0), isEqualTo(expected));
+	}
+
+	public void clearThreadSeedRestoresRootStream() {
+		RandomUtil.setSeed(17l);
+		List<Double> expected = nextDoubles(10);
+		RandomUtil.setSeed(17l);
+		RandomUtil.setThreadSeed(23l);
+		nextDoubles(10);
+		RandomUtil.clearThreadSeed();
+		assertThat("",//
+				nextDoubles(10), isEqualTo(expected));
+	}
+
+	public void clearThreadSeedResumesPreviousStream() throws InterruptedException {
+		RandomUtil.setSeed(17l);
+		nextDoubles(5);
+		List<Double> expected = nextDoubles(10);
+		RandomUtil.setSeed(17l);
+		nextDoubles(5);
+		RandomUtil.setThreadSeed(23l);
+		nextDoubles(10);
+		runOnNewThread(new Runnable() {
+			@Override
+			public void run() {
+				nextDoubles(10);
+			}
+		});
+		RandomUtil.clearThreadSeed();
+		assertThat("",//
+				nextDoubles(10), isEqualTo(expected));
+	}
+
+	public void clearThreadSeedResumesOuterThreadSeed() {
+		RandomUtil.setThreadSeed(17l);
+		List<Double> expected = nextDoubles(10);
+		RandomUtil.clearThreadSeed();
+		RandomUtil.setThreadSeed(17l);
+		List<Double> actual = nextDoubles(5);
+		RandomUtil.setThreadSeed(23l);
+		nextDoubles(10);
+		RandomUtil.clearThreadSeed();
+		actual.addAll(nextDoubles(5));
+		assertThat("",//
+				actual, isEqualTo(expected));
+	}
+
+	public void splitReturnsReproducibleGenerators() {
+		RandomUtil.setThreadSeed(17l);
+		SplitRandom expected = RandomUtil.split();
+		RandomUtil.clearThreadSeed();
+		RandomUtil.setThreadSeed(17l);
+		SplitRandom actual = RandomUtil.split();
+		assertThat("",//
+				actual, isNotNull());
+		assertThat("",//
+				actual.nextLong(), isEqualTo(expected.nextLong()));
+	}
+
+	private static List<Double> nextDoubles(int count) {
+		List<Double> values = new ArrayList<Double>();
+		for (int i = 0; i < count; i++) {
+			values.add(RandomUtil.nextDouble());
+		}
+		return values;
+	}
+
+	private static void runOnNewThread(Runnable runnable) throws InterruptedException {
+		Thread thread = new Thread(runnable);
+		thread.start();
+		thread.join();
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThan;
+import static com.xtructure.xutil.valid.ValidateUtils.isLessThanOrEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+
+import org.testng.annotations.Test;
+
+@Test(groups = { "unit:xutil" })
+public class UTestRouletteSampler {
+	private static final int	SELECTIONS	= 100000;
+	private static final double	SIGMAS		= 5.0;
+
+	public void constructorBehavesAsExpected() {
+		try {
+			new RouletteSampler(null);
+			throw new AssertionError();
+		} catch (IllegalArgumentException e) {}
+		RouletteSampler sampler = new RouletteSampler(new double[] { 1.0, 2.0 });
+		assertThat("",//
+				sampler.size(), isEqualTo(2));
+		assertThat("",//
+				sampler.isUniform(), isFalse());
+		assertThat("",//
+				new RouletteSampler(new double[] { 0.0, 0.0 }).isUniform(), isTrue());
+		assertThat("",//
+				new RouletteSampler(new double[] { 1.0, -1.0 }).isUniform(), isTrue());
+	}
+
+	public void selectOnEmptySamplerThrowsException() {
+		try {
+			new RouletteSampler(new double[0]).select();
+			throw new AssertionError();
+		} catch (IllegalStateException e) {}
+	}
+
+	public void selectIsProportionalToWeights() {
+		double[] weights = new double[] { 0.0, 1.0, 0.0, 2.0, 5.0, 0.0 };
+		assertMatchesWeights(count(new RouletteSampler(weights), weights.length), weights);
+	}
+
+	public void selectMatchesRouletteSelect() {
+		double[] weights = new double[] { 3.0, 1.0, 4.0, 1.0, 5.0 };
+		double[] normalizedWeights = weights.clone();
+		RandomUtil.normalizeWeights(normalizedWeights);
+		int[] rouletteCounts = new int[weights.length];
+		int index = 0;
+		for (int i = 0; i < SELECTIONS; i++) {
+			index = RandomUtil.rouletteSelect(index, normalizedWeights);
+			rouletteCounts[index]++;
+		}
+		assertMatchesWeights(rouletteCounts, weights);
+		assertMatchesWeights(count(new RouletteSampler(weights), weights.length), weights);
+	}
+
+	public void selectIsUniformForInvalidWeights() {
+		for (double[] weights : new double[][] { { 0.0, 0.0, 0.0, 0.0 }, { 1.0, -1.0, 2.0, 0.0 } }) {
+			int[] counts = count(new RouletteSampler(weights), weights.length);
+			for (int count : counts) {
+				assertThat("",//
+						count, isGreaterThan(0));
+			}
+		}
+	}
+
+	/**
+	 * Asserts that each count lies within {@link #SIGMAS} standard deviations
+	 * of its binomial expectation {@code SELECTIONS * w_i / sum(w)}.
+	 */
+	private static void assertMatchesWeights(int[] counts, double[] weights) {
+		double sum = 0.0;
+		for (double weight : weights) {
+			sum += weight;
+		}
+		for (int i = 0; i < weights.length; i++) {
+			double p = weights[i] / sum;
+			double expected = SELECTIONS * p;
+			double sigma = Math.sqrt(SELECTIONS * p * (1.0 - p));
+			assertThat("",//
+					Math.abs(counts[i] - expected), isLessThanOrEqualTo(SIGMAS * sigma));
+		}
+	}
+
+	private static int[] count(RouletteSampler sampler, int size) {
+		int[] counts = new int[size];
+		for (int i = 0; i < SELECTIONS; i++) {
+			counts[sampler.select()]++;
+		}
+		return counts;
+	}
+}
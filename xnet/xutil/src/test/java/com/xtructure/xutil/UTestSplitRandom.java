@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThanOrEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isLessThan;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+
+import org.testng.annotations.Test;
+
+@Test(groups = { "unit:xutil" })
+public class UTestSplitRandom {
+	public void generatorsWithEqualSeedsGenerateEqualValues() {
+		SplitRandom random1 = new SplitRandom(17l);
+		SplitRandom random2 = new SplitRandom(17l);
+		for (int i = 0; i < 100; i++) {
+			assertThat("",//
+					random1.nextLong(), isEqualTo(random2.nextLong()));
+		}
+	}
+
+	public void setSeedRestartsSequence() {
+		SplitRandom random = new SplitRandom(17l);
+		long[] expected = new long[10];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = random.nextLong();
+		}
+		random.nextGaussian();
+		random.setSeed(17l);
+		for (int i = 0; i < expected.length; i++) {
+			assertThat("",//
+					random.nextLong(), isEqualTo(expected[i]));
+		}
+	}
+
+	public void splitIsReproducibleAndIndependent() {
+		SplitRandom parent1 = new SplitRandom(17l);
+		SplitRandom parent2 = new SplitRandom(17l);
+		SplitRandom child1 = parent1.split();
+		SplitRandom child2 = parent2.split();
+		SplitRandom sibling = parent1.split();
+		int collisions = 0;
+		for (int i = 0; i < 100; i++) {
+			long value = child1.nextLong();
+			assertThat("",//
+					value, isEqualTo(child2.nextLong()));
+			if (value == sibling.nextLong() || value == parent1.nextLong()) {
+				collisions++;
+			}
+		}
+		assertThat("",//
+				collisions, isEqualTo(0));
+	}
+
+	public void nextDoubleAndNextIntegerAreWithinRange() {
+		SplitRandom random = new SplitRandom(17l);
+		boolean[] seen = new boolean[10];
+		for (int i = 0; i < 1000; i++) {
+			double d = random.nextDouble();
+			assertThat("",//
+					d, isGreaterThanOrEqualTo(0.0), isLessThan(1.0));
+			int n = random.nextInt(seen.length);
+			assertThat("",//
+					n, isGreaterThanOrEqualTo(0), isLessThan(seen.length));
+			seen[n] = true;
+		}
+		for (boolean b : seen) {
+			assertThat("",//
+					b, isTrue());
+		}
+	}
+}
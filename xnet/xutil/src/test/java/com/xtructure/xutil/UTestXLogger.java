@@ -22,6 +22,14 @@
 
 package com.xtructure.xutil;
 
+import static com.xtructure.xutil.valid.ValidateUtils.*;
+
+import java.io.StringWriter;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.SimpleLayout;
+import org.apache.log4j.WriterAppender;
 import org.testng.annotations.Test;
 
 /**
@@ -765,4 +773,73 @@ public final class UTestXLogger
 //        final String logCapture = getLoggingCapture();
 //        return Pattern.compile(regex).matcher(logCapture).find();
 //    }
+
+    /** Checks that trace output is gated by {@link XLogger#TRACE_ENABLED}. */
+    public final void isTraceEnabledFollowsTraceSwitch()
+    {
+        final XLogger logger = XLogger
+            .getInstance("isTraceEnabledFollowsTraceSwitch");
+        logger.setLevel(Level.TRACE);
+        assertThat("", //
+            logger.isTraceEnabled(), isEqualTo(XLogger.TRACE_ENABLED));
+        logger.setLevel(Level.DEBUG);
+        assertThat("", //
+            logger.isTraceEnabled(), isFalse());
+    }
+
+    /** Checks that the fixed-arity overloads format like the varargs form. */
+    public final void fixedArityDebugMatchesVarargsDebug()
+    {
+        final XLogger logger = XLogger
+            .getInstance("fixedArityDebugMatchesVarargsDebug");
+        final StringWriter fixed = new StringWriter();
+        final StringWriter varargs = new StringWriter();
+        logger.setAdditivity(false);
+        logger.setLevel(Level.DEBUG);
+
+        logger.addAppender(new WriterAppender(new SimpleLayout(), fixed));
+        logger.debug("none");
+        logger.debug("%s", "one");
+        logger.debug("%s %s", "one", 2);
+        logger.debug("%s %s %s", "one", 2, 3.0);
+        logger.debug("%b", true);
+        logger.debug("%d", 1);
+        logger.debug("%d", 2L);
+        logger.debug("%f", 3.0f);
+        logger.debug("%f", 4.0);
+        logger.debug("%s %d", "five", 5);
+        logger.removeAllAppenders();
+
+        logger.addAppender(new WriterAppender(new SimpleLayout(), varargs));
+        logger.debug("none", new Object[] {});
+        logger.debug("%s", new Object[] { "one" });
+        logger.debug("%s %s", new Object[] { "one", 2 });
+        logger.debug("%s %s %s", new Object[] { "one", 2, 3.0 });
+        logger.debug("%b", new Object[] { true });
+        logger.debug("%d", new Object[] { 1 });
+        logger.debug("%d", new Object[] { 2L });
+        logger.debug("%f", new Object[] { 3.0f });
+        logger.debug("%f", new Object[] { 4.0 });
+        logger.debug("%s %d", new Object[] { "five", 5 });
+        logger.removeAllAppenders();
+
+        assertThat("", //
+            fixed.toString(), isEqualTo(varargs.toString()));
+        assertThat("", //
+            fixed.toString().contains("DEBUG - one 2 3.0"), isTrue());
+    }
+
+    /** Checks that repeated lookups share the handle log4j created. */
+    public final void getInstanceReturnsCachedHandle()
+    {
+        final XLogger logger = XLogger.getInstance(UTestXLogger.class);
+        assertThat("", //
+            XLogger.getInstance(UTestXLogger.class), isSameAs(logger));
+        assertThat("", //
+            XLogger.getInstance(UTestXLogger.class.getName()),
+            isSameAs(logger));
+        assertThat("", //
+            LogManager.getLogger(UTestXLogger.class.getName()),
+            isSameAs(logger));
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil;
+
+import org.apache.log4j.Level;
+
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Measures the cost of disabled trace statements in the shape used along the
+ * simulation hot paths: the former unguarded varargs call, which boxes its
+ * arguments and builds the class name before the level check, against the
+ * fixed-arity overloads and the guarded form. The cost of the trace
+ * statements in the network step loop itself is measured by xneat's
+ * NetworkTraceBenchmark.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class XLoggerBenchmark {
+	/** number of trace statements per iteration */
+	private static final int		CALLS	= 100000;
+
+	/** the logger, with trace disabled */
+	private static final XLogger	LOGGER	= XLogger.getInstance(XLoggerBenchmark.class);
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		LOGGER.setLevel(Level.INFO);
+		MicroBenchmark benchmark = new MicroBenchmark(XLoggerBenchmark.class.getSimpleName(), CALLS);
+		benchmark.measure("varargs", new Operation() {
+			@Override
+			public long execute() {
+				double signal = 0.0;
+				for (int i = 0; i < CALLS; i++) {
+					signal += i;
+					LOGGER.trace("begin %s.setSignal(%f)", new Object[] { getClass().getSimpleName(), signal });
+				}
+				return (long) signal;
+			}
+		});
+		benchmark.measure("fixedArity", new Operation() {
+			@Override
+			public long execute() {
+				double signal = 0.0;
+				for (int i = 0; i < CALLS; i++) {
+					signal += i;
+					LOGGER.trace("begin %s.setSignal(%f)", getClass().getSimpleName(), signal);
+				}
+				return (long) signal;
+			}
+		});
+		benchmark.measure("guarded", new Operation() {
+			@Override
+			public long execute() {
+				double signal = 0.0;
+				for (int i = 0; i < CALLS; i++) {
+					signal += i;
+					if (LOGGER.isTraceEnabled()) {
+						LOGGER.trace("begin %s.setSignal(%f)", getClass().getSimpleName(), signal);
+					}
+				}
+				return (long) signal;
+			}
+		});
+		System.out.println(benchmark.getSink());
+	}
+
+	private XLoggerBenchmark() {}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import java.io.IOException;
+
+import com.xtructure.xutil.ValueMap;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.id.XValId;
+
+final class Dummy {
+	public static final XValId<Double>	DOUBLE_ID		= XValId.newId("double", Double.class);
+	public static final XValId<String>	STRING_ID		= XValId.newId("string", String.class);
+	public static final BinaryFormat<Dummy>	BINARY_FORMAT	= new DummyBinaryFormat();
+
+	final XId							id;
+	final String						name;
+	final ValueMap						values;
+
+	public Dummy(XId id, String name) {
+		this.id = id;
+		this.name = name;
+		this.values = new ValueMap();
+	}
+
+	private static final class DummyBinaryFormat extends BinaryFormat<Dummy> {
+		private DummyBinaryFormat() {
+			super(Dummy.class);
+		}
+
+		@Override
+		public void write(Dummy obj, BinaryOutput out) throws IOException {
+			out.writeXId(obj.id);
+			out.writeString(obj.name);
+			out.writeValueMap(obj.values);
+		}
+
+		@Override
+		public Dummy read(BinaryInput in) throws IOException {
+			Dummy dummy = new Dummy(in.readXId(), in.readString());
+			dummy.values.setAll(in.readValueMap());
+			return dummy;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
+
+import java.io.IOException;
+
+import org.testng.annotations.Test;
+
+@Test(groups = { "unit:xutil" })
+public final class UTestBinaryFormat {
+	public void getInstanceReturnsRegisteredFormat() throws IOException {
+		assertThat("",//
+				BinaryFormat.getInstance(Dummy.class), isSameAs(Dummy.BINARY_FORMAT));
+		assertThat("",//
+				BinaryFormat.getInstance(Dummy.class.getName()), isSameAs(Dummy.BINARY_FORMAT));
+	}
+
+	public void getTypeReturnsExpectedClass() {
+		assertThat("",//
+				Dummy.BINARY_FORMAT.getType(), isEqualTo(Dummy.class));
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void getInstanceOfClassWithoutFormatThrowsException() throws IOException {
+		BinaryFormat.getInstance(Object.class);
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void getInstanceOfUnknownClassThrowsException() throws IOException {
+		BinaryFormat.getInstance("com.xtructure.xutil.bin.NoSuchClass");
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.testng.annotations.Test;
+
+import com.xtructure.xutil.ValueMap;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.id.XValId;
+
+@Test(groups = { "unit:xutil" })
+public final class UTestBinaryInput {
+	private static final int[]	INTS	= { 0, 1, -1, 63, -64, 127, 128, 300, Integer.MAX_VALUE, Integer.MIN_VALUE };
+	private static final long[]	LONGS	= { 0l, -1l, 1234567890123l, Long.MAX_VALUE, Long.MIN_VALUE };
+
+	public void readIntsReturnsWrittenInts() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryOutput out = new BinaryOutput(bytes);
+		for (int i : INTS) {
+			out.writeVarInt(i);
+			out.writeSignedVarInt(i);
+			out.writeDelta("channel", i);
+			out.writeInt(i);
+		}
+		out.flush();
+		BinaryInput in = new BinaryInput(new ByteArrayInputStream(bytes.toByteArray()));
+		for (int i : INTS) {
+			assertThat("",//
+					in.readVarInt(), isEqualTo(i));
+			assertThat("",//
+					in.readSignedVarInt(), isEqualTo(i));
+			assertThat("",//
+					in.readDelta("channel"), isEqualTo(i));
+			assertThat("",//
+					in.readInt(), isEqualTo(i));
+		}
+	}
+
+	public void readLongsReturnsWrittenLongs() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryOutput out = new BinaryOutput(bytes);
+		for (long l : LONGS) {
+			out.writeVarLong(l);
+			out.writeSignedVarLong(l);
+		}
+		out.flush();
+		BinaryInput in = new BinaryInput(new ByteArrayInputStream(bytes.toByteArray()));
+		for (long l : LONGS) {
+			assertThat("",//
+					in.readVarLong(), isEqualTo(l));
+			assertThat("",//
+					in.readSignedVarLong(), isEqualTo(l));
+		}
+	}
+
+	public void readStringsAndIdsReturnsWrittenStringsAndIds() throws IOException {
+		XId id = XId.newId("id", 3, -4);
+		XValId<Double> valueId = XValId.newId("value", Double.class);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryOutput out = new BinaryOutput(bytes);
+		out.writeString("string");
+		out.writeString(null);
+		out.writeString("\u00e9t\u00e9");
+		out.writeString("string");
+		out.writeXId(id);
+		out.writeXId(null);
+		out.writeXValId(valueId);
+		out.writeXValId(valueId);
+		out.flush();
+		BinaryInput in = new BinaryInput(new ByteArrayInputStream(bytes.toByteArray()));
+		assertThat("",//
+				in.readString(), isEqualTo("string"));
+		assertThat("",//
+				in.readString(), isNull());
+		assertThat("",//
+				in.readString(), isEqualTo("\u00e9t\u00e9"));
+		assertThat("",//
+				in.readString(), isEqualTo("string"));
+		assertThat("",//
+				in.readXId(), isEqualTo(id));
+		assertThat("",//
+				in.readXId(), isNull());
+		XValId<?> readValueId = in.readXValId();
+		assertThat("",//
+				readValueId, isEqualTo(valueId));
+		assertThat("",//
+				readValueId.getType(), isSameAs(Double.class));
+		assertThat("",//
+				in.readXValId(), isSameAs(readValueId));
+	}
+
+	public void readValueMapReturnsEqualValueMap() throws IOException {
+		ValueMap valueMap = new ValueMap();
+		valueMap.set(XValId.newId("double", Double.class), 1.5);
+		valueMap.set(XValId.newId("float", Float.class), 2.5f);
+		valueMap.set(XValId.newId("long", Long.class), -3l);
+		valueMap.set(XValId.newId("integer", Integer.class), 4);
+		valueMap.set(XValId.newId("short", Short.class), (short) -5);
+		valueMap.set(XValId.newId("byte", Byte.class), (byte) 6);
+		valueMap.set(XValId.newId("string", String.class), "seven");
+		valueMap.set(XValId.newId("boolean", Boolean.class), true);
+		valueMap.set(XValId.newId("xid", XId.class), XId.newId("nine", 9));
+		valueMap.set(XValId.newId("null", Double.class), null);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryOutput out = new BinaryOutput(bytes);
+		out.writeValueMap(valueMap);
+		out.writeValueMap(valueMap);
+		out.flush();
+		BinaryInput in = new BinaryInput(new ByteArrayInputStream(bytes.toByteArray()));
+		assertThat("",//
+				in.readValueMap(), isEqualTo(valueMap));
+		assertThat("",//
+				in.readValueMap(), isEqualTo(valueMap));
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void readVarIntWithMalformedIntThrowsException() throws IOException {
+		byte[] bytes = { (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80 };
+		new BinaryInput(new ByteArrayInputStream(bytes)).readVarInt();
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void readStringWithUnknownReferenceThrowsException() throws IOException {
+		byte[] bytes = { 5 };
+		new BinaryInput(new ByteArrayInputStream(bytes)).readString();
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.testng.annotations.Test;
+
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.id.XValId;
+
+@Test(groups = { "unit:xutil" })
+public final class UTestBinaryOutput {
+	public void writeVarIntUsesOneByteBelow128() throws IOException {
+		assertThat("",//
+				varIntLength(0), isEqualTo(1));
+		assertThat("",//
+				varIntLength(127), isEqualTo(1));
+		assertThat("",//
+				varIntLength(128), isEqualTo(2));
+		assertThat("",//
+				varIntLength(-1), isEqualTo(5));
+	}
+
+	public void writeSignedVarIntUsesOneByteForSmallMagnitudes() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryOutput out = new BinaryOutput(bytes);
+		out.writeSignedVarInt(-64);
+		out.writeSignedVarInt(63);
+		out.flush();
+		assertThat("",//
+				bytes.size(), isEqualTo(2));
+	}
+
+	public void writeDeltaWritesDifferenceFromPreviousValueOnChannel() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryOutput out = new BinaryOutput(bytes);
+		out.writeDelta("a", 1000000);
+		out.flush();
+		int first = bytes.size();
+		out.writeDelta("a", 1000001);
+		out.writeDelta("b", 1);
+		out.flush();
+		assertThat("",//
+				bytes.size() - first, isEqualTo(2));
+	}
+
+	public void writeStringWritesRepeatedStringsAsReferences() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryOutput out = new BinaryOutput(bytes);
+		out.writeString("a long string written more than once");
+		out.flush();
+		int first = bytes.size();
+		out.writeString("a long string written more than once");
+		out.flush();
+		assertThat("",//
+				bytes.size() - first, isEqualTo(1));
+	}
+
+	public void writeXValIdWritesRepeatedIdsAsReferences() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryOutput out = new BinaryOutput(bytes);
+		out.writeXValId(XValId.newId("id", Double.class));
+		out.flush();
+		int first = bytes.size();
+		out.writeXValId(XValId.newId("id", Double.class));
+		out.flush();
+		assertThat("",//
+				bytes.size() - first, isEqualTo(1));
+	}
+
+	public void writeXIdWritesBaseAndInstanceNumbers() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryOutput out = new BinaryOutput(bytes);
+		out.writeXId(XId.newId("id", 1, 2));
+		out.flush();
+		// tag, length and "id", count, then one byte per instance number
+		assertThat("",//
+				bytes.size(), isEqualTo(7));
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void writeObjectWithoutFormatThrowsException() throws IOException {
+		new BinaryOutput(new ByteArrayOutputStream()).writeObject(new Object());
+	}
+
+	private static int varIntLength(int value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryOutput out = new BinaryOutput(bytes);
+		out.writeVarInt(value);
+		out.flush();
+		return bytes.size();
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+import org.testng.annotations.Test;
+
+import com.xtructure.xutil.id.XId;
+
+@Test(groups = { "unit:xutil" })
+public final class UTestBinaryReader {
+	public void readReturnsWrittenObject() throws IOException {
+		Dummy dummy = new Dummy(XId.newId("dummy", 1), "name");
+		dummy.values.set(Dummy.DOUBLE_ID, 1.0);
+		dummy.values.set(Dummy.STRING_ID, "value");
+		for (boolean compress : new boolean[] { false, true }) {
+			byte[] bytes = BinaryWriter.write(dummy, compress);
+			assertRead(dummy, BinaryReader.<Dummy> read(bytes));
+			assertRead(dummy, BinaryReader.<Dummy> read(new ByteArrayInputStream(bytes)));
+			File file = new File(UUID.randomUUID().toString());
+			try {
+				BinaryWriter.write(file, dummy, compress);
+				assertRead(dummy, BinaryReader.<Dummy> read(file));
+			} finally {
+				file.delete();
+			}
+		}
+	}
+
+	public void readWithDefaultReturnsDefaultOnFailure() {
+		Dummy defaultValue = new Dummy(null, null);
+		byte[] bytes = { 1, 2, 3, 4, 5 };
+		assertThat("",//
+				BinaryReader.read(bytes, defaultValue), isSameAs(defaultValue));
+		assertThat("",//
+				BinaryReader.read(new ByteArrayInputStream(bytes), defaultValue), isSameAs(defaultValue));
+	}
+
+	public void isBinaryRecognizesUncompressedRepresentation() throws IOException {
+		Dummy dummy = new Dummy(XId.newId("dummy", 1), "name");
+		assertThat("",//
+				BinaryReader.isBinary(BinaryWriter.write(dummy, false)), isTrue());
+		assertThat("",//
+				BinaryReader.isBinary(BinaryWriter.write(dummy, true)), isFalse());
+		assertThat("",//
+				BinaryReader.isBinary("<?xml version=\"1.0\" ?>".getBytes("UTF-8")), isFalse());
+		assertThat("",//
+				BinaryReader.isBinary(new byte[] { 0x58, 0x42 }), isFalse());
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void readWithoutMagicThrowsException() throws IOException {
+		BinaryReader.read("<?xml version=\"1.0\" ?>".getBytes("UTF-8"));
+	}
+
+	@Test(expectedExceptions = { IOException.class })
+	public void readTruncatedObjectThrowsException() throws IOException {
+		byte[] bytes = BinaryWriter.write(new Dummy(XId.newId("dummy", 1), "name"));
+		byte[] truncated = new byte[bytes.length - 1];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+		BinaryReader.read(truncated);
+	}
+
+	private static void assertRead(Dummy expected, Dummy read) {
+		assertThat("",//
+				read.id, isEqualTo(expected.id));
+		assertThat("",//
+				read.name, isEqualTo(expected.name));
+		assertThat("",//
+				read.values, isEqualTo(expected.values));
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.bin;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isLessThan;
+import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.testng.annotations.Test;
+
+import com.xtructure.xutil.id.XId;
+
+@Test(groups = { "unit:xutil" })
+public final class UTestBinaryWriter {
+	public void writeObjectSucceeds() throws IOException {
+		Dummy dummy = new Dummy(XId.newId("dummy", 1), "name");
+		byte[] bytes = BinaryWriter.write(dummy);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryWriter.write(out, dummy);
+		assertThat("",//
+				Arrays.equals(out.toByteArray(), bytes), isTrue());
+		File file = new File(UUID.randomUUID().toString());
+		try {
+			BinaryWriter.write(file, dummy);
+			assertThat("",//
+					file.length(), isEqualTo((long) bytes.length));
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void writeObjectBeginsWithMagic() throws IOException {
+		byte[] bytes = BinaryWriter.write(new Dummy(XId.newId("dummy", 1), "name"));
+		int magic = ((bytes[0] & 0xff) << 24) | ((bytes[1] & 0xff) << 16) | ((bytes[2] & 0xff) << 8) | (bytes[3] & 0xff);
+		assertThat("",//
+				magic, isEqualTo(BinaryWriter.MAGIC));
+	}
+
+	public void writeCompressedObjectIsGzipped() throws IOException {
+		StringBuilder name = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			name.append("name");
+		}
+		Dummy dummy = new Dummy(XId.newId("dummy", 1), name.toString());
+		byte[] bytes = BinaryWriter.write(dummy, true);
+		assertThat("",//
+				bytes[0] & 0xff, isEqualTo(0x1f));
+		assertThat("",//
+				bytes[1] & 0xff, isEqualTo(0x8b));
+		assertThat("",//
+				bytes.length, isLessThan(BinaryWriter.write(dummy).length));
+	}
+}
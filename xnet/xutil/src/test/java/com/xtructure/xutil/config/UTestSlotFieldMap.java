@@ -0,0 +1,197 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.config;
+
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.testng.annotations.Test;
+
+import com.xtructure.xutil.Range;
+import com.xtructure.xutil.config.FieldMapLayout.SlotType;
+import com.xtructure.xutil.id.XId;
+import com.xtructure.xutil.id.XValId;
+
+/**
+ * @author Luis Guimbarda
+ * 
+ */
+@Test(groups = { "unit:xutil" })
+public class UTestSlotFieldMap {
+	private static final XValId<Float>		FLOAT_ID			= XValId.newId("float", Float.class);
+	private static final XValId<Double>		DOUBLE_ID			= XValId.newId("double", Double.class);
+	private static final XValId<Integer>	INTEGER_ID			= XValId.newId("integer", Integer.class);
+	private static final XValId<Boolean>	BOOLEAN_ID			= XValId.newId("boolean", Boolean.class);
+	private static final XValId<Long>		LONG_ID				= XValId.newId("long", Long.class);
+	private static final XValId<Float>		NULLABLE_FLOAT_ID	= XValId.newId("nullableFloat", Float.class);
+	private static final TestConfiguration	CONFIGURATION		= new TestConfiguration(XId.newId("slotFieldMapTest"), Arrays.<XParameter<?>> asList(//
+																		new FloatXParameter(FLOAT_ID, "", false, true, Range.getInstance(0.0F, 1.0F), Range.getInstance(0.5F)),//
+																		new DoubleXParameter(DOUBLE_ID, "", false, true, Range.getInstance(0.0, 1.0), Range.getInstance(0.25)),//
+																		new IntegerXParameter(INTEGER_ID, "", false, true, Range.getInstance(0, 10), Range.getInstance(3)),//
+																		new BooleanXParameter(BOOLEAN_ID, "", false, true, Range.FULL_BOOLEAN_RANGE, Range.TRUE_BOOLEAN_RANGE),//
+																		new LongXParameter(LONG_ID, "", false, true, 7L),//
+																		new FloatXParameter(NULLABLE_FLOAT_ID, "", true, true, Range.getInstance(0.0F, 1.0F), Range.getInstance(0.75F))));
+
+	public void layoutAssignsPrimitiveSlotsToNonNullableRangeParameters() {
+		FieldMapLayout layout = CONFIGURATION.getFieldMapLayout();
+		assertSlotType(layout, FLOAT_ID, SlotType.FLOAT);
+		assertSlotType(layout, DOUBLE_ID, SlotType.DOUBLE);
+		assertSlotType(layout, INTEGER_ID, SlotType.INTEGER);
+		assertSlotType(layout, BOOLEAN_ID, SlotType.BOOLEAN);
+		assertSlotType(layout, LONG_ID, SlotType.OBJECT);
+		assertSlotType(layout, NULLABLE_FLOAT_ID, SlotType.OBJECT);
+		if (!isEqualTo(2).isSatisfiedBy(layout.getSlotCount(SlotType.OBJECT))) {
+			throw new AssertionError();
+		}
+		if (!isSameAs(layout).isSatisfiedBy(CONFIGURATION.getFieldMapLayout())) {
+			throw new AssertionError();
+		}
+	}
+
+	public void getSlotOfWrongTypeThrowsException() {
+		try {
+			CONFIGURATION.getFieldMapLayout().getFloatSlot(DOUBLE_ID);
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		throw new AssertionError();
+	}
+
+	public void newFieldMapHasSameValuesAsFieldMapImpl() {
+		FieldMap expected = new FieldMapImpl(CONFIGURATION);
+		SlotFieldMap fieldMap = CONFIGURATION.newFieldMap();
+		if (!isEqualTo(expected.getFieldIds()).isSatisfiedBy(fieldMap.getFieldIds())) {
+			throw new AssertionError();
+		}
+		for (XId id : expected.getFieldIds()) {
+			if (!isEqualTo(expected.get(id)).isSatisfiedBy(fieldMap.get(id))) {
+				throw new AssertionError(id);
+			}
+		}
+		if (!isEqualTo(CONFIGURATION.getId()).isSatisfiedBy(fieldMap.getConfigurationId())) {
+			throw new AssertionError();
+		}
+	}
+
+	public void indexAccessorsMatchIdAccessors() {
+		FieldMapLayout layout = CONFIGURATION.getFieldMapLayout();
+		SlotFieldMap fieldMap = layout.newFieldMap();
+		if (!isEqualTo(0.5F).isSatisfiedBy(fieldMap.getFloat(layout.getFloatSlot(FLOAT_ID)))) {
+			throw new AssertionError();
+		}
+		fieldMap.setFloat(layout.getFloatSlot(FLOAT_ID), 0.125F);
+		fieldMap.setDouble(layout.getDoubleSlot(DOUBLE_ID), 0.75);
+		fieldMap.setInteger(layout.getIntegerSlot(INTEGER_ID), 4);
+		fieldMap.setBoolean(layout.getBooleanSlot(BOOLEAN_ID), false);
+		if (!isEqualTo(0.125F).isSatisfiedBy(fieldMap.get(FLOAT_ID))) {
+			throw new AssertionError();
+		}
+		if (!isEqualTo(0.75).isSatisfiedBy(fieldMap.get(DOUBLE_ID))) {
+			throw new AssertionError();
+		}
+		if (!isEqualTo(4).isSatisfiedBy(fieldMap.get(INTEGER_ID))) {
+			throw new AssertionError();
+		}
+		if (!isEqualTo(false).isSatisfiedBy(fieldMap.get(BOOLEAN_ID))) {
+			throw new AssertionError();
+		}
+	}
+
+	public void setVetsValues() {
+		FieldMapLayout layout = CONFIGURATION.getFieldMapLayout();
+		SlotFieldMap fieldMap = layout.newFieldMap();
+		if (!isEqualTo(1.0F).isSatisfiedBy(fieldMap.setFloat(layout.getFloatSlot(FLOAT_ID), 2.0F))) {
+			throw new AssertionError();
+		}
+		if (!isEqualTo(10).isSatisfiedBy(fieldMap.set(INTEGER_ID, 11))) {
+			throw new AssertionError();
+		}
+		if (!isEqualTo(0.0).isSatisfiedBy(fieldMap.set(DOUBLE_ID, -1.0))) {
+			throw new AssertionError();
+		}
+		if (!isEqualTo(10).isSatisfiedBy(fieldMap.getInteger(layout.getIntegerSlot(INTEGER_ID)))) {
+			throw new AssertionError();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public void getFieldReturnsViewOfSlot() {
+		SlotFieldMap fieldMap = CONFIGURATION.newFieldMap();
+		XField<Float> field = (XField<Float>) fieldMap.getField(FLOAT_ID);
+		if (!isSameAs(CONFIGURATION.getParameter(FLOAT_ID)).isSatisfiedBy(field.getParameter())) {
+			throw new AssertionError();
+		}
+		field.setValue(0.25F);
+		if (!isEqualTo(0.25F).isSatisfiedBy(fieldMap.get(FLOAT_ID))) {
+			throw new AssertionError();
+		}
+		if (!isEqualTo(0.0F).isSatisfiedBy(field.getVettingStrategy().vetValue(-1.0F))) {
+			throw new AssertionError();
+		}
+		if (!isNull().isSatisfiedBy(fieldMap.getField(XId.newId("missing")))) {
+			throw new AssertionError();
+		}
+	}
+
+	public void setAllCopiesValues() {
+		SlotFieldMap source = CONFIGURATION.newFieldMap();
+		source.set(FLOAT_ID, 0.875F);
+		source.set(LONG_ID, 9L);
+		SlotFieldMap target = CONFIGURATION.newFieldMap();
+		target.setAll(source);
+		for (XId id : source.getFieldIds()) {
+			if (!isEqualTo(source.get(id)).isSatisfiedBy(target.get(id))) {
+				throw new AssertionError(id);
+			}
+		}
+	}
+
+	public void getMissingFieldThrowsException() {
+		try {
+			CONFIGURATION.newFieldMap().get(XId.newId("missing"));
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		throw new AssertionError();
+	}
+
+	private static void assertSlotType(FieldMapLayout layout, XId id, SlotType type) {
+		if (!isEqualTo(type).isSatisfiedBy(layout.getSlotType(id))) {
+			throw new AssertionError(id);
+		}
+	}
+
+	private static final class TestConfiguration extends AbstractXConfiguration<TestConfiguration> {
+		private TestConfiguration(XId id, Collection<XParameter<?>> parameters) {
+			super(id, parameters);
+		}
+
+		@Override
+		public SlotFieldMap newFieldMap() {
+			return getFieldMapLayout().newFieldMap();
+		}
+	}
+}
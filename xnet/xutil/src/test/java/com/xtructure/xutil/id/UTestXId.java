@@ -25,6 +25,7 @@ import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
 import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
 import static com.xtructure.xutil.valid.ValidateUtils.isFalse;
 import static com.xtructure.xutil.valid.ValidateUtils.isNotNull;
+import static com.xtructure.xutil.valid.ValidateUtils.isSameAs;
 import static com.xtructure.xutil.valid.ValidateUtils.isTrue;
 import static com.xtructure.xutil.valid.ValidateUtils.matches;
 
@@ -99,9 +100,26 @@ public final class UTestXId {
 	}
 
 	public void hashCodeReturnsExpectedInt() {
-		XId id = XId.newId();
+		XId id = XId.newId("id", 1, 2);
+		assertThat("",//
+				id.hashCode(), isEqualTo(31 * (31 * "id".hashCode() + 1) + 2));
+	}
+
+	public void equalIdsHaveEqualHashCodes() {
+		XId id1 = XId.newId("id").createChild(1).createChild(2);
+		XId id2 = XId.newId("id", 1, 2);
+		assertThat("",//
+				id1, isEqualTo(id2));
+		assertThat("",//
+				id1.hashCode(), isEqualTo(id2.hashCode()));
+		assertThat("",//
+				id1.equals(XId.newId("id", 2, 1)), isFalse());
+	}
+
+	public void toStringIsCached() {
+		XId id = XId.newId("id", 1, 2);
 		assertThat("",//
-				id.hashCode(), isEqualTo(id.toString().hashCode()));
+				id.toString(), isSameAs(id.toString()));
 	}
 
 	public void toStringReturnsExpectedString() {
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.id;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+/**
+ * Compares map lookups keyed by freshly built {@link XId}s against lookups
+ * keyed by an emulation of the former implementation, which hashed through a
+ * lazily built string guarded by a single global lock, as the number of
+ * concurrently looking up threads grows.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class XIdBenchmark {
+	/** number of distinct keys in each map */
+	private static final int	KEYS	= 1000;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(XIdBenchmark.class.getSimpleName(), KEYS);
+		final Map<XId, Integer> xIdMap = new HashMap<XId, Integer>();
+		final Map<LegacyKey, Integer> legacyMap = new HashMap<LegacyKey, Integer>();
+		for (int i = 0; i < KEYS; i++) {
+			xIdMap.put(XId.newId("innovation", i, i + 1), i);
+			legacyMap.put(new LegacyKey("innovation", i, i + 1), i);
+		}
+		Operation legacyOperation = new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				for (int i = 0; i < KEYS; i++) {
+					sum += legacyMap.get(new LegacyKey("innovation", i, i + 1));
+				}
+				return sum;
+			}
+		};
+		Operation xIdOperation = new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				for (int i = 0; i < KEYS; i++) {
+					sum += xIdMap.get(XId.newId("innovation", i, i + 1));
+				}
+				return sum;
+			}
+		};
+		for (int threadCount : new int[] { 1, 2, 4, 8 }) {
+			benchmark.measure("legacyKey", threadCount, legacyOperation);
+			benchmark.measure("XId", threadCount, xIdOperation);
+		}
+		System.out.println(benchmark.getSink());
+	}
+
+	private XIdBenchmark() {}
+
+	/**
+	 * Emulates the former {@link XId} hashing: the string form is built once
+	 * under a global lock, and every hash and equality check takes that lock.
+	 */
+	private static final class LegacyKey {
+		/** the global lock shared by all keys */
+		private static final Lock	LOCK	= new ReentrantLock();
+
+		/** the base of this key */
+		private final String		base;
+
+		/** the instance numbers of this key */
+		private final int[]			instanceNums;
+
+		/** the lazily built string form of this key */
+		private String				toString;
+
+		private LegacyKey(String base, int... instanceNums) {
+			this.base = base;
+			this.instanceNums = instanceNums;
+		}
+
+		@Override
+		public String toString() {
+			LOCK.lock();
+			try {
+				if (toString == null) {
+					StringBuilder sb = new StringBuilder(base);
+					for (int instanceNum : instanceNums) {
+						sb.append(String.format(":%d", instanceNum));
+					}
+					toString = sb.toString();
+				}
+				return toString;
+			} finally {
+				LOCK.unlock();
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return toString().hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof LegacyKey && toString().equals(obj.toString());
+		}
+	}
+}
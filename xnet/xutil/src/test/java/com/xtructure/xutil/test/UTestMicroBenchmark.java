@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.test;
+
+import static com.xtructure.xutil.valid.ValidateUtils.assertThat;
+import static com.xtructure.xutil.valid.ValidateUtils.isEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThanOrEqualTo;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+
+@Test(groups = { "unit:xutil" })
+public class UTestMicroBenchmark {
+	@Test(dataProvider = "badConstructorArgs", expectedExceptions = { IllegalArgumentException.class })
+	public void constructorFailsOnBadArguments(int warmupIterations, int measureIterations, int operationsPerIteration) {
+		new MicroBenchmark("bench", warmupIterations, measureIterations, operationsPerIteration, null);
+	}
+
+	@DataProvider(name = "badConstructorArgs")
+	@SuppressWarnings("unused")
+	private final Object[][] badConstructorArgs() {
+		return new Object[][] {//
+		//
+				new Object[] { -1, 1, 1 },//
+				new Object[] { 0, 0, 1 },//
+				new Object[] { 0, 1, 0 },//
+		};
+	}
+
+	public void measureInvokesOperationExpectedNumberOfTimes() {
+		final AtomicLong count = new AtomicLong();
+		MicroBenchmark bench = new MicroBenchmark("bench", 2, 3, 5, null);
+		double nanosPerOp = bench.measure("count", new Operation() {
+			@Override
+			public long execute() {
+				return count.incrementAndGet();
+			}
+		});
+		assertThat("",//
+				count.get(), isEqualTo(25l));
+		assertThat("",//
+				nanosPerOp, isGreaterThanOrEqualTo(0.0));
+		assertThat("",//
+				bench.getSink(), isEqualTo(25l * 26l / 2l));
+	}
+
+	public void measureRunsOperationOnEachThread() {
+		final AtomicLong count = new AtomicLong();
+		MicroBenchmark bench = new MicroBenchmark("bench", 1, 2, 10, null);
+		bench.measure("count", 4, new Operation() {
+			@Override
+			public long execute() {
+				count.incrementAndGet();
+				return 1l;
+			}
+		});
+		assertThat("",//
+				count.get(), isEqualTo(120l));
+		assertThat("",//
+				bench.getSink(), isEqualTo(120l));
+	}
+}
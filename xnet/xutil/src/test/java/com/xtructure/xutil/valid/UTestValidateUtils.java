@@ -249,6 +249,46 @@ public final class UTestValidateUtils {
 		}
 	}
 
+	public void validationIsEnabledUnlessProductionModeIsSet() {
+		if (ValidateUtils.VALIDATION_ENABLED == Boolean.getBoolean(ValidateUtils.PRODUCTION_MODE_PROPERTY)) {
+			throw new AssertionError();
+		}
+	}
+
+	public void validateArgWithMultiplePredicatesReportsFirstFailure() {
+		String argName = RandomStringUtils.randomAlphanumeric(10);
+		try {
+			validateArg(argName, 5, isGreaterThan(0), isLessThan(3), isLessThan(4));
+			throw new AssertionError();
+		} catch (IllegalArgumentException e) {
+			if (!String.format("%s (%s): %s", argName, 5, isLessThan(3)).equals(e.getMessage())) {
+				throw new AssertionError();
+			}
+		}
+	}
+
+	public void validateStateWithMultiplePredicatesReportsFirstFailure() {
+		String objectName = RandomStringUtils.randomAlphanumeric(10);
+		try {
+			validateState(objectName, 5, isGreaterThan(0), isLessThan(3), isLessThan(4));
+			throw new AssertionError();
+		} catch (IllegalStateException e) {
+			if (!String.format("%s (%s): %s", objectName, 5, isLessThan(3)).equals(e.getMessage())) {
+				throw new AssertionError();
+			}
+		}
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void validateArgWithNullPredicateThrowsException() {
+		validateArg("", new Object(), isNotNull(), (Condition) null);
+	}
+
+	@Test(expectedExceptions = { IllegalArgumentException.class })
+	public void validateStateWithNullPredicateThrowsException() {
+		validateState("", new Object(), (Condition) null);
+	}
+
 	public void assertThatWithOnePredicateBehavesAsExpected() {
 		String assertionName = RandomStringUtils.randomAlphanumeric(10);
 		boolean valid = assertThat(assertionName, new Object(), isNotNull());
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012 Michael Roberts
+ * All rights reserved.
+ *
+ *
+ * This file is part of xutil.
+ *
+ * xutil is free software: you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by the 
+ * Free Software Foundation, either version 3 of the License, or (at your 
+ * option) any later version.
+ *
+ * xutil is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License 
+ * along with xutil.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.xtructure.xutil.valid;
+
+import static com.xtructure.xutil.valid.ValidateUtils.isGreaterThanOrEqualTo;
+import static com.xtructure.xutil.valid.ValidateUtils.isLessThan;
+import static com.xtructure.xutil.valid.ValidateUtils.validate;
+import static com.xtructure.xutil.valid.ValidateUtils.validateArg;
+
+import com.xtructure.xutil.BinaryIndexedTree;
+import com.xtructure.xutil.coll.ListBuilder;
+import com.xtructure.xutil.test.MicroBenchmark;
+import com.xtructure.xutil.test.MicroBenchmark.Operation;
+import com.xtructure.xutil.valid.strategy.ArgumentValidationStrategy;
+
+/**
+ * Compares a range check through the former strategy-building
+ * {@link ValidateUtils#validateArg} against the current one, and measures
+ * {@link BinaryIndexedTree#update(int, long)}, whose validation is skipped in
+ * production mode. Run once as is and once with
+ * <code>-Dxtructure.validate.production=true</code> to compare the two modes.
+ * 
+ * @author Luis Guimbarda
+ */
+public final class ValidateUtilsBenchmark {
+	/** number of validations per iteration */
+	private static final int	CALLS	= 100000;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		MicroBenchmark benchmark = new MicroBenchmark(String.format("%s (validation %s)", //
+				ValidateUtilsBenchmark.class.getSimpleName(), //
+				ValidateUtils.VALIDATION_ENABLED ? "enabled" : "elided"), CALLS);
+		benchmark.measure("strategy", new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				for (int i = 0; i < CALLS; i++) {
+					validate("index", i, new ArgumentValidationStrategy<Integer>(new ListBuilder<Condition>()//
+							.add(isGreaterThanOrEqualTo(0))//
+							.addAll(new Condition[] { isLessThan(CALLS) })//
+							.newImmutableInstance()));
+					sum += i;
+				}
+				return sum;
+			}
+		});
+		benchmark.measure("validateArg", new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				for (int i = 0; i < CALLS; i++) {
+					validateArg("index", i, isGreaterThanOrEqualTo(0), isLessThan(CALLS));
+					sum += i;
+				}
+				return sum;
+			}
+		});
+		final BinaryIndexedTree tree = new BinaryIndexedTree(1024);
+		benchmark.measure("BinaryIndexedTree.update", new Operation() {
+			@Override
+			public long execute() {
+				long sum = 0l;
+				for (int i = 0; i < CALLS; i++) {
+					sum += tree.update((i & 1023) + 1, 1l);
+				}
+				return sum;
+			}
+		});
+		System.out.println(benchmark.getSink());
+	}
+
+	private ValidateUtilsBenchmark() {}
+}